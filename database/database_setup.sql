@@ -59,7 +59,9 @@ CREATE TABLE IF NOT EXISTS vehicles (
     is_handicapped BOOLEAN NOT NULL DEFAULT FALSE,
     entry_time DATETIME,
     exit_time DATETIME,
-    assigned_spot_id VARCHAR(50)
+    assigned_spot_id VARCHAR(50),
+    INDEX idx_vehicles_plate_id (license_plate, id),
+    INDEX idx_vehicles_active (exit_time, assigned_spot_id, license_plate, vehicle_type, is_handicapped, entry_time)
 ) ENGINE=InnoDB;
 
 -- ============================================
@@ -122,7 +124,8 @@ CREATE TABLE IF NOT EXISTS fines (
     fine_type VARCHAR(30) NOT NULL COMMENT 'OVERSTAY, UNPAID_BALANCE, UNAUTHORIZED_RESERVED',
     amount DECIMAL(10,2) NOT NULL,
     issued_date DATETIME NOT NULL,
-    is_paid BOOLEAN NOT NULL DEFAULT FALSE COMMENT '1=PAID, 0=UNPAID'
+    is_paid BOOLEAN NOT NULL DEFAULT FALSE COMMENT '1=PAID, 0=UNPAID',
+    INDEX idx_fines_issued_date (issued_date)
 ) ENGINE=InnoDB;
 
 -- Table 6: payments
@@ -133,7 +136,10 @@ CREATE TABLE IF NOT EXISTS payments (
     fine_amount DECIMAL(10,2) NOT NULL DEFAULT 0.00,
     total_amount DECIMAL(10,2) NOT NULL,
     payment_method VARCHAR(20) NOT NULL COMMENT 'CASH or CARD',
-    payment_date DATETIME NOT NULL
+    payment_date DATETIME NOT NULL,
+    spot_type VARCHAR(20) COMMENT 'Spot type paid for; NULL for payments recorded before it was tracked',
+    floor_number INT COMMENT 'Floor of the spot paid for; NULL for payments recorded before it was tracked',
+    INDEX idx_payments_date (payment_date)
 ) ENGINE=InnoDB;
 
 -- Table 7: reservations
@@ -154,7 +160,86 @@ CREATE TABLE IF NOT EXISTS reservations (
     prepaid_amount DECIMAL(10,2) NOT NULL DEFAULT 0.00 COMMENT 'Amount paid upfront for reservation (RM 10/hr × duration)',
     INDEX idx_license_plate (license_plate),
     INDEX idx_spot_id (spot_id),
-    INDEX idx_time_range (start_time, end_time)
+    INDEX idx_time_range (start_time, end_time),
+    INDEX idx_reservations_end_time (end_time)
+) ENGINE=InnoDB;
+
+-- Tables 8-10: materialized aggregates
+-- ============================================
+-- Maintained by PaymentDAO and FineDAO in the same transaction as each write.
+-- Date-range revenue and fine reports read these instead of scanning the history.
+-- Rebuild with AggregateDAO.rebuild() after editing payments or fines by hand.
+-- ============================================
+CREATE TABLE IF NOT EXISTS revenue_daily (
+    payment_day DATE NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    spot_type VARCHAR(20) NOT NULL COMMENT 'UNKNOWN for payments without a spot type',
+    payment_count INT NOT NULL DEFAULT 0,
+    parking_fees DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    fine_amounts DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    total_amount DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (payment_day, payment_method, spot_type)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS revenue_hourly (
+    payment_hour DATETIME NOT NULL COMMENT 'Payment time truncated to the hour',
+    floor_number INT NOT NULL COMMENT '0 for payments without a floor',
+    payment_count INT NOT NULL DEFAULT 0,
+    parking_fees DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    fine_amounts DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    total_amount DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (payment_hour, floor_number)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS fine_daily (
+    issue_day DATE NOT NULL,
+    fine_type VARCHAR(30) NOT NULL,
+    is_paid BOOLEAN NOT NULL,
+    fine_count INT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (issue_day, fine_type, is_paid)
+) ENGINE=InnoDB;
+
+-- Table 11: change log
+-- ============================================
+-- Append-only log of spot, session and fine changes, written by the DAOs in the
+-- same transaction as each change. Every terminal polls it by sequence to pick up
+-- changes made at the other terminals. Rows older than a day are purged.
+-- ============================================
+CREATE TABLE IF NOT EXISTS change_log (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    terminal_id CHAR(36) NOT NULL,
+    entity VARCHAR(10) NOT NULL,
+    entity_key VARCHAR(50) NOT NULL,
+    action VARCHAR(20) NOT NULL,
+    spot_id VARCHAR(50),
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_change_log_changed_at (changed_at)
+) ENGINE=InnoDB;
+
+-- Table 12: occupancy samples
+-- ============================================
+-- Written in batches by OccupancySampler: one row per floor and spot type every
+-- 5 minutes, for the occupancy history report. Rows older than a year are purged.
+-- ============================================
+CREATE TABLE IF NOT EXISTS occupancy_samples (
+    sampled_at DATETIME NOT NULL COMMENT 'Sampling time, aligned to the sampling interval',
+    floor_number SMALLINT NOT NULL,
+    spot_type VARCHAR(20) NOT NULL,
+    total_spots SMALLINT NOT NULL,
+    occupied_spots SMALLINT NOT NULL,
+    PRIMARY KEY (sampled_at, floor_number, spot_type)
+) ENGINE=InnoDB;
+
+-- Table 13: schema version
+-- ============================================
+-- The application runs its DDL once per schema version and skips it on later
+-- launches. Left empty here so the first launch checks this script's tables.
+-- ============================================
+CREATE TABLE IF NOT EXISTS schema_version (
+    id TINYINT PRIMARY KEY,
+    version INT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 ) ENGINE=InnoDB;
 
 -- ============================================
@@ -213,6 +298,11 @@ WHERE exit_time IS NULL;
 -- Reset all data (keeps structure)
 -- DELETE FROM payments;
 -- DELETE FROM fines;
+-- DELETE FROM revenue_daily;
+-- DELETE FROM revenue_hourly;
+-- DELETE FROM fine_daily;
+-- DELETE FROM change_log;
+-- DELETE FROM occupancy_samples;
 -- DELETE FROM vehicles;
 -- UPDATE parking_spots SET status = 'AVAILABLE', current_vehicle_id = NULL;
 -- UPDATE parking_lots SET total_revenue = 0 WHERE id = 1;
@@ -1,18 +1,32 @@
 package com.university.parking;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
+import com.university.parking.dao.ArchiveDAO;
+import com.university.parking.dao.ChangeLogDAO;
+import com.university.parking.dao.ChangeLogPoller;
 import com.university.parking.dao.DatabaseManager;
 import com.university.parking.dao.FineDAO;
+import com.university.parking.dao.OccupancySampler;
 import com.university.parking.dao.ParkingLotDAO;
+import com.university.parking.dao.Repositories;
+import com.university.parking.dao.journal.JournalReplayer;
+import com.university.parking.dao.journal.WriteJournal;
 import com.university.parking.model.Floor;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.SpotType;
+import com.university.parking.util.IoExecutor;
+import com.university.parking.util.ReportScheduler;
 import com.university.parking.view.ModernMainFrame;
 
 /**
@@ -20,11 +34,47 @@ import com.university.parking.view.ModernMainFrame;
  * Initializes the parking lot with default configuration and launches the GUI.
  */
 public class ParkingApplication {
+    private static final String JOURNAL_FILE = "parking-journal.log";
+    private static final long JOURNAL_REPLAY_INTERVAL_SECONDS = 30;
+    private static final long METRICS_DUMP_INTERVAL_SECONDS = 300;
 
     public static void main(String[] args) {
+        long startNanos = System.nanoTime();
+
+        // Build and show the frame on the Event Dispatch Thread while this thread initializes
+        // the database, replays the journal and loads the lot; the lot is bound to it below
+        CompletableFuture<ModernMainFrame> frameShown = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                ModernMainFrame.prepareLookAndFeel();
+                ModernMainFrame frame = new ModernMainFrame();
+                frame.setVisible(true);
+                System.out.println("Startup: loading screen shown after " +
+                                   (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+                frameShown.complete(frame);
+            } catch (RuntimeException e) {
+                frameShown.completeExceptionally(e);
+            }
+        });
+
+        // Open the local journal that captures writes while the database is unreachable
+        WriteJournal journal = null;
+        try {
+            journal = WriteJournal.open(Paths.get(System.getProperty("parking.journal", JOURNAL_FILE)));
+            WriteJournal.install(journal);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not open write journal: " + e.getMessage());
+        }
+
         // Initialize database
         DatabaseManager dbManager = null;
         FineDAO fineDAO = null;
+        ScheduledExecutorService journalReplay = null;
+        ScheduledExecutorService archival = null;
+        ScheduledExecutorService metricsDump = null;
+        ScheduledExecutorService changePolling = null;
+        ScheduledExecutorService occupancySampling = null;
+        ScheduledExecutorService reportScheduling = null;
         
         try {
             dbManager = new DatabaseManager();
@@ -36,7 +86,40 @@ public class ParkingApplication {
             System.err.println("Error: " + e.getMessage());
             // Continue without database - application will work in memory-only mode
         }
+
+        // Apply writes journaled during an outage before the parking lot is loaded,
+        // then keep retrying in the background for outages while running
+        if (dbManager != null && journal != null) {
+            JournalReplayer replayer = new JournalReplayer(journal, Repositories.jdbc(dbManager));
+            try {
+                replayer.replay();
+            } catch (SQLException | IOException e) {
+                System.err.println("Warning: Journal replay deferred: " + e.getMessage());
+            }
+            journalReplay = replayer.startPeriodicReplay(JOURNAL_REPLAY_INTERVAL_SECONDS);
+        }
+
+        // Move old sessions, fines, reservations and payments into monthly archive tables
+        if (dbManager != null) {
+            archival = new ArchiveDAO(dbManager).startScheduledArchival(ArchiveDAO.DEFAULT_RETENTION_MONTHS);
+        }
+
+        // Periodically log the slowest SQL statements
+        long metricsInterval = Long.getLong("parking.metrics.interval", METRICS_DUMP_INTERVAL_SECONDS);
+        if (dbManager != null && metricsInterval > 0) {
+            metricsDump = dbManager.getMetrics().startPeriodicDump(metricsInterval);
+        }
         
+        // Note the change log position before loading so changes made meanwhile are not missed
+        long changeSequence = 0;
+        if (dbManager != null) {
+            try {
+                changeSequence = new ChangeLogDAO(dbManager).currentSequence();
+            } catch (SQLException e) {
+                System.err.println("Warning: Could not read change log: " + e.getMessage());
+            }
+        }
+
         // Load parking lot from database or create default
         ParkingLot parkingLot = null;
         try {
@@ -47,29 +130,102 @@ public class ParkingApplication {
             parkingLot = createDefaultParkingLot();
         }
 
+        // Apply spot, session and fine changes made at other terminals
+        ChangeLogPoller changePoller = null;
+        long syncInterval = Long.getLong("parking.sync.interval", ChangeLogPoller.DEFAULT_INTERVAL_MILLIS);
+        if (dbManager != null && syncInterval > 0) {
+            changePoller = new ChangeLogPoller(dbManager, parkingLot, changeSequence);
+            changePolling = changePoller.startPolling(syncInterval);
+        }
+
+        // Record occupancy every few minutes for the occupancy history report
+        OccupancySampler occupancySampler = null;
+        long sampleInterval = Long.getLong("parking.occupancy.interval", OccupancySampler.DEFAULT_INTERVAL_MINUTES);
+        if (dbManager != null && sampleInterval > 0) {
+            occupancySampler = new OccupancySampler(dbManager, parkingLot, sampleInterval,
+                                                    OccupancySampler.DEFAULT_CAPACITY);
+            occupancySampling = occupancySampler.startSampling();
+        }
+
+        // Write the configured reports to compressed archives nightly and at shift changes
+        try {
+            ReportScheduler reportScheduler = ReportScheduler.fromSystemProperties(parkingLot, dbManager);
+            if (reportScheduler != null) {
+                reportScheduling = reportScheduler.start();
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Scheduled reports disabled: " + e.getMessage());
+        }
+
         // Make database manager and fineDAO final for lambda
         final DatabaseManager finalDbManager = dbManager;
         final FineDAO finalFineDAO = fineDAO;
         final ParkingLot finalParkingLot = parkingLot;
+        final WriteJournal finalJournal = journal;
+        final ScheduledExecutorService finalJournalReplay = journalReplay;
+        final ScheduledExecutorService finalArchival = archival;
+        final ScheduledExecutorService finalMetricsDump = metricsDump;
+        final ScheduledExecutorService finalChangePolling = changePolling;
+        final ChangeLogPoller finalChangePoller = changePoller;
+        final ScheduledExecutorService finalOccupancySampling = occupancySampling;
+        final OccupancySampler finalOccupancySampler = occupancySampler;
+        final ScheduledExecutorService finalReportScheduling = reportScheduling;
         
-        // Launch GUI on Event Dispatch Thread
+        // Bind the loaded lot on the Event Dispatch Thread; the frame was shown by the task queued above
         SwingUtilities.invokeLater(() -> {
             try {
-                ModernMainFrame mainFrame = new ModernMainFrame(finalParkingLot, finalDbManager, finalFineDAO);
-                mainFrame.setVisible(true);
+                ModernMainFrame mainFrame = frameShown.join();
+                mainFrame.bind(finalParkingLot, finalDbManager, finalFineDAO);
+                System.out.println("Startup: first screen shown after " +
+                                   (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+                if (finalChangePoller != null) {
+                    finalChangePoller.addListener(changes -> SwingUtilities.invokeLater(mainFrame::refreshVisiblePanel));
+                }
                 
                 // Add shutdown hook to close database connections and cleanup
                 Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                     System.out.println("Shutting down application...");
                     mainFrame.cleanup();
+                    IoExecutor.shutdown();
+                    if (finalJournalReplay != null) {
+                        finalJournalReplay.shutdownNow();
+                    }
+                    if (finalArchival != null) {
+                        finalArchival.shutdownNow();
+                    }
+                    if (finalMetricsDump != null) {
+                        finalMetricsDump.shutdownNow();
+                    }
+                    if (finalChangePolling != null) {
+                        finalChangePolling.shutdownNow();
+                    }
+                    if (finalReportScheduling != null) {
+                        finalReportScheduling.shutdownNow();
+                    }
+                    if (finalOccupancySampling != null) {
+                        finalOccupancySampling.shutdownNow();
+                        try {
+                            finalOccupancySampler.flush();
+                        } catch (SQLException e) {
+                            System.err.println("Warning: Failed to write occupancy samples: " + e.getMessage());
+                        }
+                    }
+                    if (finalJournal != null) {
+                        try {
+                            finalJournal.close();
+                        } catch (IOException e) {
+                            System.err.println("Warning: Failed to close write journal: " + e.getMessage());
+                        }
+                    }
                     if (finalDbManager != null) {
                         System.out.println("Closing database connections...");
                         finalDbManager.shutdown();
                     }
                 }));
             } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
                 JOptionPane.showMessageDialog(null, 
-                    "Failed to start application: " + e.getMessage(),
+                    "Failed to start application: " + cause.getMessage(),
                     "Startup Error", 
                     JOptionPane.ERROR_MESSAGE);
                 e.printStackTrace();
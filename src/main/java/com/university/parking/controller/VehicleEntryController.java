@@ -4,21 +4,29 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import com.university.parking.dao.DatabaseManager;
-import com.university.parking.dao.FineDAO;
-import com.university.parking.dao.ParkingSpotDAO;
-import com.university.parking.dao.ReservationDAO;
-import com.university.parking.dao.VehicleDAO;
+import com.university.parking.dao.FineRepository;
+import com.university.parking.dao.ParkingSpotRepository;
+import com.university.parking.dao.Repositories;
+import com.university.parking.dao.ReservationRepository;
+import com.university.parking.dao.VehicleRepository;
+import com.university.parking.dao.journal.WriteJournal;
 import com.university.parking.model.Fine;
 import com.university.parking.model.FineType;
+import com.university.parking.model.Money;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSession;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.SpotStatus;
+import com.university.parking.model.SpotType;
 import com.university.parking.model.Vehicle;
 import com.university.parking.model.VehicleType;
+import com.university.parking.util.IoExecutor;
 
 /**
  * Controller for handling vehicle entry operations.
@@ -28,25 +36,35 @@ import com.university.parking.model.VehicleType;
  */
 public class VehicleEntryController {
     private final ParkingLot parkingLot;
-    private final DatabaseManager dbManager;
-    private final VehicleDAO vehicleDAO;
-    private final ParkingSpotDAO spotDAO;
-    private final ReservationDAO reservationDAO;
-    private final FineDAO fineDAO;
+    private final VehicleRepository vehicleDAO;
+    private final ParkingSpotRepository spotDAO;
+    private final ReservationRepository reservationDAO;
+    private final FineRepository fineDAO;
+    private final WriteJournal journal;
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-    private static final double UNAUTHORIZED_RESERVED_FINE = 100.0; // RM 100 fine for unauthorized parking in reserved spot
+    static final long UNAUTHORIZED_RESERVED_FINE_CENTS = 10_000; // RM 100 fine for unauthorized parking in reserved spot
+    private static final int MAX_CLAIM_ATTEMPTS = 5; // spots tried before giving up when other terminals keep winning
 
     public VehicleEntryController(ParkingLot parkingLot) {
-        this(parkingLot, null);
+        this(parkingLot, (Repositories) null);
     }
     
     public VehicleEntryController(ParkingLot parkingLot, DatabaseManager dbManager) {
+        this(parkingLot, dbManager != null ? Repositories.jdbc(dbManager) : null);
+    }
+
+    /**
+     * Creates a controller persisting through the given storage backend.
+     * @param parkingLot the parking lot
+     * @param repositories the storage backend, or null for no persistence
+     */
+    public VehicleEntryController(ParkingLot parkingLot, Repositories repositories) {
         this.parkingLot = parkingLot;
-        this.dbManager = dbManager;
-        this.vehicleDAO = dbManager != null ? new VehicleDAO(dbManager) : null;
-        this.spotDAO = dbManager != null ? new ParkingSpotDAO(dbManager) : null;
-        this.reservationDAO = dbManager != null ? new ReservationDAO(dbManager) : null;
-        this.fineDAO = dbManager != null ? new FineDAO(dbManager) : null;
+        this.vehicleDAO = repositories != null ? repositories.vehicles() : null;
+        this.spotDAO = repositories != null ? repositories.spots() : null;
+        this.reservationDAO = repositories != null ? repositories.reservations() : null;
+        this.fineDAO = repositories != null ? repositories.fines() : null;
+        this.journal = WriteJournal.installed();
     }
 
     /**
@@ -100,60 +118,76 @@ public class VehicleEntryController {
             throw new IllegalArgumentException("Spot ID cannot be empty");
         }
 
-        // Check if vehicle is already parked (prevent duplicate parking)
         String normalizedPlate = licensePlate.trim().toUpperCase();
-        if (isVehicleAlreadyParked(normalizedPlate)) {
-            throw new IllegalArgumentException("Vehicle " + normalizedPlate + " is already parked. Please exit first before parking again.");
-        }
+        Vehicle vehicle = new Vehicle(normalizedPlate, vehicleType, isHandicapped);
+        LocalDateTime entryTime = LocalDateTime.now();
+        vehicle.setEntryTime(entryTime);
 
-        // Find the spot
-        ParkingSpot spot = findSpotById(spotId);
-        if (spot == null) {
-            throw new IllegalArgumentException("Spot not found: " + spotId);
-        }
+        // Select and hold the spot under the model lock so an entry running on another
+        // thread cannot pick the same spot; the database calls below are made outside it
+        ParkingSpot spot;
+        synchronized (parkingLot.getModelLock()) {
+            // Check if vehicle is already parked (prevent duplicate parking)
+            if (isVehicleAlreadyParked(normalizedPlate)) {
+                throw new IllegalArgumentException("Vehicle " + normalizedPlate + " is already parked. Please exit first before parking again.");
+            }
 
-        // Check spot availability
-        if (!spot.isAvailable()) {
-            throw new IllegalArgumentException("Spot is not available: " + spotId);
-        }
+            // Find the spot
+            spot = findSpotById(spotId);
+            if (spot == null) {
+                throw new IllegalArgumentException("Spot not found: " + spotId);
+            }
 
-        // Create vehicle and check compatibility
-        Vehicle vehicle = new Vehicle(licensePlate.trim().toUpperCase(), vehicleType, isHandicapped);
-        if (!vehicle.canParkInSpot(spot.getType())) {
-            throw new IllegalArgumentException("Vehicle type " + vehicleType + 
-                " cannot park in spot type " + spot.getType());
+            // Check spot availability
+            if (!spot.isAvailable()) {
+                throw new IllegalArgumentException("Spot is not available: " + spotId);
+            }
+
+            // Check compatibility
+            if (!vehicle.canParkInSpot(spot.getType())) {
+                throw new IllegalArgumentException("Vehicle type " + vehicleType + 
+                    " cannot park in spot type " + spot.getType());
+            }
+
+            // Mark spot as occupied (Requirement 3.2)
+            vehicle.setAssignedSpotId(spot.getSpotId()); // Set assigned spot for database persistence
+            spot.occupySpot(vehicle);
         }
         
+        // Claim the spot in the shared database; another terminal may have taken it since
+        // this terminal last loaded the lot, in which case a comparable spot is assigned
+        String requestedSpotId = spot.getSpotId();
+        SpotClaim claim = claimSpot(spot, vehicle);
+        spot = claim.spot;
+        spotId = spot.getSpotId();
+
         // Check if parking in reserved spot - validate reservation
         Fine unauthorizedFine = null;
-        if (spot.getType() == com.university.parking.model.SpotType.RESERVED) {
+        if (spot.getType() == SpotType.RESERVED) {
             boolean hasValidReservation = checkReservation(normalizedPlate, spotId);
             if (!hasValidReservation) {
                 // Issue UNAUTHORIZED_RESERVED fine
-                unauthorizedFine = new Fine(normalizedPlate, FineType.UNAUTHORIZED_RESERVED, UNAUTHORIZED_RESERVED_FINE);
+                unauthorizedFine = Fine.ofCents(normalizedPlate, FineType.UNAUTHORIZED_RESERVED, UNAUTHORIZED_RESERVED_FINE_CENTS);
                 unauthorizedFine.setIssuedDate(LocalDateTime.now());
                 
                 // Save fine to database
+                boolean fineSaved = false;
                 if (fineDAO != null) {
                     try {
                         fineDAO.save(unauthorizedFine);
-                        System.out.println("UNAUTHORIZED_RESERVED fine issued: RM " + UNAUTHORIZED_RESERVED_FINE + 
+                        fineSaved = true;
+                        System.out.println("UNAUTHORIZED_RESERVED fine issued: RM " + Money.format(UNAUTHORIZED_RESERVED_FINE_CENTS) + 
                                          " for vehicle " + normalizedPlate + " parking in spot " + spotId);
                     } catch (SQLException e) {
                         System.err.println("Warning: Failed to save unauthorized fine: " + e.getMessage());
                     }
                 }
+                if (!fineSaved && journal != null) {
+                    journal.recordFine(unauthorizedFine);
+                }
             }
         }
 
-        // Record entry time
-        LocalDateTime entryTime = LocalDateTime.now();
-        vehicle.setEntryTime(entryTime);
-        vehicle.setAssignedSpotId(spotId); // Set assigned spot for database persistence
-
-        // Mark spot as occupied (Requirement 3.2)
-        spot.occupySpot(vehicle);
-
         // Generate ticket (Requirements 3.4, 3.5)
         String ticketNumber = generateTicket(licensePlate, entryTime);
 
@@ -164,20 +198,124 @@ public class VehicleEntryController {
         session.setTicketNumber(ticketNumber);
 
         // Persist to database if available
+        boolean entrySaved = false;
         if (vehicleDAO != null) {
             try {
                 vehicleDAO.save(vehicle);
-                // Update spot status in database
-                if (spotDAO != null) {
+                // The claim above already occupied the spot unless it could not reach the database
+                if (spotDAO != null && !claim.stored) {
                     spotDAO.updateStatus(spotId, SpotStatus.OCCUPIED);
                 }
+                entrySaved = true;
             } catch (SQLException e) {
                 System.err.println("Warning: Failed to persist vehicle to database: " + e.getMessage());
                 // Continue without persistence
             }
         }
+        // Journal the entry so it is replayed once the database is reachable
+        if (!entrySaved && journal != null) {
+            journal.recordEntry(vehicle);
+        }
+
+        parkingLot.markChanged();
 
-        return new EntryResult(vehicle, spot, session, ticketNumber, unauthorizedFine);
+        EntryResult result = new EntryResult(vehicle, spot, session, ticketNumber, unauthorizedFine);
+        if (!spotId.equals(requestedSpotId)) {
+            result.setReassignedFrom(requestedSpotId);
+        }
+        return result;
+    }
+
+    /**
+     * Claims a spot in the database that the vehicle already holds in memory.
+     * If another terminal occupied the spot first, the hold is released and the next available
+     * spot of the same type that was not tried yet is held and tried instead. The local copy of
+     * a lost spot is left for the change log poller to correct. Reserved spots are not
+     * reassigned because reservations are made for one specific spot.
+     *
+     * @param spot the requested spot, held by the vehicle
+     * @param vehicle the entering vehicle
+     * @return the spot that was claimed and is held by the vehicle; the requested spot when
+     *         there is no database or it cannot be reached, in which case the entry is journaled as before
+     * @throws IllegalArgumentException if every candidate spot was taken by another terminal, or
+     *         {@link #MAX_CLAIM_ATTEMPTS} spots were; no spot is left held in either case
+     */
+    private SpotClaim claimSpot(ParkingSpot spot, Vehicle vehicle) {
+        if (spotDAO == null) {
+            return new SpotClaim(spot, false);
+        }
+
+        ParkingSpot candidate = spot;
+        Set<String> tried = new HashSet<>();
+        boolean outOfSpots = false;
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            try {
+                if (spotDAO.occupyIfAvailable(candidate.getSpotId())) {
+                    return new SpotClaim(candidate, true);
+                }
+            } catch (SQLException e) {
+                System.err.println("Warning: Failed to claim spot in database: " + e.getMessage());
+                return new SpotClaim(candidate, false);
+            }
+
+            // Lost the race: the spot is occupied by a vehicle entered at another terminal
+            System.out.println("Spot " + candidate.getSpotId() + " was taken by another terminal");
+            tried.add(candidate.getSpotId());
+            if (attempt == MAX_CLAIM_ATTEMPTS - 1) {
+                synchronized (parkingLot.getModelLock()) {
+                    releaseHold(candidate, vehicle);
+                }
+                break; // No attempt left for another spot, so none is held
+            }
+            synchronized (parkingLot.getModelLock()) {
+                releaseHold(candidate, vehicle);
+                candidate = candidate.getType() == SpotType.RESERVED ? null : findAlternativeSpot(spot, vehicle, tried);
+                if (candidate != null) {
+                    vehicle.setAssignedSpotId(candidate.getSpotId());
+                    candidate.occupySpot(vehicle);
+                }
+            }
+            if (candidate == null) {
+                outOfSpots = true;
+                break;
+            }
+        }
+        if (spot.getType() == SpotType.RESERVED) {
+            throw new IllegalArgumentException("Reserved spot " + spot.getSpotId() + " was just taken by another terminal");
+        }
+        if (outOfSpots) {
+            throw new IllegalArgumentException("Spot " + spot.getSpotId() +
+                " was just taken by another terminal and no other " + spot.getType() + " spot is available");
+        }
+        throw new IllegalArgumentException("Spot " + spot.getSpotId() + " and " + (MAX_CLAIM_ATTEMPTS - 1) +
+            " other " + spot.getType() + " spots were just taken by other terminals; please try again");
+    }
+
+    /**
+     * Vacates a spot held by the vehicle; a vehicle the change log has put there meanwhile stays.
+     * Call with the model lock held.
+     */
+    private void releaseHold(ParkingSpot spot, Vehicle vehicle) {
+        if (spot.getCurrentVehicle() == vehicle) {
+            spot.vacateSpot();
+        }
+    }
+
+    /**
+     * Finds the first available spot of the same type as the one that was lost, skipping
+     * spots already lost to other terminals.
+     * Call with the model lock held.
+     * Spots are listed floor by floor, so this stays as close to the requested spot as possible.
+     */
+    private ParkingSpot findAlternativeSpot(ParkingSpot lostSpot, Vehicle vehicle, Set<String> tried) {
+        for (ParkingSpot candidate : parkingLot.getAllSpots()) {
+            if (candidate.isAvailable() && !tried.contains(candidate.getSpotId())
+                    && candidate.getType() == lostSpot.getType()
+                    && vehicle.canParkInSpot(candidate.getType())) {
+                return candidate;
+            }
+        }
+        return null;
     }
 
     /**
@@ -202,6 +340,22 @@ public class VehicleEntryController {
         }
     }
 
+    /**
+     * Processes a vehicle entry on the I/O executor.
+     * The spot is selected and held under the parking lot's model lock, so entries and exits
+     * may run concurrently with each other and with the UI.
+     * 
+     * @param licensePlate the vehicle's license plate
+     * @param vehicleType the type of vehicle
+     * @param isHandicapped whether the vehicle has handicapped status
+     * @param spotId the selected spot ID
+     * @return a future for the entry result; fails with IllegalArgumentException on invalid input
+     */
+    public CompletableFuture<EntryResult> processEntryAsync(String licensePlate, VehicleType vehicleType,
+                                                            boolean isHandicapped, String spotId) {
+        return IoExecutor.supply(() -> processEntry(licensePlate, vehicleType, isHandicapped, spotId));
+    }
+
     /**
      * Generates a ticket with format "T-{PLATE}-{TIMESTAMP}".
      * Requirement 3.4: Generate ticket with proper format
@@ -248,6 +402,19 @@ public class VehicleEntryController {
         return false;
     }
 
+    /**
+     * Spot held by an entering vehicle and whether the database has it occupied.
+     */
+    private static final class SpotClaim {
+        private final ParkingSpot spot;
+        private final boolean stored;
+
+        SpotClaim(ParkingSpot spot, boolean stored) {
+            this.spot = spot;
+            this.stored = stored;
+        }
+    }
+
     /**
      * Result class containing entry operation details.
      */
@@ -257,6 +424,7 @@ public class VehicleEntryController {
         private final ParkingSession session;
         private final String ticketNumber;
         private final Fine unauthorizedFine;
+        private String reassignedFrom;
 
         public EntryResult(Vehicle vehicle, ParkingSpot spot, 
                           ParkingSession session, String ticketNumber) {
@@ -296,6 +464,22 @@ public class VehicleEntryController {
             return unauthorizedFine != null;
         }
 
+        /**
+         * @return the spot originally selected, if another terminal took it and a
+         *         different spot was assigned; null otherwise
+         */
+        public String getReassignedFrom() {
+            return reassignedFrom;
+        }
+
+        void setReassignedFrom(String reassignedFrom) {
+            this.reassignedFrom = reassignedFrom;
+        }
+
+        public boolean wasReassigned() {
+            return reassignedFrom != null;
+        }
+
         /**
          * Gets a formatted display string for the ticket.
          * Requirement 3.5: Display ticket containing spot location and entry time
@@ -310,6 +494,9 @@ public class VehicleEntryController {
             sb.append("Vehicle Type: ").append(vehicle.getType()).append("\n");
             sb.append("Card Holder: ").append(vehicle.isHandicapped() ? "YES" : "NO").append("\n");
             sb.append("Spot Location: ").append(spot.getSpotId()).append("\n");
+            if (wasReassigned()) {
+                sb.append("(Spot ").append(reassignedFrom).append(" was taken at another terminal)\n");
+            }
             sb.append("Spot Type: ").append(spot.getType()).append("\n");
             sb.append("Hourly Rate: RM ").append(String.format("%.2f", spot.getHourlyRate())).append("\n");
             sb.append("Entry Time: ").append(vehicle.getEntryTime().format(timeFormatter)).append("\n");
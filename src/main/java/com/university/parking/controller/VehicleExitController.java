@@ -4,16 +4,22 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.university.parking.dao.DatabaseManager;
 import com.university.parking.dao.FineDAO;
-import com.university.parking.dao.ParkingLotDAO;
-import com.university.parking.dao.ParkingSpotDAO;
-import com.university.parking.dao.PaymentDAO;
-import com.university.parking.dao.ReservationDAO;
-import com.university.parking.dao.VehicleDAO;
+import com.university.parking.dao.FineRepository;
+import com.university.parking.dao.ParkingLotRepository;
+import com.university.parking.dao.ParkingSpotRepository;
+import com.university.parking.dao.PaymentRepository;
+import com.university.parking.dao.Repositories;
+import com.university.parking.dao.ReservationRepository;
+import com.university.parking.dao.VehicleRepository;
+import com.university.parking.dao.journal.WriteJournal;
 import com.university.parking.model.Fine;
 import com.university.parking.model.FineType;
+import com.university.parking.model.Floor;
+import com.university.parking.model.Money;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.Payment;
@@ -24,6 +30,7 @@ import com.university.parking.model.SpotType;
 import com.university.parking.model.Vehicle;
 import com.university.parking.util.FeeCalculator;
 import com.university.parking.util.FineManager;
+import com.university.parking.util.IoExecutor;
 import com.university.parking.util.PaymentProcessor;
 import com.university.parking.util.Receipt;
 
@@ -35,30 +42,43 @@ import com.university.parking.util.Receipt;
  */
 public class VehicleExitController {
     private final ParkingLot parkingLot;
-    private final DatabaseManager dbManager;
-    private final FineDAO fineDAO;
+    private final FineRepository fineDAO;
     private final FineManager fineManager;
-    private final PaymentDAO paymentDAO;
-    private final ParkingSpotDAO spotDAO;
-    private final VehicleDAO vehicleDAO;
-    private final ParkingLotDAO parkingLotDAO;
-    private final ReservationDAO reservationDAO;
+    private final PaymentRepository paymentDAO;
+    private final ParkingSpotRepository spotDAO;
+    private final VehicleRepository vehicleDAO;
+    private final ParkingLotRepository parkingLotDAO;
+    private final ReservationRepository reservationDAO;
+    private final WriteJournal journal;
     private final List<Fine> unpaidFines;
 
     public VehicleExitController(ParkingLot parkingLot) {
-        this(parkingLot, null, null);
+        this(parkingLot, (Repositories) null);
     }
     
     public VehicleExitController(ParkingLot parkingLot, DatabaseManager dbManager, FineDAO fineDAO) {
+        this(parkingLot, dbManager != null ? Repositories.jdbc(dbManager) : null, fineDAO);
+    }
+
+    /**
+     * Creates a controller persisting through the given storage backend.
+     * @param parkingLot the parking lot
+     * @param repositories the storage backend, or null for no persistence
+     */
+    public VehicleExitController(ParkingLot parkingLot, Repositories repositories) {
+        this(parkingLot, repositories, repositories != null ? repositories.fines() : null);
+    }
+
+    private VehicleExitController(ParkingLot parkingLot, Repositories repositories, FineRepository fineDAO) {
         this.parkingLot = parkingLot;
-        this.dbManager = dbManager;
         this.fineDAO = fineDAO;
         this.fineManager = fineDAO != null ? new FineManager(fineDAO) : null;
-        this.paymentDAO = dbManager != null ? new PaymentDAO(dbManager) : null;
-        this.spotDAO = dbManager != null ? new ParkingSpotDAO(dbManager) : null;
-        this.vehicleDAO = dbManager != null ? new VehicleDAO(dbManager) : null;
-        this.parkingLotDAO = dbManager != null ? new ParkingLotDAO(dbManager) : null;
-        this.reservationDAO = dbManager != null ? new ReservationDAO(dbManager) : null;
+        this.paymentDAO = repositories != null ? repositories.payments() : null;
+        this.spotDAO = repositories != null ? repositories.spots() : null;
+        this.vehicleDAO = repositories != null ? repositories.vehicles() : null;
+        this.parkingLotDAO = repositories != null ? repositories.parkingLots() : null;
+        this.reservationDAO = repositories != null ? repositories.reservations() : null;
+        this.journal = WriteJournal.installed();
         this.unpaidFines = new ArrayList<>();
     }
 
@@ -86,34 +106,37 @@ public class VehicleExitController {
             }
         }
         
-        // Search in-memory parking lot for the spot
-        for (ParkingSpot spot : parkingLot.getAllSpots()) {
-            if (!spot.isAvailable() && spot.getCurrentVehicle() != null) {
+        synchronized (parkingLot.getModelLock()) {
+            // Search in-memory parking lot for the spot
+            for (ParkingSpot spot : parkingLot.getAllSpots()) {
                 Vehicle vehicle = spot.getCurrentVehicle();
-                if (normalizedPlate.equals(vehicle.getLicensePlate())) {
-                    // If we have database vehicle with elapsed_hours, use those values
-                    if (dbVehicle != null && dbVehicle.getElapsedHours() != null) {
-                        vehicle.setElapsedSeconds(dbVehicle.getElapsedSeconds());
-                        vehicle.setElapsedMinutes(dbVehicle.getElapsedMinutes());
-                        vehicle.setElapsedHours(dbVehicle.getElapsedHours());
-                        vehicle.setIsOverstay(dbVehicle.getIsOverstay());
+                if (!spot.isAvailable() && vehicle != null) {
+                    if (normalizedPlate.equals(vehicle.getLicensePlate())) {
+                        // If we have database vehicle with elapsed_hours, use those values
+                        if (dbVehicle != null && dbVehicle.getElapsedHours() != null) {
+                            vehicle.setElapsedSeconds(dbVehicle.getElapsedSeconds());
+                            vehicle.setElapsedMinutes(dbVehicle.getElapsedMinutes());
+                            vehicle.setElapsedHours(dbVehicle.getElapsedHours());
+                            vehicle.setIsOverstay(dbVehicle.getIsOverstay());
+                        }
+                        return new VehicleLookupResult(vehicle, spot);
                     }
-                    return new VehicleLookupResult(vehicle, spot);
                 }
             }
-        }
-        
-        // If not found in memory but exists in database, load from database
-        if (dbVehicle != null && dbVehicle.getAssignedSpotId() != null) {
-            // Find the spot by ID
-            ParkingSpot spot = parkingLot.findSpotById(dbVehicle.getAssignedSpotId());
-            if (spot != null) {
-                // Sync in-memory spot with database state
-                if (spot.isAvailable()) {
-                    // Spot is available in memory but vehicle is in database - occupy it
-                    spot.occupySpot(dbVehicle);
+
+            // If not found in memory but exists in database, load from database
+            if (dbVehicle != null && dbVehicle.getAssignedSpotId() != null) {
+                // Find the spot by ID
+                ParkingSpot spot = parkingLot.findSpotById(dbVehicle.getAssignedSpotId());
+                if (spot != null) {
+                    // Sync in-memory spot with database state
+                    if (spot.isAvailable()) {
+                        // Spot is available in memory but vehicle is in database - occupy it
+                        spot.occupySpot(dbVehicle);
+                        parkingLot.markChanged();
+                    }
+                    return new VehicleLookupResult(dbVehicle, spot);
                 }
-                return new VehicleLookupResult(dbVehicle, spot);
             }
         }
         
@@ -192,10 +215,10 @@ public class VehicleExitController {
         
         // If reservation expired and vehicle is in RESERVED spot, issue unauthorized fine
         if (hasExpiredReservation && spot.getType() == SpotType.RESERVED) {
-            Fine expiredReservationFine = new Fine(
+            Fine expiredReservationFine = Fine.ofCents(
                 licensePlate.trim().toUpperCase(),
                 FineType.UNAUTHORIZED_RESERVED,
-                100.0
+                VehicleEntryController.UNAUTHORIZED_RESERVED_FINE_CENTS
             );
             if (unpaidFinesList == null) {
                 unpaidFinesList = new ArrayList<>();
@@ -219,30 +242,30 @@ public class VehicleExitController {
 
         // Calculate parking fee
         // Skip if: prepaid reservation exists OR within grace period
-        double parkingFee = 0.0;
+        long parkingFeeCents = 0L;
         if (!hasPrepaidReservation && !isWithinGracePeriod) {
-            parkingFee = FeeCalculator.calculateParkingFee(vehicle, spot, durationHours);
+            parkingFeeCents = FeeCalculator.calculateParkingFeeCents(vehicle, spot, durationHours);
         }
 
         // Calculate total fines
-        double totalFines = 0.0;
+        long totalFinesCents = 0L;
         if (unpaidFinesList != null) {
             for (Fine fine : unpaidFinesList) {
-                totalFines += fine.getAmount();
+                totalFinesCents = Money.add(totalFinesCents, fine.getAmountCents());
             }
         }
 
         // Calculate total due
-        double totalDue = FeeCalculator.calculateTotalAmount(parkingFee, totalFines);
+        long totalDueCents = FeeCalculator.calculateTotalAmountCents(parkingFeeCents, totalFinesCents);
 
         return new PaymentSummary(
             vehicle,
             spot,
             durationHours,
-            parkingFee,
             unpaidFinesList != null ? unpaidFinesList : new ArrayList<>(),
-            totalFines,
-            totalDue,
+            parkingFeeCents,
+            totalFinesCents,
+            totalDueCents,
             hasPrepaidReservation,
             validReservation,
             isWithinGracePeriod
@@ -266,18 +289,22 @@ public class VehicleExitController {
         // Generate payment summary
         PaymentSummary summary = generatePaymentSummary(licensePlate, unpaidFinesList);
         
-        // Validate payment
-        boolean isPaymentSufficient = PaymentProcessor.validatePayment(amountPaid, summary.getTotalDue());
-        double remainingBalance = PaymentProcessor.calculateRemainingBalance(amountPaid, summary.getTotalDue());
+        // Validate payment; the tendered amount is the only value converted from RM
+        long amountPaidCents = Money.ofRinggit(amountPaid);
+        boolean isPaymentSufficient = PaymentProcessor.validatePaymentCents(amountPaidCents, summary.getTotalDueCents());
+        long remainingBalanceCents = PaymentProcessor.calculateRemainingBalanceCents(
+            amountPaidCents, summary.getTotalDueCents());
 
         // Process payment
-        Payment payment = PaymentProcessor.processPayment(
+        Payment payment = PaymentProcessor.processPaymentCents(
             licensePlate,
-            summary.getParkingFee(),
-            summary.getTotalFines(),
-            amountPaid,
+            summary.getParkingFeeCents(),
+            summary.getTotalFinesCents(),
+            amountPaidCents,
             paymentMethod
         );
+        payment.setSpotType(summary.getSpot().getType());
+        payment.setFloorNumber(Floor.parseFloorNumber(summary.getSpot().getSpotId()));
 
         // Generate receipt
         Receipt receipt = PaymentProcessor.generateReceipt(
@@ -298,14 +325,26 @@ public class VehicleExitController {
             summary.getSpot().getHourlyRate()
         );
 
-        // Mark spot as available (Requirement 4.7)
-        summary.getSpot().vacateSpot();
+        // Mark spot as available (Requirement 4.7); an exit of the same vehicle running on
+        // another thread may have vacated it since the summary was built
+        String normalizedPlate = licensePlate.trim().toUpperCase();
+        synchronized (parkingLot.getModelLock()) {
+            Vehicle parked = summary.getSpot().getCurrentVehicle();
+            if (parked == null || !normalizedPlate.equals(parked.getLicensePlate())) {
+                throw new IllegalArgumentException("Vehicle has already exited: " + normalizedPlate);
+            }
+            summary.getSpot().vacateSpot();
+        }
         
         // Update vehicle exit time in database
+        boolean exitSaved = vehicleDAO != null && spotDAO != null;
         if (vehicleDAO != null) {
             try {
-                vehicleDAO.updateExitTime(licensePlate.trim().toUpperCase(), summary.getVehicle().getExitTime());
+                // No open session means the entry is still in the journal; journal the
+                // exit behind it so the replayed session is closed again
+                exitSaved &= vehicleDAO.updateExitTime(normalizedPlate, summary.getVehicle().getExitTime());
             } catch (SQLException e) {
+                exitSaved = false;
                 System.err.println("Warning: Failed to update vehicle exit time in database: " + e.getMessage());
             }
         }
@@ -315,72 +354,138 @@ public class VehicleExitController {
             try {
                 spotDAO.updateStatus(summary.getSpot().getSpotId(), SpotStatus.AVAILABLE);
             } catch (SQLException e) {
+                exitSaved = false;
                 System.err.println("Warning: Failed to update spot status in database: " + e.getMessage());
             }
         }
+        if (!exitSaved && journal != null) {
+            journal.recordExit(normalizedPlate, summary.getSpot().getSpotId(), summary.getVehicle().getExitTime());
+        }
 
         // Update parking lot revenue - only add the actual charges, not overpayment
-        double actualRevenue = Math.min(amountPaid, summary.getTotalDue());
-        parkingLot.setTotalRevenue(parkingLot.getTotalRevenue() + actualRevenue);
+        long actualRevenueCents = Math.min(amountPaidCents, summary.getTotalDueCents());
+        parkingLot.addRevenueCents(actualRevenueCents);
         
-        // Update revenue in database
+        // Update revenue in database as a delta so concurrent exits are not lost
+        boolean revenueSaved = false;
         if (parkingLotDAO != null) {
             try {
-                parkingLotDAO.updateRevenue(parkingLot.getTotalRevenue());
+                parkingLotDAO.addRevenueCents(actualRevenueCents);
+                revenueSaved = true;
             } catch (SQLException e) {
                 System.err.println("Warning: Failed to update revenue in database: " + e.getMessage());
             }
         }
 
         // Persist payment to database if available
+        boolean paymentSaved = false;
         if (paymentDAO != null) {
             try {
                 paymentDAO.save(payment);
+                paymentSaved = true;
             } catch (SQLException e) {
                 System.err.println("Warning: Failed to persist payment to database: " + e.getMessage());
                 // Continue without persistence
             }
         }
+        // Revenue not yet persisted travels with the journaled payment
+        if (!paymentSaved && journal != null) {
+            journal.recordPayment(payment, revenueSaved ? 0L : actualRevenueCents);
+        }
 
         // ALWAYS mark the original fines as paid (even for partial payment)
         // The unpaid balance fine will represent what's still owed
-        if (fineDAO != null && unpaidFinesList != null) {
+        if (unpaidFinesList != null) {
+            // Settle exactly the fines on the summary in one statement; a fine issued
+            // since the summary was built is not covered by this payment
+            List<Long> fineIds = new ArrayList<>();
             for (Fine fine : unpaidFinesList) {
                 if (fine.getId() != null) {
-                    try {
-                        fineDAO.markAsPaid(fine.getId());
+                    fineIds.add(fine.getId());
+                }
+            }
+            boolean finesSaved = false;
+            if (fineDAO != null && !fineIds.isEmpty()) {
+                try {
+                    fineManager.markFinesAsPaid(fineIds);
+                    finesSaved = true;
+                } catch (SQLException e) {
+                    System.err.println("Warning: Failed to update fine status: " + e.getMessage());
+                }
+            }
+            for (Fine fine : unpaidFinesList) {
+                if (fine.getId() != null) {
+                    boolean fineSaved = finesSaved;
+                    if (!fineSaved && journal != null) {
+                        fineSaved = journal.recordFinePaid(fine.getId());
+                    }
+                    if (fineSaved) {
                         fine.setPaid(true);
-                    } catch (SQLException e) {
-                        System.err.println("Warning: Failed to update fine status: " + e.getMessage());
                     }
                 }
             }
         }
 
         // If payment is insufficient, create a fine for the remaining balance
-        if (!isPaymentSufficient && remainingBalance > 0 && fineDAO != null) {
-            try {
-                Fine unpaidBalanceFine = new Fine(
-                    licensePlate.trim().toUpperCase(),
-                    com.university.parking.model.FineType.UNPAID_BALANCE,
-                    remainingBalance
-                );
-                unpaidBalanceFine.setPaid(false);
-                fineDAO.save(unpaidBalanceFine);
-            } catch (SQLException e) {
-                System.err.println("Warning: Failed to create unpaid balance fine: " + e.getMessage());
+        if (!isPaymentSufficient && remainingBalanceCents > 0 && (fineDAO != null || journal != null)) {
+            Fine unpaidBalanceFine = Fine.ofCents(
+                normalizedPlate,
+                com.university.parking.model.FineType.UNPAID_BALANCE,
+                remainingBalanceCents
+            );
+            unpaidBalanceFine.setPaid(false);
+            boolean fineSaved = false;
+            if (fineDAO != null) {
+                try {
+                    fineDAO.save(unpaidBalanceFine);
+                    fineSaved = true;
+                } catch (SQLException e) {
+                    System.err.println("Warning: Failed to create unpaid balance fine: " + e.getMessage());
+                }
+            }
+            if (!fineSaved && journal != null) {
+                journal.recordFine(unpaidBalanceFine);
             }
         }
 
+        // The exit, payment and fines above change every report
+        parkingLot.markChanged();
+
         return new ExitResult(
             summary,
             payment,
             receipt,
             isPaymentSufficient,
-            remainingBalance
+            Money.toRinggit(remainingBalanceCents)
         );
     }
 
+    /**
+     * Looks up unpaid fines and builds the payment summary on the I/O executor.
+     * 
+     * @param licensePlate the vehicle's license plate
+     * @return a future for the payment summary; fails with IllegalArgumentException if the vehicle is not found
+     */
+    public CompletableFuture<PaymentSummary> generatePaymentSummaryAsync(String licensePlate) {
+        return IoExecutor.supply(() -> generatePaymentSummary(licensePlate, getUnpaidFines(licensePlate)));
+    }
+
+    /**
+     * Processes vehicle exit with payment on the I/O executor.
+     * The spot is looked up and vacated under the parking lot's model lock.
+     * Unpaid fines are re-read when the task runs so the payment settles the current balance.
+     * 
+     * @param licensePlate the vehicle's license plate
+     * @param amountPaid the amount being paid
+     * @param paymentMethod the payment method
+     * @return a future for the exit result
+     */
+    public CompletableFuture<ExitResult> processExitAsync(String licensePlate, double amountPaid,
+                                                          PaymentMethod paymentMethod) {
+        return IoExecutor.supply(() -> processExit(licensePlate, amountPaid, paymentMethod,
+                                                   getUnpaidFines(licensePlate)));
+    }
+
     /**
      * Adds unpaid fines to track for a license plate.
      * Used for testing and fine management.
@@ -433,6 +538,7 @@ public class VehicleExitController {
                         
                         if (overstayFine != null) {
                             fineDAO.save(overstayFine);
+                            parkingLot.markChanged();
                         }
                     }
                 } catch (SQLException e) {
@@ -461,6 +567,16 @@ public class VehicleExitController {
         return finesForPlate;
     }
 
+    /**
+     * Gets unpaid fines for a license plate on the I/O executor.
+     * 
+     * @param licensePlate the license plate to check
+     * @return a future for the list of unpaid fines
+     */
+    public CompletableFuture<List<Fine>> getUnpaidFinesAsync(String licensePlate) {
+        return IoExecutor.supply(() -> getUnpaidFines(licensePlate));
+    }
+
     /**
      * Result class for vehicle lookup operations.
      */
@@ -490,10 +606,10 @@ public class VehicleExitController {
         private final Vehicle vehicle;
         private final ParkingSpot spot;
         private final long durationHours;
-        private final double parkingFee;
+        private final long parkingFeeCents;
         private final List<Fine> unpaidFines;
-        private final double totalFines;
-        private final double totalDue;
+        private final long totalFinesCents;
+        private final long totalDueCents;
         private final boolean hasPrepaidReservation;
         private final Reservation reservation;
         private final boolean isWithinGracePeriod;
@@ -517,13 +633,23 @@ public class VehicleExitController {
                              double totalFines, double totalDue,
                              boolean hasPrepaidReservation, Reservation reservation,
                              boolean isWithinGracePeriod) {
+            this(vehicle, spot, durationHours, unpaidFines, Money.ofRinggit(parkingFee),
+                 Money.ofRinggit(totalFines), Money.ofRinggit(totalDue),
+                 hasPrepaidReservation, reservation, isWithinGracePeriod);
+        }
+
+        PaymentSummary(Vehicle vehicle, ParkingSpot spot, long durationHours,
+                       List<Fine> unpaidFines, long parkingFeeCents,
+                       long totalFinesCents, long totalDueCents,
+                       boolean hasPrepaidReservation, Reservation reservation,
+                       boolean isWithinGracePeriod) {
             this.vehicle = vehicle;
             this.spot = spot;
             this.durationHours = durationHours;
-            this.parkingFee = parkingFee;
+            this.parkingFeeCents = parkingFeeCents;
             this.unpaidFines = unpaidFines;
-            this.totalFines = totalFines;
-            this.totalDue = totalDue;
+            this.totalFinesCents = totalFinesCents;
+            this.totalDueCents = totalDueCents;
             this.hasPrepaidReservation = hasPrepaidReservation;
             this.reservation = reservation;
             this.isWithinGracePeriod = isWithinGracePeriod;
@@ -542,7 +668,11 @@ public class VehicleExitController {
         }
 
         public double getParkingFee() {
-            return parkingFee;
+            return Money.toRinggit(parkingFeeCents);
+        }
+
+        public long getParkingFeeCents() {
+            return parkingFeeCents;
         }
 
         public List<Fine> getUnpaidFines() {
@@ -550,11 +680,19 @@ public class VehicleExitController {
         }
 
         public double getTotalFines() {
-            return totalFines;
+            return Money.toRinggit(totalFinesCents);
+        }
+
+        public long getTotalFinesCents() {
+            return totalFinesCents;
         }
 
         public double getTotalDue() {
-            return totalDue;
+            return Money.toRinggit(totalDueCents);
+        }
+
+        public long getTotalDueCents() {
+            return totalDueCents;
         }
 
         public boolean hasPrepaidReservation() {
@@ -583,7 +721,7 @@ public class VehicleExitController {
             sb.append("Card Holder: ").append(vehicle.isHandicapped() ? "YES" : "NO").append("\n");
             sb.append("Spot: ").append(spot.getSpotId()).append("\n");
             sb.append("Spot Type: ").append(spot.getType()).append("\n");
-            sb.append("Spot Rate: RM ").append(String.format("%.2f", spot.getHourlyRate())).append("/hr\n");
+            Money.appendTo(sb.append("Spot Rate: RM "), spot.getHourlyRateCents()).append("/hr\n");
             sb.append("Entry Time: ").append(vehicle.getEntryTime().format(timeFormatter)).append("\n");
             sb.append("Exit Time: ").append(vehicle.getExitTime().format(timeFormatter)).append("\n");
             sb.append("-----------------------\n");
@@ -594,24 +732,24 @@ public class VehicleExitController {
             } else if (isWithinGracePeriod) {
                 sb.append("Parking Fee: RM 0.00 (15-MIN GRACE PERIOD)\n");
             } else {
-                sb.append("Parking Fee: RM ").append(String.format("%.2f", parkingFee)).append("\n");
+                Money.appendTo(sb.append("Parking Fee: RM "), parkingFeeCents).append("\n");
             }
             
             // Display fines by type
-            if (totalFines > 0 && unpaidFines != null && !unpaidFines.isEmpty()) {
+            if (totalFinesCents > 0 && unpaidFines != null && !unpaidFines.isEmpty()) {
                 sb.append("\nFines:\n");
                 for (Fine fine : unpaidFines) {
                     String fineLabel = getFineTypeLabel(fine.getType());
-                    sb.append("  - ").append(fineLabel).append(": RM ")
-                      .append(String.format("%.2f", fine.getAmount())).append("\n");
+                    Money.appendTo(sb.append("  - ").append(fineLabel).append(": RM "), fine.getAmountCents())
+                      .append("\n");
                 }
-                sb.append("Total Fines: RM ").append(String.format("%.2f", totalFines)).append("\n");
+                Money.appendTo(sb.append("Total Fines: RM "), totalFinesCents).append("\n");
             } else {
                 sb.append("Fines: RM 0.00\n");
             }
             
             sb.append("-----------------------\n");
-            sb.append("TOTAL DUE: RM ").append(String.format("%.2f", totalDue)).append("\n");
+            Money.appendTo(sb.append("TOTAL DUE: RM "), totalDueCents).append("\n");
             sb.append("=======================");
             return sb.toString();
         }
@@ -641,7 +779,7 @@ public class VehicleExitController {
         private final Payment payment;
         private final Receipt receipt;
         private final boolean paymentSufficient;
-        private final double remainingBalance;
+        private final long remainingBalanceCents;
 
         public ExitResult(PaymentSummary summary, Payment payment, Receipt receipt,
                          boolean paymentSufficient, double remainingBalance) {
@@ -649,7 +787,7 @@ public class VehicleExitController {
             this.payment = payment;
             this.receipt = receipt;
             this.paymentSufficient = paymentSufficient;
-            this.remainingBalance = remainingBalance;
+            this.remainingBalanceCents = Money.ofRinggit(remainingBalance);
         }
 
         public PaymentSummary getSummary() {
@@ -669,7 +807,11 @@ public class VehicleExitController {
         }
 
         public double getRemainingBalance() {
-            return remainingBalance;
+            return Money.toRinggit(remainingBalanceCents);
+        }
+
+        public long getRemainingBalanceCents() {
+            return remainingBalanceCents;
         }
     }
 }
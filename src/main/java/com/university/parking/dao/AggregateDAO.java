@@ -0,0 +1,463 @@
+package com.university.parking.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.university.parking.model.Fine;
+import com.university.parking.model.FineAggregate;
+import com.university.parking.model.FineType;
+import com.university.parking.model.Money;
+import com.university.parking.model.Payment;
+import com.university.parking.model.RevenueAggregate;
+import com.university.parking.model.RevenueAnalytics;
+
+/**
+ * Data Access Object for the materialized revenue and fine aggregates.
+ *
+ * revenue_daily holds one row per payment day, payment method and spot type;
+ * revenue_hourly holds one row per payment hour and floor;
+ * fine_daily holds one row per issue day, fine type and paid status.
+ * PaymentDAO and FineDAO update them in the same transaction as the row they write,
+ * so date-range reports read a few hundred aggregate rows instead of scanning payments
+ * and fines. Archived months stay counted because archival never touches the aggregates.
+ */
+public class AggregateDAO {
+    /** Spot type recorded for payments made before spot types were tracked */
+    static final String UNKNOWN_SPOT_TYPE = "UNKNOWN";
+
+    private static final String REVENUE_UPSERT =
+        "INSERT INTO revenue_daily (payment_day, payment_method, spot_type, payment_count, " +
+        "parking_fees, fine_amounts, total_amount) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), " +
+        "parking_fees = parking_fees + VALUES(parking_fees), " +
+        "fine_amounts = fine_amounts + VALUES(fine_amounts), " +
+        "total_amount = total_amount + VALUES(total_amount)";
+
+    private static final String REVENUE_HOURLY_UPSERT =
+        "INSERT INTO revenue_hourly (payment_hour, floor_number, payment_count, " +
+        "parking_fees, fine_amounts, total_amount) VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), " +
+        "parking_fees = parking_fees + VALUES(parking_fees), " +
+        "fine_amounts = fine_amounts + VALUES(fine_amounts), " +
+        "total_amount = total_amount + VALUES(total_amount)";
+
+    /** Floor recorded in revenue_hourly for payments made before floors were tracked */
+    static final int UNKNOWN_FLOOR = 0;
+
+    /** Groups revenue_daily rows by the Monday of their ISO week */
+    private static final String WEEK_START = "DATE_SUB(payment_day, INTERVAL WEEKDAY(payment_day) DAY)";
+
+    private static final String FINE_UPSERT =
+        "INSERT INTO fine_daily (issue_day, fine_type, is_paid, fine_count, total_amount) " +
+        "VALUES (?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE fine_count = fine_count + VALUES(fine_count), " +
+        "total_amount = total_amount + VALUES(total_amount)";
+
+    private final DatabaseManager dbManager;
+
+    public AggregateDAO(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Adjusts the revenue_daily and revenue_hourly buckets of a payment.
+     * Called by PaymentDAO inside the transaction that changes the payment.
+     * @param count +1 to add the payment to its buckets, -1 to remove it
+     */
+    static void adjustPayment(Connection conn, Payment payment, int count) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(REVENUE_HOURLY_UPSERT)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(payment.getPaymentDate().truncatedTo(ChronoUnit.HOURS)));
+            stmt.setInt(2, payment.getFloorNumber() != null ? payment.getFloorNumber() : UNKNOWN_FLOOR);
+            stmt.setInt(3, count);
+            stmt.setBigDecimal(4, Money.toDecimal(Money.multiply(payment.getParkingFeeCents(), count)));
+            stmt.setBigDecimal(5, Money.toDecimal(Money.multiply(payment.getFineAmountCents(), count)));
+            stmt.setBigDecimal(6, Money.toDecimal(Money.multiply(payment.getTotalAmountCents(), count)));
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(REVENUE_UPSERT)) {
+            stmt.setDate(1, Date.valueOf(payment.getPaymentDate().toLocalDate()));
+            stmt.setString(2, payment.getPaymentMethod().name());
+            stmt.setString(3, payment.getSpotType() != null ? payment.getSpotType().name() : UNKNOWN_SPOT_TYPE);
+            stmt.setInt(4, count);
+            stmt.setBigDecimal(5, Money.toDecimal(Money.multiply(payment.getParkingFeeCents(), count)));
+            stmt.setBigDecimal(6, Money.toDecimal(Money.multiply(payment.getFineAmountCents(), count)));
+            stmt.setBigDecimal(7, Money.toDecimal(Money.multiply(payment.getTotalAmountCents(), count)));
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Adjusts a fine_daily bucket.
+     * Called by FineDAO inside the transaction that changes the fine.
+     * @param count +1 to add a fine to the bucket, -1 to remove it
+     */
+    static void adjustFine(Connection conn, Fine fine, int count) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(FINE_UPSERT)) {
+            stmt.setDate(1, Date.valueOf(fine.getIssuedDate().toLocalDate()));
+            stmt.setString(2, fine.getType().name());
+            stmt.setBoolean(3, fine.isPaid());
+            stmt.setInt(4, count);
+            stmt.setBigDecimal(5, Money.toDecimal(Money.multiply(fine.getAmountCents(), count)));
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Adds several fines to their fine_daily buckets with one batch holding one upsert per
+     * distinct bucket. Called by FineDAO inside the transaction that inserts the fines.
+     */
+    static void addFines(Connection conn, List<Fine> fines) throws SQLException {
+        Map<String, FineBucket> buckets = new LinkedHashMap<>();
+        for (Fine fine : fines) {
+            LocalDate day = fine.getIssuedDate().toLocalDate();
+            FineBucket bucket = buckets.computeIfAbsent(day + "|" + fine.getType() + "|" + fine.isPaid(),
+                key -> new FineBucket(day, fine.getType(), fine.isPaid()));
+            bucket.count++;
+            bucket.amountCents = Money.add(bucket.amountCents, fine.getAmountCents());
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(FINE_UPSERT)) {
+            for (FineBucket bucket : buckets.values()) {
+                stmt.setDate(1, Date.valueOf(bucket.day));
+                stmt.setString(2, bucket.type.name());
+                stmt.setBoolean(3, bucket.paid);
+                stmt.setInt(4, bucket.count);
+                stmt.setBigDecimal(5, Money.toDecimal(bucket.amountCents));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Moves unpaid fines from their unpaid to their paid fine_daily bucket with two
+     * set-based upserts. Called by FineDAO inside the transaction that marks the fines
+     * as paid, after locking them and before updating them.
+     * @param ids IDs of fines that are currently unpaid
+     */
+    static void moveFinesToPaid(Connection conn, List<Long> ids) throws SQLException {
+        String sql = "INSERT INTO fine_daily (issue_day, fine_type, is_paid, fine_count, total_amount) " +
+                     "SELECT DATE(issued_date), fine_type, ?, ? * COUNT(*), ? * SUM(amount) FROM fines " +
+                     "WHERE id IN (" + placeholders(ids.size()) + ") GROUP BY DATE(issued_date), fine_type " +
+                     "ON DUPLICATE KEY UPDATE fine_count = fine_count + VALUES(fine_count), " +
+                     "total_amount = total_amount + VALUES(total_amount)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (boolean paid : new boolean[] { false, true }) {
+                int sign = paid ? 1 : -1;
+                stmt.setBoolean(1, paid);
+                stmt.setInt(2, sign);
+                stmt.setInt(3, sign);
+                for (int i = 0; i < ids.size(); i++) {
+                    stmt.setLong(4 + i, ids.get(i));
+                }
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Reads a DECIMAL amount column exactly and converts it to RM for the report models.
+     */
+    private static double amount(ResultSet rs, String column) throws SQLException {
+        return Money.toRinggit(Money.fromDecimal(rs.getBigDecimal(column)));
+    }
+
+    /**
+     * @return n comma-separated JDBC placeholders for an IN list
+     */
+    static String placeholders(int n) {
+        return String.join(", ", Collections.nCopies(n, "?"));
+    }
+
+    /**
+     * Total revenue across all days, including archived months.
+     * @return total revenue
+     */
+    public double calculateTotalRevenue() throws SQLException {
+        String sql = "SELECT SUM(total_amount) AS total FROM revenue_daily";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return amount(rs, "total");
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+        return 0.0;
+    }
+
+    /**
+     * Revenue per day.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one row per day with payments, ordered by day
+     */
+    public List<RevenueAggregate> findRevenueByDay(LocalDate from, LocalDate to) throws SQLException {
+        return findRevenueGroupedBy("payment_day", from, to);
+    }
+
+    /**
+     * Revenue per payment method.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one row per payment method
+     */
+    public List<RevenueAggregate> findRevenueByPaymentMethod(LocalDate from, LocalDate to) throws SQLException {
+        return findRevenueGroupedBy("payment_method", from, to);
+    }
+
+    /**
+     * Revenue per spot type. Payments made before spot types were tracked are grouped as UNKNOWN.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one row per spot type
+     */
+    public List<RevenueAggregate> findRevenueBySpotType(LocalDate from, LocalDate to) throws SQLException {
+        return findRevenueGroupedBy("spot_type", from, to);
+    }
+
+    /**
+     * Revenue per ISO week.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one row per week with payments, keyed by the week's Monday, ordered by week
+     */
+    public List<RevenueAggregate> findRevenueByWeek(LocalDate from, LocalDate to) throws SQLException {
+        return findRevenueGroupedBy(WEEK_START, from, to);
+    }
+
+    /**
+     * Revenue per hour of the day, summed over all days in the range.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one row per hour with payments, keyed "00" to "23"
+     */
+    public List<RevenueAggregate> findRevenueByHourOfDay(LocalDate from, LocalDate to) throws SQLException {
+        return findHourlyRevenueGroupedBy("LPAD(HOUR(payment_hour), 2, '0')", from, to);
+    }
+
+    /**
+     * Revenue per floor. Payments made before floors were tracked are grouped as floor 0.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one row per floor
+     */
+    public List<RevenueAggregate> findRevenueByFloor(LocalDate from, LocalDate to) throws SQLException {
+        return findHourlyRevenueGroupedBy("floor_number", from, to);
+    }
+
+    /**
+     * All revenue breakdowns of a date range, for the revenue analytics report.
+     * Runs one grouped query per breakdown against the aggregate tables.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return the breakdowns
+     */
+    public RevenueAnalytics findRevenueAnalytics(LocalDate from, LocalDate to) throws SQLException {
+        return new RevenueAnalytics(from, to,
+            findRevenueByHourOfDay(from, to),
+            findRevenueByDay(from, to),
+            findRevenueByWeek(from, to),
+            findRevenueByPaymentMethod(from, to),
+            findRevenueBySpotType(from, to),
+            findRevenueByFloor(from, to));
+    }
+
+    /**
+     * Fine totals per fine type and paid status, bucketed by the day each fine was issued.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one row per fine type and paid status
+     */
+    public List<FineAggregate> findFineTotals(LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT fine_type, is_paid, SUM(fine_count) AS fine_count, SUM(total_amount) AS total " +
+                     "FROM fine_daily WHERE issue_day BETWEEN ? AND ? " +
+                     "GROUP BY fine_type, is_paid HAVING SUM(fine_count) > 0 ORDER BY fine_type, is_paid";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setDate(1, Date.valueOf(from));
+                stmt.setDate(2, Date.valueOf(to));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<FineAggregate> totals = new ArrayList<>();
+                    while (rs.next()) {
+                        totals.add(new FineAggregate(
+                            FineType.valueOf(rs.getString("fine_type")),
+                            rs.getBoolean("is_paid"),
+                            rs.getLong("fine_count"),
+                            amount(rs, "total")));
+                    }
+                    return totals;
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Recomputes both aggregate tables from payments, fines and their archive tables.
+     * Use after bulk imports, manual SQL edits or restoring a backup.
+     */
+    public void rebuild() throws SQLException {
+        ArchiveDAO archiveDAO = new ArchiveDAO(dbManager);
+        String payments = unionOf("payments", archiveDAO,
+            "payment_date, payment_method, spot_type, floor_number, parking_fee, fine_amount, total_amount");
+        String fines = unionOf("fines", archiveDAO, "issued_date, fine_type, is_paid, amount");
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM revenue_daily");
+                stmt.executeUpdate(
+                    "INSERT INTO revenue_daily (payment_day, payment_method, spot_type, payment_count, " +
+                    "parking_fees, fine_amounts, total_amount) " +
+                    "SELECT DATE(payment_date), payment_method, COALESCE(spot_type, '" + UNKNOWN_SPOT_TYPE + "'), " +
+                    "COUNT(*), SUM(parking_fee), SUM(fine_amount), SUM(total_amount) " +
+                    "FROM (" + payments + ") p " +
+                    "GROUP BY DATE(payment_date), payment_method, COALESCE(spot_type, '" + UNKNOWN_SPOT_TYPE + "')");
+                stmt.executeUpdate("DELETE FROM revenue_hourly");
+                stmt.executeUpdate(
+                    "INSERT INTO revenue_hourly (payment_hour, floor_number, payment_count, " +
+                    "parking_fees, fine_amounts, total_amount) " +
+                    "SELECT DATE_FORMAT(payment_date, '%Y-%m-%d %H:00:00'), COALESCE(floor_number, " + UNKNOWN_FLOOR + "), " +
+                    "COUNT(*), SUM(parking_fee), SUM(fine_amount), SUM(total_amount) " +
+                    "FROM (" + payments + ") p " +
+                    "GROUP BY DATE_FORMAT(payment_date, '%Y-%m-%d %H:00:00'), COALESCE(floor_number, " + UNKNOWN_FLOOR + ")");
+                stmt.executeUpdate("DELETE FROM fine_daily");
+                stmt.executeUpdate(
+                    "INSERT INTO fine_daily (issue_day, fine_type, is_paid, fine_count, total_amount) " +
+                    "SELECT DATE(issued_date), fine_type, is_paid, COUNT(*), SUM(amount) " +
+                    "FROM (" + fines + ") f " +
+                    "GROUP BY DATE(issued_date), fine_type, is_paid");
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Rebuilds the aggregates if one of them is empty while its source rows exist,
+     * which is the case right after upgrading an install that predates that table.
+     */
+    public void rebuildIfEmpty() throws SQLException {
+        String sql = "SELECT EXISTS (SELECT 1 FROM payments) AS has_payments, " +
+                     "EXISTS (SELECT 1 FROM fines) AS has_fines, " +
+                     "EXISTS (SELECT 1 FROM revenue_daily) AS has_revenue_daily, " +
+                     "EXISTS (SELECT 1 FROM revenue_hourly) AS has_revenue_hourly, " +
+                     "EXISTS (SELECT 1 FROM fine_daily) AS has_fine_daily";
+
+        boolean needsRebuild = false;
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    boolean revenueMissing = !rs.getBoolean("has_revenue_daily") || !rs.getBoolean("has_revenue_hourly");
+                    needsRebuild = (rs.getBoolean("has_payments") && revenueMissing)
+                        || (rs.getBoolean("has_fines") && !rs.getBoolean("has_fine_daily"));
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+        if (needsRebuild) {
+            rebuild();
+            System.out.println("Revenue and fine aggregates rebuilt.");
+        }
+    }
+
+    private List<RevenueAggregate> findRevenueGroupedBy(String column, LocalDate from, LocalDate to)
+            throws SQLException {
+        return findRevenue("revenue_daily", column, "payment_day BETWEEN ? AND ?",
+            Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private List<RevenueAggregate> findHourlyRevenueGroupedBy(String column, LocalDate from, LocalDate to)
+            throws SQLException {
+        return findRevenue("revenue_hourly", column, "payment_hour >= ? AND payment_hour < ?",
+            Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+    }
+
+    private List<RevenueAggregate> findRevenue(String table, String column, String range,
+                                               Object start, Object end) throws SQLException {
+        String sql = "SELECT " + column + " AS group_key, SUM(payment_count) AS payment_count, " +
+                     "SUM(parking_fees) AS parking_fees, SUM(fine_amounts) AS fine_amounts, " +
+                     "SUM(total_amount) AS total FROM " + table + " WHERE " + range + " " +
+                     "GROUP BY " + column + " HAVING SUM(payment_count) > 0 ORDER BY " + column;
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setObject(1, start);
+                stmt.setObject(2, end);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<RevenueAggregate> rows = new ArrayList<>();
+                    while (rs.next()) {
+                        rows.add(RevenueAggregate.ofCents(
+                            rs.getString("group_key"),
+                            rs.getLong("payment_count"),
+                            Money.fromDecimal(rs.getBigDecimal("parking_fees")),
+                            Money.fromDecimal(rs.getBigDecimal("fine_amounts")),
+                            Money.fromDecimal(rs.getBigDecimal("total"))));
+                    }
+                    return rows;
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    private static String unionOf(String table, ArchiveDAO archiveDAO, String columns) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM ").append(table);
+        for (String archive : archiveDAO.findArchiveTables(table)) {
+            sql.append(" UNION ALL SELECT ").append(columns).append(" FROM ").append(archive);
+        }
+        return sql.toString();
+    }
+
+    private static final class FineBucket {
+        final LocalDate day;
+        final FineType type;
+        final boolean paid;
+        int count;
+        long amountCents;
+
+        FineBucket(LocalDate day, FineType type, boolean paid) {
+            this.day = day;
+            this.type = type;
+            this.paid = paid;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.university.parking.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.university.parking.model.Fine;
+import com.university.parking.model.Payment;
+import com.university.parking.model.Vehicle;
+
+/**
+ * Moves historical rows out of the hot tables into monthly archive tables
+ * (e.g. payments_archive_202601) and unions them back in for date-range reports.
+ * 
+ * Archived per table:
+ * - vehicles: closed sessions, bucketed by exit_time
+ * - fines: paid fines, bucketed by issued_date
+ * - reservations: reservations whose end_time has passed, bucketed by end_time
+ * - payments: all payments, bucketed by payment_date
+ * 
+ * Rows move in chunks of {@link #ARCHIVE_CHUNK_SIZE}, oldest first. Each chunk is copied
+ * and deleted in its own short transaction that is rolled back unless every locked row was
+ * both copied and deleted, so a row is never lost or duplicated and gate writes are never
+ * blocked for longer than one chunk.
+ */
+public class ArchiveDAO {
+    /** Months of history kept in the hot tables by default */
+    public static final int DEFAULT_RETENTION_MONTHS = 3;
+
+    /** Rows moved per transaction */
+    static final int ARCHIVE_CHUNK_SIZE = 1000;
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final DatabaseManager dbManager;
+    private final VehicleDAO vehicleDAO;
+    private final FineDAO fineDAO;
+    private final PaymentDAO paymentDAO;
+
+    public ArchiveDAO(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.vehicleDAO = new VehicleDAO(dbManager);
+        this.fineDAO = new FineDAO(dbManager);
+        this.paymentDAO = new PaymentDAO(dbManager);
+    }
+
+    /**
+     * Archive definition for one hot table.
+     */
+    private enum ArchivedTable {
+        VEHICLES("vehicles", "exit_time", "exit_time IS NOT NULL"),
+        FINES("fines", "issued_date", "is_paid = TRUE"),
+        RESERVATIONS("reservations", "end_time", "TRUE"),
+        PAYMENTS("payments", "payment_date", "TRUE");
+
+        private final String table;
+        private final String timeColumn;
+        private final String condition;
+
+        ArchivedTable(String table, String timeColumn, String condition) {
+            this.table = table;
+            this.timeColumn = timeColumn;
+            this.condition = condition;
+        }
+
+        String archiveTable(YearMonth month) {
+            return table + "_archive_" + month.format(MONTH_SUFFIX);
+        }
+    }
+
+    /**
+     * Archives rows older than the retention period.
+     * @param retentionMonths whole months of history to keep in the hot tables
+     * @return the number of rows moved
+     */
+    public int archive(int retentionMonths) throws SQLException {
+        return archiveBefore(YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay());
+    }
+
+    /**
+     * Archives every eligible row whose time column is before the cutoff.
+     * @param cutoff rows at or after this time stay in the hot tables
+     * @return the number of rows moved
+     */
+    public int archiveBefore(LocalDateTime cutoff) throws SQLException {
+        int moved = 0;
+        for (ArchivedTable archived : ArchivedTable.values()) {
+            for (YearMonth month : findMonthsToArchive(archived, cutoff)) {
+                moved += archiveMonth(archived, month, cutoff);
+            }
+        }
+        if (moved > 0) {
+            System.out.println("Archived " + moved + " rows older than " + cutoff.toLocalDate());
+        }
+        return moved;
+    }
+
+    /**
+     * Runs {@link #archive(int)} once a day on a daemon thread, and purges change log
+     * rows older than {@link ChangeLogDAO#RETENTION_DAYS} and occupancy samples older
+     * than {@link OccupancySampleDAO#RETENTION_DAYS}.
+     * @param retentionMonths whole months of history to keep in the hot tables
+     * @return the scheduler, to be shut down with the application
+     */
+    public ScheduledExecutorService startScheduledArchival(int retentionMonths) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "archiver");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archive(retentionMonths);
+                new ChangeLogDAO(dbManager).deleteOlderThan(
+                    LocalDateTime.now().minusDays(ChangeLogDAO.RETENTION_DAYS));
+                new OccupancySampleDAO(dbManager).deleteOlderThan(
+                    LocalDateTime.now().minusDays(OccupancySampleDAO.RETENTION_DAYS));
+            } catch (SQLException e) {
+                System.err.println("Warning: Archival failed: " + e.getMessage());
+            }
+        }, 1, TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+        return scheduler;
+    }
+
+    private List<YearMonth> findMonthsToArchive(ArchivedTable archived, LocalDateTime cutoff) throws SQLException {
+        String sql = "SELECT DISTINCT DATE_FORMAT(" + archived.timeColumn + ", '%Y%m') AS archive_month " +
+                     "FROM " + archived.table + " WHERE " + archived.condition +
+                     " AND " + archived.timeColumn + " < ?";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<YearMonth> months = new ArrayList<>();
+                    while (rs.next()) {
+                        months.add(YearMonth.parse(rs.getString("archive_month"), MONTH_SUFFIX));
+                    }
+                    return months;
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    private int archiveMonth(ArchivedTable archived, YearMonth month, LocalDateTime cutoff) throws SQLException {
+        String archiveTable = archived.archiveTable(month);
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        LocalDateTime upperBound = monthEnd.isBefore(cutoff) ? monthEnd : cutoff;
+        // Walks the time column index, so only the rows of one chunk are scanned and locked
+        String select = "SELECT id FROM " + archived.table + " WHERE " + archived.condition +
+                        " AND " + archived.timeColumn + " >= ? AND " + archived.timeColumn + " < ?" +
+                        " ORDER BY " + archived.timeColumn + ", id LIMIT " + ARCHIVE_CHUNK_SIZE + " FOR UPDATE";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS " + archiveTable + " LIKE " + archived.table);
+            }
+            
+            int moved = 0;
+            int chunk;
+            do {
+                chunk = archiveChunk(conn, archived, archiveTable, select, monthStart, upperBound);
+                moved += chunk;
+            } while (chunk == ARCHIVE_CHUNK_SIZE);
+            return moved;
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Moves up to one chunk of rows in a single transaction.
+     * @return the number of rows moved
+     */
+    private int archiveChunk(Connection conn, ArchivedTable archived, String archiveTable, String select,
+                             LocalDateTime from, LocalDateTime to) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(select)) {
+                bindRange(stmt, from, to);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong("id"));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                conn.commit();
+                return 0;
+            }
+            
+            String idList = " WHERE id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+            int copied;
+            int deleted;
+            // A plain INSERT fails on a row already in the archive instead of skipping it,
+            // so the delete below can never remove a row that was not copied
+            try (PreparedStatement copy = conn.prepareStatement(
+                     "INSERT INTO " + archiveTable + " SELECT * FROM " + archived.table + idList);
+                 PreparedStatement delete = conn.prepareStatement(
+                     "DELETE FROM " + archived.table + idList)) {
+                bindIds(copy, ids);
+                bindIds(delete, ids);
+                copied = copy.executeUpdate();
+                deleted = delete.executeUpdate();
+            }
+            if (copied != ids.size() || deleted != ids.size()) {
+                throw new SQLException("Archiving " + archived.table + " into " + archiveTable + " copied " +
+                                       copied + " and deleted " + deleted + " of " + ids.size() + " rows");
+            }
+            conn.commit();
+            return deleted;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void bindIds(PreparedStatement stmt, List<Long> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setLong(i + 1, ids.get(i));
+        }
+    }
+
+    /**
+     * Finds payments made in a date range, including archived months.
+     * @param from inclusive start
+     * @param to exclusive end
+     * @return payments ordered by payment date
+     */
+    public List<Payment> findPaymentsBetween(LocalDateTime from, LocalDateTime to) throws SQLException {
+        List<Payment> payments = new ArrayList<>();
+        forEachPaymentBetween(from, to, payments::add);
+        return payments;
+    }
+
+    /**
+     * Streams payments made in a date range, including archived months, without loading
+     * them into memory. Rows are streamed from the server as they
+     * are read; the connection is held until the action has seen every row.
+     * @param from inclusive start
+     * @param to exclusive end
+     * @param action callback invoked for each payment, in payment date order
+     */
+    public void forEachPaymentBetween(LocalDateTime from, LocalDateTime to, Consumer<Payment> action)
+            throws SQLException {
+        List<String> tables = findTablesForRange(ArchivedTable.PAYMENTS, from, to);
+        String sql = buildUnion(ArchivedTable.PAYMENTS, "*", tables);
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = dbManager.prepareStreaming(conn, sql)) {
+                bindUnionRanges(stmt, tables.size(), from, to);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(paymentDAO.mapResultSetToPayment(rs));
+                    }
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Finds fines issued in a date range, including archived months.
+     * @param from inclusive start
+     * @param to exclusive end
+     * @return fines ordered by issue date
+     */
+    public List<Fine> findFinesIssuedBetween(LocalDateTime from, LocalDateTime to) throws SQLException {
+        List<Fine> fines = new ArrayList<>();
+        forEachFineIssuedBetween(from, to, fines::add);
+        return fines;
+    }
+
+    /**
+     * Streams fines issued in a date range, including archived months.
+     * @param from inclusive start
+     * @param to exclusive end
+     * @param action callback invoked for each fine, in issue date order
+     * @see #forEachPaymentBetween(LocalDateTime, LocalDateTime, Consumer)
+     */
+    public void forEachFineIssuedBetween(LocalDateTime from, LocalDateTime to, Consumer<Fine> action)
+            throws SQLException {
+        List<String> tables = findTablesForRange(ArchivedTable.FINES, from, to);
+        String sql = buildUnion(ArchivedTable.FINES, "*", tables);
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = dbManager.prepareStreaming(conn, sql)) {
+                bindUnionRanges(stmt, tables.size(), from, to);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(fineDAO.mapResultSetToFine(rs));
+                    }
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Finds parking sessions that ended in a date range, including archived months.
+     * @param from inclusive start
+     * @param to exclusive end
+     * @return closed sessions ordered by exit time
+     */
+    public List<Vehicle> findSessionsExitedBetween(LocalDateTime from, LocalDateTime to) throws SQLException {
+        List<Vehicle> vehicles = new ArrayList<>();
+        forEachSessionExitedBetween(from, to, vehicles::add);
+        return vehicles;
+    }
+
+    /**
+     * Streams parking sessions that ended in a date range, including archived months.
+     * @param from inclusive start
+     * @param to exclusive end
+     * @param action callback invoked for each closed session, in exit time order
+     * @see #forEachPaymentBetween(LocalDateTime, LocalDateTime, Consumer)
+     */
+    public void forEachSessionExitedBetween(LocalDateTime from, LocalDateTime to, Consumer<Vehicle> action)
+            throws SQLException {
+        String columns = "id, license_plate, vehicle_type, is_handicapped, entry_time, exit_time, assigned_spot_id";
+        List<String> tables = findTablesForRange(ArchivedTable.VEHICLES, from, to);
+        String sql = buildUnion(ArchivedTable.VEHICLES, columns, tables);
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = dbManager.prepareStreaming(conn, sql)) {
+                bindUnionRanges(stmt, tables.size(), from, to);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    LocalDateTime now = LocalDateTime.now();
+                    while (rs.next()) {
+                        action.accept(vehicleDAO.mapResultSetToVehicle(rs, now));
+                    }
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Lists the hot table plus every existing archive month overlapping the range.
+     */
+    private List<String> findTablesForRange(ArchivedTable archived, LocalDateTime from, LocalDateTime to)
+            throws SQLException {
+        List<String> tables = new ArrayList<>();
+        tables.add(archived.table);
+        Set<String> existing = findArchiveTables(archived);
+        for (YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to);
+             month = month.plusMonths(1)) {
+            String archiveTable = archived.archiveTable(month);
+            if (existing.contains(archiveTable)) {
+                tables.add(archiveTable);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Builds a UNION ALL of the same range filter over each table.
+     */
+    private static String buildUnion(ArchivedTable archived, String columns, List<String> tables) {
+        String rangeFilter = " WHERE " + archived.timeColumn + " >= ? AND " + archived.timeColumn + " < ?";
+        StringBuilder sql = new StringBuilder();
+        for (String table : tables) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT ").append(columns).append(" FROM ").append(table).append(rangeFilter);
+        }
+        sql.append(" ORDER BY ").append(archived.timeColumn);
+        return sql.toString();
+    }
+
+    private Set<String> findArchiveTables(ArchivedTable archived) throws SQLException {
+        return findArchiveTables(archived.table);
+    }
+
+    /**
+     * Lists the monthly archive tables that exist for a hot table.
+     * @param table the hot table name, e.g. "payments"
+     * @return the archive table names
+     */
+    Set<String> findArchiveTables(String table) throws SQLException {
+        String sql = "SELECT table_name FROM information_schema.tables " +
+                     "WHERE table_schema = ? AND table_name LIKE ?";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, dbManager.getDatabaseName());
+                stmt.setString(2, table + "\\_archive\\_%");
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    Set<String> tables = new HashSet<>();
+                    while (rs.next()) {
+                        tables.add(rs.getString(1));
+                    }
+                    return tables;
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    private static void bindRange(PreparedStatement stmt, LocalDateTime from, LocalDateTime to) throws SQLException {
+        stmt.setTimestamp(1, Timestamp.valueOf(from));
+        stmt.setTimestamp(2, Timestamp.valueOf(to));
+    }
+
+    private static void bindUnionRanges(PreparedStatement stmt, int tableCount, LocalDateTime from,
+                                        LocalDateTime to) throws SQLException {
+        for (int i = 0; i < tableCount; i++) {
+            stmt.setTimestamp(i * 2 + 1, Timestamp.valueOf(from));
+            stmt.setTimestamp(i * 2 + 2, Timestamp.valueOf(to));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.university.parking.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.university.parking.model.ChangeLogEntry;
+import com.university.parking.model.ChangeLogEntry.Entity;
+
+/**
+ * Data Access Object for the change_log table.
+ *
+ * ParkingSpotDAO, VehicleDAO and FineDAO append a row in the same transaction as every
+ * spot, session and fine change. The AUTO_INCREMENT sequence gives other terminals a
+ * cheap primary key range scan for "everything since the last change I applied",
+ * see {@link ChangeLogPoller}.
+ */
+public class ChangeLogDAO {
+    /** Identifies this process in the log so a terminal can skip its own changes */
+    private static final String TERMINAL_ID = UUID.randomUUID().toString();
+
+    /** Rows kept for terminals that were briefly disconnected; older rows are purged with archival */
+    public static final int RETENTION_DAYS = 1;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO change_log (terminal_id, entity, entity_key, action, spot_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final DatabaseManager dbManager;
+
+    public ChangeLogDAO(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * @return the ID this terminal writes into the log
+     */
+    public static String terminalId() {
+        return TERMINAL_ID;
+    }
+
+    /**
+     * Appends a change. Called by the DAOs inside the transaction that makes the change.
+     * @param entity the kind of record that changed
+     * @param key the spot ID or license plate
+     * @param action what happened, e.g. the new spot status or ENTRY/EXIT
+     * @param spotId the spot involved, or null if unknown
+     */
+    static void append(Connection conn, Entity entity, String key, String action, String spotId)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+            stmt.setString(1, TERMINAL_ID);
+            stmt.setString(2, entity.name());
+            stmt.setString(3, key);
+            stmt.setString(4, action);
+            stmt.setString(5, spotId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Reads the latest sequence. Take it before loading the parking lot so changes
+     * made during the load are applied by the poller afterwards.
+     * @return the highest sequence in the log, or 0 if it is empty
+     */
+    public long currentSequence() throws SQLException {
+        String sql = "SELECT COALESCE(MAX(seq), 0) AS seq FROM change_log";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong("seq") : 0L;
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Finds changes after a sequence, oldest first.
+     * Reads the primary so a terminal never lags behind a replica.
+     * @param sequence the last sequence already applied
+     * @param limit the maximum number of rows
+     * @return the changes in sequence order
+     */
+    public List<ChangeLogEntry> findSince(long sequence, int limit) throws SQLException {
+        String sql = "SELECT seq, terminal_id, entity, entity_key, action, spot_id FROM change_log " +
+                     "WHERE seq > ? ORDER BY seq LIMIT ?";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, sequence);
+                stmt.setInt(2, limit);
+
+                return mapEntries(stmt);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Finds the changes with the given sequences, e.g. ones skipped over while their
+     * transaction had not committed yet. Reads the primary.
+     * @param sequences the sequences to look up, at most a few thousand
+     * @return the changes that exist, in sequence order
+     */
+    public List<ChangeLogEntry> findBySequences(Collection<Long> sequences) throws SQLException {
+        if (sequences.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT seq, terminal_id, entity, entity_key, action, spot_id FROM change_log " +
+                     "WHERE seq IN (" + AggregateDAO.placeholders(sequences.size()) + ") ORDER BY seq";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (Long sequence : sequences) {
+                    stmt.setLong(index++, sequence);
+                }
+                return mapEntries(stmt);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    private static List<ChangeLogEntry> mapEntries(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            List<ChangeLogEntry> entries = new ArrayList<>();
+            while (rs.next()) {
+                entries.add(new ChangeLogEntry(
+                    rs.getLong("seq"),
+                    rs.getString("terminal_id"),
+                    Entity.valueOf(rs.getString("entity")),
+                    rs.getString("entity_key"),
+                    rs.getString("action"),
+                    rs.getString("spot_id")));
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Deletes changes older than the cutoff.
+     * @param cutoff rows changed before this time are removed
+     * @return the number of rows deleted
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) throws SQLException {
+        String sql = "DELETE FROM change_log WHERE changed_at < ?";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                return stmt.executeUpdate();
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+}
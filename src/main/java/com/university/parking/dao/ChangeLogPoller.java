@@ -0,0 +1,265 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.university.parking.model.ChangeLogEntry;
+import com.university.parking.model.ParkingLot;
+import com.university.parking.model.ParkingSpot;
+import com.university.parking.model.SpotStatus;
+import com.university.parking.model.Vehicle;
+
+/**
+ * Keeps this terminal's in-memory parking lot in step with other terminals.
+ *
+ * Each poll reads the change_log rows after the last applied sequence and applies the
+ * ones written by other terminals: spot rows set the spot status, session rows re-read
+ * the active vehicle of the affected spot. Fine rows have no in-memory model and are
+ * only passed on to listeners, which typically refresh the visible panel. The model is
+ * changed under the parking lot's model lock, the same lock entries and exits take;
+ * database reads happen outside it.
+ *
+ * AUTO_INCREMENT values are assigned at insert but become visible at commit, so a
+ * lower sequence can appear after a higher one. A gap therefore holds back the rows
+ * behind it until it fills, or until {@link #GAP_WAIT_MILLIS} has passed. The missing
+ * sequences are then skipped but looked up again on every poll for
+ * {@link #SKIPPED_RETRY_MILLIS}; one that turns up belonged to a slow transaction, and
+ * since newer changes were applied before it, its spot is re-read rather than replayed.
+ * Sequences that never turn up belonged to rolled-back transactions.
+ */
+public class ChangeLogPoller {
+    public static final long DEFAULT_INTERVAL_MILLIS = 500;
+    private static final long GAP_WAIT_MILLIS = 1000;
+    private static final long SKIPPED_RETRY_MILLIS = 60_000;
+    private static final int MAX_SKIPPED = 1000;
+    private static final int BATCH_SIZE = 500;
+
+    private final ChangeLogDAO changeLogDAO;
+    private final VehicleDAO vehicleDAO;
+    private final ParkingSpotDAO spotDAO;
+    private final ParkingLot parkingLot;
+    private final List<Consumer<List<ChangeLogEntry>>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Long, Long> skipped = new LinkedHashMap<>(); // sequence -> when it was skipped
+    private long lastSequence;
+    private long gapSeenAt;
+
+    /**
+     * Creates a poller for a parking lot loaded from the database.
+     * @param dbManager the database manager
+     * @param parkingLot the in-memory parking lot to update
+     * @param lastSequence the change log sequence read before the lot was loaded
+     */
+    public ChangeLogPoller(DatabaseManager dbManager, ParkingLot parkingLot, long lastSequence) {
+        this.changeLogDAO = new ChangeLogDAO(dbManager);
+        this.vehicleDAO = new VehicleDAO(dbManager);
+        this.spotDAO = new ParkingSpotDAO(dbManager);
+        this.parkingLot = parkingLot;
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Registers a listener called on the polling thread with the changes made by
+     * other terminals after they have been applied.
+     * @param listener the listener
+     */
+    public void addListener(Consumer<List<ChangeLogEntry>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @return the last sequence applied
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Applies the changes logged since the last poll, and skipped changes that have
+     * committed since.
+     * @return the number of changes from other terminals that were applied
+     */
+    public synchronized int poll() throws SQLException {
+        long now = System.currentTimeMillis();
+        List<ChangeLogEntry> remote = new ArrayList<>();
+        long sequence = lastSequence;
+
+        for (ChangeLogEntry entry : changeLogDAO.findSince(lastSequence, BATCH_SIZE)) {
+            if (entry.getSequence() != sequence + 1) {
+                if (gapSeenAt == 0) {
+                    gapSeenAt = now;
+                }
+                if (now - gapSeenAt < GAP_WAIT_MILLIS) {
+                    break;
+                }
+                skip(sequence + 1, entry.getSequence(), now);
+            }
+            gapSeenAt = 0;
+            sequence = entry.getSequence();
+            skipped.remove(sequence);
+
+            if (!ChangeLogDAO.terminalId().equals(entry.getTerminalId())) {
+                remote.add(entry);
+            }
+        }
+
+        // Skipped changes that have committed since; give up on those skipped long ago
+        skipped.values().removeIf(skippedAt -> now - skippedAt > SKIPPED_RETRY_MILLIS);
+        List<ChangeLogEntry> found = changeLogDAO.findBySequences(new ArrayList<>(skipped.keySet()));
+        List<ChangeLogEntry> late = new ArrayList<>();
+        for (ChangeLogEntry entry : found) {
+            if (!ChangeLogDAO.terminalId().equals(entry.getTerminalId())) {
+                late.add(entry);
+            }
+        }
+
+        // Apply spot statuses in order and collect the spots to re-read
+        Set<String> sessionSpots = new LinkedHashSet<>();
+        Set<String> lateSpots = new LinkedHashSet<>();
+        synchronized (parkingLot.getModelLock()) {
+            for (ChangeLogEntry entry : remote) {
+                if (entry.getEntity() == ChangeLogEntry.Entity.SPOT) {
+                    applySpotStatus(entry.getKey(), SpotStatus.valueOf(entry.getAction()));
+                } else {
+                    addSpotId(entry, sessionSpots);
+                }
+            }
+            for (ChangeLogEntry entry : late) {
+                addSpotId(entry, lateSpots);
+            }
+        }
+
+        // Several session changes to one spot in a batch need only one read. If a read
+        // fails the batch is polled again; reapplying spot statuses is harmless
+        sessionSpots.addAll(lateSpots);
+        Map<String, Vehicle> vehicles = new HashMap<>();
+        for (String spotId : sessionSpots) {
+            vehicles.put(spotId, vehicleDAO.findActiveBySpotId(spotId));
+        }
+        Map<String, SpotStatus> statuses = new HashMap<>();
+        for (String spotId : lateSpots) {
+            ParkingSpot stored = spotDAO.findBySpotId(spotId);
+            if (stored != null) {
+                statuses.put(spotId, stored.getStatus());
+            }
+        }
+
+        synchronized (parkingLot.getModelLock()) {
+            for (Map.Entry<String, SpotStatus> status : statuses.entrySet()) {
+                applySpotStatus(status.getKey(), status.getValue());
+            }
+            for (Map.Entry<String, Vehicle> vehicle : vehicles.entrySet()) {
+                applyVehicle(vehicle.getKey(), vehicle.getValue());
+            }
+        }
+        lastSequence = sequence;
+        for (ChangeLogEntry entry : found) {
+            skipped.remove(entry.getSequence());
+        }
+
+        remote.addAll(late);
+        if (!remote.isEmpty()) {
+            parkingLot.markChanged();
+            for (Consumer<List<ChangeLogEntry>> listener : listeners) {
+                listener.accept(remote);
+            }
+        }
+        return remote.size();
+    }
+
+    /**
+     * Polls on a daemon thread at a fixed delay.
+     * @param intervalMillis milliseconds between polls
+     * @return the scheduler, to be shut down with the application
+     */
+    public ScheduledExecutorService startPolling(long intervalMillis) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "change-log-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Warning: Change log poll failed: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+
+    /**
+     * Records the sequences of a gap as skipped, up to {@link #MAX_SKIPPED} at a time.
+     */
+    private void skip(long from, long to, long now) {
+        for (long missing = from; missing < to && skipped.size() < MAX_SKIPPED; missing++) {
+            skipped.putIfAbsent(missing, now);
+        }
+    }
+
+    /**
+     * Adds the spot a session or late change refers to. Call with the model lock held.
+     */
+    private void addSpotId(ChangeLogEntry entry, Set<String> spotIds) {
+        String spotId;
+        switch (entry.getEntity()) {
+            case SPOT:
+                spotId = entry.getKey();
+                break;
+            case SESSION:
+                spotId = entry.getSpotId() != null ? entry.getSpotId() : findSpotIdByPlate(entry.getKey());
+                break;
+            default:
+                spotId = null;
+                break;
+        }
+        if (spotId != null) {
+            spotIds.add(spotId);
+        }
+    }
+
+    private void applySpotStatus(String spotId, SpotStatus status) {
+        ParkingSpot spot = parkingLot.findSpotById(spotId);
+        if (spot == null) {
+            return;
+        }
+        if (status == SpotStatus.AVAILABLE) {
+            spot.vacateSpot();
+        } else {
+            spot.setStatus(status);
+        }
+    }
+
+    private void applyVehicle(String spotId, Vehicle vehicle) {
+        ParkingSpot spot = parkingLot.findSpotById(spotId);
+        if (spot == null) {
+            return;
+        }
+        if (vehicle != null) {
+            spot.assignVehicle(vehicle);
+        } else if (spot.getCurrentVehicle() != null) {
+            // The spot status itself arrives as a separate spot change
+            spot.setCurrentVehicle(null);
+        }
+    }
+
+    private String findSpotIdByPlate(String licensePlate) {
+        for (ParkingSpot spot : parkingLot.getAllSpots()) {
+            Vehicle vehicle = spot.getCurrentVehicle();
+            if (vehicle != null && vehicle.getLicensePlate().equals(licensePlate)) {
+                return spot.getSpotId();
+            }
+        }
+        return null;
+    }
+}
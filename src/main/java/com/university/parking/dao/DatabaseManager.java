@@ -2,15 +2,26 @@ package com.university.parking.dao;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Manages database connections and schema initialization.
  * Implements connection pooling for efficient database access.
  * Supports MySQL with configurable database name for production and testing.
+ * An optional read replica (system property parking.db.replica, e.g. "localhost:3307")
+ * gets its own pool; reporting reads use {@link #getReadConnection()} and fall back
+ * to the primary while the replica is unreachable.
  */
 public class DatabaseManager {
     // MySQL connection settings for Laragon (default: localhost:3306)
@@ -18,6 +29,18 @@ public class DatabaseManager {
     private static final String DEFAULT_USER = "root";
     private static final String DEFAULT_PASSWORD = "";
     private static final int DEFAULT_POOL_SIZE = 10;
+    private static final String PRIMARY_HOST = "localhost:3306";
+    private static final String URL_OPTIONS =
+        "?useSSL=false&serverTimezone=Asia/Singapore&allowPublicKeyRetrieval=true";
+    private static final long REPLICA_RETRY_MILLIS = 30_000;
+    private static final int POOL_WARMUP_THREADS = 4;
+    /** Fetch size of streaming reads; 0 streams row by row, see {@link #getFetchSize()} */
+    private static final int DEFAULT_FETCH_SIZE = 0;
+    /**
+     * Version of the schema created by {@link #createTables()}. Bump it with every DDL
+     * change so existing installs run the DDL once; otherwise startup skips it.
+     */
+    static final int SCHEMA_VERSION = 4;
 
     private final String databaseName;
     private final String dbUrl;
@@ -25,6 +48,12 @@ public class DatabaseManager {
     private final String password;
     private final int poolSize;
     private final BlockingQueue<Connection> connectionPool;
+    private final String replicaUrl;
+    private final BlockingQueue<Connection> replicaPool;
+    private final Set<Connection> replicaConnections = ConcurrentHashMap.newKeySet();
+    private volatile long replicaRetryAt = Long.MAX_VALUE;
+    private final int fetchSize;
+    private final StatementMetrics metrics = new StatementMetrics();
     private boolean initialized = false;
 
     /**
@@ -51,39 +80,115 @@ public class DatabaseManager {
      * @param poolSize the connection pool size
      */
     public DatabaseManager(String databaseName, String user, String password, int poolSize) throws SQLException {
+        this(databaseName, user, password, poolSize, System.getProperty("parking.db.replica"));
+    }
+
+    /**
+     * Creates DatabaseManager with a read replica.
+     * @param databaseName the name of the database
+     * @param user the database user
+     * @param password the database password
+     * @param poolSize the connection pool size, used for each of the primary and replica pools
+     * @param replicaHost host:port of the read replica, or null to read from the primary only
+     */
+    public DatabaseManager(String databaseName, String user, String password, int poolSize, String replicaHost)
+            throws SQLException {
         this.databaseName = databaseName;
+        this.fetchSize = Integer.getInteger("parking.db.fetchSize", DEFAULT_FETCH_SIZE);
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("parking.db.fetchSize must not be negative");
+        }
+        // Server-side cursors only when a fetch size is configured; they make every statement
+        // a server-side prepared statement, which costs extra round trips on the short queries
+        String cursorOption = fetchSize > 0 ? "&useCursorFetch=true" : "";
         // Use Asia/Singapore timezone (UTC+8) to match Malaysia/Singapore/China time
-        this.dbUrl = "jdbc:mysql://localhost:3306/" + databaseName + 
-                     "?useSSL=false&serverTimezone=Asia/Singapore&allowPublicKeyRetrieval=true&createDatabaseIfNotExist=true";
+        this.dbUrl = "jdbc:mysql://" + PRIMARY_HOST + "/" + databaseName + URL_OPTIONS +
+                     "&createDatabaseIfNotExist=true" +
+                     // Send JDBC batches as multi-row statements
+                     "&rewriteBatchedStatements=true" + cursorOption;
+        this.replicaUrl = replicaHost != null && !replicaHost.trim().isEmpty()
+            ? "jdbc:mysql://" + replicaHost.trim() + "/" + databaseName + URL_OPTIONS + cursorOption
+            : null;
         this.user = user;
         this.password = password;
         this.poolSize = poolSize;
         this.connectionPool = new ArrayBlockingQueue<>(poolSize);
+        this.replicaPool = new ArrayBlockingQueue<>(poolSize);
     }
 
+    /**
+     * Connects and brings the schema up to date.
+     * Opens one connection up front (the URL creates the database if it is missing) and
+     * the rest of the pool in the background. The DDL runs only when the stored schema
+     * version differs from {@link #SCHEMA_VERSION}.
+     */
     public synchronized void initializeDatabase() throws SQLException {
         if (initialized) {
             return;
         }
-        createDatabaseIfNotExists();
-        initializeConnectionPool();
-        createTables();
+        long start = System.nanoTime();
+        connectionPool.offer(createConnection());
+        warmPools();
+
+        int storedVersion = readSchemaVersion();
+        if (storedVersion != SCHEMA_VERSION) {
+            createTables();
+            // Installs upgraded from before the aggregate tables start with them empty
+            try {
+                new AggregateDAO(this).rebuildIfEmpty();
+            } catch (SQLException e) {
+                System.err.println("Warning: Failed to rebuild revenue and fine aggregates: " + e.getMessage());
+            }
+            writeSchemaVersion();
+            System.out.println("Schema upgraded from version " + storedVersion + " to " + SCHEMA_VERSION);
+        }
         initialized = true;
+        System.out.println("Database '" + databaseName + "' ready in " +
+                           (System.nanoTime() - start) / 1_000_000 + " ms");
     }
 
-    private void createDatabaseIfNotExists() throws SQLException {
-        // Use Asia/Singapore timezone (UTC+8) for database connection
-        String baseUrl = "jdbc:mysql://localhost:3306?useSSL=false&serverTimezone=Asia/Singapore&allowPublicKeyRetrieval=true";
-        try (Connection conn = DriverManager.getConnection(baseUrl, user, password);
-             Statement stmt = conn.createStatement()) {
-            stmt.execute("CREATE DATABASE IF NOT EXISTS " + databaseName);
-            System.out.println("Database '" + databaseName + "' created or already exists.");
+    /**
+     * Reads the schema version recorded by the last successful DDL run.
+     * @return the version, or 0 for a new database or one that predates versioning
+     */
+    private int readSchemaVersion() {
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version WHERE id = 1")) {
+                return rs.next() ? rs.getInt("version") : 0;
+            }
+        } catch (SQLException e) {
+            return 0; // schema_version does not exist yet
+        } finally {
+            releaseConnection(conn);
+        }
+    }
+
+    private void writeSchemaVersion() throws SQLException {
+        String sql = "INSERT INTO schema_version (id, version) VALUES (1, ?) " +
+                     "ON DUPLICATE KEY UPDATE version = VALUES(version)";
+        Connection conn = getConnection();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, SCHEMA_VERSION);
+            stmt.executeUpdate();
+        } finally {
+            releaseConnection(conn);
         }
     }
 
     private void createTables() throws SQLException {
         Connection conn = getConnection();
         try (Statement stmt = conn.createStatement()) {
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS schema_version (" +
+                "id TINYINT PRIMARY KEY, " +
+                "version INT NOT NULL, " +
+                "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP" +
+                ") ENGINE=InnoDB"
+            );
+
             stmt.execute(
                 "CREATE TABLE IF NOT EXISTS parking_lots (" +
                 "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
@@ -125,9 +230,15 @@ public class DatabaseManager {
                 "is_handicapped BOOLEAN NOT NULL DEFAULT FALSE, " +
                 "entry_time DATETIME, " +
                 "exit_time DATETIME, " +
-                "assigned_spot_id VARCHAR(50)" +
+                "assigned_spot_id VARCHAR(50), " +
+                "INDEX idx_vehicles_plate_id (license_plate, id), " +
+                "INDEX idx_vehicles_active (exit_time, assigned_spot_id, license_plate, vehicle_type, is_handicapped, entry_time)" +
                 ") ENGINE=InnoDB"
             );
+            // Existing installs predate the vehicle indexes
+            createIndexIfMissing(conn, "vehicles", "idx_vehicles_plate_id", "license_plate, id");
+            createIndexIfMissing(conn, "vehicles", "idx_vehicles_active",
+                "exit_time, assigned_spot_id, license_plate, vehicle_type, is_handicapped, entry_time");
 
             stmt.execute(
                 "CREATE TABLE IF NOT EXISTS fines (" +
@@ -136,7 +247,8 @@ public class DatabaseManager {
                 "fine_type VARCHAR(30) NOT NULL, " +
                 "amount DECIMAL(10,2) NOT NULL, " +
                 "issued_date DATETIME NOT NULL, " +
-                "is_paid BOOLEAN NOT NULL DEFAULT FALSE" +
+                "is_paid BOOLEAN NOT NULL DEFAULT FALSE, " +
+                "INDEX idx_fines_issued_date (issued_date)" +
                 ") ENGINE=InnoDB"
             );
 
@@ -148,7 +260,80 @@ public class DatabaseManager {
                 "fine_amount DECIMAL(10,2) NOT NULL DEFAULT 0.00, " +
                 "total_amount DECIMAL(10,2) NOT NULL, " +
                 "payment_method VARCHAR(20) NOT NULL, " +
-                "payment_date DATETIME NOT NULL" +
+                "payment_date DATETIME NOT NULL, " +
+                "spot_type VARCHAR(20), " +
+                "floor_number INT, " +
+                "INDEX idx_payments_date (payment_date)" +
+                ") ENGINE=InnoDB"
+            );
+            // Existing installs and their payment archives predate spot_type and floor_number
+            addColumnIfMissing(conn, "payments", "spot_type", "VARCHAR(20)");
+            addColumnIfMissing(conn, "payments", "floor_number", "INT");
+            for (String archive : findTablesLike(conn, "payments\\_archive\\_%")) {
+                addColumnIfMissing(conn, archive, "spot_type", "VARCHAR(20)");
+                addColumnIfMissing(conn, archive, "floor_number", "INT");
+            }
+
+            // Materialized aggregates maintained by PaymentDAO and FineDAO, see AggregateDAO
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS revenue_daily (" +
+                "payment_day DATE NOT NULL, " +
+                "payment_method VARCHAR(20) NOT NULL, " +
+                "spot_type VARCHAR(20) NOT NULL, " +
+                "payment_count INT NOT NULL DEFAULT 0, " +
+                "parking_fees DECIMAL(12,2) NOT NULL DEFAULT 0.00, " +
+                "fine_amounts DECIMAL(12,2) NOT NULL DEFAULT 0.00, " +
+                "total_amount DECIMAL(12,2) NOT NULL DEFAULT 0.00, " +
+                "PRIMARY KEY (payment_day, payment_method, spot_type)" +
+                ") ENGINE=InnoDB"
+            );
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS revenue_hourly (" +
+                "payment_hour DATETIME NOT NULL, " +
+                "floor_number INT NOT NULL, " +
+                "payment_count INT NOT NULL DEFAULT 0, " +
+                "parking_fees DECIMAL(12,2) NOT NULL DEFAULT 0.00, " +
+                "fine_amounts DECIMAL(12,2) NOT NULL DEFAULT 0.00, " +
+                "total_amount DECIMAL(12,2) NOT NULL DEFAULT 0.00, " +
+                "PRIMARY KEY (payment_hour, floor_number)" +
+                ") ENGINE=InnoDB"
+            );
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS fine_daily (" +
+                "issue_day DATE NOT NULL, " +
+                "fine_type VARCHAR(30) NOT NULL, " +
+                "is_paid BOOLEAN NOT NULL, " +
+                "fine_count INT NOT NULL DEFAULT 0, " +
+                "total_amount DECIMAL(12,2) NOT NULL DEFAULT 0.00, " +
+                "PRIMARY KEY (issue_day, fine_type, is_paid)" +
+                ") ENGINE=InnoDB"
+            );
+
+            // One row per floor and spot type for each occupancy sample (see OccupancySampler)
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS occupancy_samples (" +
+                "sampled_at DATETIME NOT NULL, " +
+                "floor_number SMALLINT NOT NULL, " +
+                "spot_type VARCHAR(20) NOT NULL, " +
+                "total_spots SMALLINT NOT NULL, " +
+                "occupied_spots SMALLINT NOT NULL, " +
+                "PRIMARY KEY (sampled_at, floor_number, spot_type)" +
+                ") ENGINE=InnoDB"
+            );
+
+            // Append-only log of spot, session and fine changes, polled by other terminals (see ChangeLogPoller)
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS change_log (" +
+                "seq BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "terminal_id CHAR(36) NOT NULL, " +
+                "entity VARCHAR(10) NOT NULL, " +
+                "entity_key VARCHAR(50) NOT NULL, " +
+                "action VARCHAR(20) NOT NULL, " +
+                "spot_id VARCHAR(50), " +
+                "changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                "INDEX idx_change_log_changed_at (changed_at)" +
                 ") ENGINE=InnoDB"
             );
 
@@ -164,11 +349,16 @@ public class DatabaseManager {
                 "prepaid_amount DECIMAL(10,2) NOT NULL DEFAULT 0.00, " +
                 "INDEX idx_license_plate (license_plate), " +
                 "INDEX idx_spot_id (spot_id), " +
-                "INDEX idx_time_range (start_time, end_time)" +
+                "INDEX idx_time_range (start_time, end_time), " +
+                "INDEX idx_reservations_end_time (end_time)" +
                 ") ENGINE=InnoDB"
             );
+            // Archival selects by these time columns, see ArchiveDAO; existing installs predate them
+            createIndexIfMissing(conn, "fines", "idx_fines_issued_date", "issued_date");
+            createIndexIfMissing(conn, "payments", "idx_payments_date", "payment_date");
+            createIndexIfMissing(conn, "reservations", "idx_reservations_end_time", "end_time");
 
-            // Create VIEW for real-time elapsed time tracking
+            // Create VIEW for real-time elapsed time tracking (used by the DB tools; VehicleDAO reads the base table)
             stmt.execute(
                 "CREATE OR REPLACE VIEW vehicles_with_duration AS " +
                 "SELECT v.*, " +
@@ -202,17 +392,109 @@ public class DatabaseManager {
         }
     }
 
-    private void initializeConnectionPool() throws SQLException {
-        for (int i = 0; i < poolSize; i++) {
-            connectionPool.offer(createConnection());
+    /**
+     * Creates an index unless one with the same name already exists on the table.
+     * MySQL has no CREATE INDEX IF NOT EXISTS, so the catalog is checked first.
+     */
+    private void createIndexIfMissing(Connection conn, String table, String indexName, String columns)
+            throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.statistics " +
+                     "WHERE table_schema = ? AND table_name = ? AND index_name = ? LIMIT 1";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, databaseName);
+            pstmt.setString(2, table);
+            pstmt.setString(3, indexName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX " + indexName + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    /**
+     * Adds a column unless the table already has it.
+     */
+    private void addColumnIfMissing(Connection conn, String table, String column, String definition)
+            throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.columns " +
+                     "WHERE table_schema = ? AND table_name = ? AND column_name = ? LIMIT 1";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, databaseName);
+            pstmt.setString(2, table);
+            pstmt.setString(3, column);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    private List<String> findTablesLike(Connection conn, String pattern) throws SQLException {
+        String sql = "SELECT table_name FROM information_schema.tables WHERE table_schema = ? AND table_name LIKE ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, databaseName);
+            pstmt.setString(2, pattern);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<String> tables = new ArrayList<>();
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+                return tables;
+            }
+        }
+    }
+
+    /**
+     * Opens the remaining primary connections and the replica pool on background threads.
+     * Until they are pooled, {@link #getConnection()} opens connections on demand.
+     */
+    private void warmPools() {
+        ExecutorService warmup = Executors.newFixedThreadPool(POOL_WARMUP_THREADS, r -> {
+            Thread thread = new Thread(r, "db-pool-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 1; i < poolSize; i++) {
+            warmup.execute(() -> {
+                try {
+                    Connection conn = createConnection();
+                    if (!connectionPool.offer(conn)) {
+                        closeQuietly(conn);
+                    }
+                } catch (SQLException e) {
+                    System.err.println("Warning: Failed to open pooled connection: " + e.getMessage());
+                }
+            });
         }
+        warmup.execute(this::initializeReplicaPool);
+        warmup.shutdown();
     }
 
     private Connection createConnection() throws SQLException {
         return DriverManager.getConnection(dbUrl, user, password);
     }
 
+    /**
+     * Gets a primary connection. The connection is instrumented so its statements
+     * are recorded in {@link #getMetrics()}; return it with {@link #releaseConnection}.
+     * @return a pooled primary connection
+     */
     public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = acquirePrimary();
+        metrics.recordConnectionWait(System.nanoTime() - start);
+        return InstrumentedConnection.wrap(conn, metrics);
+    }
+
+    private Connection acquirePrimary() throws SQLException {
         Connection conn = connectionPool.poll();
         if (conn == null || conn.isClosed()) {
             return createConnection();
@@ -220,13 +502,48 @@ public class DatabaseManager {
         return conn;
     }
 
+    /**
+     * Gets a connection for a read that tolerates replication lag, such as reports
+     * and admin listings. Reads that must see the caller's own writes (the entry and
+     * exit flows) use {@link #getConnection()} instead.
+     * @return a replica connection, or a primary connection if no replica is usable
+     */
+    public Connection getReadConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = acquireRead();
+        metrics.recordConnectionWait(System.nanoTime() - start);
+        return InstrumentedConnection.wrap(conn, metrics);
+    }
+
+    private Connection acquireRead() throws SQLException {
+        if (replicaUrl != null && System.currentTimeMillis() >= replicaRetryAt) {
+            try {
+                Connection conn = replicaPool.poll();
+                if (conn == null || conn.isClosed()) {
+                    if (conn != null) {
+                        replicaConnections.remove(conn);
+                    }
+                    conn = createReplicaConnection();
+                }
+                return conn;
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return acquirePrimary();
+    }
+
     public void releaseConnection(Connection conn) {
+        conn = InstrumentedConnection.unwrap(conn);
         if (conn != null) {
+            BlockingQueue<Connection> pool = replicaConnections.contains(conn) ? replicaPool : connectionPool;
             try {
                 if (!conn.isClosed()) {
-                    if (!connectionPool.offer(conn)) {
-                        conn.close();
+                    if (!pool.offer(conn)) {
+                        closeQuietly(conn);
                     }
+                } else {
+                    replicaConnections.remove(conn);
                 }
             } catch (SQLException e) {
                 // Ignore close errors
@@ -234,18 +551,60 @@ public class DatabaseManager {
         }
     }
 
+    private void initializeReplicaPool() {
+        if (replicaUrl == null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                replicaPool.offer(createReplicaConnection());
+            }
+            replicaRetryAt = 0;
+            System.out.println("Read replica connected: " + replicaUrl);
+        } catch (SQLException e) {
+            markReplicaDown(e);
+        }
+    }
+
+    private Connection createReplicaConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(replicaUrl, user, password);
+        conn.setReadOnly(true);
+        replicaConnections.add(conn);
+        return conn;
+    }
+
+    private void markReplicaDown(SQLException e) {
+        replicaRetryAt = System.currentTimeMillis() + REPLICA_RETRY_MILLIS;
+        System.err.println("Warning: Read replica unavailable, reading from primary: " + e.getMessage());
+    }
+
+    private void closeQuietly(Connection conn) {
+        replicaConnections.remove(conn);
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // Ignore close errors
+        }
+    }
+
     public void shutdown() {
         Connection conn;
         while ((conn = connectionPool.poll()) != null) {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                // Ignore close errors
-            }
+            closeQuietly(conn);
+        }
+        while ((conn = replicaPool.poll()) != null) {
+            closeQuietly(conn);
         }
         initialized = false;
     }
 
+    /**
+     * @return true if a read replica is configured and currently in use
+     */
+    public boolean isReplicaActive() {
+        return replicaUrl != null && System.currentTimeMillis() >= replicaRetryAt;
+    }
+
     public boolean isInitialized() {
         return initialized;
     }
@@ -254,6 +613,42 @@ public class DatabaseManager {
         return dbUrl;
     }
 
+    /**
+     * Rows fetched per round trip by the streaming reads, set with the
+     * {@code parking.db.fetchSize} system property. 0, the default, streams row by row
+     * over the normal protocol. A positive size fetches that many rows at a time through
+     * a server-side cursor; the connections are then opened with {@code useCursorFetch}.
+     * @return the fetch size
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Prepares a forward-only, read-only statement whose rows are streamed from the server
+     * as they are read instead of being buffered in the driver, see {@link #getFetchSize()}.
+     * Only the statements that ask for it stream; every other statement keeps the driver's
+     * default fetching. While a row-by-row result set is open the connection can run no
+     * other statement.
+     * @param conn the connection to prepare on
+     * @param sql the query
+     * @return the streaming statement
+     */
+    public PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        // Integer.MIN_VALUE is the MySQL driver's signal for row-by-row streaming
+        stmt.setFetchSize(fetchSize > 0 ? fetchSize : Integer.MIN_VALUE);
+        return stmt;
+    }
+
+    /**
+     * Per-statement latency, row and connection wait statistics for this manager's connections.
+     * @return the metrics registry
+     */
+    public StatementMetrics getMetrics() {
+        return metrics;
+    }
+
     public String getDatabaseName() {
         return databaseName;
     }
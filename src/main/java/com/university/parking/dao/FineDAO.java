@@ -7,16 +7,22 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.university.parking.model.ChangeLogEntry.Entity;
 import com.university.parking.model.Fine;
 import com.university.parking.model.FineType;
+import com.university.parking.model.Money;
 
 /**
  * Data Access Object for Fine entities.
  * Handles CRUD operations for fines in the database.
  */
-public class FineDAO {
+public class FineDAO implements FineRepository {
     private final DatabaseManager dbManager;
 
     public FineDAO(DatabaseManager dbManager) {
@@ -28,6 +34,7 @@ public class FineDAO {
      * @param fine the fine to save
      * @return the generated ID
      */
+    @Override
     public Long save(Fine fine) throws SQLException {
         String sql = "INSERT INTO fines (license_plate, fine_type, amount, issued_date, is_paid) " +
                      "VALUES (?, ?, ?, ?, ?)";
@@ -35,27 +42,38 @@ public class FineDAO {
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 stmt.setString(1, fine.getLicensePlate());
                 stmt.setString(2, fine.getType().name());
-                stmt.setDouble(3, fine.getAmount());
+                stmt.setBigDecimal(3, Money.toDecimal(fine.getAmountCents()));
                 stmt.setTimestamp(4, Timestamp.valueOf(fine.getIssuedDate()));
                 stmt.setBoolean(5, fine.isPaid());
                 
                 stmt.executeUpdate();
                 
+                Long id = null;
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
                     if (rs.next()) {
-                        Long id = rs.getLong(1);
-                        fine.setId(id);
-                        return id;
+                        id = rs.getLong(1);
                     }
                 }
+                AggregateDAO.adjustFine(conn, fine, 1);
+                ChangeLogDAO.append(conn, Entity.FINE, fine.getLicensePlate(), "ISSUED", null);
+                conn.commit();
+                if (id != null) {
+                    fine.setId(id);
+                }
+                return id;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
         }
-        return null;
     }
 
     /**
@@ -63,6 +81,7 @@ public class FineDAO {
      * @param id the fine ID
      * @return the fine or null if not found
      */
+    @Override
     public Fine findById(Long id) throws SQLException {
         String sql = "SELECT * FROM fines WHERE id = ?";
         
@@ -89,6 +108,7 @@ public class FineDAO {
      * @param licensePlate the license plate
      * @return list of unpaid fines
      */
+    @Override
     public List<Fine> findUnpaidByLicensePlate(String licensePlate) throws SQLException {
         String sql = "SELECT * FROM fines WHERE license_plate = ? AND is_paid = FALSE";
         
@@ -116,6 +136,7 @@ public class FineDAO {
      * @param licensePlate the license plate
      * @return list of all fines
      */
+    @Override
     public List<Fine> findByLicensePlate(String licensePlate) throws SQLException {
         String sql = "SELECT * FROM fines WHERE license_plate = ?";
         
@@ -142,12 +163,13 @@ public class FineDAO {
      * Finds all unpaid fines in the system.
      * @return list of all unpaid fines
      */
+    @Override
     public List<Fine> findAllUnpaid() throws SQLException {
         String sql = "SELECT * FROM fines WHERE is_paid = FALSE";
         
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
                 
@@ -167,6 +189,7 @@ public class FineDAO {
      * @param id the fine ID
      * @param fine the updated fine data
      */
+    @Override
     public void update(Long id, Fine fine) throws SQLException {
         String sql = "UPDATE fines SET license_plate = ?, fine_type = ?, amount = ?, " +
                      "issued_date = ?, is_paid = ? WHERE id = ?";
@@ -174,15 +197,27 @@ public class FineDAO {
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Fine existing = findForUpdate(conn, id);
                 stmt.setString(1, fine.getLicensePlate());
                 stmt.setString(2, fine.getType().name());
-                stmt.setDouble(3, fine.getAmount());
+                stmt.setBigDecimal(3, Money.toDecimal(fine.getAmountCents()));
                 stmt.setTimestamp(4, Timestamp.valueOf(fine.getIssuedDate()));
                 stmt.setBoolean(5, fine.isPaid());
                 stmt.setLong(6, id);
                 
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0 && existing != null) {
+                    AggregateDAO.adjustFine(conn, existing, -1);
+                    AggregateDAO.adjustFine(conn, fine, 1);
+                    ChangeLogDAO.append(conn, Entity.FINE, fine.getLicensePlate(), "UPDATED", null);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -190,53 +225,246 @@ public class FineDAO {
     }
 
     /**
-     * Marks a fine as paid.
+     * Marks a fine as paid, moving it from the unpaid to the paid aggregate bucket.
      * @param id the fine ID
      */
+    @Override
     public void markAsPaid(Long id) throws SQLException {
-        String sql = "UPDATE fines SET is_paid = TRUE WHERE id = ?";
+        String sql = "UPDATE fines SET is_paid = TRUE WHERE id = ? AND is_paid = FALSE";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Fine existing = findForUpdate(conn, id);
                 stmt.setLong(1, id);
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0 && existing != null) {
+                    AggregateDAO.adjustFine(conn, existing, -1);
+                    existing.setPaid(true);
+                    AggregateDAO.adjustFine(conn, existing, 1);
+                    ChangeLogDAO.append(conn, Entity.FINE, existing.getLicensePlate(), "PAID", null);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Marks several fines as paid with one set-based UPDATE in a single transaction.
+     * Their aggregate buckets move with two set-based upserts.
+     * @param ids the fine IDs; already paid or missing fines are skipped
+     * @return the number of fines marked as paid
+     */
+    @Override
+    public int markAllAsPaid(Collection<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> idList = new ArrayList<>(ids);
+        String sql = "SELECT id, license_plate FROM fines WHERE id IN (" +
+                     AggregateDAO.placeholders(idList.size()) + ") AND is_paid = FALSE FOR UPDATE";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < idList.size(); i++) {
+                    stmt.setLong(i + 1, idList.get(i));
+                }
+                int marked = markLockedAsPaid(conn, stmt);
+                conn.commit();
+                return marked;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Marks every unpaid fine of a license plate as paid in a single transaction.
+     * @param licensePlate the license plate
+     * @return the number of fines marked as paid
+     */
+    @Override
+    public int markAllUnpaidAsPaid(String licensePlate) throws SQLException {
+        String sql = "SELECT id, license_plate FROM fines WHERE license_plate = ? AND is_paid = FALSE FOR UPDATE";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, licensePlate);
+                int marked = markLockedAsPaid(conn, stmt);
+                conn.commit();
+                return marked;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Inserts several fines with one JDBC batch in a single transaction and assigns
+     * their generated IDs. Aggregates are adjusted once per distinct bucket.
+     * @param fines the fines to save
+     */
+    @Override
+    public void saveAll(List<Fine> fines) throws SQLException {
+        if (fines.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO fines (license_plate, fine_type, amount, issued_date, is_paid) " +
+                     "VALUES (?, ?, ?, ?, ?)";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                Set<String> plates = new LinkedHashSet<>();
+                for (Fine fine : fines) {
+                    stmt.setString(1, fine.getLicensePlate());
+                    stmt.setString(2, fine.getType().name());
+                    stmt.setBigDecimal(3, Money.toDecimal(fine.getAmountCents()));
+                    stmt.setTimestamp(4, Timestamp.valueOf(fine.getIssuedDate()));
+                    stmt.setBoolean(5, fine.isPaid());
+                    stmt.addBatch();
+                    plates.add(fine.getLicensePlate());
+                }
+                stmt.executeBatch();
+
+                List<Long> ids = new ArrayList<>(fines.size());
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+                AggregateDAO.addFines(conn, fines);
+                for (String plate : plates) {
+                    ChangeLogDAO.append(conn, Entity.FINE, plate, "ISSUED", null);
+                }
+                conn.commit();
+                for (int i = 0; i < ids.size() && i < fines.size(); i++) {
+                    fines.get(i).setId(ids.get(i));
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
         }
     }
 
+    /**
+     * Marks the unpaid fines selected by a locking query as paid, moving their aggregate
+     * buckets and logging one change per license plate. Runs inside the caller's transaction.
+     * @param lockQuery a SELECT id, license_plate ... FOR UPDATE with its parameters bound
+     */
+    private int markLockedAsPaid(Connection conn, PreparedStatement lockQuery) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        Set<String> plates = new LinkedHashSet<>();
+        try (ResultSet rs = lockQuery.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong("id"));
+                plates.add(rs.getString("license_plate"));
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        AggregateDAO.moveFinesToPaid(conn, ids);
+        int marked;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE fines SET is_paid = TRUE WHERE id IN (" + AggregateDAO.placeholders(ids.size()) + ")")) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setLong(i + 1, ids.get(i));
+            }
+            marked = stmt.executeUpdate();
+        }
+        for (String plate : plates) {
+            ChangeLogDAO.append(conn, Entity.FINE, plate, "PAID", null);
+        }
+        return marked;
+    }
+
     /**
      * Deletes a fine from the database.
      * @param id the fine ID
      */
+    @Override
     public void delete(Long id) throws SQLException {
         String sql = "DELETE FROM fines WHERE id = ?";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Fine existing = findForUpdate(conn, id);
                 stmt.setLong(1, id);
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0 && existing != null) {
+                    AggregateDAO.adjustFine(conn, existing, -1);
+                    ChangeLogDAO.append(conn, Entity.FINE, existing.getLicensePlate(), "DELETED", null);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
         }
     }
 
+    /**
+     * Reads and locks a fine so its aggregate bucket can be adjusted in the same transaction.
+     */
+    private Fine findForUpdate(Connection conn, Long id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM fines WHERE id = ? FOR UPDATE")) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapResultSetToFine(rs) : null;
+            }
+        }
+    }
+
     /**
      * Finds all fines in the database.
      * @return list of all fines
      */
+    @Override
     public List<Fine> findAll() throws SQLException {
         String sql = "SELECT * FROM fines";
         
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
                 
@@ -251,15 +479,80 @@ public class FineDAO {
         }
     }
 
+    /**
+     * Finds one page of fines ordered by ID, starting after the given ID.
+     * Uses the primary key as the keyset, so every page costs the same regardless of depth.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of fines to return
+     * @return the page of fines
+     */
+    @Override
+    public Page<Fine> findPage(Long afterId, int pageSize) throws SQLException {
+        Page.checkPageSize(pageSize);
+        String sql = "SELECT * FROM fines WHERE id > ? ORDER BY id LIMIT ?";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, afterId != null ? afterId : 0L);
+                stmt.setInt(2, pageSize + 1);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<Fine> fines = new ArrayList<>();
+                    Long lastId = null;
+                    boolean hasMore = false;
+                    while (rs.next()) {
+                        if (fines.size() == pageSize) {
+                            hasMore = true;
+                            break;
+                        }
+                        lastId = rs.getLong("id");
+                        fines.add(mapResultSetToFine(rs));
+                    }
+                    return new Page<>(fines, lastId, hasMore);
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Streams all fines in ID order without loading the table into memory.
+     * Rows are streamed from the server as they are read; the connection is held
+     * until the action has seen every row.
+     * @param action callback invoked for each fine
+     */
+    @Override
+    public void forEach(Consumer<Fine> action) throws SQLException {
+        String sql = "SELECT * FROM fines ORDER BY id";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = dbManager.prepareStreaming(conn, sql)) {
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(mapResultSetToFine(rs));
+                    }
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
     /**
      * Maps a ResultSet row to a Fine object.
      */
-    private Fine mapResultSetToFine(ResultSet rs) throws SQLException {
+    Fine mapResultSetToFine(ResultSet rs) throws SQLException {
         Fine fine = new Fine();
         fine.setId(rs.getLong("id"));
         fine.setLicensePlate(rs.getString("license_plate"));
         fine.setType(FineType.valueOf(rs.getString("fine_type")));
-        fine.setAmount(rs.getDouble("amount"));
+        fine.setAmountCents(Money.fromDecimal(rs.getBigDecimal("amount")));
         fine.setIssuedDate(rs.getTimestamp("issued_date").toLocalDateTime());
         fine.setPaid(rs.getBoolean("is_paid"));
         return fine;
@@ -0,0 +1,109 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.university.parking.model.Fine;
+
+/**
+ * Storage operations for fines.
+ * Implemented by {@link FineDAO} for MySQL and by the in-memory backend.
+ */
+public interface FineRepository {
+
+    /**
+     * Saves a fine and assigns its generated ID.
+     * @param fine the fine to save
+     * @return the generated ID
+     */
+    Long save(Fine fine) throws SQLException;
+
+    /**
+     * Finds a fine by its ID.
+     * @param id the fine ID
+     * @return the fine or null if not found
+     */
+    Fine findById(Long id) throws SQLException;
+
+    /**
+     * Finds all unpaid fines for a specific license plate.
+     * @param licensePlate the license plate
+     * @return list of unpaid fines
+     */
+    List<Fine> findUnpaidByLicensePlate(String licensePlate) throws SQLException;
+
+    /**
+     * Finds all fines for a specific license plate.
+     * @param licensePlate the license plate
+     * @return list of all fines
+     */
+    List<Fine> findByLicensePlate(String licensePlate) throws SQLException;
+
+    /**
+     * Finds all unpaid fines in the system.
+     * @return list of all unpaid fines
+     */
+    List<Fine> findAllUnpaid() throws SQLException;
+
+    /**
+     * Updates a fine.
+     * @param id the fine ID
+     * @param fine the updated fine data
+     */
+    void update(Long id, Fine fine) throws SQLException;
+
+    /**
+     * Marks a fine as paid.
+     * @param id the fine ID
+     */
+    void markAsPaid(Long id) throws SQLException;
+
+    /**
+     * Marks several fines as paid in one operation.
+     * Fines that are already paid or do not exist are skipped.
+     * @param ids the fine IDs
+     * @return the number of fines marked as paid
+     */
+    int markAllAsPaid(Collection<Long> ids) throws SQLException;
+
+    /**
+     * Marks every unpaid fine of a license plate as paid in one operation.
+     * @param licensePlate the license plate
+     * @return the number of fines marked as paid
+     */
+    int markAllUnpaidAsPaid(String licensePlate) throws SQLException;
+
+    /**
+     * Saves several fines in one operation and assigns their generated IDs.
+     * @param fines the fines to save
+     */
+    void saveAll(List<Fine> fines) throws SQLException;
+
+    /**
+     * Deletes a fine.
+     * @param id the fine ID
+     */
+    void delete(Long id) throws SQLException;
+
+    /**
+     * Finds all fines.
+     * @return list of all fines
+     */
+    List<Fine> findAll() throws SQLException;
+
+    /**
+     * Finds one page of fines ordered by ID, starting after the given ID.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of fines to return, at least 1
+     * @return the page of fines
+     */
+    Page<Fine> findPage(Long afterId, int pageSize) throws SQLException;
+
+    /**
+     * Streams all fines in ID order without materializing them as a list.
+     * @param action callback invoked for each row
+     */
+    void forEach(Consumer<Fine> action) throws SQLException;
+}
@@ -0,0 +1,174 @@
+package com.university.parking.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Dynamic proxies that time JDBC statements for {@link StatementMetrics}.
+ * A wrapped connection hands out statements whose execute calls are timed per SQL
+ * string and whose result sets count the rows read. Everything else passes through.
+ */
+final class InstrumentedConnection {
+
+    private InstrumentedConnection() {
+    }
+
+    /**
+     * Wraps a pooled connection.
+     * @param conn the physical connection
+     * @param metrics where timings are recorded
+     * @return the instrumented connection
+     */
+    static Connection wrap(Connection conn, StatementMetrics metrics) {
+        return (Connection) Proxy.newProxyInstance(
+            InstrumentedConnection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new ConnectionHandler(conn, metrics));
+    }
+
+    /**
+     * Returns the physical connection behind a wrapped one.
+     * @param conn a connection, wrapped or not
+     * @return the physical connection
+     */
+    static Connection unwrap(Connection conn) {
+        if (conn != null && Proxy.isProxyClass(conn.getClass())
+                && Proxy.getInvocationHandler(conn) instanceof ConnectionHandler) {
+            return ((ConnectionHandler) Proxy.getInvocationHandler(conn)).target;
+        }
+        return conn;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final StatementMetrics metrics;
+
+        ConnectionHandler(Connection target, StatementMetrics metrics) {
+            this.target = target;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedConnection.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "prepareCall":
+                    return wrapStatement((Statement) result, (String) args[0],
+                        method.getReturnType());
+                case "createStatement":
+                    return wrapStatement((Statement) result, null, Statement.class);
+                default:
+                    return result;
+            }
+        }
+
+        private Object wrapStatement(Statement statement, String sql, Class<?> type) {
+            return Proxy.newProxyInstance(
+                InstrumentedConnection.class.getClassLoader(),
+                new Class<?>[] { type },
+                new StatementHandler(statement, sql, metrics));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final StatementMetrics metrics;
+
+        StatementHandler(Statement target, String preparedSql, StatementMetrics metrics) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                return InstrumentedConnection.invoke(target, method, args);
+            }
+
+            // Plain statements carry their SQL as the first argument
+            String sql = preparedSql != null ? preparedSql
+                : (args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null);
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = InstrumentedConnection.invoke(target, method, args);
+                failed = false;
+                if (result instanceof ResultSet) {
+                    return Proxy.newProxyInstance(
+                        InstrumentedConnection.class.getClassLoader(),
+                        new Class<?>[] { ResultSet.class },
+                        new ResultSetHandler((ResultSet) result, sql, metrics));
+                }
+                if (result instanceof Integer) {
+                    metrics.recordRows(sql, (Integer) result);
+                } else if (result instanceof Long) {
+                    metrics.recordRows(sql, (Long) result);
+                } else if (result instanceof int[]) {
+                    long rows = 0;
+                    for (int count : (int[]) result) {
+                        rows += Math.max(count, 0);
+                    }
+                    metrics.recordRows(sql, rows);
+                }
+                return result;
+            } finally {
+                metrics.recordExecution(sql, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final String sql;
+        private final StatementMetrics metrics;
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet target, String sql, StatementMetrics metrics) {
+            this.target = target;
+            this.sql = sql;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedConnection.invoke(target, method, args);
+            String name = method.getName();
+            if ("next".equals(name)) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    recordRows();
+                }
+            } else if ("close".equals(name)) {
+                recordRows();
+            }
+            return result;
+        }
+
+        private void recordRows() {
+            if (!recorded) {
+                recorded = true;
+                metrics.recordRows(sql, rows);
+            }
+        }
+    }
+}
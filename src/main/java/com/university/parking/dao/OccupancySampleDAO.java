@@ -0,0 +1,168 @@
+package com.university.parking.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.university.parking.model.OccupancyHistory;
+import com.university.parking.model.OccupancyMatrix;
+import com.university.parking.model.OccupancySample;
+import com.university.parking.model.OccupancyTrend;
+import com.university.parking.model.SpotStatus;
+import com.university.parking.model.SpotType;
+
+/**
+ * Data Access Object for the occupancy_samples table.
+ *
+ * Each sample is stored as one small row per floor and spot type, keyed by the sampling
+ * time. Sampling times are aligned to the sampling interval, so terminals sampling the
+ * same lot write the same keys and the last write wins instead of doubling the counts.
+ * Reports group the rows by hour of the day in the database.
+ */
+public class OccupancySampleDAO {
+    /** Samples kept for capacity planning; older rows are purged with archival */
+    public static final int RETENTION_DAYS = 365;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO occupancy_samples (sampled_at, floor_number, spot_type, total_spots, occupied_spots) " +
+        "VALUES (?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total_spots = VALUES(total_spots), occupied_spots = VALUES(occupied_spots)";
+
+    private final DatabaseManager dbManager;
+
+    public OccupancySampleDAO(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Writes samples with one JDBC batch in a single transaction.
+     * Floor and spot type combinations without spots are skipped.
+     * @param samples the samples to save
+     * @return the number of rows written
+     */
+    public int saveAll(List<OccupancySample> samples) throws SQLException {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+                int rows = 0;
+                for (OccupancySample sample : samples) {
+                    OccupancyMatrix matrix = sample.getOccupancy();
+                    Timestamp sampledAt = Timestamp.valueOf(sample.getSampledAt());
+                    for (int f = 0; f < matrix.getFloorCount(); f++) {
+                        for (SpotType type : SpotType.values()) {
+                            int available = matrix.getCount(f, type, SpotStatus.AVAILABLE);
+                            int occupied = matrix.getCount(f, type, SpotStatus.OCCUPIED);
+                            if (available + occupied == 0) {
+                                continue;
+                            }
+                            stmt.setTimestamp(1, sampledAt);
+                            stmt.setInt(2, matrix.getFloorNumber(f));
+                            stmt.setString(3, type.name());
+                            stmt.setInt(4, available + occupied);
+                            stmt.setInt(5, occupied);
+                            stmt.addBatch();
+                            rows++;
+                        }
+                    }
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Occupancy by hour of the day for the whole lot, each floor and each spot type.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return the history
+     */
+    public OccupancyHistory findHistory(LocalDate from, LocalDate to) throws SQLException {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return new OccupancyHistory(from, to,
+            findTrendsGroupedBy("'ALL'", start, end),
+            findTrendsGroupedBy("floor_number", start, end),
+            findTrendsGroupedBy("spot_type", start, end));
+    }
+
+    /**
+     * Deletes samples older than the cutoff.
+     * @param cutoff samples taken before this time are removed
+     * @return the number of rows deleted
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) throws SQLException {
+        String sql = "DELETE FROM occupancy_samples WHERE sampled_at < ?";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                return stmt.executeUpdate();
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Sums the rows of each sample into the group first, so the average and peak are
+     * taken over whole samples of the group rather than over its floor and type rows.
+     */
+    private List<OccupancyTrend> findTrendsGroupedBy(String column, LocalDateTime start, LocalDateTime end)
+            throws SQLException {
+        String sql = "SELECT group_key, HOUR(sampled_at) AS sample_hour, COUNT(*) AS sample_count, " +
+                     "AVG(occupied) AS average_occupied, MAX(occupied) AS peak_occupied, " +
+                     "MAX(total) AS total_spots FROM (" +
+                     "SELECT sampled_at, " + column + " AS group_key, SUM(occupied_spots) AS occupied, " +
+                     "SUM(total_spots) AS total FROM occupancy_samples " +
+                     "WHERE sampled_at >= ? AND sampled_at < ? GROUP BY sampled_at, " + column + ") s " +
+                     "GROUP BY group_key, HOUR(sampled_at) ORDER BY group_key, sample_hour";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(start));
+                stmt.setTimestamp(2, Timestamp.valueOf(end));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<OccupancyTrend> trends = new ArrayList<>();
+                    while (rs.next()) {
+                        trends.add(new OccupancyTrend(
+                            rs.getString("group_key"),
+                            rs.getInt("sample_hour"),
+                            rs.getLong("sample_count"),
+                            rs.getDouble("average_occupied"),
+                            rs.getInt("peak_occupied"),
+                            rs.getInt("total_spots")));
+                    }
+                    return trends;
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+}
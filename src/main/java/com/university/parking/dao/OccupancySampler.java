@@ -0,0 +1,173 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.university.parking.model.OccupancyMatrix;
+import com.university.parking.model.OccupancySample;
+import com.university.parking.model.ParkingLot;
+
+/**
+ * Records the occupancy of the parking lot every few minutes for the occupancy history report.
+ *
+ * A sample is one {@link OccupancyMatrix} pass over the lot. Samples go into a fixed-size
+ * ring buffer and are written to occupancy_samples in batches, so the database sees one
+ * transaction per {@link #FLUSH_BATCH} samples rather than one per sample. While the
+ * database is unreachable the buffer keeps the latest samples and overwrites the oldest
+ * once full; they are written with the next successful flush.
+ */
+public class OccupancySampler {
+    public static final long DEFAULT_INTERVAL_MINUTES = 5;
+    /** One day of samples at the default interval */
+    public static final int DEFAULT_CAPACITY = 288;
+    private static final int FLUSH_BATCH = 6;
+
+    private final OccupancySampleDAO sampleDAO;
+    private final ParkingLot parkingLot;
+    private final long intervalMinutes;
+
+    private final OccupancySample[] buffer;
+    private int head;
+    private int size;
+    /** Number of samples ever added before buffer[head], used to flush without losing later samples */
+    private long headSequence;
+    private long dropped;
+
+    /**
+     * @param dbManager the database manager
+     * @param parkingLot the parking lot to sample
+     * @param intervalMinutes minutes between samples
+     * @param capacity samples kept in memory until written
+     */
+    public OccupancySampler(DatabaseManager dbManager, ParkingLot parkingLot, long intervalMinutes, int capacity) {
+        if (intervalMinutes <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Interval and capacity must be positive");
+        }
+        this.sampleDAO = new OccupancySampleDAO(dbManager);
+        this.parkingLot = parkingLot;
+        this.intervalMinutes = intervalMinutes;
+        this.buffer = new OccupancySample[capacity];
+    }
+
+    /**
+     * Counts the lot now and adds the sample to the buffer.
+     * @return the sample
+     */
+    public OccupancySample sample() {
+        OccupancyMatrix matrix;
+        synchronized (parkingLot.getModelLock()) {
+            matrix = OccupancyMatrix.of(parkingLot);
+        }
+        OccupancySample sample = new OccupancySample(alignedNow(), matrix);
+        synchronized (this) {
+            if (size == buffer.length) {
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+                headSequence++;
+                size--;
+                dropped++;
+            }
+            buffer[(head + size) % buffer.length] = sample;
+            size++;
+        }
+        return sample;
+    }
+
+    /**
+     * @return the samples not yet written, oldest first
+     */
+    public synchronized List<OccupancySample> getPending() {
+        List<OccupancySample> pending = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pending.add(buffer[(head + i) % buffer.length]);
+        }
+        return pending;
+    }
+
+    /**
+     * @return the number of samples overwritten before they could be written
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Writes the buffered samples in one batch and removes them from the buffer.
+     * Samples taken during the write stay buffered for the next flush.
+     * @return the number of samples written
+     */
+    public int flush() throws SQLException {
+        List<OccupancySample> pending;
+        long firstSequence;
+        synchronized (this) {
+            pending = getPending();
+            firstSequence = headSequence;
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        sampleDAO.saveAll(pending);
+        // New samples change the occupancy history report
+        parkingLot.markChanged();
+
+        synchronized (this) {
+            // Samples overwritten during the write have already left the buffer
+            long written = firstSequence + pending.size() - headSequence;
+            for (long i = 0; i < written && size > 0; i++) {
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+                headSequence++;
+                size--;
+            }
+        }
+        return pending.size();
+    }
+
+    /**
+     * Samples on a low-priority daemon thread at each interval boundary, e.g. :00, :05, :10,
+     * and writes every {@link #FLUSH_BATCH} samples.
+     * Call {@link #flush()} after shutting the scheduler down to keep the last samples.
+     * @return the scheduler, to be shut down with the application
+     */
+    public ScheduledExecutorService startSampling() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "occupancy-sampler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        long intervalSeconds = TimeUnit.MINUTES.toSeconds(intervalMinutes);
+        long initialDelay = intervalSeconds - LocalDateTime.now().toLocalTime().toSecondOfDay() % intervalSeconds;
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+                if (getPending().size() >= FLUSH_BATCH) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                System.err.println("Warning: Occupancy samples not written yet: " + e.getMessage());
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Occupancy sampling failed: " + e.getMessage());
+            }
+        }, initialDelay, intervalSeconds, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    /**
+     * Rounds to the nearest boundary rather than down, so a run that fires a little
+     * early still gets its own boundary instead of the previous sample's.
+     * @return the current time rounded to the nearest sampling boundary of the day
+     */
+    private LocalDateTime alignedNow() {
+        LocalDateTime now = LocalDateTime.now();
+        long intervalSeconds = TimeUnit.MINUTES.toSeconds(intervalMinutes);
+        long secondOfDay = now.toLocalTime().toSecondOfDay();
+        long rounded = (secondOfDay + intervalSeconds / 2) / intervalSeconds * intervalSeconds;
+        return now.toLocalDate().atStartOfDay().plusSeconds(rounded);
+    }
+}
@@ -0,0 +1,51 @@
+package com.university.parking.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query ordered by row ID.
+ * Pass {@link #getLastId()} as the {@code afterId} of the next request to continue.
+ * @param <T> the entity type
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final Long lastId;
+    private final boolean hasMore;
+
+    /**
+     * Rejects page sizes that could never make progress: an empty page that still
+     * reports more rows would keep a paging loop going forever.
+     * @param pageSize the requested page size
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public static void checkPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+    }
+
+    public Page(List<T> items, Long lastId, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.lastId = lastId;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the row ID of the last item, or null if the page is empty
+     */
+    public Long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return true if more rows follow this page
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -14,6 +14,7 @@ import com.university.parking.model.FineCalculationStrategy;
 import com.university.parking.model.Floor;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSpot;
+import com.university.parking.model.Money;
 import com.university.parking.model.SpotType;
 import com.university.parking.model.Vehicle;
 
@@ -21,7 +22,7 @@ import com.university.parking.model.Vehicle;
  * Data Access Object for ParkingLot entities.
  * Handles loading and saving complete parking lot structure including floors, spots, and active vehicles.
  */
-public class ParkingLotDAO {
+public class ParkingLotDAO implements ParkingLotRepository {
     private final DatabaseManager dbManager;
     private final FloorDAO floorDAO;
     private final ParkingSpotDAO spotDAO;
@@ -38,6 +39,7 @@ public class ParkingLotDAO {
      * Checks if a parking lot exists in the database.
      * @return true if at least one parking lot record exists
      */
+    @Override
     public boolean parkingLotExists() throws SQLException {
         String sql = "SELECT COUNT(*) as count FROM parking_lots";
         
@@ -61,6 +63,7 @@ public class ParkingLotDAO {
      * Includes all floors, spots, active vehicles, and fine strategy.
      * @return fully populated ParkingLot object or null if no parking lot exists
      */
+    @Override
     public ParkingLot loadParkingLot() throws SQLException {
         // Get the parking lot record
         String sql = "SELECT * FROM parking_lots LIMIT 1";
@@ -77,12 +80,12 @@ public class ParkingLotDAO {
                 
                 Long parkingLotId = rs.getLong("id");
                 String name = rs.getString("name");
-                double totalRevenue = rs.getDouble("total_revenue");
+                long totalRevenueCents = Money.fromDecimal(rs.getBigDecimal("total_revenue"));
                 String currentFineStrategy = rs.getString("current_fine_strategy");
                 
                 // Create parking lot object
                 ParkingLot parkingLot = new ParkingLot(name);
-                parkingLot.setTotalRevenue(totalRevenue);
+                parkingLot.setTotalRevenueCents(totalRevenueCents);
                 
                 // Restore fine strategy from database
                 restoreFineStrategy(parkingLot, currentFineStrategy);
@@ -137,6 +140,7 @@ public class ParkingLotDAO {
      * @param parkingLot the parking lot to save
      * @return the generated parking lot ID
      */
+    @Override
     public Long saveParkingLot(ParkingLot parkingLot) throws SQLException {
         // Save parking lot record
         String sql = "INSERT INTO parking_lots (name, total_floors, total_revenue) VALUES (?, ?, ?)";
@@ -149,7 +153,7 @@ public class ParkingLotDAO {
             try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 stmt.setString(1, parkingLot.getName());
                 stmt.setInt(2, parkingLot.getFloors().size());
-                stmt.setDouble(3, parkingLot.getTotalRevenue());
+                stmt.setBigDecimal(3, Money.toDecimal(parkingLot.getTotalRevenueCents()));
                 
                 stmt.executeUpdate();
                 
@@ -233,7 +237,7 @@ public class ParkingLotDAO {
                         ParkingSpot floorSpot = floor.findSpotById(loadedSpot.getSpotId());
                         if (floorSpot != null) {
                             floorSpot.setStatus(loadedSpot.getStatus());
-                            floorSpot.setHourlyRate(loadedSpot.getHourlyRate());
+                            floorSpot.setHourlyRateCents(loadedSpot.getHourlyRateCents());
                         }
                     }
                 }
@@ -284,6 +288,7 @@ public class ParkingLotDAO {
      * Updates the total revenue for the parking lot in the database.
      * @param totalRevenue the new total revenue
      */
+    @Override
     public void updateRevenue(double totalRevenue) throws SQLException {
         String sql = "UPDATE parking_lots SET total_revenue = ? LIMIT 1";
         
@@ -291,7 +296,7 @@ public class ParkingLotDAO {
         try {
             conn = dbManager.getConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setDouble(1, totalRevenue);
+                stmt.setBigDecimal(1, Money.toDecimal(Money.ofRinggit(totalRevenue)));
                 int rowsUpdated = stmt.executeUpdate();
                 if (rowsUpdated > 0) {
                     System.out.println("Updated parking lot revenue to RM " + String.format("%.2f", totalRevenue));
@@ -302,10 +307,51 @@ public class ParkingLotDAO {
         }
     }
     
+    /**
+     * Adds a revenue delta to the parking lot total in the database.
+     * The increment is applied by the database, so concurrent terminals never
+     * overwrite each other's payments the way a whole-value write would.
+     * @param amount the revenue collected by a single payment
+     */
+    @Override
+    public void addRevenue(double amount) throws SQLException {
+        addRevenueCents(Money.ofRinggit(amount));
+    }
+
+    /**
+     * Adds a revenue delta in cents to the parking lot total in the database.
+     * @param amountCents the revenue collected by a single payment, in cents
+     */
+    @Override
+    public void addRevenueCents(long amountCents) throws SQLException {
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            addRevenueCents(conn, amountCents);
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Adds a revenue delta in cents on the caller's connection, inside its transaction.
+     * @param conn the connection of the enclosing write
+     * @param amountCents the revenue to add, in cents
+     */
+    static void addRevenueCents(Connection conn, long amountCents) throws SQLException {
+        // Bind cents and scale in SQL so the DECIMAL column never sees a binary fraction
+        String sql = "UPDATE parking_lots SET total_revenue = total_revenue + ? / 100 LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, amountCents);
+            stmt.executeUpdate();
+        }
+    }
+    
     /**
      * Updates the fine calculation strategy in the database.
      * @param strategy the fine calculation strategy to save
      */
+    @Override
     public void updateFineStrategy(FineCalculationStrategy strategy) throws SQLException {
         String sql = "UPDATE parking_lots SET current_fine_strategy = ? LIMIT 1";
         
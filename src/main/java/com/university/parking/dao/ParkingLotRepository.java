@@ -0,0 +1,56 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+
+import com.university.parking.model.FineCalculationStrategy;
+import com.university.parking.model.ParkingLot;
+
+/**
+ * Storage operations for the parking lot structure, revenue and fine strategy.
+ * Implemented by {@link ParkingLotDAO} for MySQL and by the in-memory backend.
+ */
+public interface ParkingLotRepository {
+
+    /**
+     * Checks if a parking lot has been saved.
+     * @return true if a parking lot exists
+     */
+    boolean parkingLotExists() throws SQLException;
+
+    /**
+     * Loads the complete parking lot including floors, spots, active vehicles and fine strategy.
+     * @return the parking lot or null if none exists
+     */
+    ParkingLot loadParkingLot() throws SQLException;
+
+    /**
+     * Saves a parking lot structure including all floors and spots.
+     * @param parkingLot the parking lot to save
+     * @return the generated parking lot ID
+     */
+    Long saveParkingLot(ParkingLot parkingLot) throws SQLException;
+
+    /**
+     * Overwrites the stored total revenue.
+     * @param totalRevenue the new total revenue
+     */
+    void updateRevenue(double totalRevenue) throws SQLException;
+
+    /**
+     * Adds a revenue delta to the stored total.
+     * @param amount the revenue collected by a single payment
+     */
+    void addRevenue(double amount) throws SQLException;
+
+    /**
+     * Adds a revenue delta in cents to the stored total.
+     * @param amountCents the revenue collected by a single payment, in cents
+     */
+    void addRevenueCents(long amountCents) throws SQLException;
+
+    /**
+     * Updates the stored fine calculation strategy.
+     * @param strategy the fine calculation strategy to save
+     */
+    void updateFineStrategy(FineCalculationStrategy strategy) throws SQLException;
+}
@@ -8,6 +8,8 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.university.parking.model.ChangeLogEntry.Entity;
+import com.university.parking.model.Money;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.SpotStatus;
 import com.university.parking.model.SpotType;
@@ -16,7 +18,7 @@ import com.university.parking.model.SpotType;
  * Data Access Object for ParkingSpot entities.
  * Handles CRUD operations for parking spots in the database.
  */
-public class ParkingSpotDAO {
+public class ParkingSpotDAO implements ParkingSpotRepository {
     private final DatabaseManager dbManager;
 
     public ParkingSpotDAO(DatabaseManager dbManager) {
@@ -29,6 +31,7 @@ public class ParkingSpotDAO {
      * @param spot the parking spot to save
      * @return the generated ID
      */
+    @Override
     public Long save(Long floorId, ParkingSpot spot) throws SQLException {
         String sql = "INSERT INTO parking_spots (floor_id, spot_id, spot_type, hourly_rate, status, current_vehicle_id) " +
                      "VALUES (?, ?, ?, ?, ?, ?)";
@@ -40,7 +43,7 @@ public class ParkingSpotDAO {
                 stmt.setLong(1, floorId);
                 stmt.setString(2, spot.getSpotId());
                 stmt.setString(3, spot.getType().name());
-                stmt.setDouble(4, spot.getHourlyRate());
+                stmt.setBigDecimal(4, Money.toDecimal(spot.getHourlyRateCents()));
                 stmt.setString(5, spot.getStatus().name());
                 stmt.setObject(6, null);
                 
@@ -63,6 +66,7 @@ public class ParkingSpotDAO {
      * @param id the spot database ID
      * @return the parking spot or null if not found
      */
+    @Override
     public ParkingSpot findById(Long id) throws SQLException {
         String sql = "SELECT * FROM parking_spots WHERE id = ?";
         
@@ -89,6 +93,7 @@ public class ParkingSpotDAO {
      * @param spotId the spot identifier
      * @return the parking spot or null if not found
      */
+    @Override
     public ParkingSpot findBySpotId(String spotId) throws SQLException {
         String sql = "SELECT * FROM parking_spots WHERE spot_id = ?";
         
@@ -114,6 +119,7 @@ public class ParkingSpotDAO {
      * Finds all available parking spots.
      * @return list of available spots
      */
+    @Override
     public List<ParkingSpot> findAvailable() throws SQLException {
         String sql = "SELECT * FROM parking_spots WHERE status = 'AVAILABLE'";
         
@@ -139,6 +145,7 @@ public class ParkingSpotDAO {
      * @param floorId the floor ID
      * @return list of spots on the floor
      */
+    @Override
     public List<ParkingSpot> findByFloorId(Long floorId) throws SQLException {
         String sql = "SELECT * FROM parking_spots WHERE floor_id = ?";
         
@@ -166,6 +173,7 @@ public class ParkingSpotDAO {
      * @param spotId the spot identifier
      * @param spot the updated spot data
      */
+    @Override
     public void update(String spotId, ParkingSpot spot) throws SQLException {
         String sql = "UPDATE parking_spots SET spot_type = ?, hourly_rate = ?, status = ?, current_vehicle_id = ? " +
                      "WHERE spot_id = ?";
@@ -173,14 +181,23 @@ public class ParkingSpotDAO {
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, spot.getType().name());
-                stmt.setDouble(2, spot.getHourlyRate());
+                stmt.setBigDecimal(2, Money.toDecimal(spot.getHourlyRateCents()));
                 stmt.setString(3, spot.getStatus().name());
                 stmt.setObject(4, null);
                 stmt.setString(5, spotId);
                 
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0) {
+                    ChangeLogDAO.append(conn, Entity.SPOT, spotId, spot.getStatus().name(), spotId);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -189,20 +206,69 @@ public class ParkingSpotDAO {
 
     /**
      * Updates the status of a parking spot.
+     * Only an actual status change is written and logged for the other terminals.
      * @param spotId the spot identifier
      * @param status the new status
      */
+    @Override
     public void updateStatus(String spotId, SpotStatus status) throws SQLException {
-        String sql = "UPDATE parking_spots SET status = ? WHERE spot_id = ?";
+        String sql = "UPDATE parking_spots SET status = ? WHERE spot_id = ? AND status <> ?";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, status.name());
                 stmt.setString(2, spotId);
+                stmt.setString(3, status.name());
                 
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0) {
+                    ChangeLogDAO.append(conn, Entity.SPOT, spotId, status.name(), spotId);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Marks a spot as occupied if it is still available.
+     * The status check and the write are one conditional UPDATE, so when two terminals
+     * claim the same spot exactly one of them sees an affected row.
+     * @param spotId the spot identifier
+     * @return true if the spot was claimed, false if another terminal holds it
+     */
+    @Override
+    public boolean occupyIfAvailable(String spotId) throws SQLException {
+        String sql = "UPDATE parking_spots SET status = ? WHERE spot_id = ? AND status = ?";
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, SpotStatus.OCCUPIED.name());
+                stmt.setString(2, spotId);
+                stmt.setString(3, SpotStatus.AVAILABLE.name());
+
+                boolean claimed = stmt.executeUpdate() == 1;
+                if (claimed) {
+                    ChangeLogDAO.append(conn, Entity.SPOT, spotId, SpotStatus.OCCUPIED.name(), spotId);
+                }
+                conn.commit();
+                return claimed;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -213,6 +279,7 @@ public class ParkingSpotDAO {
      * Deletes a parking spot from the database.
      * @param id the spot database ID
      */
+    @Override
     public void delete(Long id) throws SQLException {
         String sql = "DELETE FROM parking_spots WHERE id = ?";
         
@@ -232,12 +299,13 @@ public class ParkingSpotDAO {
      * Finds all parking spots in the database.
      * @return list of all spots
      */
+    @Override
     public List<ParkingSpot> findAll() throws SQLException {
         String sql = "SELECT * FROM parking_spots";
         
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
                 
@@ -259,7 +327,7 @@ public class ParkingSpotDAO {
         ParkingSpot spot = new ParkingSpot();
         spot.setSpotId(rs.getString("spot_id"));
         spot.setType(SpotType.valueOf(rs.getString("spot_type")));
-        spot.setHourlyRate(rs.getDouble("hourly_rate"));
+        spot.setHourlyRateCents(Money.fromDecimal(rs.getBigDecimal("hourly_rate")));
         spot.setStatus(SpotStatus.valueOf(rs.getString("status")));
         return spot;
     }
@@ -0,0 +1,83 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.university.parking.model.ParkingSpot;
+import com.university.parking.model.SpotStatus;
+
+/**
+ * Storage operations for parking spots.
+ * Implemented by {@link ParkingSpotDAO} for MySQL and by the in-memory backend.
+ */
+public interface ParkingSpotRepository {
+
+    /**
+     * Saves a parking spot on a floor.
+     * @param floorId the floor ID
+     * @param spot the spot to save
+     * @return the generated ID
+     */
+    Long save(Long floorId, ParkingSpot spot) throws SQLException;
+
+    /**
+     * Finds a parking spot by its ID.
+     * @param id the spot row ID
+     * @return the parking spot or null if not found
+     */
+    ParkingSpot findById(Long id) throws SQLException;
+
+    /**
+     * Finds a parking spot by its spot ID (e.g., "F1-R2-S3").
+     * @param spotId the spot identifier
+     * @return the parking spot or null if not found
+     */
+    ParkingSpot findBySpotId(String spotId) throws SQLException;
+
+    /**
+     * Finds all available parking spots.
+     * @return list of available spots
+     */
+    List<ParkingSpot> findAvailable() throws SQLException;
+
+    /**
+     * Finds all parking spots for a specific floor.
+     * @param floorId the floor ID
+     * @return list of spots on the floor
+     */
+    List<ParkingSpot> findByFloorId(Long floorId) throws SQLException;
+
+    /**
+     * Updates a parking spot.
+     * @param spotId the spot identifier
+     * @param spot the updated spot data
+     */
+    void update(String spotId, ParkingSpot spot) throws SQLException;
+
+    /**
+     * Updates the status of a parking spot.
+     * @param spotId the spot identifier
+     * @param status the new status
+     */
+    void updateStatus(String spotId, SpotStatus status) throws SQLException;
+
+    /**
+     * Marks a spot as occupied only if it is still available.
+     * Terminals sharing one database use this to claim a spot without a global lock.
+     * @param spotId the spot identifier
+     * @return true if this call claimed the spot, false if it was no longer available
+     */
+    boolean occupyIfAvailable(String spotId) throws SQLException;
+
+    /**
+     * Deletes a parking spot.
+     * @param id the spot row ID
+     */
+    void delete(Long id) throws SQLException;
+
+    /**
+     * Finds all parking spots.
+     * @return list of all spots
+     */
+    List<ParkingSpot> findAll() throws SQLException;
+}
@@ -6,17 +6,21 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.university.parking.model.Money;
 import com.university.parking.model.Payment;
 import com.university.parking.model.PaymentMethod;
+import com.university.parking.model.SpotType;
 
 /**
  * Data Access Object for Payment entities.
  * Handles CRUD operations for payments in the database.
  */
-public class PaymentDAO {
+public class PaymentDAO implements PaymentRepository {
     private final DatabaseManager dbManager;
 
     public PaymentDAO(DatabaseManager dbManager) {
@@ -28,35 +32,62 @@ public class PaymentDAO {
      * @param payment the payment to save
      * @return the generated ID
      */
+    @Override
     public Long save(Payment payment) throws SQLException {
+        return saveWithRevenue(payment, 0);
+    }
+
+    /**
+     * Saves a payment and adds the revenue it collected to the parking lot total in one transaction.
+     * @param payment the payment to save
+     * @param revenueCents revenue to add to the parking lot total, in cents
+     * @return the generated ID
+     */
+    @Override
+    public Long saveWithRevenue(Payment payment, long revenueCents) throws SQLException {
         String sql = "INSERT INTO payments (license_plate, parking_fee, fine_amount, total_amount, " +
-                     "payment_method, payment_date) VALUES (?, ?, ?, ?, ?, ?)";
+                     "payment_method, payment_date, spot_type, floor_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 stmt.setString(1, payment.getLicensePlate());
-                stmt.setDouble(2, payment.getParkingFee());
-                stmt.setDouble(3, payment.getFineAmount());
-                stmt.setDouble(4, payment.getTotalAmount());
+                stmt.setBigDecimal(2, Money.toDecimal(payment.getParkingFeeCents()));
+                stmt.setBigDecimal(3, Money.toDecimal(payment.getFineAmountCents()));
+                stmt.setBigDecimal(4, Money.toDecimal(payment.getTotalAmountCents()));
                 stmt.setString(5, payment.getPaymentMethod().name());
                 stmt.setTimestamp(6, Timestamp.valueOf(payment.getPaymentDate()));
+                stmt.setString(7, payment.getSpotType() != null ? payment.getSpotType().name() : null);
+                stmt.setObject(8, payment.getFloorNumber(), Types.INTEGER);
                 
                 stmt.executeUpdate();
                 
+                Long id = null;
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
                     if (rs.next()) {
-                        Long id = rs.getLong(1);
-                        payment.setId(id);
-                        return id;
+                        id = rs.getLong(1);
                     }
                 }
+                AggregateDAO.adjustPayment(conn, payment, 1);
+                if (revenueCents != 0) {
+                    ParkingLotDAO.addRevenueCents(conn, revenueCents);
+                }
+                conn.commit();
+                if (id != null) {
+                    payment.setId(id);
+                }
+                return id;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
         }
-        return null;
     }
 
     /**
@@ -64,6 +95,7 @@ public class PaymentDAO {
      * @param id the payment ID
      * @return the payment or null if not found
      */
+    @Override
     public Payment findById(Long id) throws SQLException {
         String sql = "SELECT * FROM payments WHERE id = ?";
         
@@ -90,6 +122,7 @@ public class PaymentDAO {
      * @param licensePlate the license plate
      * @return list of payments
      */
+    @Override
     public List<Payment> findByLicensePlate(String licensePlate) throws SQLException {
         String sql = "SELECT * FROM payments WHERE license_plate = ?";
         
@@ -116,12 +149,13 @@ public class PaymentDAO {
      * Finds all payments in the database.
      * @return list of all payments
      */
+    @Override
     public List<Payment> findAll() throws SQLException {
         String sql = "SELECT * FROM payments";
         
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
                 
@@ -137,26 +171,13 @@ public class PaymentDAO {
     }
 
     /**
-     * Calculates total revenue from all payments.
+     * Calculates total revenue from all payments, including archived months.
+     * Reads the materialized revenue_daily table rather than scanning payments.
      * @return total revenue
      */
+    @Override
     public double calculateTotalRevenue() throws SQLException {
-        String sql = "SELECT SUM(total_amount) as total FROM payments";
-        
-        Connection conn = null;
-        try {
-            conn = dbManager.getConnection();
-            try (PreparedStatement stmt = conn.prepareStatement(sql);
-                 ResultSet rs = stmt.executeQuery()) {
-                
-                if (rs.next()) {
-                    return rs.getDouble("total");
-                }
-            }
-        } finally {
-            dbManager.releaseConnection(conn);
-        }
-        return 0.0;
+        return new AggregateDAO(dbManager).calculateTotalRevenue();
     }
 
     /**
@@ -164,23 +185,37 @@ public class PaymentDAO {
      * @param id the payment ID
      * @param payment the updated payment data
      */
+    @Override
     public void update(Long id, Payment payment) throws SQLException {
         String sql = "UPDATE payments SET license_plate = ?, parking_fee = ?, fine_amount = ?, " +
-                     "total_amount = ?, payment_method = ?, payment_date = ? WHERE id = ?";
+                     "total_amount = ?, payment_method = ?, payment_date = ?, spot_type = ?, floor_number = ? WHERE id = ?";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Payment existing = findForUpdate(conn, id);
                 stmt.setString(1, payment.getLicensePlate());
-                stmt.setDouble(2, payment.getParkingFee());
-                stmt.setDouble(3, payment.getFineAmount());
-                stmt.setDouble(4, payment.getTotalAmount());
+                stmt.setBigDecimal(2, Money.toDecimal(payment.getParkingFeeCents()));
+                stmt.setBigDecimal(3, Money.toDecimal(payment.getFineAmountCents()));
+                stmt.setBigDecimal(4, Money.toDecimal(payment.getTotalAmountCents()));
                 stmt.setString(5, payment.getPaymentMethod().name());
                 stmt.setTimestamp(6, Timestamp.valueOf(payment.getPaymentDate()));
-                stmt.setLong(7, id);
+                stmt.setString(7, payment.getSpotType() != null ? payment.getSpotType().name() : null);
+                stmt.setObject(8, payment.getFloorNumber(), Types.INTEGER);
+                stmt.setLong(9, id);
                 
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0 && existing != null) {
+                    AggregateDAO.adjustPayment(conn, existing, -1);
+                    AggregateDAO.adjustPayment(conn, payment, 1);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -191,15 +226,103 @@ public class PaymentDAO {
      * Deletes a payment from the database.
      * @param id the payment ID
      */
+    @Override
     public void delete(Long id) throws SQLException {
         String sql = "DELETE FROM payments WHERE id = ?";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Payment existing = findForUpdate(conn, id);
                 stmt.setLong(1, id);
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0 && existing != null) {
+                    AggregateDAO.adjustPayment(conn, existing, -1);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Reads and locks a payment so its aggregate bucket can be adjusted in the same transaction.
+     */
+    private Payment findForUpdate(Connection conn, Long id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM payments WHERE id = ? FOR UPDATE")) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapResultSetToPayment(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Finds one page of payments ordered by ID, starting after the given ID.
+     * Uses the primary key as the keyset, so every page costs the same regardless of depth.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of payments to return
+     * @return the page of payments
+     */
+    @Override
+    public Page<Payment> findPage(Long afterId, int pageSize) throws SQLException {
+        Page.checkPageSize(pageSize);
+        String sql = "SELECT * FROM payments WHERE id > ? ORDER BY id LIMIT ?";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, afterId != null ? afterId : 0L);
+                stmt.setInt(2, pageSize + 1);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<Payment> payments = new ArrayList<>();
+                    Long lastId = null;
+                    boolean hasMore = false;
+                    while (rs.next()) {
+                        if (payments.size() == pageSize) {
+                            hasMore = true;
+                            break;
+                        }
+                        lastId = rs.getLong("id");
+                        payments.add(mapResultSetToPayment(rs));
+                    }
+                    return new Page<>(payments, lastId, hasMore);
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Streams all payments in ID order without loading the table into memory.
+     * Rows are streamed from the server as they are read; the connection is held
+     * until the action has seen every row.
+     * @param action callback invoked for each payment
+     */
+    @Override
+    public void forEach(Consumer<Payment> action) throws SQLException {
+        String sql = "SELECT * FROM payments ORDER BY id";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = dbManager.prepareStreaming(conn, sql)) {
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(mapResultSetToPayment(rs));
+                    }
+                }
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -209,15 +332,23 @@ public class PaymentDAO {
     /**
      * Maps a ResultSet row to a Payment object.
      */
-    private Payment mapResultSetToPayment(ResultSet rs) throws SQLException {
+    Payment mapResultSetToPayment(ResultSet rs) throws SQLException {
         Payment payment = new Payment();
         payment.setId(rs.getLong("id"));
         payment.setLicensePlate(rs.getString("license_plate"));
-        payment.setParkingFee(rs.getDouble("parking_fee"));
-        payment.setFineAmount(rs.getDouble("fine_amount"));
-        payment.setTotalAmount(rs.getDouble("total_amount"));
+        payment.setParkingFeeCents(Money.fromDecimal(rs.getBigDecimal("parking_fee")));
+        payment.setFineAmountCents(Money.fromDecimal(rs.getBigDecimal("fine_amount")));
+        payment.setTotalAmountCents(Money.fromDecimal(rs.getBigDecimal("total_amount")));
         payment.setPaymentMethod(PaymentMethod.valueOf(rs.getString("payment_method")));
         payment.setPaymentDate(rs.getTimestamp("payment_date").toLocalDateTime());
+        String spotType = rs.getString("spot_type");
+        if (spotType != null) {
+            payment.setSpotType(SpotType.valueOf(spotType));
+        }
+        int floorNumber = rs.getInt("floor_number");
+        if (!rs.wasNull()) {
+            payment.setFloorNumber(floorNumber);
+        }
         
         return payment;
     }
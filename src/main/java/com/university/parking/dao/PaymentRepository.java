@@ -0,0 +1,83 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.university.parking.model.Payment;
+
+/**
+ * Storage operations for payments.
+ * Implemented by {@link PaymentDAO} for MySQL and by the in-memory backend.
+ */
+public interface PaymentRepository {
+
+    /**
+     * Saves a payment and assigns its generated ID.
+     * @param payment the payment to save
+     * @return the generated ID
+     */
+    Long save(Payment payment) throws SQLException;
+
+    /**
+     * Saves a payment and adds the revenue it collected to the parking lot total in one
+     * transaction, so neither is stored without the other.
+     * @param payment the payment to save
+     * @param revenueCents revenue to add to the parking lot total, in cents
+     * @return the generated ID
+     */
+    Long saveWithRevenue(Payment payment, long revenueCents) throws SQLException;
+
+    /**
+     * Finds a payment by its ID.
+     * @param id the payment ID
+     * @return the payment or null if not found
+     */
+    Payment findById(Long id) throws SQLException;
+
+    /**
+     * Finds all payments for a specific license plate.
+     * @param licensePlate the license plate
+     * @return list of payments
+     */
+    List<Payment> findByLicensePlate(String licensePlate) throws SQLException;
+
+    /**
+     * Finds all payments.
+     * @return list of all payments
+     */
+    List<Payment> findAll() throws SQLException;
+
+    /**
+     * Calculates total revenue from all payments.
+     * @return total revenue
+     */
+    double calculateTotalRevenue() throws SQLException;
+
+    /**
+     * Updates a payment.
+     * @param id the payment ID
+     * @param payment the updated payment data
+     */
+    void update(Long id, Payment payment) throws SQLException;
+
+    /**
+     * Deletes a payment.
+     * @param id the payment ID
+     */
+    void delete(Long id) throws SQLException;
+
+    /**
+     * Finds one page of payments ordered by ID, starting after the given ID.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of payments to return, at least 1
+     * @return the page of payments
+     */
+    Page<Payment> findPage(Long afterId, int pageSize) throws SQLException;
+
+    /**
+     * Streams all payments in ID order without materializing them as a list.
+     * @param action callback invoked for each row
+     */
+    void forEach(Consumer<Payment> action) throws SQLException;
+}
@@ -0,0 +1,89 @@
+package com.university.parking.dao;
+
+import com.university.parking.dao.memory.InMemoryFineRepository;
+import com.university.parking.dao.memory.InMemoryParkingLotRepository;
+import com.university.parking.dao.memory.InMemoryParkingSpotRepository;
+import com.university.parking.dao.memory.InMemoryPaymentRepository;
+import com.university.parking.dao.memory.InMemoryReservationRepository;
+import com.university.parking.dao.memory.InMemoryVehicleRepository;
+
+/**
+ * Bundle of the repositories for one storage backend.
+ * Controllers depend on these interfaces so the MySQL DAOs can be swapped for
+ * the in-memory backend on standalone kiosks, in tests and in benchmarks.
+ */
+public class Repositories {
+    private final VehicleRepository vehicles;
+    private final ParkingSpotRepository spots;
+    private final FineRepository fines;
+    private final PaymentRepository payments;
+    private final ReservationRepository reservations;
+    private final ParkingLotRepository parkingLots;
+
+    public Repositories(VehicleRepository vehicles, ParkingSpotRepository spots, FineRepository fines,
+                        PaymentRepository payments, ReservationRepository reservations,
+                        ParkingLotRepository parkingLots) {
+        this.vehicles = vehicles;
+        this.spots = spots;
+        this.fines = fines;
+        this.payments = payments;
+        this.reservations = reservations;
+        this.parkingLots = parkingLots;
+    }
+
+    /**
+     * Creates repositories backed by the MySQL DAOs.
+     * @param dbManager the initialized database manager
+     * @return JDBC repositories sharing the manager's connection pool
+     */
+    public static Repositories jdbc(DatabaseManager dbManager) {
+        return new Repositories(
+            new VehicleDAO(dbManager),
+            new ParkingSpotDAO(dbManager),
+            new FineDAO(dbManager),
+            new PaymentDAO(dbManager),
+            new ReservationDAO(dbManager),
+            new ParkingLotDAO(dbManager)
+        );
+    }
+
+    /**
+     * Creates empty repositories held entirely in process memory.
+     * @return in-memory repositories with no external dependencies
+     */
+    public static Repositories inMemory() {
+        InMemoryParkingLotRepository parkingLots = new InMemoryParkingLotRepository();
+        return new Repositories(
+            new InMemoryVehicleRepository(),
+            new InMemoryParkingSpotRepository(),
+            new InMemoryFineRepository(),
+            new InMemoryPaymentRepository(parkingLots),
+            new InMemoryReservationRepository(),
+            parkingLots
+        );
+    }
+
+    public VehicleRepository vehicles() {
+        return vehicles;
+    }
+
+    public ParkingSpotRepository spots() {
+        return spots;
+    }
+
+    public FineRepository fines() {
+        return fines;
+    }
+
+    public PaymentRepository payments() {
+        return payments;
+    }
+
+    public ReservationRepository reservations() {
+        return reservations;
+    }
+
+    public ParkingLotRepository parkingLots() {
+        return parkingLots;
+    }
+}
@@ -9,14 +9,16 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.university.parking.model.Money;
 import com.university.parking.model.Reservation;
 
 /**
  * Data Access Object for Reservation entity.
  * Handles CRUD operations for parking spot reservations.
  */
-public class ReservationDAO {
+public class ReservationDAO implements ReservationRepository {
     private final DatabaseManager dbManager;
 
     public ReservationDAO(DatabaseManager dbManager) {
@@ -29,6 +31,7 @@ public class ReservationDAO {
      * @return true if successful
      * @throws SQLException if database operation fails
      */
+    @Override
     public boolean save(Reservation reservation) throws SQLException {
         String sql = "INSERT INTO reservations (license_plate, spot_id, start_time, end_time, is_active, created_at, prepaid_amount) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?)";
@@ -41,7 +44,7 @@ public class ReservationDAO {
             stmt.setTimestamp(4, Timestamp.valueOf(reservation.getEndTime()));
             stmt.setBoolean(5, reservation.isActive());
             stmt.setTimestamp(6, Timestamp.valueOf(reservation.getCreatedAt()));
-            stmt.setDouble(7, reservation.getPrepaidAmount());
+            stmt.setBigDecimal(7, Money.toDecimal(Money.ofRinggit(reservation.getPrepaidAmount())));
             
             int affectedRows = stmt.executeUpdate();
             
@@ -59,6 +62,31 @@ public class ReservationDAO {
         }
     }
 
+    /**
+     * Finds a reservation by its ID.
+     * @param id the reservation ID
+     * @return the reservation or null if not found
+     * @throws SQLException if database operation fails
+     */
+    @Override
+    public Reservation findById(Long id) throws SQLException {
+        String sql = "SELECT * FROM reservations WHERE id = ?";
+        
+        Connection conn = dbManager.getConnection();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToReservation(rs);
+                }
+            }
+            return null;
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
     /**
      * Finds a valid reservation for a license plate and spot at the given time.
      * @param licensePlate the vehicle's license plate
@@ -67,6 +95,7 @@ public class ReservationDAO {
      * @return the reservation if found and valid, null otherwise
      * @throws SQLException if database operation fails
      */
+    @Override
     public Reservation findValidReservation(String licensePlate, String spotId, LocalDateTime checkTime) throws SQLException {
         String sql = "SELECT * FROM reservations " +
                      "WHERE license_plate = ? AND spot_id = ? AND is_active = TRUE " +
@@ -95,6 +124,7 @@ public class ReservationDAO {
      * @return list of active reservations
      * @throws SQLException if database operation fails
      */
+    @Override
     public List<Reservation> findByLicensePlate(String licensePlate) throws SQLException {
         String sql = "SELECT * FROM reservations WHERE license_plate = ? AND is_active = TRUE ORDER BY start_time DESC";
         
@@ -122,6 +152,7 @@ public class ReservationDAO {
      * @return the most recent reservation if found, null otherwise
      * @throws SQLException if database operation fails
      */
+    @Override
     public Reservation findMostRecentReservation(String licensePlate, String spotId) throws SQLException {
         String sql = "SELECT * FROM reservations " +
                      "WHERE license_plate = ? AND spot_id = ? AND is_active = TRUE " +
@@ -149,6 +180,7 @@ public class ReservationDAO {
      * @return list of active reservations
      * @throws SQLException if database operation fails
      */
+    @Override
     public List<Reservation> findBySpotId(String spotId) throws SQLException {
         String sql = "SELECT * FROM reservations WHERE spot_id = ? AND is_active = TRUE ORDER BY start_time";
         
@@ -176,6 +208,7 @@ public class ReservationDAO {
      * @return true if spot is reserved during this period
      * @throws SQLException if database operation fails
      */
+    @Override
     public boolean isSpotReserved(String spotId, LocalDateTime startTime, LocalDateTime endTime) throws SQLException {
         String sql = "SELECT COUNT(*) FROM reservations " +
                      "WHERE spot_id = ? AND is_active = TRUE " +
@@ -209,6 +242,7 @@ public class ReservationDAO {
      * @return true if successful
      * @throws SQLException if database operation fails
      */
+    @Override
     public boolean cancel(Long id) throws SQLException {
         String sql = "UPDATE reservations SET is_active = FALSE WHERE id = ?";
         
@@ -226,11 +260,12 @@ public class ReservationDAO {
      * @return list of all reservations
      * @throws SQLException if database operation fails
      */
+    @Override
     public List<Reservation> findAll() throws SQLException {
         String sql = "SELECT * FROM reservations ORDER BY created_at DESC";
         
         List<Reservation> reservations = new ArrayList<>();
-        Connection conn = dbManager.getConnection();
+        Connection conn = dbManager.getReadConnection();
         try (PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
@@ -242,6 +277,69 @@ public class ReservationDAO {
         }
     }
 
+    /**
+     * Finds one page of reservations ordered by ID, starting after the given ID.
+     * Uses the primary key as the keyset, so every page costs the same regardless of depth.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of reservations to return
+     * @return the page of reservations
+     */
+    @Override
+    public Page<Reservation> findPage(Long afterId, int pageSize) throws SQLException {
+        Page.checkPageSize(pageSize);
+        String sql = "SELECT * FROM reservations WHERE id > ? ORDER BY id LIMIT ?";
+        
+        Connection conn = dbManager.getReadConnection();
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, afterId != null ? afterId : 0L);
+                stmt.setInt(2, pageSize + 1);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<Reservation> reservations = new ArrayList<>();
+                    Long lastId = null;
+                    boolean hasMore = false;
+                    while (rs.next()) {
+                        if (reservations.size() == pageSize) {
+                            hasMore = true;
+                            break;
+                        }
+                        lastId = rs.getLong("id");
+                        reservations.add(mapResultSetToReservation(rs));
+                    }
+                    return new Page<>(reservations, lastId, hasMore);
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Streams all reservations in ID order without loading the table into memory.
+     * Rows are streamed from the server as they are read; the connection is held
+     * until the action has seen every row.
+     * @param action callback invoked for each reservation
+     */
+    @Override
+    public void forEach(Consumer<Reservation> action) throws SQLException {
+        String sql = "SELECT * FROM reservations ORDER BY id";
+        
+        Connection conn = dbManager.getReadConnection();
+        try {
+            try (PreparedStatement stmt = dbManager.prepareStreaming(conn, sql)) {
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(mapResultSetToReservation(rs));
+                    }
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
     /**
      * Maps a ResultSet row to a Reservation object.
      */
@@ -254,7 +352,7 @@ public class ReservationDAO {
         reservation.setEndTime(rs.getTimestamp("end_time").toLocalDateTime());
         reservation.setActive(rs.getBoolean("is_active"));
         reservation.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        reservation.setPrepaidAmount(rs.getDouble("prepaid_amount"));
+        reservation.setPrepaidAmount(Money.toRinggit(Money.fromDecimal(rs.getBigDecimal("prepaid_amount"))));
         return reservation;
     }
 }
@@ -0,0 +1,97 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.university.parking.model.Reservation;
+
+/**
+ * Storage operations for spot reservations.
+ * Implemented by {@link ReservationDAO} for MySQL and by the in-memory backend.
+ */
+public interface ReservationRepository {
+
+    /**
+     * Saves a new reservation and assigns its generated ID.
+     * @param reservation the reservation to save
+     * @return true if successful
+     */
+    boolean save(Reservation reservation) throws SQLException;
+
+    /**
+     * Finds a reservation by its ID.
+     * @param id the reservation ID
+     * @return the reservation or null if not found
+     */
+    Reservation findById(Long id) throws SQLException;
+
+    /**
+     * Finds an active reservation for a license plate and spot covering the given time.
+     * @param licensePlate the vehicle's license plate
+     * @param spotId the spot ID
+     * @param checkTime the time to check
+     * @return the reservation if found and valid, null otherwise
+     */
+    Reservation findValidReservation(String licensePlate, String spotId, LocalDateTime checkTime) throws SQLException;
+
+    /**
+     * Finds all active reservations for a license plate, latest start first.
+     * @param licensePlate the vehicle's license plate
+     * @return list of active reservations
+     */
+    List<Reservation> findByLicensePlate(String licensePlate) throws SQLException;
+
+    /**
+     * Finds the most recent active reservation for a vehicle/spot combination,
+     * including ones already past their end time.
+     * @param licensePlate the vehicle's license plate
+     * @param spotId the spot ID
+     * @return the most recent reservation if found, null otherwise
+     */
+    Reservation findMostRecentReservation(String licensePlate, String spotId) throws SQLException;
+
+    /**
+     * Finds all active reservations for a spot, earliest start first.
+     * @param spotId the spot ID
+     * @return list of active reservations
+     */
+    List<Reservation> findBySpotId(String spotId) throws SQLException;
+
+    /**
+     * Checks if a spot has any active reservations overlapping the given period.
+     * @param spotId the spot ID
+     * @param startTime the start time
+     * @param endTime the end time
+     * @return true if spot is reserved during this period
+     */
+    boolean isSpotReserved(String spotId, LocalDateTime startTime, LocalDateTime endTime) throws SQLException;
+
+    /**
+     * Cancels a reservation (marks as inactive).
+     * @param id the reservation ID
+     * @return true if successful
+     */
+    boolean cancel(Long id) throws SQLException;
+
+    /**
+     * Finds all reservations, newest first.
+     * @return list of all reservations
+     */
+    List<Reservation> findAll() throws SQLException;
+
+    /**
+     * Finds one page of reservations ordered by ID, starting after the given ID.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of reservations to return, at least 1
+     * @return the page of reservations
+     */
+    Page<Reservation> findPage(Long afterId, int pageSize) throws SQLException;
+
+    /**
+     * Streams all reservations in ID order without materializing them as a list.
+     * @param action callback invoked for each row
+     */
+    void forEach(Consumer<Reservation> action) throws SQLException;
+}
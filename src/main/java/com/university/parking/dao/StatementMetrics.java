@@ -0,0 +1,212 @@
+package com.university.parking.dao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-statement execution metrics collected by {@link DatabaseManager}.
+ * Every SQL string run through a pooled connection gets call and error counts,
+ * a latency histogram and the number of rows read or updated; the time spent
+ * acquiring connections from the pool is tracked separately.
+ */
+public class StatementMetrics {
+    /** Caps the number of distinct statements so dynamically built SQL cannot grow the map unbounded. */
+    private static final int MAX_STATEMENTS = 500;
+    private static final String OTHER_STATEMENTS = "<other statements>";
+
+    private final ConcurrentHashMap<String, Entry> statements = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+
+    /**
+     * Records a completed statement execution.
+     * @param sql the statement text
+     * @param nanos the execution time in nanoseconds
+     * @param failed whether the execution threw
+     */
+    void recordExecution(String sql, long nanos, boolean failed) {
+        Entry entry = entryFor(sql);
+        entry.latency.record(nanos);
+        if (failed) {
+            entry.errors.increment();
+        }
+    }
+
+    /**
+     * Records rows read through a result set or affected by an update.
+     * @param sql the statement text
+     * @param rows the row count
+     */
+    void recordRows(String sql, long rows) {
+        if (rows > 0) {
+            entryFor(sql).rows.add(rows);
+        }
+    }
+
+    /**
+     * Records the time spent obtaining a connection from the pool.
+     * @param nanos the wait time in nanoseconds
+     */
+    void recordConnectionWait(long nanos) {
+        connectionWait.record(nanos);
+    }
+
+    /**
+     * @return statistics for every recorded statement, slowest in total first
+     */
+    public List<StatementStats> getStatementStats() {
+        List<StatementStats> stats = new ArrayList<>();
+        statements.forEach((sql, entry) -> stats.add(entry.snapshot(normalize(sql))));
+        stats.sort(Comparator.comparingLong(StatementStats::getTotalMicros).reversed());
+        return stats;
+    }
+
+    /**
+     * @return the connection acquisition latency histogram
+     */
+    public LatencyHistogram getConnectionWait() {
+        return connectionWait;
+    }
+
+    /**
+     * Clears all recorded statistics.
+     */
+    public void reset() {
+        statements.clear();
+        connectionWait.reset();
+    }
+
+    /**
+     * Formats the statistics as a plain text table.
+     * @param limit the maximum number of statements to include
+     * @return the report text
+     */
+    public String formatReport(int limit) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Connection wait: count=%d p50=%dus p99=%dus max=%dus%n",
+            connectionWait.getCount(),
+            connectionWait.getPercentileMicros(50),
+            connectionWait.getPercentileMicros(99),
+            connectionWait.getMaxMicros()));
+        sb.append(String.format("%8s %6s %10s %10s %10s %10s  %s%n",
+            "CALLS", "ERRORS", "ROWS", "P50(us)", "P99(us)", "MAX(us)", "STATEMENT"));
+        List<StatementStats> stats = getStatementStats();
+        for (int i = 0; i < stats.size() && i < limit; i++) {
+            StatementStats s = stats.get(i);
+            sb.append(String.format("%8d %6d %10d %10d %10d %10d  %s%n",
+                s.getCalls(), s.getErrors(), s.getRows(),
+                s.getP50Micros(), s.getP99Micros(), s.getMaxMicros(), s.getSql()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Starts printing the slowest statements to the console at a fixed interval.
+     * @param intervalSeconds seconds between dumps
+     * @return the scheduler, to be shut down when the application exits
+     */
+    public ScheduledExecutorService startPeriodicDump(long intervalSeconds) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "statement-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            if (!statements.isEmpty()) {
+                System.out.println("SQL statement metrics:" + System.lineSeparator() + formatReport(20));
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    private Entry entryFor(String sql) {
+        String key = sql == null ? "<unknown>" : sql;
+        Entry entry = statements.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        if (statements.size() >= MAX_STATEMENTS) {
+            key = OTHER_STATEMENTS;
+        }
+        return statements.computeIfAbsent(key, k -> new Entry());
+    }
+
+    private static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+
+    private static final class Entry {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+
+        StatementStats snapshot(String sql) {
+            return new StatementStats(sql, latency.getCount(), errors.sum(), rows.sum(),
+                latency.getPercentileMicros(50), latency.getPercentileMicros(99),
+                latency.getMaxMicros(), latency.getTotalMicros());
+        }
+    }
+
+    /**
+     * Point-in-time statistics for one SQL statement.
+     */
+    public static class StatementStats {
+        private final String sql;
+        private final long calls;
+        private final long errors;
+        private final long rows;
+        private final long p50Micros;
+        private final long p99Micros;
+        private final long maxMicros;
+        private final long totalMicros;
+
+        public StatementStats(String sql, long calls, long errors, long rows,
+                              long p50Micros, long p99Micros, long maxMicros, long totalMicros) {
+            this.sql = sql;
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.p50Micros = p50Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+            this.totalMicros = totalMicros;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public long getTotalMicros() {
+            return totalMicros;
+        }
+    }
+}
@@ -6,22 +6,41 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.university.parking.model.ChangeLogEntry.Entity;
 import com.university.parking.model.Vehicle;
 import com.university.parking.model.VehicleType;
 
 /**
  * Data Access Object for Vehicle entities.
  * Handles CRUD operations for vehicles in the database.
+ * Reads select raw columns from the vehicles table (served by its covering indexes)
+ * and derive elapsed time in Java instead of going through the vehicles_with_duration VIEW.
  */
-public class VehicleDAO {
+public class VehicleDAO implements VehicleRepository {
+    private static final String VEHICLE_COLUMNS =
+        "id, license_plate, vehicle_type, is_handicapped, entry_time, exit_time, assigned_spot_id";
+
     private final DatabaseManager dbManager;
+    private final Clock clock;
 
     public VehicleDAO(DatabaseManager dbManager) {
+        this(dbManager, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a VehicleDAO with an explicit clock for elapsed time calculation.
+     * @param dbManager the database manager
+     * @param clock the clock read once per query as the elapsed time reference
+     */
+    public VehicleDAO(DatabaseManager dbManager, Clock clock) {
         this.dbManager = dbManager;
+        this.clock = clock;
     }
 
     /**
@@ -29,6 +48,7 @@ public class VehicleDAO {
      * @param vehicle the vehicle to save
      * @return the generated ID
      */
+    @Override
     public Long save(Vehicle vehicle) throws SQLException {
         String sql = "INSERT INTO vehicles (license_plate, vehicle_type, is_handicapped, entry_time, exit_time, assigned_spot_id) " +
                      "VALUES (?, ?, ?, ?, ?, ?)";
@@ -36,6 +56,7 @@ public class VehicleDAO {
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 stmt.setString(1, vehicle.getLicensePlate());
                 stmt.setString(2, vehicle.getType().name());
@@ -46,16 +67,25 @@ public class VehicleDAO {
                 
                 stmt.executeUpdate();
                 
+                Long id = null;
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
                     if (rs.next()) {
-                        return rs.getLong(1);
+                        id = rs.getLong(1);
                     }
                 }
+                ChangeLogDAO.append(conn, Entity.SESSION, vehicle.getLicensePlate(),
+                    vehicle.getExitTime() == null ? "ENTRY" : "EXIT", vehicle.getAssignedSpotId());
+                conn.commit();
+                return id;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
         }
-        return null;
     }
 
     /**
@@ -63,8 +93,9 @@ public class VehicleDAO {
      * @param id the vehicle ID
      * @return the vehicle or null if not found
      */
+    @Override
     public Vehicle findById(Long id) throws SQLException {
-        String sql = "SELECT * FROM vehicles_with_duration WHERE id = ?";
+        String sql = "SELECT " + VEHICLE_COLUMNS + " FROM vehicles WHERE id = ?";
         
         Connection conn = null;
         try {
@@ -74,7 +105,7 @@ public class VehicleDAO {
                 
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
-                        return mapResultSetToVehicle(rs);
+                        return mapResultSetToVehicle(rs, LocalDateTime.now(clock));
                     }
                 }
             }
@@ -89,8 +120,9 @@ public class VehicleDAO {
      * @param licensePlate the license plate
      * @return the vehicle or null if not found
      */
+    @Override
     public Vehicle findByLicensePlate(String licensePlate) throws SQLException {
-        String sql = "SELECT * FROM vehicles_with_duration WHERE license_plate = ? ORDER BY id DESC LIMIT 1";
+        String sql = "SELECT " + VEHICLE_COLUMNS + " FROM vehicles WHERE license_plate = ? ORDER BY id DESC LIMIT 1";
         
         Connection conn = null;
         try {
@@ -100,7 +132,7 @@ public class VehicleDAO {
                 
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
-                        return mapResultSetToVehicle(rs);
+                        return mapResultSetToVehicle(rs, LocalDateTime.now(clock));
                     }
                 }
             }
@@ -112,20 +144,37 @@ public class VehicleDAO {
 
     /**
      * Finds all vehicles currently parked (no exit time).
+     * Served by the read replica when one is configured, so it may lag the latest entries.
      * @return list of currently parked vehicles
      */
+    @Override
     public List<Vehicle> findCurrentlyParked() throws SQLException {
-        String sql = "SELECT * FROM vehicles_with_duration WHERE exit_time IS NULL";
+        return findOpenSessions(true);
+    }
+
+    /**
+     * Finds all active vehicles (those without exit times).
+     * Always reads the primary, as ParkingLotDAO restores spot occupancy from it.
+     * @return list of active vehicles
+     */
+    @Override
+    public List<Vehicle> findActiveVehicles() throws SQLException {
+        return findOpenSessions(false);
+    }
+
+    private List<Vehicle> findOpenSessions(boolean allowReplica) throws SQLException {
+        String sql = "SELECT " + VEHICLE_COLUMNS + " FROM vehicles WHERE exit_time IS NULL";
         
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = allowReplica ? dbManager.getReadConnection() : dbManager.getConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
                 
+                LocalDateTime now = LocalDateTime.now(clock);
                 List<Vehicle> vehicles = new ArrayList<>();
                 while (rs.next()) {
-                    vehicles.add(mapResultSetToVehicle(rs));
+                    vehicles.add(mapResultSetToVehicle(rs, now));
                 }
                 return vehicles;
             }
@@ -134,22 +183,14 @@ public class VehicleDAO {
         }
     }
 
-    /**
-     * Finds all active vehicles (those without exit times).
-     * This is an alias for findCurrentlyParked() for consistency with ParkingLotDAO.
-     * @return list of active vehicles
-     */
-    public List<Vehicle> findActiveVehicles() throws SQLException {
-        return findCurrentlyParked();
-    }
-
     /**
      * Finds an active vehicle by its assigned spot ID.
      * @param spotId the spot ID
      * @return the vehicle or null if not found
      */
+    @Override
     public Vehicle findActiveBySpotId(String spotId) throws SQLException {
-        String sql = "SELECT * FROM vehicles_with_duration WHERE assigned_spot_id = ? AND exit_time IS NULL";
+        String sql = "SELECT " + VEHICLE_COLUMNS + " FROM vehicles WHERE exit_time IS NULL AND assigned_spot_id = ?";
         
         Connection conn = null;
         try {
@@ -159,7 +200,7 @@ public class VehicleDAO {
                 
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
-                        return mapResultSetToVehicle(rs);
+                        return mapResultSetToVehicle(rs, LocalDateTime.now(clock));
                     }
                 }
             }
@@ -174,6 +215,7 @@ public class VehicleDAO {
      * @param id the vehicle ID
      * @param vehicle the updated vehicle data
      */
+    @Override
     public void update(Long id, Vehicle vehicle) throws SQLException {
         String sql = "UPDATE vehicles SET license_plate = ?, vehicle_type = ?, is_handicapped = ?, " +
                      "entry_time = ?, exit_time = ?, assigned_spot_id = ? WHERE id = ?";
@@ -181,6 +223,7 @@ public class VehicleDAO {
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, vehicle.getLicensePlate());
                 stmt.setString(2, vehicle.getType().name());
@@ -190,7 +233,16 @@ public class VehicleDAO {
                 stmt.setString(6, vehicle.getAssignedSpotId()); // Save the assigned spot ID
                 stmt.setLong(7, id);
                 
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0) {
+                    ChangeLogDAO.append(conn, Entity.SESSION, vehicle.getLicensePlate(), "UPDATE",
+                        vehicle.getAssignedSpotId());
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -202,21 +254,32 @@ public class VehicleDAO {
      * Used when a vehicle exits the parking lot.
      * @param licensePlate the license plate
      * @param exitTime the exit time
+     * @return false if the plate has no open session, e.g. because its entry is still journaled
      */
-    public void updateExitTime(String licensePlate, LocalDateTime exitTime) throws SQLException {
+    @Override
+    public boolean updateExitTime(String licensePlate, LocalDateTime exitTime) throws SQLException {
         String sql = "UPDATE vehicles SET exit_time = ? WHERE license_plate = ? AND exit_time IS NULL";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            conn.setAutoCommit(false);
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setTimestamp(1, exitTime != null ? Timestamp.valueOf(exitTime) : null);
                 stmt.setString(2, licensePlate);
                 
                 int rowsUpdated = stmt.executeUpdate();
                 if (rowsUpdated > 0) {
+                    ChangeLogDAO.append(conn, Entity.SESSION, licensePlate, "EXIT", null);
                     System.out.println("Updated exit time for vehicle: " + licensePlate);
                 }
+                conn.commit();
+                return rowsUpdated > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -227,15 +290,32 @@ public class VehicleDAO {
      * Deletes a vehicle from the database.
      * @param id the vehicle ID
      */
+    @Override
     public void delete(Long id) throws SQLException {
         String sql = "DELETE FROM vehicles WHERE id = ?";
         
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement select = conn.prepareStatement(
+                     "SELECT license_plate, assigned_spot_id FROM vehicles WHERE id = ? FOR UPDATE");
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                select.setLong(1, id);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        ChangeLogDAO.append(conn, Entity.SESSION, rs.getString("license_plate"), "DELETE",
+                            rs.getString("assigned_spot_id"));
+                    }
+                }
                 stmt.setLong(1, id);
                 stmt.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } finally {
             dbManager.releaseConnection(conn);
@@ -246,18 +326,20 @@ public class VehicleDAO {
      * Finds all vehicles in the database.
      * @return list of all vehicles
      */
+    @Override
     public List<Vehicle> findAll() throws SQLException {
-        String sql = "SELECT * FROM vehicles_with_duration";
+        String sql = "SELECT " + VEHICLE_COLUMNS + " FROM vehicles";
         
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
                 
+                LocalDateTime now = LocalDateTime.now(clock);
                 List<Vehicle> vehicles = new ArrayList<>();
                 while (rs.next()) {
-                    vehicles.add(mapResultSetToVehicle(rs));
+                    vehicles.add(mapResultSetToVehicle(rs, now));
                 }
                 return vehicles;
             }
@@ -266,11 +348,79 @@ public class VehicleDAO {
         }
     }
 
+    /**
+     * Finds one page of vehicles ordered by ID, starting after the given ID.
+     * Uses the primary key as the keyset, so every page costs the same regardless of depth.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of vehicles to return
+     * @return the page of vehicles
+     */
+    @Override
+    public Page<Vehicle> findPage(Long afterId, int pageSize) throws SQLException {
+        Page.checkPageSize(pageSize);
+        String sql = "SELECT " + VEHICLE_COLUMNS + " FROM vehicles WHERE id > ? ORDER BY id LIMIT ?";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, afterId != null ? afterId : 0L);
+                stmt.setInt(2, pageSize + 1);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    LocalDateTime now = LocalDateTime.now(clock);
+                    List<Vehicle> vehicles = new ArrayList<>();
+                    Long lastId = null;
+                    boolean hasMore = false;
+                    while (rs.next()) {
+                        if (vehicles.size() == pageSize) {
+                            hasMore = true;
+                            break;
+                        }
+                        lastId = rs.getLong("id");
+                        vehicles.add(mapResultSetToVehicle(rs, now));
+                    }
+                    return new Page<>(vehicles, lastId, hasMore);
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Streams all vehicles in ID order without loading the table into memory.
+     * Rows are streamed from the server as they are read; the connection is held
+     * until the action has seen every row.
+     * @param action callback invoked for each vehicle
+     */
+    @Override
+    public void forEach(Consumer<Vehicle> action) throws SQLException {
+        String sql = "SELECT " + VEHICLE_COLUMNS + " FROM vehicles ORDER BY id";
+        
+        Connection conn = null;
+        try {
+            conn = dbManager.getReadConnection();
+            try (PreparedStatement stmt = dbManager.prepareStreaming(conn, sql)) {
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    LocalDateTime now = LocalDateTime.now(clock);
+                    while (rs.next()) {
+                        action.accept(mapResultSetToVehicle(rs, now));
+                    }
+                }
+            }
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
     /**
      * Maps a ResultSet row to a Vehicle object.
-     * Handles both base table and VIEW columns.
+     * Elapsed time fields are computed against the single clock reading taken for the query,
+     * matching what the vehicles_with_duration VIEW would return for the same row.
      */
-    private Vehicle mapResultSetToVehicle(ResultSet rs) throws SQLException {
+    Vehicle mapResultSetToVehicle(ResultSet rs, LocalDateTime now) throws SQLException {
         Vehicle vehicle = new Vehicle();
         vehicle.setLicensePlate(rs.getString("license_plate"));
         vehicle.setType(VehicleType.valueOf(rs.getString("vehicle_type")));
@@ -291,30 +441,7 @@ public class VehicleDAO {
             vehicle.setAssignedSpotId(assignedSpotId);
         }
         
-        // Try to read computed fields from VIEW (may not exist if querying base table)
-        try {
-            Long elapsedSeconds = rs.getLong("elapsed_seconds");
-            if (!rs.wasNull()) {
-                vehicle.setElapsedSeconds(elapsedSeconds);
-            }
-            
-            Long elapsedMinutes = rs.getLong("elapsed_minutes");
-            if (!rs.wasNull()) {
-                vehicle.setElapsedMinutes(elapsedMinutes);
-            }
-            
-            Long elapsedHours = rs.getLong("elapsed_hours");
-            if (!rs.wasNull()) {
-                vehicle.setElapsedHours(elapsedHours);
-            }
-            
-            Boolean isOverstay = rs.getBoolean("is_overstay");
-            if (!rs.wasNull()) {
-                vehicle.setIsOverstay(isOverstay);
-            }
-        } catch (SQLException e) {
-            // Columns don't exist (querying base table), ignore
-        }
+        vehicle.computeElapsedTime(now);
         
         return vehicle;
     }
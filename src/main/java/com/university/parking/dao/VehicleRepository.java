@@ -0,0 +1,96 @@
+package com.university.parking.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.university.parking.model.Vehicle;
+
+/**
+ * Storage operations for vehicle parking sessions.
+ * Implemented by {@link VehicleDAO} for MySQL and by the in-memory backend.
+ */
+public interface VehicleRepository {
+
+    /**
+     * Saves a vehicle session.
+     * @param vehicle the vehicle to save
+     * @return the generated ID
+     */
+    Long save(Vehicle vehicle) throws SQLException;
+
+    /**
+     * Finds a vehicle by its ID.
+     * @param id the vehicle ID
+     * @return the vehicle or null if not found
+     */
+    Vehicle findById(Long id) throws SQLException;
+
+    /**
+     * Finds the most recent session for a license plate.
+     * @param licensePlate the license plate
+     * @return the vehicle or null if not found
+     */
+    Vehicle findByLicensePlate(String licensePlate) throws SQLException;
+
+    /**
+     * Finds all vehicles that have not exited yet.
+     * @return list of parked vehicles
+     */
+    List<Vehicle> findCurrentlyParked() throws SQLException;
+
+    /**
+     * Alias of {@link #findCurrentlyParked()} used when restoring the parking lot.
+     * @return list of parked vehicles
+     */
+    List<Vehicle> findActiveVehicles() throws SQLException;
+
+    /**
+     * Finds the vehicle currently parked in a spot.
+     * @param spotId the spot ID
+     * @return the vehicle or null if the spot is empty
+     */
+    Vehicle findActiveBySpotId(String spotId) throws SQLException;
+
+    /**
+     * Updates a vehicle session.
+     * @param id the vehicle ID
+     * @param vehicle the updated vehicle data
+     */
+    void update(Long id, Vehicle vehicle) throws SQLException;
+
+    /**
+     * Closes the open session for a license plate.
+     * @param licensePlate the license plate
+     * @param exitTime the exit time
+     * @return false if the plate has no open session, e.g. because its entry is still journaled
+     */
+    boolean updateExitTime(String licensePlate, LocalDateTime exitTime) throws SQLException;
+
+    /**
+     * Deletes a vehicle session.
+     * @param id the vehicle ID
+     */
+    void delete(Long id) throws SQLException;
+
+    /**
+     * Finds all vehicle sessions.
+     * @return list of all vehicles
+     */
+    List<Vehicle> findAll() throws SQLException;
+
+    /**
+     * Finds one page of vehicles ordered by ID, starting after the given ID.
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param pageSize the maximum number of vehicles to return, at least 1
+     * @return the page of vehicles
+     */
+    Page<Vehicle> findPage(Long afterId, int pageSize) throws SQLException;
+
+    /**
+     * Streams all vehicles in ID order without materializing them as a list.
+     * @param action callback invoked for each row
+     */
+    void forEach(Consumer<Vehicle> action) throws SQLException;
+}
@@ -0,0 +1,167 @@
+package com.university.parking.dao.journal;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.university.parking.model.Fine;
+import com.university.parking.model.Money;
+import com.university.parking.model.Payment;
+import com.university.parking.model.Vehicle;
+
+/**
+ * A single write captured by the {@link WriteJournal} while the database is unreachable.
+ * Records are stored one per line as tab-separated fields.
+ */
+public class JournalRecord {
+
+    /**
+     * Kinds of writes the journal captures.
+     */
+    public enum Type {
+        /** Vehicle entered: plate, vehicle type, handicapped, spot ID, entry time */
+        ENTRY,
+        /** Vehicle exited: plate, spot ID, exit time */
+        EXIT,
+        /** Payment made: plate, parking fee, fine amount, total, method, date, revenue, spot type */
+        PAYMENT,
+        /** Fine issued: plate, fine type, amount, issued date */
+        FINE,
+        /** Existing fine settled: fine ID */
+        FINE_PAID
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String[] values;
+
+    JournalRecord(long sequence, Type type, String... values) {
+        this.sequence = sequence;
+        this.type = type;
+        this.values = values;
+    }
+
+    static String[] entryValues(Vehicle vehicle) {
+        return new String[] {
+            vehicle.getLicensePlate(),
+            vehicle.getType().name(),
+            Boolean.toString(vehicle.isHandicapped()),
+            vehicle.getAssignedSpotId(),
+            format(vehicle.getEntryTime())
+        };
+    }
+
+    static String[] exitValues(String licensePlate, String spotId, LocalDateTime exitTime) {
+        return new String[] { licensePlate, spotId, format(exitTime) };
+    }
+
+    static String[] paymentValues(Payment payment, long revenueCents) {
+        return new String[] {
+            payment.getLicensePlate(),
+            Money.format(payment.getParkingFeeCents()),
+            Money.format(payment.getFineAmountCents()),
+            Money.format(payment.getTotalAmountCents()),
+            payment.getPaymentMethod().name(),
+            format(payment.getPaymentDate()),
+            Money.format(revenueCents),
+            payment.getSpotType() != null ? payment.getSpotType().name() : "",
+            payment.getFloorNumber() != null ? payment.getFloorNumber().toString() : ""
+        };
+    }
+
+    static String[] fineValues(Fine fine) {
+        return new String[] {
+            fine.getLicensePlate(),
+            fine.getType().name(),
+            Money.format(fine.getAmountCents()),
+            format(fine.getIssuedDate())
+        };
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the number of fields; records written by older versions may have fewer trailing fields
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Reads an RM amount written by {@link Money#format(long)}.
+     * @return the amount in cents
+     */
+    public long getCents(int index) {
+        return Money.parse(values[index]);
+    }
+
+    public LocalDateTime getTime(int index) {
+        return values[index].isEmpty() ? null : LocalDateTime.parse(values[index]);
+    }
+
+    /**
+     * Encodes this record as a single journal line without the trailing newline.
+     */
+    String encode() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(sequence).append('\t').append(type.name());
+        for (String value : values) {
+            sb.append('\t').append(escape(value));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a journal line written by {@link #encode()}.
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    static JournalRecord decode(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                current.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        if (fields.size() < 2) {
+            throw new IllegalArgumentException("Malformed journal line: " + line);
+        }
+        long sequence = Long.parseLong(fields.get(0));
+        Type type = Type.valueOf(fields.get(1));
+        return new JournalRecord(sequence, type, fields.subList(2, fields.size()).toArray(new String[0]));
+    }
+
+    private static String format(LocalDateTime time) {
+        return time != null ? time.toString() : "";
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{" + encode() + '}';
+    }
+}
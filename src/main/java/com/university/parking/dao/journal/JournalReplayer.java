@@ -0,0 +1,237 @@
+package com.university.parking.dao.journal;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.university.parking.dao.Repositories;
+import com.university.parking.model.Fine;
+import com.university.parking.model.FineType;
+import com.university.parking.model.Payment;
+import com.university.parking.model.PaymentMethod;
+import com.university.parking.model.SpotStatus;
+import com.university.parking.model.SpotType;
+import com.university.parking.model.Vehicle;
+import com.university.parking.model.VehicleType;
+
+/**
+ * Applies journaled writes to the database in append order.
+ * Each record is checked against what is already stored (matching plate and timestamp),
+ * so a replay interrupted part-way can simply be run again without duplicating rows.
+ * A record the database rejects for its content, or that cannot be parsed, is moved to
+ * the journal's rejected file so it does not hold back the records behind it; only a
+ * lost connection stops the replay.
+ */
+public class JournalReplayer {
+    private final WriteJournal journal;
+    private final Repositories repositories;
+
+    public JournalReplayer(WriteJournal journal, Repositories repositories) {
+        this.journal = journal;
+        this.repositories = repositories;
+    }
+
+    /**
+     * Replays all journaled records, stopping at the first connection failure.
+     * Records applied or rejected before the failure are removed from the journal.
+     * @return the number of records replayed
+     * @throws SQLException if the database cannot be reached
+     * @throws IOException if the journal cannot be read, compacted or a record rejected
+     */
+    public synchronized int replay() throws SQLException, IOException {
+        if (journal.isEmpty()) {
+            return 0;
+        }
+        List<JournalRecord> records = journal.readAll();
+        long lastApplied = -1;
+        int applied = 0;
+        try {
+            for (JournalRecord record : records) {
+                try {
+                    apply(record);
+                    applied++;
+                } catch (SQLException e) {
+                    if (isConnectionFailure(e)) {
+                        throw e;
+                    }
+                    reject(record, e);
+                } catch (RuntimeException e) {
+                    // Malformed field, unknown enum name or missing field
+                    reject(record, e);
+                }
+                lastApplied = record.getSequence();
+            }
+        } finally {
+            if (lastApplied >= 0) {
+                journal.discardThrough(lastApplied);
+            }
+        }
+        if (applied > 0) {
+            System.out.println("Replayed " + applied + " journaled writes from " + journal.getPath());
+        }
+        return applied;
+    }
+
+    /**
+     * Retries the replay periodically on a daemon thread.
+     * @param intervalSeconds delay between attempts
+     * @return the scheduler, to be shut down with the application
+     */
+    public ScheduledExecutorService startPeriodicReplay(long intervalSeconds) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "journal-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                replay();
+            } catch (SQLException | IOException | RuntimeException e) {
+                System.err.println("Warning: Journal replay deferred: " + e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    private void reject(JournalRecord record, Exception e) throws IOException {
+        String reason = e.getClass().getSimpleName() + ": " + e.getMessage();
+        journal.reject(record, reason);
+        System.err.println("Warning: Rejected journal record " + record.getSequence() + " (" + reason +
+                           "), moved to " + journal.getRejectedPath());
+    }
+
+    /**
+     * Whether a failure may go away on retry: no connection, a timeout, a deadlock or a
+     * rollback. Errors without a SQL state come from this application and are retried too.
+     */
+    static boolean isConnectionFailure(SQLException e) {
+        if (e instanceof SQLTransientException || e instanceof SQLRecoverableException
+                || e instanceof SQLNonTransientConnectionException) {
+            return true;
+        }
+        String state = e.getSQLState();
+        return state == null || state.startsWith("08") || state.startsWith("40");
+    }
+
+    private void apply(JournalRecord record) throws SQLException {
+        switch (record.getType()) {
+            case ENTRY:
+                applyEntry(record);
+                break;
+            case EXIT:
+                applyExit(record);
+                break;
+            case PAYMENT:
+                applyPayment(record);
+                break;
+            case FINE:
+                applyFine(record);
+                break;
+            case FINE_PAID:
+                repositories.fines().markAsPaid(Long.valueOf(record.get(0)));
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type: " + record.getType());
+        }
+    }
+
+    private void applyEntry(JournalRecord record) throws SQLException {
+        String licensePlate = record.get(0);
+        String spotId = record.get(3);
+        LocalDateTime entryTime = record.getTime(4);
+
+        Vehicle latest = repositories.vehicles().findByLicensePlate(licensePlate);
+        if (latest != null && sameInstant(latest.getEntryTime(), entryTime)) {
+            // Session already stored; only make sure the spot reflects it
+            if (latest.getExitTime() == null && !spotId.isEmpty()) {
+                repositories.spots().updateStatus(spotId, SpotStatus.OCCUPIED);
+            }
+            return;
+        }
+
+        Vehicle vehicle = new Vehicle(licensePlate, VehicleType.valueOf(record.get(1)),
+                                      Boolean.parseBoolean(record.get(2)));
+        vehicle.setEntryTime(entryTime);
+        vehicle.setAssignedSpotId(spotId.isEmpty() ? null : spotId);
+        repositories.vehicles().save(vehicle);
+        if (!spotId.isEmpty()) {
+            repositories.spots().updateStatus(spotId, SpotStatus.OCCUPIED);
+        }
+    }
+
+    private void applyExit(JournalRecord record) throws SQLException {
+        String licensePlate = record.get(0);
+        String spotId = record.get(1);
+        LocalDateTime exitTime = record.getTime(2);
+
+        Vehicle latest = repositories.vehicles().findByLicensePlate(licensePlate);
+        if (latest != null && latest.getExitTime() == null
+                && (latest.getEntryTime() == null || !latest.getEntryTime().isAfter(exitTime))) {
+            repositories.vehicles().updateExitTime(licensePlate, exitTime);
+        }
+        if (!spotId.isEmpty() && repositories.vehicles().findActiveBySpotId(spotId) == null) {
+            repositories.spots().updateStatus(spotId, SpotStatus.AVAILABLE);
+        }
+    }
+
+    private void applyPayment(JournalRecord record) throws SQLException {
+        String licensePlate = record.get(0);
+        long totalAmountCents = record.getCents(3);
+        LocalDateTime paymentDate = record.getTime(5);
+
+        for (Payment existing : repositories.payments().findByLicensePlate(licensePlate)) {
+            if (sameInstant(existing.getPaymentDate(), paymentDate)
+                    && existing.getTotalAmountCents() == totalAmountCents) {
+                return;
+            }
+        }
+
+        Payment payment = new Payment();
+        payment.setLicensePlate(licensePlate);
+        payment.setParkingFeeCents(record.getCents(1));
+        payment.setFineAmountCents(record.getCents(2));
+        payment.setTotalAmountCents(totalAmountCents);
+        payment.setPaymentMethod(PaymentMethod.valueOf(record.get(4)));
+        payment.setPaymentDate(paymentDate);
+        if (record.size() > 7 && !record.get(7).isEmpty()) {
+            payment.setSpotType(SpotType.valueOf(record.get(7)));
+        }
+        if (record.size() > 8 && !record.get(8).isEmpty()) {
+            payment.setFloorNumber(Integer.valueOf(record.get(8)));
+        }
+        // One transaction, so a payment found by the check above always carries its revenue
+        repositories.payments().saveWithRevenue(payment, Math.max(0, record.getCents(6)));
+    }
+
+    private void applyFine(JournalRecord record) throws SQLException {
+        String licensePlate = record.get(0);
+        FineType type = FineType.valueOf(record.get(1));
+        LocalDateTime issuedDate = record.getTime(3);
+
+        for (Fine existing : repositories.fines().findByLicensePlate(licensePlate)) {
+            if (existing.getType() == type && sameInstant(existing.getIssuedDate(), issuedDate)) {
+                return;
+            }
+        }
+
+        Fine fine = Fine.ofCents(licensePlate, type, record.getCents(2));
+        fine.setIssuedDate(issuedDate);
+        repositories.fines().save(fine);
+    }
+
+    /**
+     * Compares timestamps at the one second precision of the DATETIME columns.
+     */
+    private static boolean sameInstant(LocalDateTime stored, LocalDateTime journaled) {
+        return stored != null && journaled != null
+            && Math.abs(Duration.between(stored, journaled).toMillis()) < 1000;
+    }
+}
@@ -0,0 +1,314 @@
+package com.university.parking.dao.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.university.parking.dao.journal.JournalRecord.Type;
+import com.university.parking.model.Fine;
+import com.university.parking.model.Payment;
+import com.university.parking.model.Vehicle;
+
+/**
+ * Append-only local journal for writes that could not reach the database.
+ * Records are appended to a text file and fsynced in batches: immediately once
+ * {@code syncBatchSize} records are pending, otherwise by a background flush at most
+ * {@code syncIntervalMillis} later. {@link JournalReplayer} applies them once the
+ * database is reachable again.
+ */
+public class WriteJournal implements AutoCloseable {
+    private static final int DEFAULT_SYNC_BATCH_SIZE = 16;
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 200;
+
+    private static volatile WriteJournal installed;
+
+    private final Path path;
+    private final int syncBatchSize;
+    private final ScheduledExecutorService flusher;
+    private FileChannel channel;
+    private long nextSequence;
+    private int unsyncedRecords;
+
+    private WriteJournal(Path path, int syncBatchSize, long syncIntervalMillis) throws IOException {
+        this.path = path;
+        this.syncBatchSize = syncBatchSize;
+        truncateTornTail(path);
+        this.channel = openChannel(path);
+        long lastSequence = 0;
+        for (JournalRecord record : readRecords()) {
+            lastSequence = Math.max(lastSequence, record.getSequence());
+        }
+        this.nextSequence = lastSequence + 1;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, syncIntervalMillis, syncIntervalMillis,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens (or creates) a journal with the default sync batching.
+     * @param path the journal file
+     * @return the opened journal
+     * @throws IOException if the file cannot be opened or read
+     */
+    public static WriteJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_SYNC_BATCH_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Opens (or creates) a journal.
+     * @param path the journal file
+     * @param syncBatchSize pending records that force an immediate fsync
+     * @param syncIntervalMillis longest time a record may stay unsynced
+     * @return the opened journal
+     * @throws IOException if the file cannot be opened or read
+     */
+    public static WriteJournal open(Path path, int syncBatchSize, long syncIntervalMillis) throws IOException {
+        return new WriteJournal(path, syncBatchSize, syncIntervalMillis);
+    }
+
+    /**
+     * Installs the journal controllers fall back to when a write fails.
+     * @param journal the journal, or null to disable journaling
+     */
+    public static void install(WriteJournal journal) {
+        installed = journal;
+    }
+
+    /**
+     * @return the installed journal, or null if none
+     */
+    public static WriteJournal installed() {
+        return installed;
+    }
+
+    /**
+     * Records a vehicle entry.
+     * @return true if the record was written
+     */
+    public boolean recordEntry(Vehicle vehicle) {
+        return append(Type.ENTRY, JournalRecord.entryValues(vehicle));
+    }
+
+    /**
+     * Records a vehicle exit.
+     * @return true if the record was written
+     */
+    public boolean recordExit(String licensePlate, String spotId, LocalDateTime exitTime) {
+        return append(Type.EXIT, JournalRecord.exitValues(licensePlate, spotId, exitTime));
+    }
+
+    /**
+     * Records a payment together with the revenue it contributes.
+     * @param revenueCents revenue in cents still to be added to the parking lot total on replay
+     * @return true if the record was written
+     */
+    public boolean recordPayment(Payment payment, long revenueCents) {
+        return append(Type.PAYMENT, JournalRecord.paymentValues(payment, revenueCents));
+    }
+
+    /**
+     * Records a newly issued fine.
+     * @return true if the record was written
+     */
+    public boolean recordFine(Fine fine) {
+        return append(Type.FINE, JournalRecord.fineValues(fine));
+    }
+
+    /**
+     * Records that an existing fine has been paid.
+     * @return true if the record was written
+     */
+    public boolean recordFinePaid(Long fineId) {
+        return append(Type.FINE_PAID, String.valueOf(fineId));
+    }
+
+    private synchronized boolean append(Type type, String... values) {
+        JournalRecord record = new JournalRecord(nextSequence, type, values);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap((record.encode() + "\n").getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            nextSequence++;
+            if (++unsyncedRecords >= syncBatchSize) {
+                sync();
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to write " + type + " to journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Forces pending records to disk.
+     * @throws IOException if the fsync fails
+     */
+    public synchronized void sync() throws IOException {
+        if (unsyncedRecords > 0) {
+            channel.force(false);
+            unsyncedRecords = 0;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to sync journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads every complete record in append order.
+     * A torn final line from an interrupted write is ignored.
+     * @return the journaled records
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized List<JournalRecord> readAll() throws IOException {
+        return readRecords();
+    }
+
+    /**
+     * @return true if no records are waiting to be replayed
+     */
+    public synchronized boolean isEmpty() throws IOException {
+        return channel.size() == 0;
+    }
+
+    /**
+     * Removes records up to and including the given sequence, keeping anything
+     * appended after it. The remaining records are rewritten atomically.
+     * @param sequence the last replayed sequence
+     * @throws IOException if the journal cannot be rewritten
+     */
+    public synchronized void discardThrough(long sequence) throws IOException {
+        List<JournalRecord> remaining = new ArrayList<>();
+        for (JournalRecord record : readRecords()) {
+            if (record.getSequence() > sequence) {
+                remaining.add(record);
+            }
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (JournalRecord record : remaining) {
+                ByteBuffer buffer = ByteBuffer.wrap((record.encode() + "\n").getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = openChannel(path);
+        unsyncedRecords = 0;
+    }
+
+    /**
+     * Moves a record the database will never accept to the rejected file next to the
+     * journal, so it no longer holds back the records behind it. Each record is preceded
+     * by a comment line with the time and reason, for manual correction.
+     * @param record the record that could not be applied
+     * @param reason why it was rejected
+     * @throws IOException if the rejected file cannot be written
+     */
+    public synchronized void reject(JournalRecord record, String reason) throws IOException {
+        String text = "# " + LocalDateTime.now() + " " + reason.replace('\n', ' ') + "\n" + record.encode() + "\n";
+        try (FileChannel out = FileChannel.open(getRejectedPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+        }
+    }
+
+    /**
+     * @return the file receiving records rejected by {@link #reject(JournalRecord, String)}
+     */
+    public Path getRejectedPath() {
+        return path.resolveSibling(path.getFileName() + ".rejected");
+    }
+
+    private List<JournalRecord> readRecords() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return records;
+        }
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            String line = content.substring(start, end);
+            start = end + 1;
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                records.add(JournalRecord.decode(line));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Warning: Skipping unreadable journal line: " + e.getMessage());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Drops a partial final line left by a crash mid-write, so the next append
+     * starts on a fresh line instead of being glued onto the fragment.
+     */
+    private static void truncateTornTail(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        byte[] content = Files.readAllBytes(path);
+        int length = content.length;
+        while (length > 0 && content[length - 1] != '\n') {
+            length--;
+        }
+        if (length < content.length) {
+            try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                out.truncate(length);
+                out.force(true);
+            }
+        }
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                StandardOpenOption.APPEND);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flusher.shutdown();
+        sync();
+        channel.close();
+    }
+}
@@ -0,0 +1,166 @@
+package com.university.parking.dao.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.university.parking.dao.Page;
+import com.university.parking.dao.FineRepository;
+import com.university.parking.model.Fine;
+
+/**
+ * In-memory fine storage keyed by generated ID.
+ */
+public class InMemoryFineRepository implements FineRepository {
+    private final ConcurrentSkipListMap<Long, Fine> fines = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @Override
+    public Long save(Fine fine) {
+        Long id = nextId.getAndIncrement();
+        fine.setId(id);
+        fines.put(id, copy(fine));
+        return id;
+    }
+
+    @Override
+    public Fine findById(Long id) {
+        Fine fine = fines.get(id);
+        return fine != null ? copy(fine) : null;
+    }
+
+    @Override
+    public List<Fine> findUnpaidByLicensePlate(String licensePlate) {
+        List<Fine> result = new ArrayList<>();
+        for (Fine fine : fines.values()) {
+            if (!fine.isPaid() && fine.getLicensePlate().equals(licensePlate)) {
+                result.add(copy(fine));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Fine> findByLicensePlate(String licensePlate) {
+        List<Fine> result = new ArrayList<>();
+        for (Fine fine : fines.values()) {
+            if (fine.getLicensePlate().equals(licensePlate)) {
+                result.add(copy(fine));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Fine> findAllUnpaid() {
+        List<Fine> result = new ArrayList<>();
+        for (Fine fine : fines.values()) {
+            if (!fine.isPaid()) {
+                result.add(copy(fine));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void update(Long id, Fine fine) {
+        fines.computeIfPresent(id, (key, existing) -> {
+            Fine updated = copy(fine);
+            updated.setId(id);
+            return updated;
+        });
+    }
+
+    @Override
+    public void markAsPaid(Long id) {
+        fines.computeIfPresent(id, (key, existing) -> {
+            Fine updated = copy(existing);
+            updated.setPaid(true);
+            return updated;
+        });
+    }
+
+    @Override
+    public int markAllAsPaid(Collection<Long> ids) {
+        int marked = 0;
+        for (Long id : ids) {
+            if (markIfUnpaid(id)) {
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    @Override
+    public int markAllUnpaidAsPaid(String licensePlate) {
+        int marked = 0;
+        for (Fine fine : fines.values()) {
+            if (!fine.isPaid() && fine.getLicensePlate().equals(licensePlate) && markIfUnpaid(fine.getId())) {
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    @Override
+    public void saveAll(List<Fine> fines) {
+        for (Fine fine : fines) {
+            save(fine);
+        }
+    }
+
+    private boolean markIfUnpaid(Long id) {
+        // The skip list may retry the function under contention; the last run decides
+        boolean[] marked = new boolean[1];
+        fines.computeIfPresent(id, (key, existing) -> {
+            marked[0] = !existing.isPaid();
+            if (!marked[0]) {
+                return existing;
+            }
+            Fine updated = copy(existing);
+            updated.setPaid(true);
+            return updated;
+        });
+        return marked[0];
+    }
+
+    @Override
+    public void delete(Long id) {
+        fines.remove(id);
+    }
+
+    @Override
+    public List<Fine> findAll() {
+        List<Fine> result = new ArrayList<>();
+        for (Fine fine : fines.values()) {
+            result.add(copy(fine));
+        }
+        return result;
+    }
+
+    @Override
+    public Page<Fine> findPage(Long afterId, int pageSize) {
+        return Pages.page(fines, afterId, pageSize, InMemoryFineRepository::copy);
+    }
+
+    @Override
+    public void forEach(Consumer<Fine> action) {
+        for (Fine fine : fines.values()) {
+            action.accept(copy(fine));
+        }
+    }
+
+    private static Fine copy(Fine source) {
+        Fine fine = new Fine();
+        fine.setId(source.getId());
+        fine.setLicensePlate(source.getLicensePlate());
+        fine.setType(source.getType());
+        fine.setAmountCents(source.getAmountCents());
+        fine.setIssuedDate(source.getIssuedDate());
+        fine.setPaid(source.isPaid());
+        return fine;
+    }
+}
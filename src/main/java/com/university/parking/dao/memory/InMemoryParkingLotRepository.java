@@ -0,0 +1,62 @@
+package com.university.parking.dao.memory;
+
+import com.university.parking.dao.ParkingLotRepository;
+import com.university.parking.model.FineCalculationStrategy;
+import com.university.parking.model.ParkingLot;
+import com.university.parking.model.RevenueLedger;
+
+/**
+ * In-memory parking lot storage.
+ * Holds the saved lot itself; revenue and fine strategy are tracked separately so
+ * that loading behaves like the database, where they are restored from stored values.
+ */
+public class InMemoryParkingLotRepository implements ParkingLotRepository {
+    private final RevenueLedger storedRevenue = new RevenueLedger();
+    private volatile ParkingLot parkingLot;
+    private volatile FineCalculationStrategy fineStrategy;
+
+    @Override
+    public boolean parkingLotExists() {
+        return parkingLot != null;
+    }
+
+    @Override
+    public ParkingLot loadParkingLot() {
+        ParkingLot lot = parkingLot;
+        if (lot == null) {
+            return null;
+        }
+        lot.setTotalRevenue(storedRevenue.getTotal());
+        if (fineStrategy != null) {
+            lot.getFineCalculationContext().setStrategy(fineStrategy);
+        }
+        return lot;
+    }
+
+    @Override
+    public Long saveParkingLot(ParkingLot parkingLot) {
+        this.parkingLot = parkingLot;
+        storedRevenue.reset(parkingLot.getTotalRevenue());
+        return 1L;
+    }
+
+    @Override
+    public void updateRevenue(double totalRevenue) {
+        storedRevenue.reset(totalRevenue);
+    }
+
+    @Override
+    public void addRevenue(double amount) {
+        storedRevenue.record(amount);
+    }
+
+    @Override
+    public void addRevenueCents(long amountCents) {
+        storedRevenue.recordCents(amountCents);
+    }
+
+    @Override
+    public void updateFineStrategy(FineCalculationStrategy strategy) {
+        this.fineStrategy = strategy;
+    }
+}
@@ -0,0 +1,136 @@
+package com.university.parking.dao.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.university.parking.dao.ParkingSpotRepository;
+import com.university.parking.model.ParkingSpot;
+import com.university.parking.model.SpotStatus;
+
+/**
+ * In-memory parking spot storage keyed by generated ID, with a spot ID index.
+ */
+public class InMemoryParkingSpotRepository implements ParkingSpotRepository {
+    private final ConcurrentSkipListMap<Long, ParkingSpot> spots = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> floorIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsBySpotId = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @Override
+    public Long save(Long floorId, ParkingSpot spot) {
+        Long id = nextId.getAndIncrement();
+        spots.put(id, copy(spot));
+        floorIds.put(id, floorId);
+        idsBySpotId.put(spot.getSpotId(), id);
+        return id;
+    }
+
+    @Override
+    public ParkingSpot findById(Long id) {
+        ParkingSpot spot = spots.get(id);
+        return spot != null ? copy(spot) : null;
+    }
+
+    @Override
+    public ParkingSpot findBySpotId(String spotId) {
+        Long id = idsBySpotId.get(spotId);
+        return id != null ? findById(id) : null;
+    }
+
+    @Override
+    public List<ParkingSpot> findAvailable() {
+        List<ParkingSpot> result = new ArrayList<>();
+        for (ParkingSpot spot : spots.values()) {
+            if (spot.getStatus() == SpotStatus.AVAILABLE) {
+                result.add(copy(spot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<ParkingSpot> findByFloorId(Long floorId) {
+        List<ParkingSpot> result = new ArrayList<>();
+        for (Map.Entry<Long, ParkingSpot> entry : spots.entrySet()) {
+            if (floorId.equals(floorIds.get(entry.getKey()))) {
+                result.add(copy(entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void update(String spotId, ParkingSpot spot) {
+        Long id = idsBySpotId.get(spotId);
+        if (id != null) {
+            spots.computeIfPresent(id, (key, existing) -> {
+                ParkingSpot updated = copy(spot);
+                updated.setSpotId(spotId);
+                return updated;
+            });
+        }
+    }
+
+    @Override
+    public void updateStatus(String spotId, SpotStatus status) {
+        Long id = idsBySpotId.get(spotId);
+        if (id != null) {
+            spots.computeIfPresent(id, (key, existing) -> {
+                ParkingSpot updated = copy(existing);
+                updated.setStatus(status);
+                return updated;
+            });
+        }
+    }
+
+    @Override
+    public boolean occupyIfAvailable(String spotId) {
+        Long id = idsBySpotId.get(spotId);
+        if (id == null) {
+            return false;
+        }
+        // The skip list may retry the function under contention; the last run decides
+        boolean[] claimed = new boolean[1];
+        spots.computeIfPresent(id, (key, existing) -> {
+            claimed[0] = existing.getStatus() == SpotStatus.AVAILABLE;
+            if (!claimed[0]) {
+                return existing;
+            }
+            ParkingSpot updated = copy(existing);
+            updated.setStatus(SpotStatus.OCCUPIED);
+            return updated;
+        });
+        return claimed[0];
+    }
+
+    @Override
+    public void delete(Long id) {
+        ParkingSpot removed = spots.remove(id);
+        floorIds.remove(id);
+        if (removed != null) {
+            idsBySpotId.remove(removed.getSpotId(), id);
+        }
+    }
+
+    @Override
+    public List<ParkingSpot> findAll() {
+        List<ParkingSpot> result = new ArrayList<>();
+        for (ParkingSpot spot : spots.values()) {
+            result.add(copy(spot));
+        }
+        return result;
+    }
+
+    private static ParkingSpot copy(ParkingSpot source) {
+        ParkingSpot spot = new ParkingSpot();
+        spot.setSpotId(source.getSpotId());
+        spot.setType(source.getType());
+        spot.setHourlyRate(source.getHourlyRate());
+        spot.setStatus(source.getStatus());
+        return spot;
+    }
+}
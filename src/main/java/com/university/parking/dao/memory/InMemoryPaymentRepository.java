@@ -0,0 +1,126 @@
+package com.university.parking.dao.memory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.university.parking.dao.Page;
+import com.university.parking.dao.ParkingLotRepository;
+import com.university.parking.dao.PaymentRepository;
+import com.university.parking.model.Money;
+import com.university.parking.model.Payment;
+
+/**
+ * In-memory payment storage keyed by generated ID.
+ */
+public class InMemoryPaymentRepository implements PaymentRepository {
+    private final ConcurrentSkipListMap<Long, Payment> payments = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ParkingLotRepository parkingLots;
+
+    public InMemoryPaymentRepository() {
+        this(null);
+    }
+
+    /**
+     * @param parkingLots the parking lot storage that {@link #saveWithRevenue} adds revenue to, or null
+     */
+    public InMemoryPaymentRepository(ParkingLotRepository parkingLots) {
+        this.parkingLots = parkingLots;
+    }
+
+    @Override
+    public Long save(Payment payment) {
+        Long id = nextId.getAndIncrement();
+        payment.setId(id);
+        payments.put(id, copy(payment));
+        return id;
+    }
+
+    @Override
+    public Long saveWithRevenue(Payment payment, long revenueCents) throws SQLException {
+        Long id = save(payment);
+        if (parkingLots != null && revenueCents != 0) {
+            parkingLots.addRevenueCents(revenueCents);
+        }
+        return id;
+    }
+
+    @Override
+    public Payment findById(Long id) {
+        Payment payment = payments.get(id);
+        return payment != null ? copy(payment) : null;
+    }
+
+    @Override
+    public List<Payment> findByLicensePlate(String licensePlate) {
+        List<Payment> result = new ArrayList<>();
+        for (Payment payment : payments.values()) {
+            if (payment.getLicensePlate().equals(licensePlate)) {
+                result.add(copy(payment));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Payment> findAll() {
+        List<Payment> result = new ArrayList<>();
+        for (Payment payment : payments.values()) {
+            result.add(copy(payment));
+        }
+        return result;
+    }
+
+    @Override
+    public double calculateTotalRevenue() {
+        long totalCents = 0L;
+        for (Payment payment : payments.values()) {
+            totalCents = Money.add(totalCents, payment.getTotalAmountCents());
+        }
+        return Money.toRinggit(totalCents);
+    }
+
+    @Override
+    public void update(Long id, Payment payment) {
+        payments.computeIfPresent(id, (key, existing) -> {
+            Payment updated = copy(payment);
+            updated.setId(id);
+            return updated;
+        });
+    }
+
+    @Override
+    public void delete(Long id) {
+        payments.remove(id);
+    }
+
+    @Override
+    public Page<Payment> findPage(Long afterId, int pageSize) {
+        return Pages.page(payments, afterId, pageSize, InMemoryPaymentRepository::copy);
+    }
+
+    @Override
+    public void forEach(Consumer<Payment> action) {
+        for (Payment payment : payments.values()) {
+            action.accept(copy(payment));
+        }
+    }
+
+    private static Payment copy(Payment source) {
+        Payment payment = new Payment();
+        payment.setId(source.getId());
+        payment.setLicensePlate(source.getLicensePlate());
+        payment.setParkingFeeCents(source.getParkingFeeCents());
+        payment.setFineAmountCents(source.getFineAmountCents());
+        payment.setTotalAmountCents(source.getTotalAmountCents());
+        payment.setPaymentMethod(source.getPaymentMethod());
+        payment.setPaymentDate(source.getPaymentDate());
+        payment.setSpotType(source.getSpotType());
+        payment.setFloorNumber(source.getFloorNumber());
+        return payment;
+    }
+}
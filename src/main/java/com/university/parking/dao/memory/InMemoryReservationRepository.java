@@ -0,0 +1,141 @@
+package com.university.parking.dao.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.university.parking.dao.Page;
+import com.university.parking.dao.ReservationRepository;
+import com.university.parking.model.Reservation;
+
+/**
+ * In-memory reservation storage keyed by generated ID.
+ * Time range checks use the same inclusive bounds as the SQL BETWEEN queries.
+ */
+public class InMemoryReservationRepository implements ReservationRepository {
+    private final ConcurrentSkipListMap<Long, Reservation> reservations = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @Override
+    public boolean save(Reservation reservation) {
+        Long id = nextId.getAndIncrement();
+        reservation.setId(id);
+        reservations.put(id, copy(reservation));
+        return true;
+    }
+
+    @Override
+    public Reservation findValidReservation(String licensePlate, String spotId, LocalDateTime checkTime) {
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.isActive()
+                    && reservation.getLicensePlate().equals(licensePlate)
+                    && reservation.getSpotId().equals(spotId)
+                    && !checkTime.isBefore(reservation.getStartTime())
+                    && !checkTime.isAfter(reservation.getEndTime())) {
+                return copy(reservation);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Reservation> findByLicensePlate(String licensePlate) {
+        List<Reservation> result = new ArrayList<>();
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.isActive() && reservation.getLicensePlate().equals(licensePlate)) {
+                result.add(copy(reservation));
+            }
+        }
+        result.sort(Comparator.comparing(Reservation::getStartTime).reversed());
+        return result;
+    }
+
+    @Override
+    public Reservation findMostRecentReservation(String licensePlate, String spotId) {
+        Reservation latest = null;
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.isActive()
+                    && reservation.getLicensePlate().equals(licensePlate)
+                    && reservation.getSpotId().equals(spotId)
+                    && (latest == null || reservation.getStartTime().isAfter(latest.getStartTime()))) {
+                latest = reservation;
+            }
+        }
+        return latest != null ? copy(latest) : null;
+    }
+
+    @Override
+    public List<Reservation> findBySpotId(String spotId) {
+        List<Reservation> result = new ArrayList<>();
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.isActive() && reservation.getSpotId().equals(spotId)) {
+                result.add(copy(reservation));
+            }
+        }
+        result.sort(Comparator.comparing(Reservation::getStartTime));
+        return result;
+    }
+
+    @Override
+    public boolean isSpotReserved(String spotId, LocalDateTime startTime, LocalDateTime endTime) {
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.isActive() && reservation.getSpotId().equals(spotId)
+                    && !reservation.getStartTime().isAfter(endTime)
+                    && !reservation.getEndTime().isBefore(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean cancel(Long id) {
+        return reservations.computeIfPresent(id, (key, existing) -> {
+            Reservation cancelled = copy(existing);
+            cancelled.setActive(false);
+            return cancelled;
+        }) != null;
+    }
+
+    @Override
+    public List<Reservation> findAll() {
+        List<Reservation> result = new ArrayList<>();
+        for (Reservation reservation : reservations.values()) {
+            result.add(copy(reservation));
+        }
+        result.sort(Comparator.comparing(Reservation::getCreatedAt).reversed());
+        return result;
+    }
+
+    @Override
+    public Reservation findById(Long id) {
+        Reservation reservation = reservations.get(id);
+        return reservation != null ? copy(reservation) : null;
+    }
+
+    @Override
+    public Page<Reservation> findPage(Long afterId, int pageSize) {
+        return Pages.page(reservations, afterId, pageSize, InMemoryReservationRepository::copy);
+    }
+
+    @Override
+    public void forEach(Consumer<Reservation> action) {
+        for (Reservation reservation : reservations.values()) {
+            action.accept(copy(reservation));
+        }
+    }
+
+    private static Reservation copy(Reservation source) {
+        Reservation reservation = new Reservation(source.getLicensePlate(), source.getSpotId(),
+                                                  source.getStartTime(), source.getEndTime());
+        reservation.setId(source.getId());
+        reservation.setActive(source.isActive());
+        reservation.setCreatedAt(source.getCreatedAt());
+        reservation.setPrepaidAmount(source.getPrepaidAmount());
+        return reservation;
+    }
+}
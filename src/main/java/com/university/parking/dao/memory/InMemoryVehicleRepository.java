@@ -0,0 +1,145 @@
+package com.university.parking.dao.memory;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.university.parking.dao.Page;
+import com.university.parking.dao.VehicleRepository;
+import com.university.parking.model.Vehicle;
+
+/**
+ * In-memory vehicle storage keyed by generated ID.
+ * Returns copies so callers see the same detached objects the JDBC DAO produces.
+ */
+public class InMemoryVehicleRepository implements VehicleRepository {
+    private final ConcurrentSkipListMap<Long, Vehicle> vehicles = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Clock clock;
+
+    public InMemoryVehicleRepository() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public InMemoryVehicleRepository(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Long save(Vehicle vehicle) {
+        Long id = nextId.getAndIncrement();
+        vehicles.put(id, copy(vehicle, null));
+        return id;
+    }
+
+    @Override
+    public Vehicle findById(Long id) {
+        Vehicle vehicle = vehicles.get(id);
+        return vehicle != null ? copy(vehicle, LocalDateTime.now(clock)) : null;
+    }
+
+    @Override
+    public Vehicle findByLicensePlate(String licensePlate) {
+        for (Vehicle vehicle : vehicles.descendingMap().values()) {
+            if (vehicle.getLicensePlate().equals(licensePlate)) {
+                return copy(vehicle, LocalDateTime.now(clock));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Vehicle> findCurrentlyParked() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Vehicle> result = new ArrayList<>();
+        for (Vehicle vehicle : vehicles.values()) {
+            if (vehicle.getExitTime() == null) {
+                result.add(copy(vehicle, now));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Vehicle> findActiveVehicles() {
+        return findCurrentlyParked();
+    }
+
+    @Override
+    public Vehicle findActiveBySpotId(String spotId) {
+        for (Vehicle vehicle : vehicles.values()) {
+            if (vehicle.getExitTime() == null && spotId.equals(vehicle.getAssignedSpotId())) {
+                return copy(vehicle, LocalDateTime.now(clock));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void update(Long id, Vehicle vehicle) {
+        vehicles.computeIfPresent(id, (key, existing) -> copy(vehicle, null));
+    }
+
+    @Override
+    public boolean updateExitTime(String licensePlate, LocalDateTime exitTime) {
+        boolean[] closedAny = new boolean[1];
+        vehicles.replaceAll((key, existing) -> {
+            if (existing.getExitTime() == null && existing.getLicensePlate().equals(licensePlate)) {
+                Vehicle closed = copy(existing, null);
+                closed.setExitTime(exitTime);
+                closedAny[0] = true;
+                return closed;
+            }
+            return existing;
+        });
+        return closedAny[0];
+    }
+
+    @Override
+    public void delete(Long id) {
+        vehicles.remove(id);
+    }
+
+    @Override
+    public List<Vehicle> findAll() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Vehicle> result = new ArrayList<>();
+        for (Vehicle vehicle : vehicles.values()) {
+            result.add(copy(vehicle, now));
+        }
+        return result;
+    }
+
+    @Override
+    public Page<Vehicle> findPage(Long afterId, int pageSize) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return Pages.page(vehicles, afterId, pageSize, vehicle -> copy(vehicle, now));
+    }
+
+    @Override
+    public void forEach(Consumer<Vehicle> action) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (Vehicle vehicle : vehicles.values()) {
+            action.accept(copy(vehicle, now));
+        }
+    }
+
+    /**
+     * Copies the stored columns of a vehicle.
+     * @param now reference time for elapsed fields, or null when storing
+     */
+    private static Vehicle copy(Vehicle source, LocalDateTime now) {
+        Vehicle vehicle = new Vehicle(source.getLicensePlate(), source.getType(), source.isHandicapped());
+        vehicle.setEntryTime(source.getEntryTime());
+        vehicle.setExitTime(source.getExitTime());
+        vehicle.setAssignedSpotId(source.getAssignedSpotId());
+        if (now != null) {
+            vehicle.computeElapsedTime(now);
+        }
+        return vehicle;
+    }
+}
@@ -0,0 +1,35 @@
+package com.university.parking.dao.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Function;
+
+import com.university.parking.dao.Page;
+
+/**
+ * Keyset pagination over the ID-ordered maps used by the in-memory repositories.
+ */
+final class Pages {
+
+    private Pages() {
+    }
+
+    static <T> Page<T> page(NavigableMap<Long, T> rows, Long afterId, int pageSize, Function<T, T> copier) {
+        Page.checkPageSize(pageSize);
+        NavigableMap<Long, T> tail = afterId != null ? rows.tailMap(afterId, false) : rows;
+        List<T> items = new ArrayList<>();
+        Long lastId = null;
+        boolean hasMore = false;
+        for (Map.Entry<Long, T> entry : tail.entrySet()) {
+            if (items.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            lastId = entry.getKey();
+            items.add(copier.apply(entry.getValue()));
+        }
+        return new Page<>(items, lastId, hasMore);
+    }
+}
@@ -0,0 +1,77 @@
+package com.university.parking.model;
+
+/**
+ * One row of the change log: a spot, parking session or fine changed at some terminal.
+ */
+public class ChangeLogEntry {
+
+    /**
+     * The kind of record that changed.
+     */
+    public enum Entity {
+        /** A parking spot status; the key is the spot ID and the action the new status */
+        SPOT,
+        /** A vehicle entering, exiting or being edited; the key is the license plate */
+        SESSION,
+        /** A fine issued, edited, paid or deleted; the key is the license plate */
+        FINE
+    }
+
+    private final long sequence;
+    private final String terminalId;
+    private final Entity entity;
+    private final String key;
+    private final String action;
+    private final String spotId;
+
+    public ChangeLogEntry(long sequence, String terminalId, Entity entity,
+                          String key, String action, String spotId) {
+        this.sequence = sequence;
+        this.terminalId = terminalId;
+        this.entity = entity;
+        this.key = key;
+        this.action = action;
+        this.spotId = spotId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the ID of the terminal that made the change
+     */
+    public String getTerminalId() {
+        return terminalId;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * @return the spot involved, or null if the change did not record one
+     */
+    public String getSpotId() {
+        return spotId;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeLogEntry{" +
+                "sequence=" + sequence +
+                ", entity=" + entity +
+                ", key='" + key + '\'' +
+                ", action='" + action + '\'' +
+                ", spotId='" + spotId + '\'' +
+                '}';
+    }
+}
@@ -10,7 +10,7 @@ public class Fine {
     private Long id;
     private String licensePlate;
     private FineType type;
-    private double amount;
+    private long amountCents;
     private LocalDateTime issuedDate;
     private boolean isPaid;
 
@@ -19,11 +19,24 @@ public class Fine {
     public Fine(String licensePlate, FineType type, double amount) {
         this.licensePlate = licensePlate;
         this.type = type;
-        this.amount = amount;
+        this.amountCents = Money.ofRinggit(amount);
         this.issuedDate = LocalDateTime.now();
         this.isPaid = false;
     }
 
+    /**
+     * Creates an unpaid fine with an amount in cents.
+     * @param licensePlate the fined vehicle
+     * @param type the fine type
+     * @param amountCents the amount in cents
+     * @return the fine
+     */
+    public static Fine ofCents(String licensePlate, FineType type, long amountCents) {
+        Fine fine = new Fine(licensePlate, type, 0.0);
+        fine.amountCents = amountCents;
+        return fine;
+    }
+
     /**
      * Calculates the fine amount using the provided strategy.
      * @param strategy the fine calculation strategy
@@ -60,11 +73,19 @@ public class Fine {
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toRinggit(amountCents);
     }
 
     public void setAmount(double amount) {
-        this.amount = amount;
+        this.amountCents = Money.ofRinggit(amount);
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 
     public LocalDateTime getIssuedDate() {
@@ -89,7 +110,7 @@ public class Fine {
                 "id=" + id +
                 ", licensePlate='" + licensePlate + '\'' +
                 ", type=" + type +
-                ", amount=" + amount +
+                ", amount=" + Money.format(amountCents) +
                 ", issuedDate=" + issuedDate +
                 ", isPaid=" + isPaid +
                 '}';
@@ -0,0 +1,45 @@
+package com.university.parking.model;
+
+/**
+ * Fine totals for one fine type and paid status.
+ * Read from the materialized fine_daily table.
+ */
+public class FineAggregate {
+    private final FineType type;
+    private final boolean paid;
+    private final long fineCount;
+    private final double totalAmount;
+
+    public FineAggregate(FineType type, boolean paid, long fineCount, double totalAmount) {
+        this.type = type;
+        this.paid = paid;
+        this.fineCount = fineCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public FineType getType() {
+        return type;
+    }
+
+    public boolean isPaid() {
+        return paid;
+    }
+
+    public long getFineCount() {
+        return fineCount;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "FineAggregate{" +
+                "type=" + type +
+                ", paid=" + paid +
+                ", fineCount=" + fineCount +
+                ", totalAmount=" + totalAmount +
+                '}';
+    }
+}
@@ -57,6 +57,23 @@ public class Floor {
         return String.format("F%d-R%d-S%d", floor, row, spot);
     }
 
+    /**
+     * Reads the floor number back from a spot ID made by {@link #generateSpotId}.
+     * @param spotId the spot ID, e.g. "F2-R1-S3"
+     * @return the floor number, or null if the ID is not in that format
+     */
+    public static Integer parseFloorNumber(String spotId) {
+        if (spotId == null || spotId.length() < 2 || spotId.charAt(0) != 'F') {
+            return null;
+        }
+        int end = spotId.indexOf('-');
+        try {
+            return Integer.valueOf(spotId.substring(1, end > 0 ? end : spotId.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Gets all spots on this floor.
      * @return list of all parking spots
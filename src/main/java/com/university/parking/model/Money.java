@@ -0,0 +1,168 @@
+package com.university.parking.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money arithmetic on amounts held as whole cents in a primitive long.
+ *
+ * Fees, fines, payments and revenue are kept in cents so sums are exact and the hot
+ * path allocates nothing; a BigDecimal is only created at the JDBC boundary, where
+ * the driver needs one to write a DECIMAL column without a binary fraction.
+ * The double RM values used by the views convert at the edge through
+ * {@link #ofRinggit(double)} and {@link #toRinggit(long)}.
+ */
+public final class Money {
+    public static final long ZERO = 0L;
+
+    private static final int CENTS_PER_RINGGIT = 100;
+
+    private Money() {}
+
+    /**
+     * Converts an RM amount to whole cents, rounding half up.
+     * @param amount the amount in RM
+     * @return the amount in cents
+     */
+    public static long ofRinggit(double amount) {
+        return Math.round(amount * CENTS_PER_RINGGIT);
+    }
+
+    /**
+     * @param cents the amount in cents
+     * @return the amount in RM
+     */
+    public static double toRinggit(long cents) {
+        return cents / (double) CENTS_PER_RINGGIT;
+    }
+
+    /**
+     * @return the sum, failing rather than wrapping on overflow
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * @return the difference, failing rather than wrapping on overflow
+     */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Multiplies an amount by a whole quantity, such as an hourly rate by hours.
+     * @param cents the amount in cents
+     * @param quantity the multiplier
+     * @return the product in cents
+     */
+    public static long multiply(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * Appends an amount as RM with two decimals, e.g. "12.05" or "-0.50".
+     * Writes into the caller's builder so building receipts and exports creates no
+     * intermediate strings.
+     * @param sb the builder to append to
+     * @param cents the amount in cents
+     * @return the builder
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+            if (cents == Long.MIN_VALUE) {
+                // The magnitude does not fit in a long
+                return sb.append("92233720368547758.08");
+            }
+            cents = -cents;
+        }
+        long fraction = cents % CENTS_PER_RINGGIT;
+        sb.append(cents / CENTS_PER_RINGGIT).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+
+    /**
+     * Formats an amount as RM with two decimals, the same text as
+     * {@code String.format("%.2f", amount)} without parsing a format pattern.
+     * @param cents the amount in cents
+     * @return the formatted amount
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(16), cents).toString();
+    }
+
+    /**
+     * Parses an RM amount such as "12", "12.5" or "-0.05" exactly.
+     * More than two decimals are rounded half up.
+     * @param text the amount in RM
+     * @return the amount in cents
+     * @throws NumberFormatException if the text is not a decimal number
+     */
+    public static long parse(String text) {
+        String value = text.trim();
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+
+        long whole = 0;
+        int digits = 0;
+        while (i < length && Character.isDigit(value.charAt(i))) {
+            whole = Math.addExact(Math.multiplyExact(whole, 10), value.charAt(i) - '0');
+            digits++;
+            i++;
+        }
+        long fraction = 0;
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            int decimals = 0;
+            while (i < length && Character.isDigit(value.charAt(i)) && decimals < 2) {
+                fraction = fraction * 10 + (value.charAt(i) - '0');
+                decimals++;
+                digits++;
+                i++;
+            }
+            if (decimals == 1) {
+                fraction *= 10;
+            }
+            if (i < length && Character.isDigit(value.charAt(i))) {
+                // Beyond cents; BigDecimal handles the rounding of the tail
+                return fromDecimal(new BigDecimal(value));
+            }
+        }
+        if (digits == 0 || i != length) {
+            throw new NumberFormatException("Not an amount: \"" + text + "\"");
+        }
+
+        long cents = Math.addExact(Math.multiplyExact(whole, CENTS_PER_RINGGIT), fraction);
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Converts an amount for a DECIMAL(?, 2) column.
+     * @param cents the amount in cents
+     * @return the exact decimal value in RM
+     */
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Converts a DECIMAL column value to cents, rounding half up beyond two decimals.
+     * @param amount the value read from the database, may be null
+     * @return the amount in cents, 0 for null
+     */
+    public static long fromDecimal(BigDecimal amount) {
+        if (amount == null) {
+            return ZERO;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
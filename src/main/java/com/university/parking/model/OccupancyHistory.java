@@ -0,0 +1,131 @@
+package com.university.parking.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy over a date range by hour of the day, for the whole lot, each floor and
+ * each spot type. The peak hour of a group is the hour with the highest average
+ * occupancy, so a single busy day does not outweigh a pattern seen every day.
+ */
+public class OccupancyHistory {
+    /** Days covered by the occupancy history report, today included */
+    public static final int DEFAULT_DAYS = 7;
+
+    /** Highest average occupancy first; ties go to the earlier hour */
+    private static final Comparator<OccupancyTrend> BUSIEST_FIRST =
+        Comparator.comparingDouble(OccupancyTrend::getAveragePercent).reversed()
+            .thenComparingInt(OccupancyTrend::getHour);
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final List<OccupancyTrend> byHour;
+    private final List<OccupancyTrend> byFloorAndHour;
+    private final List<OccupancyTrend> bySpotTypeAndHour;
+
+    public OccupancyHistory(LocalDate from, LocalDate to, List<OccupancyTrend> byHour,
+                            List<OccupancyTrend> byFloorAndHour, List<OccupancyTrend> bySpotTypeAndHour) {
+        this.from = from;
+        this.to = to;
+        this.byHour = Collections.unmodifiableList(byHour);
+        this.byFloorAndHour = Collections.unmodifiableList(byFloorAndHour);
+        this.bySpotTypeAndHour = Collections.unmodifiableList(bySpotTypeAndHour);
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * @return whole-lot occupancy, one row per sampled hour of the day in hour order
+     */
+    public List<OccupancyTrend> getByHour() {
+        return byHour;
+    }
+
+    /**
+     * @return one row per floor and sampled hour, ordered by floor then hour
+     */
+    public List<OccupancyTrend> getByFloorAndHour() {
+        return byFloorAndHour;
+    }
+
+    /**
+     * @return one row per spot type and sampled hour, ordered by type then hour
+     */
+    public List<OccupancyTrend> getBySpotTypeAndHour() {
+        return bySpotTypeAndHour;
+    }
+
+    /**
+     * @return the number of samples in the range
+     */
+    public long getSampleCount() {
+        long count = 0;
+        for (OccupancyTrend hour : byHour) {
+            count += hour.getSampleCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return the whole-lot hour with the highest average occupancy, or null if nothing was sampled
+     */
+    public OccupancyTrend getPeakHour() {
+        List<OccupancyTrend> busiest = getBusiestHours(1);
+        return busiest.isEmpty() ? null : busiest.get(0);
+    }
+
+    /**
+     * @param limit the number of hours to return
+     * @return the whole-lot hours with the highest average occupancy, busiest first
+     */
+    public List<OccupancyTrend> getBusiestHours(int limit) {
+        List<OccupancyTrend> sorted = new ArrayList<>(byHour);
+        sorted.sort(BUSIEST_FIRST);
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    /**
+     * Condenses hourly rows to one row per group.
+     * @param hourly rows of several groups and hours, such as {@link #getByFloorAndHour()}
+     * @return one row per group in first-seen order, holding the group's average over all
+     *         samples, its highest sample and, as the hour, its peak hour
+     */
+    public static List<OccupancyTrend> summarize(List<OccupancyTrend> hourly) {
+        Map<String, List<OccupancyTrend>> groups = new LinkedHashMap<>();
+        for (OccupancyTrend trend : hourly) {
+            groups.computeIfAbsent(trend.getKey(), key -> new ArrayList<>()).add(trend);
+        }
+
+        List<OccupancyTrend> summary = new ArrayList<>(groups.size());
+        for (Map.Entry<String, List<OccupancyTrend>> group : groups.entrySet()) {
+            long samples = 0;
+            double occupiedSum = 0;
+            int peakOccupied = 0;
+            int totalSpots = 0;
+            OccupancyTrend peakHour = null;
+            for (OccupancyTrend trend : group.getValue()) {
+                samples += trend.getSampleCount();
+                occupiedSum += trend.getAverageOccupied() * trend.getSampleCount();
+                peakOccupied = Math.max(peakOccupied, trend.getPeakOccupied());
+                totalSpots = Math.max(totalSpots, trend.getTotalSpots());
+                if (peakHour == null || BUSIEST_FIRST.compare(trend, peakHour) < 0) {
+                    peakHour = trend;
+                }
+            }
+            summary.add(new OccupancyTrend(group.getKey(), peakHour.getHour(), samples,
+                samples > 0 ? occupiedSum / samples : 0, peakOccupied, totalSpots));
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,127 @@
+package com.university.parking.model;
+
+import java.util.List;
+
+/**
+ * Spot counts by floor, spot type and status, taken in one pass over the parking lot.
+ *
+ * Reports used to call {@link Floor#getAllSpots()} and {@link Floor#getAvailableSpots()}
+ * per floor and then walk every floor again for each spot type, copying the spot lists
+ * each time. The matrix walks the floor rows once without copying and keeps the floor,
+ * type and lot totals alongside, so every output format renders from the same counts.
+ */
+public class OccupancyMatrix {
+    private static final int TYPES = SpotType.values().length;
+    private static final int STATUSES = SpotStatus.values().length;
+
+    private final int[] floorNumbers;
+    /** counts[floor index][spot type][spot status] */
+    private final int[][][] counts;
+    private final int[] floorTotals;
+    private final int[] floorOccupied;
+    private final int[] typeTotals = new int[TYPES];
+    private final int[] typeOccupied = new int[TYPES];
+    private int total;
+    private int occupied;
+
+    private OccupancyMatrix(int floorCount) {
+        this.floorNumbers = new int[floorCount];
+        this.counts = new int[floorCount][TYPES][STATUSES];
+        this.floorTotals = new int[floorCount];
+        this.floorOccupied = new int[floorCount];
+    }
+
+    /**
+     * Counts every spot of the parking lot once.
+     * A spot that is not available counts as occupied, as in {@link ParkingSpot#isAvailable()}.
+     * @param parkingLot the parking lot
+     * @return the counts at the time of the call
+     */
+    public static OccupancyMatrix of(ParkingLot parkingLot) {
+        List<Floor> floors = parkingLot.getFloors();
+        OccupancyMatrix matrix = new OccupancyMatrix(floors.size());
+        for (int f = 0; f < floors.size(); f++) {
+            Floor floor = floors.get(f);
+            matrix.floorNumbers[f] = floor.getFloorNumber();
+            int[][] floorCounts = matrix.counts[f];
+            for (List<ParkingSpot> row : floor.getRows()) {
+                for (ParkingSpot spot : row) {
+                    int type = spot.getType().ordinal();
+                    boolean available = spot.isAvailable();
+                    SpotStatus status = available ? SpotStatus.AVAILABLE : SpotStatus.OCCUPIED;
+                    floorCounts[type][status.ordinal()]++;
+                    matrix.floorTotals[f]++;
+                    matrix.typeTotals[type]++;
+                    if (!available) {
+                        matrix.floorOccupied[f]++;
+                        matrix.typeOccupied[type]++;
+                    }
+                }
+            }
+            matrix.total += matrix.floorTotals[f];
+            matrix.occupied += matrix.floorOccupied[f];
+        }
+        return matrix;
+    }
+
+    /**
+     * @return the number of floors, in parking lot order
+     */
+    public int getFloorCount() {
+        return floorNumbers.length;
+    }
+
+    /**
+     * @param floorIndex index into the parking lot's floor list
+     * @return the floor number shown in reports
+     */
+    public int getFloorNumber(int floorIndex) {
+        return floorNumbers[floorIndex];
+    }
+
+    /**
+     * @return the number of spots on a floor with the given type and status
+     */
+    public int getCount(int floorIndex, SpotType type, SpotStatus status) {
+        return counts[floorIndex][type.ordinal()][status.ordinal()];
+    }
+
+    public int getFloorTotal(int floorIndex) {
+        return floorTotals[floorIndex];
+    }
+
+    public int getFloorOccupied(int floorIndex) {
+        return floorOccupied[floorIndex];
+    }
+
+    public int getFloorAvailable(int floorIndex) {
+        return floorTotals[floorIndex] - floorOccupied[floorIndex];
+    }
+
+    public int getTypeTotal(SpotType type) {
+        return typeTotals[type.ordinal()];
+    }
+
+    public int getTypeOccupied(SpotType type) {
+        return typeOccupied[type.ordinal()];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getOccupied() {
+        return occupied;
+    }
+
+    public int getAvailable() {
+        return total - occupied;
+    }
+
+    /**
+     * @return occupied as a percentage of total, or 0 when there are no spots
+     */
+    public static double percent(int occupied, int total) {
+        return total > 0 ? (occupied * 100.0 / total) : 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.university.parking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Occupancy counts of the whole parking lot at one sampling time.
+ * Taken by the occupancy sampler and stored as one row per floor and spot type.
+ */
+public class OccupancySample {
+    private final LocalDateTime sampledAt;
+    private final OccupancyMatrix occupancy;
+
+    public OccupancySample(LocalDateTime sampledAt, OccupancyMatrix occupancy) {
+        this.sampledAt = sampledAt;
+        this.occupancy = occupancy;
+    }
+
+    /**
+     * @return the sampling time, aligned to the sampling interval
+     */
+    public LocalDateTime getSampledAt() {
+        return sampledAt;
+    }
+
+    public OccupancyMatrix getOccupancy() {
+        return occupancy;
+    }
+}
@@ -0,0 +1,78 @@
+package com.university.parking.model;
+
+/**
+ * Occupancy of one group of spots, such as the whole lot, a floor or a spot type,
+ * during one hour of the day, averaged over the sampled days.
+ * Read from the occupancy_samples table.
+ */
+public class OccupancyTrend {
+    private final String key;
+    private final int hour;
+    private final long sampleCount;
+    private final double averageOccupied;
+    private final int peakOccupied;
+    private final int totalSpots;
+
+    public OccupancyTrend(String key, int hour, long sampleCount, double averageOccupied,
+                          int peakOccupied, int totalSpots) {
+        this.key = key;
+        this.hour = hour;
+        this.sampleCount = sampleCount;
+        this.averageOccupied = averageOccupied;
+        this.peakOccupied = peakOccupied;
+        this.totalSpots = totalSpots;
+    }
+
+    /**
+     * @return the group label, e.g. "ALL", "2" for a floor or "REGULAR"
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the hour of the day, 0 to 23
+     */
+    public int getHour() {
+        return hour;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * @return the average number of occupied spots over the samples
+     */
+    public double getAverageOccupied() {
+        return averageOccupied;
+    }
+
+    /**
+     * @return the highest number of occupied spots in any sample
+     */
+    public int getPeakOccupied() {
+        return peakOccupied;
+    }
+
+    /**
+     * @return the number of spots in the group
+     */
+    public int getTotalSpots() {
+        return totalSpots;
+    }
+
+    public double getAveragePercent() {
+        return totalSpots > 0 ? averageOccupied * 100.0 / totalSpots : 0;
+    }
+
+    public double getPeakPercent() {
+        return OccupancyMatrix.percent(peakOccupied, totalSpots);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OccupancyTrend[%s %02d:00, samples=%d, avg=%.1f%%, peak=%.1f%%]",
+                key, hour, sampleCount, getAveragePercent(), getPeakPercent());
+    }
+}
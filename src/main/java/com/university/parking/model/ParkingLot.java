@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents the main parking lot with multiple floors.
@@ -13,14 +14,16 @@ import java.util.Set;
 public class ParkingLot {
     private String name;
     private List<Floor> floors;
-    private double totalRevenue;
+    private final RevenueLedger revenueLedger;
     private FineCalculationContext fineCalculationContext;
     private LocalDateTime strategyChangeTime;
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final Object modelLock = new Object();
 
     public ParkingLot(String name) {
         this.name = name;
         this.floors = new ArrayList<>();
-        this.totalRevenue = 0.0;
+        this.revenueLedger = new RevenueLedger();
         this.fineCalculationContext = new FineCalculationContext();
         this.strategyChangeTime = LocalDateTime.now();
     }
@@ -142,19 +145,43 @@ public class ParkingLot {
     }
 
     public double getTotalRevenue() {
-        return totalRevenue;
+        return revenueLedger.getTotal();
     }
 
     public void setTotalRevenue(double totalRevenue) {
-        this.totalRevenue = totalRevenue;
+        revenueLedger.reset(totalRevenue);
+    }
+
+    public long getTotalRevenueCents() {
+        return revenueLedger.getTotalCents();
+    }
+
+    public void setTotalRevenueCents(long totalRevenueCents) {
+        revenueLedger.resetCents(totalRevenueCents);
     }
 
     /**
      * Adds revenue to the total revenue.
+     * Safe to call from several threads without external locking.
      * @param amount the amount to add
      */
     public void addRevenue(double amount) {
-        this.totalRevenue += amount;
+        revenueLedger.record(amount);
+        markChanged();
+    }
+
+    /**
+     * Adds revenue in cents to the total revenue.
+     * Safe to call from several threads without external locking.
+     * @param amountCents the amount to add
+     */
+    public void addRevenueCents(long amountCents) {
+        revenueLedger.recordCents(amountCents);
+        markChanged();
+    }
+
+    public RevenueLedger getRevenueLedger() {
+        return revenueLedger;
     }
 
     public FineCalculationContext getFineCalculationContext() {
@@ -173,6 +200,36 @@ public class ParkingLot {
     public void changeFineStrategy(FineCalculationStrategy strategy) {
         this.fineCalculationContext.setStrategy(strategy);
         this.strategyChangeTime = LocalDateTime.now();
+        markChanged();
+    }
+
+    /**
+     * Version of the data shown in reports: spots, vehicles, revenue, fines and payments.
+     * Reports rendered at one version are reused until it changes.
+     * @return a number that increases with every change
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * Records that report data changed, e.g. after an entry, exit, payment, fine or
+     * a batch of occupancy samples.
+     * Safe to call from several threads without external locking.
+     */
+    public void markChanged() {
+        dataVersion.incrementAndGet();
+    }
+
+    /**
+     * Lock held while spots and their vehicles change, and while they are read as a whole.
+     * Entries, exits, change-log updates and report snapshots run on different threads,
+     * so each of them synchronizes on this lock; database calls are made outside it.
+     * Single reads of a spot need no lock.
+     * @return the lock object of this parking lot
+     */
+    public Object getModelLock() {
+        return modelLock;
     }
 
     public LocalDateTime getStrategyChangeTime() {
@@ -188,7 +245,7 @@ public class ParkingLot {
         return "ParkingLot{" +
                 "name='" + name + '\'' +
                 ", floors=" + floors.size() +
-                ", totalRevenue=" + totalRevenue +
+                ", totalRevenue=" + getTotalRevenue() +
                 '}';
     }
 
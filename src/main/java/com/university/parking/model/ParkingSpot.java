@@ -7,9 +7,10 @@ package com.university.parking.model;
 public class ParkingSpot {
     private String spotId;
     private SpotType type;
-    private SpotStatus status;
-    private Vehicle currentVehicle;
-    private double hourlyRate;
+    // Changed under the parking lot's model lock and read by the UI without it
+    private volatile SpotStatus status;
+    private volatile Vehicle currentVehicle;
+    private long hourlyRateCents;
 
     public ParkingSpot() {}
 
@@ -17,7 +18,7 @@ public class ParkingSpot {
         this.spotId = spotId;
         this.type = type;
         this.status = SpotStatus.AVAILABLE;
-        this.hourlyRate = type.getHourlyRate();
+        this.hourlyRateCents = type.getHourlyRateCents();
     }
 
     /**
@@ -53,8 +54,8 @@ public class ParkingSpot {
      * Vacates the spot, making it available again.
      */
     public void vacateSpot() {
-        this.currentVehicle = null;
         this.status = SpotStatus.AVAILABLE;
+        this.currentVehicle = null;
     }
 
     // Getters and setters
@@ -72,7 +73,7 @@ public class ParkingSpot {
 
     public void setType(SpotType type) {
         this.type = type;
-        this.hourlyRate = type.getHourlyRate();
+        this.hourlyRateCents = type.getHourlyRateCents();
     }
 
     public SpotStatus getStatus() {
@@ -92,11 +93,19 @@ public class ParkingSpot {
     }
 
     public double getHourlyRate() {
-        return hourlyRate;
+        return Money.toRinggit(hourlyRateCents);
     }
 
     public void setHourlyRate(double hourlyRate) {
-        this.hourlyRate = hourlyRate;
+        this.hourlyRateCents = Money.ofRinggit(hourlyRate);
+    }
+
+    public long getHourlyRateCents() {
+        return hourlyRateCents;
+    }
+
+    public void setHourlyRateCents(long hourlyRateCents) {
+        this.hourlyRateCents = hourlyRateCents;
     }
 
     @Override
@@ -106,7 +115,7 @@ public class ParkingSpot {
                 ", type=" + type +
                 ", status=" + status +
                 ", currentVehicle=" + currentVehicle +
-                ", hourlyRate=" + hourlyRate +
+                ", hourlyRate=" + Money.format(hourlyRateCents) +
                 '}';
     }
 }
\ No newline at end of file
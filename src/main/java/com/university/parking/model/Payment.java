@@ -9,24 +9,46 @@ import java.time.LocalDateTime;
 public class Payment {
     private Long id;
     private String licensePlate;
-    private double parkingFee;
-    private double fineAmount;
-    private double totalAmount;
+    private long parkingFeeCents;
+    private long fineAmountCents;
+    private long totalAmountCents;
     private PaymentMethod paymentMethod;
     private LocalDateTime paymentDate;
     private Long parkingSessionId;
+    private SpotType spotType;
+    private Integer floorNumber;
 
     public Payment() {}
 
     public Payment(String licensePlate, double parkingFee, double fineAmount, PaymentMethod paymentMethod) {
         this.licensePlate = licensePlate;
-        this.parkingFee = parkingFee;
-        this.fineAmount = fineAmount;
-        this.totalAmount = parkingFee + fineAmount;
+        this.parkingFeeCents = Money.ofRinggit(parkingFee);
+        this.fineAmountCents = Money.ofRinggit(fineAmount);
+        this.totalAmountCents = Money.add(parkingFeeCents, fineAmountCents);
         this.paymentMethod = paymentMethod;
         this.paymentDate = LocalDateTime.now();
     }
 
+    /**
+     * Creates a payment from amounts in cents; the total is their exact sum.
+     * @param licensePlate the paying vehicle
+     * @param parkingFeeCents the parking fee in cents
+     * @param fineAmountCents the fines in cents
+     * @param paymentMethod how the payment was made
+     * @return the payment
+     */
+    public static Payment ofCents(String licensePlate, long parkingFeeCents, long fineAmountCents,
+                                  PaymentMethod paymentMethod) {
+        Payment payment = new Payment();
+        payment.licensePlate = licensePlate;
+        payment.parkingFeeCents = parkingFeeCents;
+        payment.fineAmountCents = fineAmountCents;
+        payment.totalAmountCents = Money.add(parkingFeeCents, fineAmountCents);
+        payment.paymentMethod = paymentMethod;
+        payment.paymentDate = LocalDateTime.now();
+        return payment;
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -45,27 +67,51 @@ public class Payment {
     }
 
     public double getParkingFee() {
-        return parkingFee;
+        return Money.toRinggit(parkingFeeCents);
     }
 
     public void setParkingFee(double parkingFee) {
-        this.parkingFee = parkingFee;
+        this.parkingFeeCents = Money.ofRinggit(parkingFee);
+    }
+
+    public long getParkingFeeCents() {
+        return parkingFeeCents;
+    }
+
+    public void setParkingFeeCents(long parkingFeeCents) {
+        this.parkingFeeCents = parkingFeeCents;
     }
 
     public double getFineAmount() {
-        return fineAmount;
+        return Money.toRinggit(fineAmountCents);
     }
 
     public void setFineAmount(double fineAmount) {
-        this.fineAmount = fineAmount;
+        this.fineAmountCents = Money.ofRinggit(fineAmount);
+    }
+
+    public long getFineAmountCents() {
+        return fineAmountCents;
+    }
+
+    public void setFineAmountCents(long fineAmountCents) {
+        this.fineAmountCents = fineAmountCents;
     }
 
     public double getTotalAmount() {
-        return totalAmount;
+        return Money.toRinggit(totalAmountCents);
     }
 
     public void setTotalAmount(double totalAmount) {
-        this.totalAmount = totalAmount;
+        this.totalAmountCents = Money.ofRinggit(totalAmount);
+    }
+
+    public long getTotalAmountCents() {
+        return totalAmountCents;
+    }
+
+    public void setTotalAmountCents(long totalAmountCents) {
+        this.totalAmountCents = totalAmountCents;
     }
 
     public PaymentMethod getPaymentMethod() {
@@ -92,17 +138,40 @@ public class Payment {
         this.parkingSessionId = parkingSessionId;
     }
 
+    /**
+     * @return the type of spot the payment was for, or null if unknown
+     */
+    public SpotType getSpotType() {
+        return spotType;
+    }
+
+    public void setSpotType(SpotType spotType) {
+        this.spotType = spotType;
+    }
+
+    /**
+     * @return the floor of the spot the payment was for, or null if unknown
+     */
+    public Integer getFloorNumber() {
+        return floorNumber;
+    }
+
+    public void setFloorNumber(Integer floorNumber) {
+        this.floorNumber = floorNumber;
+    }
+
     @Override
     public String toString() {
         return "Payment{" +
                 "id=" + id +
                 ", licensePlate='" + licensePlate + '\'' +
-                ", parkingFee=" + parkingFee +
-                ", fineAmount=" + fineAmount +
-                ", totalAmount=" + totalAmount +
+                ", parkingFee=" + Money.format(parkingFeeCents) +
+                ", fineAmount=" + Money.format(fineAmountCents) +
+                ", totalAmount=" + Money.format(totalAmountCents) +
                 ", paymentMethod=" + paymentMethod +
                 ", paymentDate=" + paymentDate +
                 ", parkingSessionId=" + parkingSessionId +
+                ", spotType=" + spotType +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.university.parking.model;
+
+/**
+ * Revenue totals for one group of payments, such as a day, payment method or spot type.
+ * Read from the materialized revenue_daily and revenue_hourly tables.
+ */
+public class RevenueAggregate {
+    private final String key;
+    private final long paymentCount;
+    private final long parkingFeesCents;
+    private final long fineAmountsCents;
+    private final long totalAmountCents;
+
+    public RevenueAggregate(String key, long paymentCount, double parkingFees,
+                            double fineAmounts, double totalAmount) {
+        this(key, paymentCount, Money.ofRinggit(parkingFees), Money.ofRinggit(fineAmounts),
+             Money.ofRinggit(totalAmount));
+    }
+
+    private RevenueAggregate(String key, long paymentCount, long parkingFeesCents,
+                             long fineAmountsCents, long totalAmountCents) {
+        this.key = key;
+        this.paymentCount = paymentCount;
+        this.parkingFeesCents = parkingFeesCents;
+        this.fineAmountsCents = fineAmountsCents;
+        this.totalAmountCents = totalAmountCents;
+    }
+
+    /**
+     * Creates an aggregate from amounts in cents.
+     * @param key the group label
+     * @param paymentCount the number of payments in the group
+     * @param parkingFeesCents the parking fees in cents
+     * @param fineAmountsCents the fines in cents
+     * @param totalAmountCents the total in cents
+     * @return the aggregate
+     */
+    public static RevenueAggregate ofCents(String key, long paymentCount, long parkingFeesCents,
+                                           long fineAmountsCents, long totalAmountCents) {
+        return new RevenueAggregate(key, paymentCount, parkingFeesCents, fineAmountsCents, totalAmountCents);
+    }
+
+    /**
+     * @return the group label, e.g. "2026-01-15", "CARD", "REGULAR", "09" for an hour
+     *         of the day or "2" for a floor
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public double getParkingFees() {
+        return Money.toRinggit(parkingFeesCents);
+    }
+
+    public long getParkingFeesCents() {
+        return parkingFeesCents;
+    }
+
+    public double getFineAmounts() {
+        return Money.toRinggit(fineAmountsCents);
+    }
+
+    public long getFineAmountsCents() {
+        return fineAmountsCents;
+    }
+
+    public double getTotalAmount() {
+        return Money.toRinggit(totalAmountCents);
+    }
+
+    public long getTotalAmountCents() {
+        return totalAmountCents;
+    }
+
+    @Override
+    public String toString() {
+        return "RevenueAggregate{" +
+                "key='" + key + '\'' +
+                ", paymentCount=" + paymentCount +
+                ", parkingFees=" + Money.format(parkingFeesCents) +
+                ", fineAmounts=" + Money.format(fineAmountsCents) +
+                ", totalAmount=" + Money.format(totalAmountCents) +
+                '}';
+    }
+}
@@ -0,0 +1,101 @@
+package com.university.parking.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Revenue for a date range broken down by hour of day, day, week, payment method,
+ * spot type and floor. Each breakdown is a handful of rows grouped by the database
+ * from the revenue aggregates, never a list of payments.
+ */
+public class RevenueAnalytics {
+    /** Days covered by the revenue analytics report, today included */
+    public static final int DEFAULT_DAYS = 30;
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final List<RevenueAggregate> byHour;
+    private final List<RevenueAggregate> byDay;
+    private final List<RevenueAggregate> byWeek;
+    private final List<RevenueAggregate> byPaymentMethod;
+    private final List<RevenueAggregate> bySpotType;
+    private final List<RevenueAggregate> byFloor;
+
+    public RevenueAnalytics(LocalDate from, LocalDate to,
+                            List<RevenueAggregate> byHour, List<RevenueAggregate> byDay,
+                            List<RevenueAggregate> byWeek, List<RevenueAggregate> byPaymentMethod,
+                            List<RevenueAggregate> bySpotType, List<RevenueAggregate> byFloor) {
+        this.from = from;
+        this.to = to;
+        this.byHour = Collections.unmodifiableList(byHour);
+        this.byDay = Collections.unmodifiableList(byDay);
+        this.byWeek = Collections.unmodifiableList(byWeek);
+        this.byPaymentMethod = Collections.unmodifiableList(byPaymentMethod);
+        this.bySpotType = Collections.unmodifiableList(bySpotType);
+        this.byFloor = Collections.unmodifiableList(byFloor);
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * @return one row per hour of the day with payments, keyed "00" to "23"
+     */
+    public List<RevenueAggregate> getByHour() {
+        return byHour;
+    }
+
+    public List<RevenueAggregate> getByDay() {
+        return byDay;
+    }
+
+    /**
+     * @return one row per week with payments, keyed by the Monday the week starts on
+     */
+    public List<RevenueAggregate> getByWeek() {
+        return byWeek;
+    }
+
+    public List<RevenueAggregate> getByPaymentMethod() {
+        return byPaymentMethod;
+    }
+
+    public List<RevenueAggregate> getBySpotType() {
+        return bySpotType;
+    }
+
+    /**
+     * @return one row per floor number; payments made before floors were recorded are keyed "0"
+     */
+    public List<RevenueAggregate> getByFloor() {
+        return byFloor;
+    }
+
+    /**
+     * @return the number of payments in the range
+     */
+    public long getPaymentCount() {
+        long count = 0;
+        for (RevenueAggregate day : byDay) {
+            count += day.getPaymentCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return the revenue collected in the range, in cents
+     */
+    public long getTotalAmountCents() {
+        long total = Money.ZERO;
+        for (RevenueAggregate day : byDay) {
+            total = Money.add(total, day.getTotalAmountCents());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.parking.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free accumulator for parking lot revenue.
+ * Amounts are held as whole cents so concurrent payments never lose an update
+ * or drift through floating point rounding.
+ */
+public class RevenueLedger {
+    private final LongAdder cents = new LongAdder();
+
+    /**
+     * Records revenue collected by a payment.
+     * @param amount the amount in RM
+     */
+    public void record(double amount) {
+        cents.add(toCents(amount));
+    }
+
+    /**
+     * Records revenue collected by a payment.
+     * @param amountCents the amount in cents
+     */
+    public void recordCents(long amountCents) {
+        cents.add(amountCents);
+    }
+
+    /**
+     * Replaces the running total, e.g. with the value loaded from the database.
+     * @param amount the new total in RM
+     */
+    public void reset(double amount) {
+        resetCents(toCents(amount));
+    }
+
+    /**
+     * Replaces the running total.
+     * @param amountCents the new total in cents
+     */
+    public void resetCents(long amountCents) {
+        cents.reset();
+        cents.add(amountCents);
+    }
+
+    /**
+     * @return the total revenue in whole cents
+     */
+    public long getTotalCents() {
+        return cents.sum();
+    }
+
+    /**
+     * @return the total revenue in RM
+     */
+    public double getTotal() {
+        return Money.toRinggit(cents.sum());
+    }
+
+    /**
+     * Converts an RM amount to whole cents, rounding half up.
+     * @param amount the amount in RM
+     * @return the amount in cents
+     */
+    public static long toCents(double amount) {
+        return Money.ofRinggit(amount);
+    }
+}
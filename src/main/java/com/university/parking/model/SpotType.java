@@ -11,9 +11,11 @@ public enum SpotType {
     RESERVED(10.0);
 
     private final double hourlyRate;
+    private final long hourlyRateCents;
 
     SpotType(double hourlyRate) {
         this.hourlyRate = hourlyRate;
+        this.hourlyRateCents = Money.ofRinggit(hourlyRate);
     }
 
     /**
@@ -23,4 +25,12 @@ public enum SpotType {
     public double getHourlyRate() {
         return hourlyRate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the hourly rate for this spot type.
+     * @return the hourly rate in cents
+     */
+    public long getHourlyRateCents() {
+        return hourlyRateCents;
+    }
+}
@@ -1,5 +1,6 @@
 package com.university.parking.model;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
@@ -8,6 +9,9 @@ import java.time.temporal.ChronoUnit;
  * Contains vehicle information and parking-related data.
  */
 public class Vehicle {
+    /** Parking longer than this many whole hours counts as an overstay. */
+    public static final long OVERSTAY_THRESHOLD_HOURS = 24;
+
     private String licensePlate;
     private VehicleType type;
     private LocalDateTime entryTime;
@@ -15,7 +19,7 @@ public class Vehicle {
     private boolean isHandicapped;
     private String assignedSpotId;
     
-    // Real-time elapsed time fields (computed from VIEW)
+    // Real-time elapsed time fields (computed by VehicleDAO when the row is read)
     private Long elapsedSeconds;
     private Long elapsedMinutes;
     private Long elapsedHours;
@@ -41,6 +45,30 @@ public class Vehicle {
         return (long) Math.ceil(minutes / 60.0);
     }
 
+    /**
+     * Computes the elapsed time fields relative to the given reference time.
+     * Mirrors TIMESTAMPDIFF semantics: each unit counts whole units only, and a
+     * closed session is measured up to its exit time rather than the reference time.
+     * @param referenceTime the current time, read once per query by the caller
+     */
+    public void computeElapsedTime(LocalDateTime referenceTime) {
+        if (entryTime == null) {
+            this.elapsedSeconds = 0L;
+            this.elapsedMinutes = 0L;
+            this.elapsedHours = 0L;
+            this.isOverstay = false;
+            return;
+        }
+        LocalDateTime endTime = exitTime != null ? exitTime : referenceTime;
+        long seconds = Duration.between(entryTime, endTime).getSeconds();
+        // TIMESTAMPDIFF truncates toward zero, so do the same for negative spans
+        long hours = seconds / 3600;
+        this.elapsedSeconds = seconds;
+        this.elapsedMinutes = seconds / 60;
+        this.elapsedHours = hours;
+        this.isOverstay = hours > OVERSTAY_THRESHOLD_HOURS;
+    }
+
     /**
      * Determines if this vehicle can park in the specified spot type.
      * @param spotType the spot type to check
@@ -115,7 +143,7 @@ public class Vehicle {
         this.assignedSpotId = assignedSpotId;
     }
 
-    // Getters for elapsed time fields (read-only, computed by database VIEW)
+    // Getters for elapsed time fields (computed when loaded from the database)
     public Long getElapsedSeconds() {
         return elapsedSeconds;
     }
@@ -132,7 +160,7 @@ public class Vehicle {
         return isOverstay;
     }
 
-    // Public setters for DAO use (these fields are computed by database VIEW)
+    // Public setters for DAO use (these fields are derived, not stored)
     public void setElapsedSeconds(Long elapsedSeconds) {
         this.elapsedSeconds = elapsedSeconds;
     }
@@ -0,0 +1,260 @@
+package com.university.parking.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports several report types in several formats in one go, e.g. at the end of a shift.
+ *
+ * Every report renders from the same {@link ReportSnapshot} on a small pool of its own,
+ * sized to the number of reports and the available processors. The files go into one
+ * dated folder, or into one zip archive whose entries are rendered in parallel and
+ * written one at a time. Progress is reported as each report finishes, and a cancelled
+ * or failed export removes whatever it had already written.
+ */
+public class BatchReportExporter {
+
+    private static final DateTimeFormatter FOLDER_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    /**
+     * Receives progress from the export threads, never from the Event Dispatch Thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param completed reports written so far
+         * @param total reports in the export
+         * @param item file name of the report just written
+         */
+        void onProgress(int completed, int total, String item);
+    }
+
+    private final ReportSnapshot snapshot;
+    private final List<ReportExporter.ReportType> types;
+    private final List<ReportExporter.ExportFormat> formats;
+    private final File outputDirectory;
+    private final boolean zip;
+    private String namePrefix = "Shift_Reports_";
+    private boolean background;
+
+    private volatile boolean cancelled;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<File> writtenFiles = new ArrayList<>();
+    private final CompletableFuture<File> result = new CompletableFuture<>();
+    private ZipOutputStream zipOut;
+
+    /**
+     * @param snapshot the data every report renders from
+     * @param types the report types to export
+     * @param formats the formats to export each type in
+     * @param outputDirectory directory that receives the dated folder or zip
+     * @param zip whether to write one zip archive instead of a folder
+     */
+    public BatchReportExporter(ReportSnapshot snapshot, Collection<ReportExporter.ReportType> types,
+                               Collection<ReportExporter.ExportFormat> formats, File outputDirectory,
+                               boolean zip) {
+        if (types.isEmpty() || formats.isEmpty()) {
+            throw new IllegalArgumentException("Select at least one report type and one format");
+        }
+        this.snapshot = snapshot;
+        this.types = new ArrayList<>(types);
+        this.formats = new ArrayList<>(formats);
+        this.outputDirectory = outputDirectory;
+        this.zip = zip;
+    }
+
+    /**
+     * @param namePrefix start of the folder or zip name, followed by the snapshot time
+     */
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * Renders the reports one at a time on a single minimum-priority thread, and zips
+     * them with the best compression, for unattended exports that should not compete
+     * with the terminal for the CPU. Takes effect at {@link #start}.
+     */
+    public void setBackground(boolean background) {
+        this.background = background;
+    }
+
+    /**
+     * @return the number of files the export writes
+     */
+    public int getTotal() {
+        return types.size() * formats.size();
+    }
+
+    /**
+     * Starts the export in the background.
+     * @param listener progress callback, may be null
+     * @return completes with the folder or zip file written, or exceptionally with the
+     *         first failure, or a CancellationException after {@link #cancel()}
+     */
+    public CompletableFuture<File> start(ProgressListener listener) {
+        String baseName = namePrefix + snapshot.getGeneratedAt().format(FOLDER_DATE_FORMAT);
+        File target = new File(outputDirectory, zip ? baseName + ".zip" : baseName);
+        File partial = zip ? new File(outputDirectory, baseName + ".zip.part") : target;
+        try {
+            if (zip) {
+                zipOut = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(partial)));
+                if (background) {
+                    // Nobody is waiting, so spend the time on a smaller archive
+                    zipOut.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            } else if (!target.isDirectory() && !target.mkdirs()) {
+                throw new IOException("Cannot create folder " + target.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        int total = getTotal();
+        int threads = background ? 1 : Math.min(total, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = newPool(threads, background ? Thread.MIN_PRIORITY : Thread.NORM_PRIORITY - 1);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(total);
+
+        for (ReportExporter.ReportType type : types) {
+            for (ReportExporter.ExportFormat format : formats) {
+                String fileName = type.getFileName() + format.getExtension();
+                executor.execute(() -> {
+                    try {
+                        if (!cancelled && failure.get() == null) {
+                            if (zip) {
+                                writeEntry(baseName + "/" + fileName, type, format);
+                            } else {
+                                writeFile(new File(target, fileName), type, format);
+                            }
+                            if (listener != null) {
+                                listener.onProgress(completed.incrementAndGet(), total, fileName);
+                            }
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        if (remaining.decrementAndGet() == 0) {
+                            finish(target, partial);
+                        }
+                    }
+                });
+            }
+        }
+        // Queued reports still run (and skip themselves once cancelled); no new ones are accepted
+        executor.shutdown();
+        return result;
+    }
+
+    /**
+     * Stops the export. Reports already rendering are allowed to finish, the rest are
+     * skipped, and the partial output is deleted before the future completes.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void writeFile(File file, ReportExporter.ReportType type,
+                           ReportExporter.ExportFormat format) throws IOException {
+        synchronized (writtenFiles) {
+            writtenFiles.add(file);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            ReportExporter.writeReport(type, format, snapshot, out);
+        }
+    }
+
+    private void writeEntry(String entryName, ReportExporter.ReportType type,
+                            ReportExporter.ExportFormat format) throws IOException {
+        // Render in parallel, then take the archive only long enough to copy the bytes in
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+        ReportExporter.writeReport(type, format, snapshot, buffer);
+        synchronized (zipOut) {
+            if (cancelled) {
+                return;
+            }
+            zipOut.putNextEntry(new ZipEntry(entryName));
+            buffer.writeTo(zipOut);
+            zipOut.closeEntry();
+        }
+    }
+
+    /**
+     * Runs on the thread that finished the last report.
+     */
+    private void finish(File target, File partial) {
+        if (zipOut != null) {
+            try {
+                zipOut.close();
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+        Throwable error = failure.get();
+        if (!cancelled && error == null) {
+            try {
+                if (zip) {
+                    Files.move(partial.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                result.complete(target);
+                return;
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        deletePartialOutput(target, partial);
+        result.completeExceptionally(cancelled ? new CancellationException("Export cancelled") : error);
+    }
+
+    private void deletePartialOutput(File target, File partial) {
+        if (zip) {
+            partial.delete();
+            return;
+        }
+        synchronized (writtenFiles) {
+            for (File file : writtenFiles) {
+                file.delete();
+            }
+        }
+        // Only removes the folder if nothing else was in it
+        target.delete();
+    }
+
+    private static ExecutorService newPool(int threads, int priority) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                Thread thread = new Thread(r, "report-export-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(priority);
+                return thread;
+            });
+    }
+}
@@ -0,0 +1,286 @@
+package com.university.parking.util;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files written by {@link ColumnarWriter} one row group at a time.
+ *
+ * Each row group's chunks are read as compressed bytes; a column is only inflated and
+ * decoded when asked for, so scanning two columns of a wide file skips the rest.
+ * Typical use:
+ * <pre>
+ * while (reader.nextRowGroup()) {
+ *     long[] totals = reader.getLongs(totalColumn);
+ *     for (int row = 0; row &lt; reader.getRowCount(); row++) { ... }
+ * }
+ * </pre>
+ * Not thread-safe.
+ */
+public final class ColumnarReader implements Closeable {
+
+    private final DataInputStream in;
+    private final String table;
+    private final ColumnarWriter.Column[] columns;
+    private final byte[][] chunks;
+    private final int[] chunkLengths;
+    private final int[] rawLengths;
+    private final Inflater inflater = new Inflater();
+    private byte[] raw = new byte[64 * 1024];
+    private int rowCount;
+    private long totalRows = -1;
+
+    /**
+     * Reads the file header. The stream is closed by {@link #close()}.
+     * @param in the stream to read, ideally buffered
+     */
+    public ColumnarReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        byte[] magic = new byte[ColumnarWriter.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarWriter.MAGIC)) {
+            throw new IOException("Not a columnar export file");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != ColumnarWriter.VERSION) {
+            throw new IOException("Unsupported columnar file version " + version);
+        }
+        this.table = this.in.readUTF();
+        int count = (int) readVarint(this.in);
+        this.columns = new ColumnarWriter.Column[count];
+        for (int i = 0; i < count; i++) {
+            String name = this.in.readUTF();
+            ColumnarWriter.ColumnType type = ColumnarWriter.ColumnType.values()[this.in.readUnsignedByte()];
+            this.in.readUnsignedByte(); // encoding, implied by the type in version 1
+            columns[i] = new ColumnarWriter.Column(name, type);
+        }
+        this.chunks = new byte[count][];
+        this.chunkLengths = new int[count];
+        this.rawLengths = new int[count];
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public ColumnarWriter.Column[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * @return the index of a column by name, or -1 if there is none
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves to the next row group.
+     * @return false at the end of the file
+     */
+    public boolean nextRowGroup() throws IOException {
+        if (totalRows >= 0) {
+            return false;
+        }
+        rowCount = (int) readVarint(in);
+        if (rowCount == 0) {
+            totalRows = in.readLong();
+            return false;
+        }
+        for (int c = 0; c < columns.length; c++) {
+            int length = in.readInt();
+            rawLengths[c] = in.readInt();
+            if (chunks[c] == null || chunks[c].length < length) {
+                chunks[c] = new byte[Math.max(length, 1024)];
+            }
+            in.readFully(chunks[c], 0, length);
+            chunkLengths[c] = length;
+        }
+        return true;
+    }
+
+    /**
+     * @return rows in the current row group
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return rows in the file, known once {@link #nextRowGroup()} has returned false
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * @return the null flags of a column in the current row group, or null if it has no nulls
+     */
+    public boolean[] getNulls(int column) throws IOException {
+        return inflate(column).nulls;
+    }
+
+    /**
+     * Decodes a LONG column, or a TIMESTAMP column as local epoch seconds; nulls read as 0.
+     */
+    public long[] getLongs(int column) throws IOException {
+        ColumnarWriter.ColumnType type = columns[column].getType();
+        if (type != ColumnarWriter.ColumnType.LONG && type != ColumnarWriter.ColumnType.TIMESTAMP) {
+            throw new IllegalArgumentException("Column " + columns[column].getName() + " is " + type);
+        }
+        return decodeDeltas(inflate(column));
+    }
+
+    public LocalDateTime[] getTimestamps(int column) throws IOException {
+        checkType(column, ColumnarWriter.ColumnType.TIMESTAMP);
+        Chunk chunk = inflate(column);
+        long[] seconds = decodeDeltas(chunk);
+        LocalDateTime[] times = new LocalDateTime[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            if (chunk.nulls == null || !chunk.nulls[r]) {
+                times[r] = LocalDateTime.ofEpochSecond(seconds[r], 0, ZoneOffset.UTC);
+            }
+        }
+        return times;
+    }
+
+    /**
+     * Decodes a STRING column; rows with the same value share one String.
+     */
+    public String[] getStrings(int column) throws IOException {
+        checkType(column, ColumnarWriter.ColumnType.STRING);
+        Chunk chunk = inflate(column);
+        String[] dictionary = new String[(int) chunk.readVarint()];
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = (int) chunk.readVarint();
+            dictionary[i] = new String(raw, chunk.position, length, StandardCharsets.UTF_8);
+            chunk.position += length;
+        }
+        String[] values = new String[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            if (chunk.nulls == null || !chunk.nulls[r]) {
+                values[r] = dictionary[(int) chunk.readVarint()];
+            }
+        }
+        return values;
+    }
+
+    public boolean[] getBooleans(int column) throws IOException {
+        checkType(column, ColumnarWriter.ColumnType.BOOLEAN);
+        Chunk chunk = inflate(column);
+        boolean[] values = new boolean[rowCount];
+        int bit = 0;
+        for (int r = 0; r < rowCount; r++) {
+            if (chunk.nulls == null || !chunk.nulls[r]) {
+                values[r] = (raw[chunk.position + bit / 8] & (1 << (bit % 8))) != 0;
+                bit++;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private void checkType(int column, ColumnarWriter.ColumnType type) {
+        if (columns[column].getType() != type) {
+            throw new IllegalArgumentException("Column " + columns[column].getName() + " is " + columns[column].getType());
+        }
+    }
+
+    /**
+     * Inflates a column chunk into the shared raw buffer and reads its null bitmap.
+     */
+    private Chunk inflate(int column) throws IOException {
+        if (rowCount == 0) {
+            throw new IllegalStateException("No current row group");
+        }
+        if (raw.length < rawLengths[column]) {
+            raw = new byte[rawLengths[column]];
+        }
+        inflater.reset();
+        inflater.setInput(chunks[column], 0, chunkLengths[column]);
+        try {
+            int length = 0;
+            while (length < rawLengths[column]) {
+                int n = inflater.inflate(raw, length, rawLengths[column] - length);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new EOFException("Truncated column chunk");
+                }
+                length += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk: " + e.getMessage(), e);
+        }
+
+        Chunk chunk = new Chunk();
+        if (raw[chunk.position++] != 0) {
+            chunk.nulls = new boolean[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                chunk.nulls[r] = (raw[chunk.position + r / 8] & (1 << (r % 8))) != 0;
+            }
+            chunk.position += (rowCount + 7) / 8;
+        }
+        return chunk;
+    }
+
+    private long[] decodeDeltas(Chunk chunk) {
+        long[] values = new long[rowCount];
+        long previous = 0;
+        for (int r = 0; r < rowCount; r++) {
+            if (chunk.nulls == null || !chunk.nulls[r]) {
+                long zigzag = chunk.readVarint();
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                values[r] = previous;
+            }
+        }
+        return values;
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Read position within the inflated chunk of one column.
+     */
+    private final class Chunk {
+        int position;
+        boolean[] nulls;
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = raw[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
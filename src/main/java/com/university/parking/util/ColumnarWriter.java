@@ -0,0 +1,390 @@
+package com.university.parking.util;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes rows into a compact column-oriented binary file, one row group at a time.
+ *
+ * Rows are buffered per column in primitive arrays and written every {@link #ROW_GROUP_SIZE}
+ * rows, so memory stays flat however many rows are written. Within a row group each column
+ * is stored as its own deflated chunk: numbers and timestamps as zigzag varint deltas from
+ * the previous value, text as a dictionary plus varint indexes, flags as a bitmap. A reader
+ * can skip the columns it does not need by their chunk length; see {@link ColumnarReader}.
+ *
+ * <pre>
+ * file      = magic "PKCOL" version(1 byte) table(UTF) columnCount(varint) column* rowGroup* end
+ * column    = name(UTF) type(1 byte) encoding(1 byte)
+ * rowGroup  = rowCount(varint, &gt; 0) chunk*            one chunk per column, in column order
+ * chunk     = deflatedLength(int) rawLength(int) deflated bytes
+ * raw chunk = hasNulls(1 byte) [null bitmap] values   bitmaps are LSB first, bit set = null
+ * end       = 0(varint) totalRows(long)
+ * </pre>
+ *
+ * Timestamps are seconds since 1970-01-01T00:00 in local time, the time zone of the database.
+ * Text values are UTF-8. Ints and longs are big-endian. Not thread-safe.
+ */
+public final class ColumnarWriter implements Closeable {
+
+    static final byte[] MAGIC = {'P', 'K', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+
+    /** Rows buffered before a row group is written. */
+    static final int ROW_GROUP_SIZE = 8192;
+
+    /**
+     * Value type of a column; each type has one encoding.
+     */
+    public enum ColumnType {
+        LONG(Encoding.DELTA),
+        TIMESTAMP(Encoding.DELTA),
+        STRING(Encoding.DICTIONARY),
+        BOOLEAN(Encoding.BITMAP);
+
+        private final Encoding encoding;
+
+        ColumnType(Encoding encoding) {
+            this.encoding = encoding;
+        }
+
+        public Encoding getEncoding() {
+            return encoding;
+        }
+    }
+
+    public enum Encoding {
+        DELTA,
+        DICTIONARY,
+        BITMAP
+    }
+
+    /**
+     * Name and type of one column.
+     */
+    public static final class Column {
+        private final String name;
+        private final ColumnType type;
+
+        public Column(String name, ColumnType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ColumnType getType() {
+            return type;
+        }
+    }
+
+    private final DataOutputStream out;
+    private final Column[] columns;
+    private final long[][] values;
+    private final boolean[][] nulls;
+    private final boolean[] hasNulls;
+    private final List<Map<String, Integer>> dictionaryIndexes = new ArrayList<>();
+    private final List<List<String>> dictionaries = new ArrayList<>();
+    private final ChunkBuffer raw = new ChunkBuffer();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] deflated = new byte[8192];
+    private int rowCount;
+    private long totalRows;
+    private boolean closed;
+
+    /**
+     * Writes the file header. The stream is closed by {@link #close()}.
+     * @param out the stream to write to, ideally buffered
+     * @param table name of the table, stored in the header
+     * @param columns the columns of every row
+     */
+    public ColumnarWriter(OutputStream out, String table, Column... columns) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.columns = columns.clone();
+        this.values = new long[columns.length][ROW_GROUP_SIZE];
+        this.nulls = new boolean[columns.length][ROW_GROUP_SIZE];
+        this.hasNulls = new boolean[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            dictionaryIndexes.add(columns[i].type == ColumnType.STRING ? new HashMap<>() : null);
+            dictionaries.add(columns[i].type == ColumnType.STRING ? new ArrayList<>() : null);
+        }
+
+        this.out.write(MAGIC);
+        this.out.writeByte(VERSION);
+        this.out.writeUTF(table);
+        writeVarint(this.out, columns.length);
+        for (Column column : columns) {
+            this.out.writeUTF(column.name);
+            this.out.writeByte(column.type.ordinal());
+            this.out.writeByte(column.type.encoding.ordinal());
+        }
+    }
+
+    public void setLong(int column, long value) {
+        checkType(column, ColumnType.LONG);
+        values[column][rowCount] = value;
+    }
+
+    /**
+     * Sets a LONG column of the current row; null leaves it empty.
+     */
+    public void setLong(int column, Long value) {
+        if (value == null) {
+            checkType(column, ColumnType.LONG);
+            setNull(column);
+        } else {
+            setLong(column, value.longValue());
+        }
+    }
+
+    public void setTimestamp(int column, LocalDateTime value) {
+        checkType(column, ColumnType.TIMESTAMP);
+        if (value == null) {
+            setNull(column);
+        } else {
+            values[column][rowCount] = value.toEpochSecond(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * Sets a STRING column of the current row. Enum values are stored by name.
+     */
+    public void setString(int column, Object value) {
+        checkType(column, ColumnType.STRING);
+        if (value == null) {
+            setNull(column);
+            return;
+        }
+        String text = value.toString();
+        Map<String, Integer> index = dictionaryIndexes.get(column);
+        Integer id = index.get(text);
+        if (id == null) {
+            List<String> dictionary = dictionaries.get(column);
+            id = dictionary.size();
+            dictionary.add(text);
+            index.put(text, id);
+        }
+        values[column][rowCount] = id;
+    }
+
+    public void setBoolean(int column, boolean value) {
+        checkType(column, ColumnType.BOOLEAN);
+        values[column][rowCount] = value ? 1 : 0;
+    }
+
+    /**
+     * Sets a BOOLEAN column of the current row; null leaves it empty.
+     */
+    public void setBoolean(int column, Boolean value) {
+        if (value == null) {
+            checkType(column, ColumnType.BOOLEAN);
+            setNull(column);
+        } else {
+            setBoolean(column, value.booleanValue());
+        }
+    }
+
+    /**
+     * Completes the current row. Every column must have been set.
+     * Writes a row group when the buffer is full.
+     */
+    public void endRow() throws IOException {
+        rowCount++;
+        totalRows++;
+        if (rowCount == ROW_GROUP_SIZE) {
+            writeRowGroup();
+        }
+    }
+
+    public long getRowCount() {
+        return totalRows;
+    }
+
+    /**
+     * Writes the remaining rows and the end marker, then closes the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeRowGroup();
+            writeVarint(out, 0);
+            out.writeLong(totalRows);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void setNull(int column) {
+        nulls[column][rowCount] = true;
+        hasNulls[column] = true;
+    }
+
+    private void checkType(int column, ColumnType type) {
+        if (columns[column].type != type) {
+            throw new IllegalArgumentException("Column " + columns[column].name + " is " + columns[column].type);
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        if (rowCount == 0) {
+            return;
+        }
+        writeVarint(out, rowCount);
+        for (int c = 0; c < columns.length; c++) {
+            raw.reset();
+            encodeColumn(c);
+            writeChunk();
+            // Reset for the next group; dictionaries are per group so they stay small
+            Arrays.fill(nulls[c], 0, rowCount, false);
+            Arrays.fill(values[c], 0, rowCount, 0);
+            hasNulls[c] = false;
+            if (dictionaries.get(c) != null) {
+                dictionaries.get(c).clear();
+                dictionaryIndexes.get(c).clear();
+            }
+        }
+        rowCount = 0;
+    }
+
+    private void encodeColumn(int c) {
+        long[] column = values[c];
+        boolean[] columnNulls = nulls[c];
+        raw.write(hasNulls[c] ? 1 : 0);
+        if (hasNulls[c]) {
+            writeBitmap(columnNulls, null, rowCount);
+        }
+        switch (columns[c].type) {
+            case LONG:
+            case TIMESTAMP:
+                long previous = 0;
+                for (int r = 0; r < rowCount; r++) {
+                    if (!columnNulls[r]) {
+                        long delta = column[r] - previous;
+                        raw.writeVarint((delta << 1) ^ (delta >> 63));
+                        previous = column[r];
+                    }
+                }
+                break;
+            case STRING:
+                List<String> dictionary = dictionaries.get(c);
+                raw.writeVarint(dictionary.size());
+                for (String entry : dictionary) {
+                    byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                    raw.writeVarint(bytes.length);
+                    raw.write(bytes, 0, bytes.length);
+                }
+                for (int r = 0; r < rowCount; r++) {
+                    if (!columnNulls[r]) {
+                        raw.writeVarint(column[r]);
+                    }
+                }
+                break;
+            case BOOLEAN:
+                writeBitmap(columnNulls, column, rowCount);
+                break;
+        }
+    }
+
+    /**
+     * Writes one bit per row: the null flags, or when values are given the non-null values.
+     */
+    private void writeBitmap(boolean[] rowNulls, long[] rowValues, int rows) {
+        int bits = 0;
+        int bit = 0;
+        for (int r = 0; r < rows; r++) {
+            if (rowValues != null && rowNulls[r]) {
+                continue;
+            }
+            if (rowValues == null ? rowNulls[r] : rowValues[r] != 0) {
+                bits |= 1 << bit;
+            }
+            if (++bit == 8) {
+                raw.write(bits);
+                bits = 0;
+                bit = 0;
+            }
+        }
+        if (bit > 0) {
+            raw.write(bits);
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        deflater.reset();
+        deflater.setInput(raw.bytes, 0, raw.length);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == deflated.length) {
+                deflated = Arrays.copyOf(deflated, deflated.length * 2);
+            }
+            length += deflater.deflate(deflated, length, deflated.length - length);
+        }
+        out.writeInt(length);
+        out.writeInt(raw.length);
+        out.write(deflated, 0, length);
+    }
+
+    static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Growable byte array reused for every chunk.
+     */
+    private static final class ChunkBuffer {
+        byte[] bytes = new byte[64 * 1024];
+        int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void write(int b) {
+            ensure(1);
+            bytes[length++] = (byte) b;
+        }
+
+        void write(byte[] b, int off, int len) {
+            ensure(len);
+            System.arraycopy(b, off, bytes, length, len);
+            length += len;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + extra, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.university.parking.util;
 
+import com.university.parking.model.Money;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.SpotType;
 import com.university.parking.model.Vehicle;
@@ -9,6 +10,7 @@ import com.university.parking.model.Vehicle;
  * Handles basic parking fee calculation and handicapped card holder pricing logic.
  */
 public class FeeCalculator {
+    private static final long CARD_HOLDER_RATE_CENTS = 200;
 
     /**
      * Calculates the parking fee for a vehicle based on duration and spot type.
@@ -24,12 +26,25 @@ public class FeeCalculator {
      * @return the calculated parking fee in RM
      */
     public static double calculateParkingFee(Vehicle vehicle, ParkingSpot spot, long durationHours) {
+        return Money.toRinggit(calculateParkingFeeCents(vehicle, spot, durationHours));
+    }
+
+    /**
+     * Calculates the parking fee in cents, exactly.
+     * Same rules as {@link #calculateParkingFee(Vehicle, ParkingSpot, long)}.
+     *
+     * @param vehicle the vehicle that parked
+     * @param spot the parking spot where the vehicle parked
+     * @param durationHours the parking duration in hours (already ceiling-rounded)
+     * @return the calculated parking fee in cents
+     */
+    public static long calculateParkingFeeCents(Vehicle vehicle, ParkingSpot spot, long durationHours) {
         if (vehicle == null || spot == null || durationHours < 0) {
             throw new IllegalArgumentException("Invalid input for fee calculation");
         }
 
-        double hourlyRate = getApplicableHourlyRate(vehicle, spot);
-        return durationHours * hourlyRate;
+        long hourlyRateCents = getApplicableHourlyRateCents(vehicle, spot);
+        return Money.multiply(hourlyRateCents, durationHours);
     }
 
     /**
@@ -41,21 +56,21 @@ public class FeeCalculator {
      * 
      * @param vehicle the vehicle
      * @param spot the parking spot
-     * @return the applicable hourly rate in RM
+     * @return the applicable hourly rate in cents
      */
-    private static double getApplicableHourlyRate(Vehicle vehicle, ParkingSpot spot) {
+    private static long getApplicableHourlyRateCents(Vehicle vehicle, ParkingSpot spot) {
         // Card holder in handicapped spot: FREE
         if (vehicle.isHandicapped() && spot.getType() == SpotType.HANDICAPPED) {
-            return 0.0;  // FREE for card holders in handicapped spots
+            return 0L;  // FREE for card holders in handicapped spots
         }
         
         // Card holder in other spots: RM 2/hour discounted rate
         if (vehicle.isHandicapped()) {
-            return 2.0;  // RM 2/hour discounted rate for card holders in non-handicapped spots
+            return CARD_HOLDER_RATE_CENTS;  // RM 2/hour discounted rate for card holders in non-handicapped spots
         }
         
         // All other cases: standard spot rate
-        return spot.getHourlyRate();
+        return spot.getHourlyRateCents();
     }
 
     /**
@@ -66,6 +81,17 @@ public class FeeCalculator {
      * @return the total amount due
      */
     public static double calculateTotalAmount(double parkingFee, double fineAmount) {
-        return parkingFee + fineAmount;
+        return Money.toRinggit(calculateTotalAmountCents(Money.ofRinggit(parkingFee), Money.ofRinggit(fineAmount)));
+    }
+
+    /**
+     * Calculates the total amount due in cents.
+     * 
+     * @param parkingFeeCents the parking fee in cents
+     * @param fineAmountCents the total fine amount in cents
+     * @return the total amount due in cents
+     */
+    public static long calculateTotalAmountCents(long parkingFeeCents, long fineAmountCents) {
+        return Money.add(parkingFeeCents, fineAmountCents);
     }
 }
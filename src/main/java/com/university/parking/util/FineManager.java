@@ -6,7 +6,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.university.parking.dao.FineDAO;
+import com.university.parking.dao.FineRepository;
 import com.university.parking.model.Fine;
 import com.university.parking.model.FineCalculationStrategy;
 import com.university.parking.model.FineType;
@@ -19,9 +19,9 @@ import com.university.parking.model.Vehicle;
  */
 public class FineManager {
     private static final long OVERSTAY_THRESHOLD_HOURS = 24;
-    private final FineDAO fineDAO;
+    private final FineRepository fineDAO;
 
-    public FineManager(FineDAO fineDAO) {
+    public FineManager(FineRepository fineDAO) {
         this.fineDAO = fineDAO;
     }
 
@@ -126,14 +126,32 @@ public class FineManager {
     }
 
     /**
-     * Marks fines as paid.
+     * Saves several fines in one batch.
+     * @param fines the fines to save; their IDs are assigned
+     * @throws SQLException if database operation fails
+     */
+    public void saveFines(List<Fine> fines) throws SQLException {
+        fineDAO.saveAll(fines);
+    }
+
+    /**
+     * Marks fines as paid in one operation.
      * @param fineIds the IDs of fines to mark as paid
+     * @return the number of fines marked as paid
      * @throws SQLException if database operation fails
      */
-    public void markFinesAsPaid(List<Long> fineIds) throws SQLException {
-        for (Long fineId : fineIds) {
-            fineDAO.markAsPaid(fineId);
-        }
+    public int markFinesAsPaid(List<Long> fineIds) throws SQLException {
+        return fineDAO.markAllAsPaid(fineIds);
+    }
+
+    /**
+     * Marks every unpaid fine of a license plate as paid in one operation.
+     * @param licensePlate the license plate
+     * @return the number of fines marked as paid
+     * @throws SQLException if database operation fails
+     */
+    public int markAllFinesAsPaid(String licensePlate) throws SQLException {
+        return fineDAO.markAllUnpaidAsPaid(licensePlate);
     }
 
     /**
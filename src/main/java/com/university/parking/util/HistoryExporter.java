@@ -0,0 +1,433 @@
+package com.university.parking.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+import com.university.parking.dao.ArchiveDAO;
+import com.university.parking.dao.DatabaseManager;
+import com.university.parking.model.Fine;
+import com.university.parking.model.Money;
+import com.university.parking.model.Payment;
+import com.university.parking.model.Vehicle;
+
+/**
+ * Exports payment, session and fine history for a date range to CSV or a columnar binary
+ * file, straight from the database.
+ *
+ * Unlike {@link ReportExporter}, which formats the in-memory parking lot, rows are read
+ * through the streaming reads of {@link ArchiveDAO} (archived months included)
+ * and written one at a time through a 64 KB buffer, optionally gzip-compressed on the fly.
+ * Each row reuses the same line buffer, so heap use stays flat however many rows are exported.
+ * Columnar files are written with {@link ColumnarWriter} for analysis outside the application;
+ * they hold typed values instead of formatted text and are read back with {@link ColumnarReader}.
+ */
+public class HistoryExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public enum HistoryType {
+        PAYMENTS("Payment_History",
+            "No,Payment ID,License Plate,Parking Fee (RM),Fine Amount (RM),Total (RM),Payment Method,Spot Type,Payment Date",
+            column("payment_id", ColumnarWriter.ColumnType.LONG),
+            column("license_plate", ColumnarWriter.ColumnType.STRING),
+            column("parking_fee_cents", ColumnarWriter.ColumnType.LONG),
+            column("fine_amount_cents", ColumnarWriter.ColumnType.LONG),
+            column("total_amount_cents", ColumnarWriter.ColumnType.LONG),
+            column("payment_method", ColumnarWriter.ColumnType.STRING),
+            column("spot_type", ColumnarWriter.ColumnType.STRING),
+            column("payment_date", ColumnarWriter.ColumnType.TIMESTAMP)),
+        SESSIONS("Session_History",
+            "No,License Plate,Vehicle Type,Card Holder,Spot ID,Entry Time,Exit Time,Minutes Parked",
+            column("license_plate", ColumnarWriter.ColumnType.STRING),
+            column("vehicle_type", ColumnarWriter.ColumnType.STRING),
+            column("is_handicapped", ColumnarWriter.ColumnType.BOOLEAN),
+            column("spot_id", ColumnarWriter.ColumnType.STRING),
+            column("entry_time", ColumnarWriter.ColumnType.TIMESTAMP),
+            column("exit_time", ColumnarWriter.ColumnType.TIMESTAMP),
+            column("minutes_parked", ColumnarWriter.ColumnType.LONG)),
+        FINES("Fine_History",
+            "No,Fine ID,License Plate,Fine Type,Amount (RM),Paid,Issued Date",
+            column("fine_id", ColumnarWriter.ColumnType.LONG),
+            column("license_plate", ColumnarWriter.ColumnType.STRING),
+            column("fine_type", ColumnarWriter.ColumnType.STRING),
+            column("amount_cents", ColumnarWriter.ColumnType.LONG),
+            column("is_paid", ColumnarWriter.ColumnType.BOOLEAN),
+            column("issued_date", ColumnarWriter.ColumnType.TIMESTAMP));
+
+        private final String fileName;
+        private final String header;
+        private final ColumnarWriter.Column[] columns;
+
+        HistoryType(String fileName, String header, ColumnarWriter.Column... columns) {
+            this.fileName = fileName;
+            this.header = header;
+            this.columns = columns;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+    }
+
+    public enum HistoryFormat {
+        CSV(".csv", "CSV"),
+        CSV_GZIP(".csv.gz", "CSV (gzip)"),
+        COLUMNAR(".pcol", "Columnar (binary)");
+
+        private final String extension;
+        private final String label;
+
+        HistoryFormat(String extension, String label) {
+            this.extension = extension;
+            this.label = label;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Outcome of an export.
+     */
+    public static final class ExportResult {
+        private final File file;
+        private final long rowCount;
+
+        ExportResult(File file, long rowCount) {
+            this.file = file;
+            this.rowCount = rowCount;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+    }
+
+    private final ArchiveDAO archiveDAO;
+
+    public HistoryExporter(DatabaseManager dbManager) {
+        this(new ArchiveDAO(dbManager));
+    }
+
+    public HistoryExporter(ArchiveDAO archiveDAO) {
+        this.archiveDAO = archiveDAO;
+    }
+
+    /**
+     * Exports the history of one kind for a date range.
+     * The file is written under a temporary name and renamed when complete, so a failed
+     * export never leaves a truncated file behind.
+     * @param type what to export
+     * @param from first day included
+     * @param to last day included
+     * @param format the file format, which also sets the file extension
+     * @param outputDirectory directory for the file
+     * @return the file written and the number of rows in it
+     */
+    public ExportResult export(HistoryType type, LocalDate from, LocalDate to, HistoryFormat format,
+                               String outputDirectory) throws IOException, SQLException {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        String fileName = type.getFileName() + "_" + from.format(FILE_DATE_FORMAT) + "_" +
+                          to.format(FILE_DATE_FORMAT) + format.getExtension();
+        Path target = new File(outputDirectory, fileName).toPath();
+        Path partial = target.resolveSibling(fileName + ".part");
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        boolean complete = false;
+        try {
+            long rows = format == HistoryFormat.COLUMNAR
+                ? writeColumnar(type, start, end, partial)
+                : writeCsv(type, start, end, partial, format == HistoryFormat.CSV_GZIP);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            complete = true;
+            return new ExportResult(target.toFile(), rows);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (!complete) {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    private long writeCsv(HistoryType type, LocalDateTime start, LocalDateTime end, Path path, boolean gzip)
+            throws IOException, SQLException {
+        CsvLineWriter csv = new CsvLineWriter(openWriter(path, gzip));
+        boolean complete = false;
+        try {
+            csv.line.append(type.header);
+            csv.writeLine();
+
+            switch (type) {
+                case PAYMENTS:
+                    archiveDAO.forEachPaymentBetween(start, end, payment -> csv.writeLine(appendPayment(csv.nextRow(), payment)));
+                    break;
+                case SESSIONS:
+                    archiveDAO.forEachSessionExitedBetween(start, end, vehicle -> csv.writeLine(appendSession(csv.nextRow(), vehicle)));
+                    break;
+                case FINES:
+                    archiveDAO.forEachFineIssuedBetween(start, end, fine -> csv.writeLine(appendFine(csv.nextRow(), fine)));
+                    break;
+            }
+            csv.close();
+            complete = true;
+            return csv.rows;
+        } finally {
+            if (!complete) {
+                csv.closeQuietly();
+            }
+        }
+    }
+
+    private long writeColumnar(HistoryType type, LocalDateTime start, LocalDateTime end, Path path)
+            throws IOException, SQLException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+        boolean complete = false;
+        try {
+            ColumnarWriter columnar = new ColumnarWriter(out, type.getFileName(), type.columns);
+            switch (type) {
+                case PAYMENTS:
+                    archiveDAO.forEachPaymentBetween(start, end, payment -> writeRow(columnar, payment));
+                    break;
+                case SESSIONS:
+                    archiveDAO.forEachSessionExitedBetween(start, end, vehicle -> writeRow(columnar, vehicle));
+                    break;
+                case FINES:
+                    archiveDAO.forEachFineIssuedBetween(start, end, fine -> writeRow(columnar, fine));
+                    break;
+            }
+            columnar.close();
+            complete = true;
+            return columnar.getRowCount();
+        } finally {
+            if (!complete) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // The partial file is deleted anyway
+                }
+            }
+        }
+    }
+
+    private static Writer openWriter(Path path, boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(path);
+        try {
+            if (gzip) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static StringBuilder appendPayment(StringBuilder sb, Payment payment) {
+        sb.append(payment.getId()).append(',');
+        appendField(sb, payment.getLicensePlate()).append(',');
+        Money.appendTo(sb, payment.getParkingFeeCents()).append(',');
+        Money.appendTo(sb, payment.getFineAmountCents()).append(',');
+        Money.appendTo(sb, payment.getTotalAmountCents()).append(',');
+        sb.append(payment.getPaymentMethod()).append(',');
+        if (payment.getSpotType() != null) {
+            sb.append(payment.getSpotType());
+        }
+        sb.append(',');
+        return appendTime(sb, payment.getPaymentDate());
+    }
+
+    private static StringBuilder appendSession(StringBuilder sb, Vehicle vehicle) {
+        appendField(sb, vehicle.getLicensePlate()).append(',');
+        sb.append(vehicle.getType()).append(',');
+        sb.append(vehicle.isHandicapped() ? "YES" : "NO").append(',');
+        appendField(sb, vehicle.getAssignedSpotId()).append(',');
+        appendTime(sb, vehicle.getEntryTime()).append(',');
+        appendTime(sb, vehicle.getExitTime()).append(',');
+        if (vehicle.getElapsedMinutes() != null) {
+            sb.append(vehicle.getElapsedMinutes().longValue());
+        }
+        return sb;
+    }
+
+    private static StringBuilder appendFine(StringBuilder sb, Fine fine) {
+        sb.append(fine.getId()).append(',');
+        appendField(sb, fine.getLicensePlate()).append(',');
+        sb.append(fine.getType()).append(',');
+        Money.appendTo(sb, fine.getAmountCents()).append(',');
+        sb.append(fine.isPaid() ? "YES" : "NO").append(',');
+        return appendTime(sb, fine.getIssuedDate());
+    }
+
+    /**
+     * Writes one columnar row in {@link HistoryType#PAYMENTS} column order. Called from the
+     * DAO callbacks, so an I/O failure is rethrown unchecked and unwrapped by the export.
+     */
+    private static void writeRow(ColumnarWriter columnar, Payment payment) {
+        columnar.setLong(0, payment.getId());
+        columnar.setString(1, payment.getLicensePlate());
+        columnar.setLong(2, payment.getParkingFeeCents());
+        columnar.setLong(3, payment.getFineAmountCents());
+        columnar.setLong(4, payment.getTotalAmountCents());
+        columnar.setString(5, payment.getPaymentMethod());
+        columnar.setString(6, payment.getSpotType());
+        columnar.setTimestamp(7, payment.getPaymentDate());
+        endRow(columnar);
+    }
+
+    private static void writeRow(ColumnarWriter columnar, Vehicle vehicle) {
+        columnar.setString(0, vehicle.getLicensePlate());
+        columnar.setString(1, vehicle.getType());
+        columnar.setBoolean(2, vehicle.isHandicapped());
+        columnar.setString(3, vehicle.getAssignedSpotId());
+        columnar.setTimestamp(4, vehicle.getEntryTime());
+        columnar.setTimestamp(5, vehicle.getExitTime());
+        columnar.setLong(6, vehicle.getElapsedMinutes());
+        endRow(columnar);
+    }
+
+    private static void writeRow(ColumnarWriter columnar, Fine fine) {
+        columnar.setLong(0, fine.getId());
+        columnar.setString(1, fine.getLicensePlate());
+        columnar.setString(2, fine.getType());
+        columnar.setLong(3, fine.getAmountCents());
+        columnar.setBoolean(4, fine.isPaid());
+        columnar.setTimestamp(5, fine.getIssuedDate());
+        endRow(columnar);
+    }
+
+    private static void endRow(ColumnarWriter columnar) {
+        try {
+            columnar.endRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ColumnarWriter.Column column(String name, ColumnarWriter.ColumnType type) {
+        return new ColumnarWriter.Column(name, type);
+    }
+
+    private static StringBuilder appendTime(StringBuilder sb, LocalDateTime time) {
+        if (time != null) {
+            DATE_FORMAT.formatTo(time, sb);
+        }
+        return sb;
+    }
+
+    /**
+     * Appends a free-text value, quoting it if it contains a separator, quote or line break.
+     */
+    private static StringBuilder appendField(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return sb.append(value);
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * Writes CSV lines through one reusable line buffer and char array.
+     */
+    private static final class CsvLineWriter {
+        final Writer writer;
+        final StringBuilder line = new StringBuilder(256);
+        char[] chars = new char[256];
+        long rows;
+
+        CsvLineWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Clears the line buffer and starts a data row with its row number.
+         */
+        StringBuilder nextRow() {
+            line.setLength(0);
+            return line.append(++rows).append(',');
+        }
+
+        /**
+         * Writes the line buffer followed by a newline. Called from the DAO callbacks,
+         * so an I/O failure is rethrown unchecked and unwrapped by the export.
+         */
+        void writeLine(StringBuilder sb) {
+            int length = sb.length();
+            if (chars.length < length + 1) {
+                chars = new char[Math.max(length + 1, chars.length * 2)];
+            }
+            sb.getChars(0, length, chars, 0);
+            chars[length] = '\n';
+            try {
+                writer.write(chars, 0, length + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeLine() throws IOException {
+            try {
+                writeLine(line);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        void close() throws IOException {
+            writer.close();
+        }
+
+        void closeQuietly() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // The partial file is deleted anyway
+            }
+        }
+    }
+}
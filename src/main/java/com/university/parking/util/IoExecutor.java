@@ -0,0 +1,140 @@
+package com.university.parking.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Bounded executor for database and file I/O started from the GUI.
+ * Work submitted here never runs on the Event Dispatch Thread, and results
+ * are handed back to the EDT through {@link #onEdt}.
+ */
+public final class IoExecutor {
+    /** Kept below the connection pool size so background I/O always leaves connections free. */
+    private static final int THREADS = 4;
+    private static final int QUEUE_CAPACITY = 64;
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        THREADS, THREADS, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+        r -> {
+            Thread thread = new Thread(r, "parking-io-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        },
+        // Never fall back to caller-runs: the caller is usually the EDT
+        new ThreadPoolExecutor.AbortPolicy());
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * A unit of blocking work that may throw a checked exception such as SQLException.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface IoTask<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * A unit of blocking work without a result.
+     */
+    @FunctionalInterface
+    public interface IoAction {
+        void run() throws Exception;
+    }
+
+    private IoExecutor() {
+    }
+
+    /**
+     * Runs the task on the I/O executor.
+     * Checked exceptions complete the future exceptionally with the original cause.
+     * If the queue is full the future fails with RejectedExecutionException.
+     * @param task the blocking work
+     * @return a future for the task's result
+     */
+    public static <T> CompletableFuture<T> supply(IoTask<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs the action on the I/O executor.
+     * @param action the blocking work
+     * @return a future completing when the action finishes
+     */
+    public static CompletableFuture<Void> run(IoAction action) {
+        return supply(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Delivers the outcome of a future to the Event Dispatch Thread.
+     * Exceptions thrown by the callbacks surface through the EDT's uncaught exception handler.
+     * @param future the pending work
+     * @param onSuccess receives the result on the EDT
+     * @param onError receives the unwrapped failure on the EDT
+     */
+    public static <T> void onEdt(CompletableFuture<T> future,
+                                 Consumer<? super T> onSuccess,
+                                 Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                onError.accept(unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+
+    /**
+     * Strips the CompletionException wrapper added by the future machinery.
+     * @param error the failure reported by a future
+     * @return the underlying cause
+     */
+    public static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Stops accepting work and waits briefly for running tasks to finish.
+     */
+    public static void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
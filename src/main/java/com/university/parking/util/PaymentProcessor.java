@@ -2,6 +2,7 @@ package com.university.parking.util;
 
 import java.time.LocalDateTime;
 
+import com.university.parking.model.Money;
 import com.university.parking.model.Payment;
 import com.university.parking.model.PaymentMethod;
 import com.university.parking.model.SpotType;
@@ -22,10 +23,22 @@ public class PaymentProcessor {
      * @return true if payment is sufficient, false otherwise
      */
     public static boolean validatePayment(double amountPaid, double totalCharges) {
-        if (amountPaid < 0 || totalCharges < 0) {
+        // Compared in cents so 0.1 + 0.2 paid against 0.30 due counts as enough
+        return validatePaymentCents(Money.ofRinggit(amountPaid), Money.ofRinggit(totalCharges));
+    }
+
+    /**
+     * Validates that the payment amount is sufficient to cover the total charges.
+     * 
+     * @param amountPaidCents the amount being paid in cents
+     * @param totalChargesCents the total amount due in cents
+     * @return true if payment is sufficient, false otherwise
+     */
+    public static boolean validatePaymentCents(long amountPaidCents, long totalChargesCents) {
+        if (amountPaidCents < 0 || totalChargesCents < 0) {
             throw new IllegalArgumentException("Payment amounts cannot be negative");
         }
-        return amountPaid >= totalCharges;
+        return amountPaidCents >= totalChargesCents;
     }
 
     /**
@@ -36,10 +49,21 @@ public class PaymentProcessor {
      * @return the remaining balance (0 if fully paid, positive if underpaid)
      */
     public static double calculateRemainingBalance(double amountPaid, double totalCharges) {
-        if (amountPaid < 0 || totalCharges < 0) {
+        return Money.toRinggit(calculateRemainingBalanceCents(Money.ofRinggit(amountPaid), Money.ofRinggit(totalCharges)));
+    }
+
+    /**
+     * Calculates the remaining balance after payment.
+     * 
+     * @param amountPaidCents the amount being paid in cents
+     * @param totalChargesCents the total amount due in cents
+     * @return the remaining balance in cents (0 if fully paid, positive if underpaid)
+     */
+    public static long calculateRemainingBalanceCents(long amountPaidCents, long totalChargesCents) {
+        if (amountPaidCents < 0 || totalChargesCents < 0) {
             throw new IllegalArgumentException("Payment amounts cannot be negative");
         }
-        return Math.max(0, totalCharges - amountPaid);
+        return Math.max(0L, Money.subtract(totalChargesCents, amountPaidCents));
     }
 
     /**
@@ -57,6 +81,24 @@ public class PaymentProcessor {
     public static Payment processPayment(String licensePlate, double parkingFee, 
                                         double fineAmount, double amountPaid,
                                         PaymentMethod paymentMethod) {
+        return processPaymentCents(licensePlate, Money.ofRinggit(parkingFee), Money.ofRinggit(fineAmount),
+                                   Money.ofRinggit(amountPaid), paymentMethod);
+    }
+
+    /**
+     * Processes a payment transaction with amounts in cents.
+     * 
+     * @param licensePlate the vehicle's license plate
+     * @param parkingFeeCents the parking fee in cents
+     * @param fineAmountCents the total fine amount in cents
+     * @param amountPaidCents the amount being paid in cents
+     * @param paymentMethod the payment method (CASH or CARD)
+     * @return a Payment object representing the transaction
+     * @throws IllegalArgumentException if payment method is invalid or amounts are negative
+     */
+    public static Payment processPaymentCents(String licensePlate, long parkingFeeCents,
+                                             long fineAmountCents, long amountPaidCents,
+                                             PaymentMethod paymentMethod) {
         // Validate inputs
         if (licensePlate == null || licensePlate.trim().isEmpty()) {
             throw new IllegalArgumentException("License plate cannot be null or empty");
@@ -64,12 +106,12 @@ public class PaymentProcessor {
         if (paymentMethod == null) {
             throw new IllegalArgumentException("Payment method cannot be null");
         }
-        if (parkingFee < 0 || fineAmount < 0 || amountPaid < 0) {
+        if (parkingFeeCents < 0 || fineAmountCents < 0 || amountPaidCents < 0) {
             throw new IllegalArgumentException("Payment amounts cannot be negative");
         }
 
         // Create payment record
-        Payment payment = new Payment(licensePlate, parkingFee, fineAmount, paymentMethod);
+        Payment payment = Payment.ofCents(licensePlate, parkingFeeCents, fineAmountCents, paymentMethod);
         payment.setPaymentDate(LocalDateTime.now());
         
         // Note: The Payment model already calculates totalAmount in its constructor
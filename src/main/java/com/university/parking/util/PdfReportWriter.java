@@ -0,0 +1,253 @@
+package com.university.parking.util;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * Writes a report to PDF line by line, starting a new page whenever the current one is full.
+ *
+ * Page content is buffered in a PDFBox scratch file once it passes {@link #MAX_MAIN_MEMORY},
+ * so a report with tens of thousands of rows needs no more heap than a short one. All pages
+ * share one resource dictionary, so each font is written to the file once rather than once
+ * per page. Table headers set with {@link #startTable} repeat at the top of every page the
+ * table continues onto, and every page carries a page number.
+ *
+ * Not thread-safe; see {@link ReportExporter#writeReport} for why PDF rendering is serialized.
+ */
+public final class PdfReportWriter implements Closeable {
+
+    /** Page content kept in heap before PDFBox spills to a temporary file. */
+    static final long MAX_MAIN_MEMORY = 4L * 1024 * 1024;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final PDRectangle PAGE_SIZE = PDRectangle.A4;
+    private static final float MARGIN = 50;
+    private static final float LEADING = 18;
+    private static final float BOTTOM = 100;
+    private static final float TABLE_FONT_SIZE = 10;
+
+    private final PDDocument document;
+    private final PDResources resources = new PDResources();
+    private final String title;
+    private PDPageContentStream contentStream;
+    private PDFont currentFont;
+    private float currentSize;
+    private float yPosition;
+    private int pageNumber;
+
+    private float[] tableColumns;
+    private String[] tableHeaders;
+
+    /**
+     * Starts the document with a title and generation time on the first page.
+     * @param title report title, also shown at the top of continuation pages
+     * @param generatedAt time the report data was taken
+     */
+    public PdfReportWriter(String title, LocalDateTime generatedAt) throws IOException {
+        this.document = new PDDocument(MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY));
+        this.title = title;
+        try {
+            newPage();
+            text(PDType1Font.HELVETICA_BOLD, 16, title);
+            text(PDType1Font.HELVETICA, 10, "Generated: " + generatedAt.format(DATE_FORMAT));
+            space(0.5f);
+            rule();
+            space(1);
+        } catch (IOException | RuntimeException e) {
+            document.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes one line of text at the left margin.
+     */
+    public void text(PDFont font, float size, String text) throws IOException {
+        ensureSpace();
+        setFont(font, size);
+        contentStream.beginText();
+        contentStream.newLineAtOffset(MARGIN, yPosition);
+        contentStream.showText(text);
+        contentStream.endText();
+        yPosition -= LEADING;
+    }
+
+    /**
+     * Writes one line of cells, each starting at its offset from the left margin.
+     */
+    public void cells(PDFont font, float size, float[] offsets, String... cells) throws IOException {
+        ensureSpace();
+        setFont(font, size);
+        showCells(offsets, cells);
+    }
+
+    /**
+     * Moves down by a number of line heights.
+     */
+    public void space(float lines) {
+        yPosition -= LEADING * lines;
+    }
+
+    /**
+     * Draws a horizontal line across the page at the current position.
+     */
+    public void rule() throws IOException {
+        contentStream.moveTo(MARGIN, yPosition);
+        contentStream.lineTo(PAGE_SIZE.getWidth() - MARGIN, yPosition);
+        contentStream.stroke();
+    }
+
+    /**
+     * Writes a table header that is repeated on every page until {@link #endTable()}.
+     * @param offsets column offsets from the left margin
+     * @param headers column titles
+     */
+    public void startTable(float[] offsets, String... headers) throws IOException {
+        tableColumns = offsets;
+        tableHeaders = headers;
+        if (yPosition < BOTTOM + 2 * LEADING) {
+            // Don't leave a header alone at the bottom of a page
+            newPage();
+        } else {
+            writeTableHeader();
+        }
+    }
+
+    /**
+     * Writes a table row, starting a new page with the header repeated if needed.
+     */
+    public void row(String... cells) throws IOException {
+        ensureSpace();
+        setFont(PDType1Font.HELVETICA, TABLE_FONT_SIZE);
+        showCells(tableColumns, cells);
+    }
+
+    public void endTable() {
+        tableColumns = null;
+        tableHeaders = null;
+    }
+
+    /**
+     * Finishes the last page and writes the document. The stream is not closed.
+     */
+    public void save(OutputStream out) throws IOException {
+        finishPage();
+        document.save(new NonClosingOutputStream(out));
+    }
+
+    /**
+     * Releases the document and its scratch file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (contentStream != null) {
+                contentStream.close();
+            }
+        } finally {
+            document.close();
+        }
+    }
+
+    private void showCells(float[] offsets, String[] cells) throws IOException {
+        // One text object per line with relative moves keeps the page content small
+        contentStream.beginText();
+        contentStream.newLineAtOffset(MARGIN + offsets[0], yPosition);
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                contentStream.newLineAtOffset(offsets[i] - offsets[i - 1], 0);
+            }
+            contentStream.showText(cells[i] != null ? cells[i] : "");
+        }
+        contentStream.endText();
+        yPosition -= LEADING;
+    }
+
+    private void ensureSpace() throws IOException {
+        if (yPosition < BOTTOM) {
+            newPage();
+        }
+    }
+
+    private void newPage() throws IOException {
+        finishPage();
+        PDPage page = new PDPage(PAGE_SIZE);
+        page.setResources(resources);
+        document.addPage(page);
+        pageNumber++;
+        contentStream = new PDPageContentStream(document, page);
+        yPosition = PAGE_SIZE.getHeight() - MARGIN;
+        if (pageNumber > 1) {
+            text(PDType1Font.HELVETICA_BOLD, 10, title + " (continued)");
+            space(0.5f);
+            if (tableHeaders != null) {
+                writeTableHeader();
+            }
+        }
+    }
+
+    private void writeTableHeader() throws IOException {
+        setFont(PDType1Font.HELVETICA_BOLD, TABLE_FONT_SIZE);
+        showCells(tableColumns, tableHeaders);
+        rule();
+        space(0.5f);
+    }
+
+    /**
+     * Sets the font only when it changes; rows of a table then share one font operator.
+     */
+    private void setFont(PDFont font, float size) throws IOException {
+        if (font != currentFont || size != currentSize) {
+            contentStream.setFont(font, size);
+            currentFont = font;
+            currentSize = size;
+        }
+    }
+
+    private void finishPage() throws IOException {
+        if (contentStream == null) {
+            return;
+        }
+        setFont(PDType1Font.HELVETICA, 8);
+        contentStream.beginText();
+        contentStream.newLineAtOffset(PAGE_SIZE.getWidth() / 2 - 12, MARGIN / 2);
+        contentStream.showText("Page " + pageNumber);
+        contentStream.endText();
+        contentStream.close();
+        contentStream = null;
+        currentFont = null;
+    }
+
+    /**
+     * Keeps PDFBox from closing the caller's stream: PDDocument.save closes the stream it
+     * writes to, which would end a zip archive after its first entry.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.university.parking.util;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import com.university.parking.model.Payment;
 import com.university.parking.model.PaymentMethod;
 import com.university.parking.model.SpotType;
+import com.university.parking.model.Vehicle;
 import com.university.parking.model.VehicleType;
 
 /**
@@ -93,6 +95,29 @@ public class Receipt {
         this.spotRate = spotRate;
     }
 
+    /**
+     * Rebuilds the receipt of a past payment for reprinting.
+     * The amount tendered is not stored, so the receipt shows the payment as paid in full.
+     * @param payment the stored payment
+     * @param session the parking session the payment settled, or null if it was not found
+     * @return the receipt, dated at the original payment time
+     */
+    static Receipt reprint(Payment payment, Vehicle session) {
+        Receipt receipt = new Receipt(payment.getLicensePlate(),
+            session != null ? session.getEntryTime() : null,
+            session != null ? session.getExitTime() : null,
+            session != null ? session.calculateParkingDuration() : 0,
+            payment.getParkingFee(), payment.getFineAmount(), payment.getTotalAmount(),
+            payment.getPaymentMethod(),
+            session != null ? session.getAssignedSpotId() : "N/A",
+            false, false,
+            session != null && session.isHandicapped(),
+            session != null ? session.getType() : null,
+            payment.getSpotType(), 0.0);
+        receipt.paymentDate = payment.getPaymentDate();
+        return receipt;
+    }
+
     /**
      * Generates a formatted receipt string with modern, beautiful formatting.
      * @return formatted receipt text
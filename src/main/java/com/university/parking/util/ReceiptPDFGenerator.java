@@ -1,257 +1,113 @@
 package com.university.parking.util;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.format.DateTimeFormatter;
-
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Utility class for generating PDF receipts using Apache PDFBox.
+ * Utility class for generating PDF receipts.
+ * Receipts are filled into the pre-built {@link ReceiptTemplate}.
  */
 public class ReceiptPDFGenerator {
-    
-    private static final DateTimeFormatter DATE_FORMATTER = 
-        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    
+
+    private static final DateTimeFormatter FILE_DATE_FORMAT =
+        DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
     /**
      * Generates a PDF receipt and saves it to the specified file path.
-     * 
+     *
      * @param receipt The receipt object containing all transaction details
      * @param filePath The file path where the PDF should be saved
      * @throws IOException If there's an error creating or writing the PDF
      */
     public static void generatePDF(Receipt receipt, String filePath) throws IOException {
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                float margin = 50;
-                float yPosition = page.getMediaBox().getHeight() - margin;
-                float fontSize = 12;
-                float leading = 1.5f * fontSize;
-                
-                // Header
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("UNIVERSITY PARKING LOT");
-                contentStream.endText();
-                yPosition -= leading * 1.5f;
-                
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 14);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("PAYMENT RECEIPT");
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Draw line
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                // Vehicle Information
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("VEHICLE INFORMATION");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("License Plate: " + receipt.getLicensePlate());
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Parking Spot: " + receipt.getSpotId());
-                contentStream.endText();
-                yPosition -= leading * 1.5f;
-                
-                // Parking Duration
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("PARKING DURATION");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Entry Time: " + receipt.getEntryTime().format(DATE_FORMATTER));
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Exit Time: " + receipt.getExitTime().format(DATE_FORMATTER));
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Duration: " + receipt.getDurationHours() + " hour(s)");
-                contentStream.endText();
-                yPosition -= leading * 1.5f;
-                
-                // Charges
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("CHARGES");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                if (receipt.isPrepaidReservation()) {
-                    contentStream.showText(String.format("Parking Fee: RM %.2f (PREPAID)", receipt.getParkingFee()));
-                } else if (receipt.isWithinGracePeriod()) {
-                    contentStream.showText(String.format("Parking Fee: RM %.2f (15-MIN GRACE)", receipt.getParkingFee()));
-                } else {
-                    contentStream.showText(String.format("Parking Fee: RM %.2f", receipt.getParkingFee()));
-                }
-                contentStream.endText();
-                yPosition -= leading;
-                
-                if (receipt.getFineAmount() > 0) {
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(String.format("Fines: RM %.2f", receipt.getFineAmount()));
-                    contentStream.endText();
-                    yPosition -= leading;
-                }
-                
-                // Draw line
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(String.format("TOTAL AMOUNT: RM %.2f", receipt.getTotalAmount()));
-                contentStream.endText();
-                yPosition -= leading * 1.5f;
-                
-                // Draw line
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                // Payment Details
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("PAYMENT DETAILS");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(String.format("Amount Paid: RM %.2f", receipt.getAmountPaid()));
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Payment Method: " + receipt.getPaymentMethod());
-                contentStream.endText();
-                yPosition -= leading;
-                
-                if (receipt.getRemainingBalance() > 0) {
-                    contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(String.format("BALANCE DUE: RM %.2f", receipt.getRemainingBalance()));
-                    contentStream.endText();
-                    yPosition -= leading;
-                } else if (receipt.getChangeAmount() > 0) {
-                    contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(String.format("CHANGE: RM %.2f", receipt.getChangeAmount()));
-                    contentStream.endText();
-                    yPosition -= leading;
-                    
-                    contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText("Status: PAID IN FULL");
-                    contentStream.endText();
-                    yPosition -= leading;
-                } else {
-                    contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText("Status: PAID IN FULL");
-                    contentStream.endText();
-                    yPosition -= leading;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(filePath))) {
+            generatePDF(receipt, out);
+        }
+    }
+
+    /**
+     * Writes a PDF receipt to a stream, e.g. a printer or HTTP response. The stream is not closed.
+     *
+     * @param receipt The receipt object containing all transaction details
+     * @param out The stream to write the PDF to
+     * @throws IOException If there's an error writing the PDF
+     */
+    public static void generatePDF(Receipt receipt, OutputStream out) throws IOException {
+        ReceiptTemplate.getDefault().write(receipt, out);
+    }
+
+    /**
+     * Writes many receipts in parallel, one PDF file each, e.g. to reprint a day's receipts.
+     * Files are named like the receipts saved at exit, receipt_PLATE_yyyyMMdd_HHmmss.pdf,
+     * with a counter added when two receipts would share a name.
+     *
+     * @param receipts The receipts to write
+     * @param directory The directory for the files, created if missing
+     * @return completes with the files written, in the order of the receipts
+     */
+    public static CompletableFuture<List<File>> generateBatch(List<Receipt> receipts, File directory) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            CompletableFuture<List<File>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IOException("Cannot create folder " + directory.getAbsolutePath()));
+            return failed;
+        }
+        File[] files = new File[receipts.size()];
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File(directory, uniqueName(receipts.get(i), names));
+        }
+        if (files.length == 0) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        // The template has no shared mutable state, so each thread takes a contiguous slice
+        int threads = Math.min(files.length, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "receipt-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<?>[] slices = new CompletableFuture<?>[threads];
+        int sliceSize = (files.length + threads - 1) / threads;
+        for (int t = 0; t < threads; t++) {
+            int from = t * sliceSize;
+            int to = Math.min(files.length, from + sliceSize);
+            slices[t] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    try {
+                        generatePDF(receipts.get(i), files[i].getPath());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
                 }
-                
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Payment Date: " + receipt.getPaymentDate().format(DATE_FORMATTER));
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Draw line
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading * 1.5f;
-                
-                // Footer - Centered
-                contentStream.setFont(PDType1Font.HELVETICA_OBLIQUE, 11);
-                
-                // Calculate center position for each line
-                String thankYouText = "Thank you for parking with us!";
-                float thankYouWidth = PDType1Font.HELVETICA_OBLIQUE.getStringWidth(thankYouText) / 1000 * 11;
-                float thankYouX = (page.getMediaBox().getWidth() - thankYouWidth) / 2;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(thankYouX, yPosition);
-                contentStream.showText(thankYouText);
-                contentStream.endText();
-                yPosition -= leading;
-                
-                String journeyText = "Have a safe journey!";
-                float journeyWidth = PDType1Font.HELVETICA_OBLIQUE.getStringWidth(journeyText) / 1000 * 11;
-                float journeyX = (page.getMediaBox().getWidth() - journeyWidth) / 2;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(journeyX, yPosition);
-                contentStream.showText(journeyText);
-                contentStream.endText();
-                yPosition -= leading * 1.5f;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, 10);
-                String inquiryText = "For inquiries: chiushiaoying@student.mmu.edu.my";
-                float inquiryWidth = PDType1Font.HELVETICA.getStringWidth(inquiryText) / 1000 * 10;
-                float inquiryX = (page.getMediaBox().getWidth() - inquiryWidth) / 2;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(inquiryX, yPosition);
-                contentStream.showText(inquiryText);
-                contentStream.endText();
-            }
-            
-            document.save(filePath);
+            }, executor);
+        }
+        executor.shutdown();
+        return CompletableFuture.allOf(slices).thenApply(done -> Arrays.asList(files));
+    }
+
+    private static String uniqueName(Receipt receipt, Set<String> taken) {
+        String base = "receipt_" + receipt.getLicensePlate().replaceAll("[^A-Za-z0-9-]", "_") + "_" +
+                      (receipt.getPaymentDate() != null ? receipt.getPaymentDate().format(FILE_DATE_FORMAT) : "unknown");
+        String name = base + ".pdf";
+        for (int n = 2; !taken.add(name); n++) {
+            name = base + "_" + n + ".pdf";
         }
+        return name;
     }
 }
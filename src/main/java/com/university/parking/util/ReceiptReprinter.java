@@ -0,0 +1,105 @@
+package com.university.parking.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import com.university.parking.dao.ArchiveDAO;
+import com.university.parking.dao.DatabaseManager;
+import com.university.parking.model.Payment;
+import com.university.parking.model.Vehicle;
+
+/**
+ * Rebuilds and reprints all receipts of one day from the payment and session history.
+ *
+ * Payments do not reference the session they settled, so each payment is matched to the
+ * session of the same plate whose exit time is closest to the payment time; both are
+ * recorded during the same exit, normally within a second of each other.
+ */
+public class ReceiptReprinter {
+
+    /** A payment further than this from every exit of its plate is printed without session details. */
+    private static final Duration MATCH_WINDOW = Duration.ofMinutes(10);
+
+    private final ArchiveDAO archiveDAO;
+
+    public ReceiptReprinter(DatabaseManager dbManager) {
+        this(new ArchiveDAO(dbManager));
+    }
+
+    public ReceiptReprinter(ArchiveDAO archiveDAO) {
+        this.archiveDAO = archiveDAO;
+    }
+
+    /**
+     * Loads the receipts of every payment made on a day, archived months included.
+     * @param day the day to reprint
+     * @return the receipts in payment order
+     */
+    public List<Receipt> findReceipts(LocalDate day) throws SQLException {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        // Sessions may end shortly before midnight and be paid just after it
+        Map<String, List<Vehicle>> sessionsByPlate = new HashMap<>();
+        archiveDAO.forEachSessionExitedBetween(start.minus(MATCH_WINDOW), end.plus(MATCH_WINDOW),
+            session -> sessionsByPlate.computeIfAbsent(session.getLicensePlate(), plate -> new ArrayList<>()).add(session));
+
+        List<Receipt> receipts = new ArrayList<>();
+        archiveDAO.forEachPaymentBetween(start, end,
+            payment -> receipts.add(Receipt.reprint(payment, takeClosestSession(payment, sessionsByPlate))));
+        return receipts;
+    }
+
+    /**
+     * Writes the receipts of a day as PDF files, rendered in parallel.
+     * @param day the day to reprint
+     * @param directory directory for the files
+     * @return the files written
+     */
+    public List<File> reprint(LocalDate day, File directory) throws SQLException, IOException {
+        List<Receipt> receipts = findReceipts(day);
+        try {
+            return ReceiptPDFGenerator.generateBatch(receipts, directory).join();
+        } catch (CompletionException e) {
+            Throwable cause = IoExecutor.unwrap(e);
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Vehicle takeClosestSession(Payment payment, Map<String, List<Vehicle>> sessionsByPlate) {
+        List<Vehicle> sessions = sessionsByPlate.get(payment.getLicensePlate());
+        if (sessions == null || payment.getPaymentDate() == null) {
+            return null;
+        }
+        Vehicle closest = null;
+        Duration closestGap = MATCH_WINDOW;
+        for (Vehicle session : sessions) {
+            if (session.getExitTime() == null) {
+                continue;
+            }
+            Duration gap = Duration.between(session.getExitTime(), payment.getPaymentDate()).abs();
+            if (gap.compareTo(closestGap) <= 0) {
+                closest = session;
+                closestGap = gap;
+            }
+        }
+        // Each session settles one payment
+        sessions.remove(closest);
+        return closest;
+    }
+}
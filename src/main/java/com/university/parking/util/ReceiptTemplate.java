@@ -0,0 +1,406 @@
+package com.university.parking.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import com.university.parking.model.Money;
+
+/**
+ * Pre-built layout for the one-page PDF receipt.
+ *
+ * Every receipt has the same page, fonts and labels, and only a dozen values differ.
+ * The template writes the PDF objects that never change (catalog, page, the three
+ * standard fonts) and the content-stream operators for each layout variant once,
+ * when the class loads. A receipt then costs one pass that splices its values into
+ * the prepared bytes and streams them out; no PDDocument is created. Layouts differ
+ * only by whether a fines line is shown and how the payment status is worded, so six
+ * variants cover every receipt.
+ *
+ * Rendering touches no shared mutable state, so receipts can be written from many
+ * threads at once; PDFBox itself is only used at startup for font widths.
+ */
+public final class ReceiptTemplate {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final PDRectangle PAGE_SIZE = PDRectangle.A4;
+    private static final float MARGIN = 50;
+    private static final float FONT_SIZE = 12;
+    private static final float LEADING = 1.5f * FONT_SIZE;
+
+    private static final String FOOTER_THANKS = "Thank you for parking with us!";
+    private static final String FOOTER_JOURNEY = "Have a safe journey!";
+    private static final String FOOTER_INQUIRY = "For inquiries: chiushiaoying@student.mmu.edu.my";
+
+    /** Resource names of the fonts in the page dictionary. */
+    private static final String REGULAR = "F1";
+    private static final String BOLD = "F2";
+    private static final String OBLIQUE = "F3";
+
+    /** The values that differ between receipts, in the order the layouts reference them. */
+    private enum Field {
+        LICENSE_PLATE, SPOT_ID, ENTRY_TIME, EXIT_TIME, DURATION, PARKING_FEE, FINES,
+        TOTAL, AMOUNT_PAID, PAYMENT_METHOD, BALANCE_DUE, CHANGE, PAYMENT_DATE
+    }
+
+    /** How the payment status block is worded. */
+    private enum Status { BALANCE_DUE, CHANGE, PAID }
+
+    private static final ReceiptTemplate DEFAULT = new ReceiptTemplate();
+
+    /** Objects 1 to 6 with the PDF header; the content stream follows as object 7. */
+    private final byte[] prefix;
+    private final int[] objectOffsets;
+    /** Indexed by [has fines][status]. */
+    private final Layout[][] layouts = new Layout[2][Status.values().length];
+
+    private ReceiptTemplate() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        objectOffsets = new int[6];
+        ascii(out, "%PDF-1.4\n%âãÏÓ\n");
+        String[] objects = {
+            "<< /Type /Catalog /Pages 2 0 R >>",
+            "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+            "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_SIZE.getWidth() + " " + PAGE_SIZE.getHeight() + "]"
+                + " /Resources << /Font << /" + REGULAR + " 4 0 R /" + BOLD + " 5 0 R /" + OBLIQUE + " 6 0 R >> >>"
+                + " /Contents 7 0 R >>",
+            font("Helvetica"),
+            font("Helvetica-Bold"),
+            font("Helvetica-Oblique")
+        };
+        for (int i = 0; i < objects.length; i++) {
+            objectOffsets[i] = out.size();
+            ascii(out, (i + 1) + " 0 obj\n" + objects[i] + "\nendobj\n");
+        }
+        prefix = out.toByteArray();
+
+        float[] footerX;
+        // PDFBox caches glyph widths in the shared font objects without synchronization
+        synchronized (ReportExporter.PDF_LOCK) {
+            footerX = new float[]{
+                centered(PDType1Font.HELVETICA_OBLIQUE, 11, FOOTER_THANKS),
+                centered(PDType1Font.HELVETICA_OBLIQUE, 11, FOOTER_JOURNEY),
+                centered(PDType1Font.HELVETICA, 10, FOOTER_INQUIRY)
+            };
+        }
+        for (Status status : Status.values()) {
+            layouts[0][status.ordinal()] = buildLayout(false, status, footerX);
+            layouts[1][status.ordinal()] = buildLayout(true, status, footerX);
+        }
+    }
+
+    /**
+     * @return the receipt template shared by all callers
+     */
+    public static ReceiptTemplate getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Writes a receipt as a complete PDF document. The stream is not closed.
+     * @param receipt the receipt to render
+     * @param out destination of the PDF bytes
+     */
+    public void write(Receipt receipt, OutputStream out) throws IOException {
+        byte[] content = renderContent(receipt);
+        String streamStart = "7 0 obj\n<< /Length " + content.length + " >>\nstream\n";
+        String streamEnd = "\nendstream\nendobj\n";
+        int xrefOffset = prefix.length + streamStart.length() + content.length + streamEnd.length();
+
+        out.write(prefix);
+        out.write(streamStart.getBytes(StandardCharsets.ISO_8859_1));
+        out.write(content);
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(streamEnd);
+        sb.append("xref\n0 8\n0000000000 65535 f \n");
+        for (int offset : objectOffsets) {
+            appendXrefEntry(sb, offset);
+        }
+        appendXrefEntry(sb, prefix.length);
+        sb.append("trailer\n<< /Size 8 /Root 1 0 R >>\nstartxref\n").append(xrefOffset).append("\n%%EOF\n");
+        out.write(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * @return the receipt as a complete PDF document
+     */
+    public byte[] render(Receipt receipt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try {
+            write(receipt, out);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] renderContent(Receipt receipt) {
+        Layout layout = layouts[receipt.getFineAmount() > 0 ? 1 : 0][statusOf(receipt).ordinal()];
+        ByteArrayOutputStream content = new ByteArrayOutputStream(2048);
+        StringBuilder value = new StringBuilder(64);
+        for (int i = 0; i < layout.fields.length; i++) {
+            content.write(layout.statics[i], 0, layout.statics[i].length);
+            value.setLength(0);
+            appendValue(value, layout.fields[i], receipt);
+            writeText(content, value);
+        }
+        byte[] tail = layout.statics[layout.fields.length];
+        content.write(tail, 0, tail.length);
+        return content.toByteArray();
+    }
+
+    private static Status statusOf(Receipt receipt) {
+        if (receipt.getRemainingBalance() > 0) {
+            return Status.BALANCE_DUE;
+        }
+        return receipt.getChangeAmount() > 0 ? Status.CHANGE : Status.PAID;
+    }
+
+    private static void appendValue(StringBuilder sb, Field field, Receipt receipt) {
+        switch (field) {
+            case LICENSE_PLATE:
+                sb.append(receipt.getLicensePlate());
+                break;
+            case SPOT_ID:
+                sb.append(receipt.getSpotId());
+                break;
+            case ENTRY_TIME:
+                appendTime(sb, receipt.getEntryTime());
+                break;
+            case EXIT_TIME:
+                appendTime(sb, receipt.getExitTime());
+                break;
+            case DURATION:
+                sb.append(receipt.getDurationHours());
+                break;
+            case PARKING_FEE:
+                Money.appendTo(sb, Money.ofRinggit(receipt.getParkingFee()));
+                if (receipt.isPrepaidReservation()) {
+                    sb.append(" (PREPAID)");
+                } else if (receipt.isWithinGracePeriod()) {
+                    sb.append(" (15-MIN GRACE)");
+                }
+                break;
+            case FINES:
+                Money.appendTo(sb, Money.ofRinggit(receipt.getFineAmount()));
+                break;
+            case TOTAL:
+                Money.appendTo(sb, Money.ofRinggit(receipt.getTotalAmount()));
+                break;
+            case AMOUNT_PAID:
+                Money.appendTo(sb, Money.ofRinggit(receipt.getAmountPaid()));
+                break;
+            case PAYMENT_METHOD:
+                sb.append(receipt.getPaymentMethod());
+                break;
+            case BALANCE_DUE:
+                Money.appendTo(sb, Money.ofRinggit(receipt.getRemainingBalance()));
+                break;
+            case CHANGE:
+                Money.appendTo(sb, Money.ofRinggit(receipt.getChangeAmount()));
+                break;
+            case PAYMENT_DATE:
+                appendTime(sb, receipt.getPaymentDate());
+                break;
+        }
+    }
+
+    private static void appendTime(StringBuilder sb, LocalDateTime time) {
+        if (time != null) {
+            DATE_FORMATTER.formatTo(time, sb);
+        } else {
+            sb.append("N/A");
+        }
+    }
+
+    /**
+     * Lays out one variant; mirrors the receipt as it was drawn with PDFBox.
+     */
+    private static Layout buildLayout(boolean hasFines, Status status, float[] footerX) {
+        LayoutBuilder b = new LayoutBuilder(PAGE_SIZE.getHeight() - MARGIN);
+
+        b.text(BOLD, 16, MARGIN, "UNIVERSITY PARKING LOT");
+        b.down(1.5f);
+        b.text(BOLD, 14, MARGIN, "PAYMENT RECEIPT");
+        b.down(2);
+        b.rule();
+        b.down(1);
+
+        b.text(BOLD, 12, MARGIN, "VEHICLE INFORMATION");
+        b.down(1);
+        b.field(REGULAR, "License Plate: ", Field.LICENSE_PLATE, "");
+        b.down(1);
+        b.field(REGULAR, "Parking Spot: ", Field.SPOT_ID, "");
+        b.down(1.5f);
+
+        b.text(BOLD, 12, MARGIN, "PARKING DURATION");
+        b.down(1);
+        b.field(REGULAR, "Entry Time: ", Field.ENTRY_TIME, "");
+        b.down(1);
+        b.field(REGULAR, "Exit Time: ", Field.EXIT_TIME, "");
+        b.down(1);
+        b.field(REGULAR, "Duration: ", Field.DURATION, " hour(s)");
+        b.down(1.5f);
+
+        b.text(BOLD, 12, MARGIN, "CHARGES");
+        b.down(1);
+        b.field(REGULAR, "Parking Fee: RM ", Field.PARKING_FEE, "");
+        b.down(1);
+        if (hasFines) {
+            b.field(REGULAR, "Fines: RM ", Field.FINES, "");
+            b.down(1);
+        }
+        b.rule();
+        b.down(1);
+        b.field(BOLD, "TOTAL AMOUNT: RM ", Field.TOTAL, "");
+        b.down(1.5f);
+        b.rule();
+        b.down(1);
+
+        b.text(BOLD, 12, MARGIN, "PAYMENT DETAILS");
+        b.down(1);
+        b.field(REGULAR, "Amount Paid: RM ", Field.AMOUNT_PAID, "");
+        b.down(1);
+        b.field(REGULAR, "Payment Method: ", Field.PAYMENT_METHOD, "");
+        b.down(1);
+        switch (status) {
+            case BALANCE_DUE:
+                b.field(BOLD, "BALANCE DUE: RM ", Field.BALANCE_DUE, "");
+                b.down(1);
+                break;
+            case CHANGE:
+                b.field(BOLD, "CHANGE: RM ", Field.CHANGE, "");
+                b.down(1);
+                b.text(BOLD, 12, MARGIN, "Status: PAID IN FULL");
+                b.down(1);
+                break;
+            case PAID:
+                b.text(BOLD, 12, MARGIN, "Status: PAID IN FULL");
+                b.down(1);
+                break;
+        }
+        b.field(REGULAR, "Payment Date: ", Field.PAYMENT_DATE, "");
+        b.down(2);
+        b.rule();
+        b.down(1.5f);
+
+        b.text(OBLIQUE, 11, footerX[0], FOOTER_THANKS);
+        b.down(1);
+        b.text(OBLIQUE, 11, footerX[1], FOOTER_JOURNEY);
+        b.down(1.5f);
+        b.text(REGULAR, 10, footerX[2], FOOTER_INQUIRY);
+        return b.build();
+    }
+
+    private static float centered(PDFont font, float size, String text) {
+        try {
+            return (PAGE_SIZE.getWidth() - font.getStringWidth(text) / 1000 * size) / 2;
+        } catch (IOException e) {
+            // Standard-14 metrics are bundled with PDFBox, so this only happens if the jar is broken
+            throw new IllegalStateException("Missing font metrics for " + font.getName(), e);
+        }
+    }
+
+    private static String font(String baseFont) {
+        return "<< /Type /Font /Subtype /Type1 /BaseFont /" + baseFont + " /Encoding /WinAnsiEncoding >>";
+    }
+
+    private static void appendXrefEntry(StringBuilder sb, int offset) {
+        String digits = Integer.toString(offset);
+        for (int i = digits.length(); i < 10; i++) {
+            sb.append('0');
+        }
+        sb.append(digits).append(" 00000 n \n");
+    }
+
+    /**
+     * Writes text for a PDF string literal in WinAnsiEncoding: escapes the delimiters
+     * and replaces characters the standard fonts cannot show.
+     */
+    private static void writeText(ByteArrayOutputStream out, CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if ((c >= 0x20 && c < 0x7F) || (c >= 0xA0 && c <= 0xFF)) {
+                out.write(c);
+            } else {
+                out.write('?');
+            }
+        }
+    }
+
+    private static void ascii(ByteArrayOutputStream out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Content-stream bytes of one variant: statics[i] precedes fields[i], and the
+     * last static follows the last field.
+     */
+    private static final class Layout {
+        final byte[][] statics;
+        final Field[] fields;
+
+        Layout(List<byte[]> statics, List<Field> fields) {
+            this.statics = statics.toArray(new byte[0][]);
+            this.fields = fields.toArray(new Field[0]);
+        }
+    }
+
+    private static final class LayoutBuilder {
+        private final ByteArrayOutputStream current = new ByteArrayOutputStream(512);
+        private final List<byte[]> statics = new ArrayList<>();
+        private final List<Field> fields = new ArrayList<>();
+        private float yPosition;
+
+        LayoutBuilder(float top) {
+            this.yPosition = top;
+        }
+
+        void down(float lines) {
+            yPosition -= LEADING * lines;
+        }
+
+        void text(String font, float size, float x, String text) {
+            ascii(current, "BT /" + font + " " + size + " Tf " + x + " " + yPosition + " Td (");
+            writeText(current, text);
+            ascii(current, ") Tj ET\n");
+        }
+
+        /**
+         * A line with a fixed label, a variable value and a fixed suffix, at the left margin.
+         */
+        void field(String font, String label, Field field, String suffix) {
+            ascii(current, "BT /" + font + " " + FONT_SIZE + " Tf " + MARGIN + " " + yPosition + " Td (");
+            writeText(current, label);
+            statics.add(current.toByteArray());
+            current.reset();
+            fields.add(field);
+            writeText(current, suffix);
+            ascii(current, ") Tj ET\n");
+        }
+
+        void rule() {
+            ascii(current, MARGIN + " " + yPosition + " m " + (PAGE_SIZE.getWidth() - MARGIN) + " " + yPosition + " l S\n");
+        }
+
+        Layout build() {
+            statics.add(current.toByteArray());
+            return new Layout(statics, fields);
+        }
+    }
+}
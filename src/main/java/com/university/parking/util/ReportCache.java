@@ -0,0 +1,107 @@
+package com.university.parking.util;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.university.parking.util.ReportExporter.ExportFormat;
+import com.university.parking.util.ReportExporter.ReportType;
+
+/**
+ * Keeps the last rendering of each report so that viewing or exporting unchanged data
+ * again skips the database reads and rendering.
+ *
+ * Every entry is tagged with the parking lot data version it was rendered at (see
+ * {@link com.university.parking.model.ParkingLot#getDataVersion()}) and is only returned
+ * for that version, so any entry, exit, payment or fine invalidates it without the
+ * cache being told. Take the version before loading the report data: a change made
+ * while rendering then leaves the entry already stale rather than wrongly current.
+ *
+ * Holds at most one view and one output per format for each report type.
+ * Thread-safe.
+ */
+public class ReportCache {
+
+    /** Exports larger than this are written again each time instead of being kept in memory. */
+    public static final int MAX_CACHED_BYTES = 8 * 1024 * 1024;
+
+    private final Map<ReportType, Entry<String>> views = new EnumMap<>(ReportType.class);
+    private final Map<String, Entry<Rendered>> exports = new HashMap<>();
+
+    /**
+     * @return the on-screen text of a report rendered at this data version, or null
+     */
+    public synchronized String getView(ReportType type, long version) {
+        return valueAt(views.get(type), version);
+    }
+
+    public synchronized void putView(ReportType type, long version, String text) {
+        views.put(type, new Entry<>(version, text));
+    }
+
+    /**
+     * @return the exported file content of a report rendered at this data version, or null
+     */
+    public synchronized Rendered getExport(ReportType type, ExportFormat format, long version) {
+        return valueAt(exports.get(exportKey(type, format)), version);
+    }
+
+    /**
+     * Keeps an export unless it exceeds {@link #MAX_CACHED_BYTES}.
+     */
+    public synchronized void putExport(ReportType type, ExportFormat format, long version, Rendered rendered) {
+        if (rendered.getContent().length > MAX_CACHED_BYTES) {
+            exports.remove(exportKey(type, format));
+            return;
+        }
+        exports.put(exportKey(type, format), new Entry<>(version, rendered));
+    }
+
+    public synchronized void clear() {
+        views.clear();
+        exports.clear();
+    }
+
+    private static <T> T valueAt(Entry<T> entry, long version) {
+        return entry != null && entry.version == version ? entry.value : null;
+    }
+
+    private static String exportKey(ReportType type, ExportFormat format) {
+        return type.name() + "/" + format.name();
+    }
+
+    private static final class Entry<T> {
+        final long version;
+        final T value;
+
+        Entry(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The bytes of an exported report and the time its data was taken, which names the file.
+     */
+    public static final class Rendered {
+        private final LocalDateTime generatedAt;
+        private final byte[] content;
+
+        public Rendered(LocalDateTime generatedAt, byte[] content) {
+            this.generatedAt = generatedAt;
+            this.content = content;
+        }
+
+        public LocalDateTime getGeneratedAt() {
+            return generatedAt;
+        }
+
+        /**
+         * @return the file content; shared, do not modify
+         */
+        public byte[] getContent() {
+            return content;
+        }
+    }
+}
@@ -1,40 +1,56 @@
 package com.university.parking.util;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
 import com.university.parking.model.Fine;
-import com.university.parking.model.Floor;
+import com.university.parking.model.Money;
+import com.university.parking.model.OccupancyHistory;
+import com.university.parking.model.OccupancyMatrix;
+import com.university.parking.model.OccupancyTrend;
 import com.university.parking.model.ParkingLot;
-import com.university.parking.model.ParkingSpot;
+import com.university.parking.model.RevenueAggregate;
+import com.university.parking.model.RevenueAnalytics;
+import com.university.parking.model.SpotStatus;
 import com.university.parking.model.SpotType;
-import com.university.parking.model.Vehicle;
 
 /**
  * Utility class for exporting reports in various formats (TXT, PDF, CSV).
- * Supports exporting vehicle, revenue, occupancy, and fine reports.
+ * Supports exporting vehicle, revenue, occupancy, fine, revenue analytics and
+ * occupancy history reports.
  */
 public class ReportExporter {
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    /** Held while PDFBox renders with the standard fonts; see {@link #writeReport}. */
+    static final Object PDF_LOCK = new Object();
+    private static final String ANALYTICS_UNAVAILABLE =
+        "Revenue analytics unavailable - database not connected.";
+    private static final String HISTORY_UNAVAILABLE =
+        "Occupancy history unavailable - database not connected.";
+    private static final String NO_SAMPLES = "No occupancy samples recorded in this period.";
+    /** Hours listed as the busiest in the occupancy history report */
+    private static final int BUSIEST_HOURS = 3;
     
     public enum ReportType {
         VEHICLE("Current_Vehicles"),
         REVENUE("Revenue_Report"),
         OCCUPANCY("Occupancy_Report"),
-        FINE("Fine_Report");
+        FINE("Fine_Report"),
+        REVENUE_ANALYTICS("Revenue_Analytics"),
+        OCCUPANCY_HISTORY("Occupancy_History");
         
         private final String fileName;
         
@@ -69,53 +85,104 @@ public class ReportExporter {
     public static File exportReport(ReportType reportType, ExportFormat format, 
                                    ParkingLot parkingLot, List<Fine> fines, 
                                    String outputDirectory) throws IOException {
-        String timestamp = LocalDateTime.now().format(FILE_DATE_FORMAT);
-        String fileName = reportType.getFileName() + "_" + timestamp + format.getExtension();
-        File outputFile = new File(outputDirectory, fileName);
+        return exportReport(reportType, format, ReportSnapshot.of(parkingLot, fines), outputDirectory);
+    }
+    
+    /**
+     * Exports a report rendered from a snapshot to a timestamped file.
+     * @return the file written
+     */
+    public static File exportReport(ReportType reportType, ExportFormat format,
+                                   ReportSnapshot snapshot, String outputDirectory) throws IOException {
+        File outputFile = outputFile(reportType, format, snapshot.getGeneratedAt(), outputDirectory);
         
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            writeReport(reportType, format, snapshot, out);
+        }
+        
+        return outputFile;
+    }
+    
+    /**
+     * Writes a report kept by a {@link ReportCache} without rendering it again.
+     * The file is named after the time the cached report's data was taken.
+     * @return the file written
+     */
+    public static File exportReport(ReportType reportType, ExportFormat format,
+                                   ReportCache.Rendered rendered, String outputDirectory) throws IOException {
+        File outputFile = outputFile(reportType, format, rendered.getGeneratedAt(), outputDirectory);
+        
+        try (OutputStream out = new FileOutputStream(outputFile)) {
+            out.write(rendered.getContent());
+        }
+        
+        return outputFile;
+    }
+    
+    private static File outputFile(ReportType reportType, ExportFormat format,
+                                   LocalDateTime generatedAt, String outputDirectory) {
+        String timestamp = generatedAt.format(FILE_DATE_FORMAT);
+        return new File(outputDirectory, reportType.getFileName() + "_" + timestamp + format.getExtension());
+    }
+    
+    /**
+     * Writes a report rendered from a snapshot to a stream, e.g. a zip entry.
+     * The stream is flushed but left open. Safe to call from several threads; PDF
+     * rendering is serialized because PDFBox shares its standard fonts between documents.
+     */
+    public static void writeReport(ReportType reportType, ExportFormat format,
+                                   ReportSnapshot snapshot, OutputStream out) throws IOException {
         switch (format) {
             case TXT:
-                exportToTxt(reportType, parkingLot, fines, outputFile);
+                exportToTxt(reportType, snapshot, out);
                 break;
             case PDF:
-                exportToPdf(reportType, parkingLot, fines, outputFile);
+                // The standard-14 fonts are shared statics whose glyph cache is not thread-safe
+                synchronized (PDF_LOCK) {
+                    exportToPdf(reportType, snapshot, out);
+                }
                 break;
             case CSV:
-                exportToCsv(reportType, parkingLot, fines, outputFile);
+                exportToCsv(reportType, snapshot, out);
                 break;
         }
-        
-        return outputFile;
+        out.flush();
     }
     
     /**
      * Exports report to TXT format.
      */
-    private static void exportToTxt(ReportType reportType, ParkingLot parkingLot, 
-                                    List<Fine> fines, File outputFile) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile))) {
-            String content = generateReportContent(reportType, parkingLot, fines);
-            writer.write(content);
-        }
+    private static void exportToTxt(ReportType reportType, ReportSnapshot snapshot,
+                                    OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        String content = generateReportContent(reportType, snapshot);
+        writer.write(content);
+        writer.flush();
     }
     
     /**
      * Exports report to PDF format with proper formatting.
      */
-    private static void exportToPdf(ReportType reportType, ParkingLot parkingLot, 
-                                   List<Fine> fines, File outputFile) throws IOException {
+    private static void exportToPdf(ReportType reportType, ReportSnapshot snapshot,
+                                   OutputStream out) throws IOException {
         switch (reportType) {
             case VEHICLE:
-                exportVehiclePdf(parkingLot, outputFile);
+                exportVehiclePdf(snapshot, out);
                 break;
             case REVENUE:
-                exportRevenuePdf(parkingLot, outputFile);
+                exportRevenuePdf(snapshot, out);
                 break;
             case OCCUPANCY:
-                exportOccupancyPdf(parkingLot, outputFile);
+                exportOccupancyPdf(snapshot, out);
                 break;
             case FINE:
-                exportFinePdf(fines, outputFile);
+                exportFinePdf(snapshot, out);
+                break;
+            case REVENUE_ANALYTICS:
+                exportRevenueAnalyticsPdf(snapshot, out);
+                break;
+            case OCCUPANCY_HISTORY:
+                exportOccupancyHistoryPdf(snapshot, out);
                 break;
         }
     }
@@ -123,662 +190,316 @@ public class ReportExporter {
     /**
      * Exports vehicle report to formatted PDF.
      */
-    private static void exportVehiclePdf(ParkingLot parkingLot, File outputFile) throws IOException {
-        PDDocument document = new PDDocument();
-        try {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-            float margin = 50;
-            float yPosition = page.getMediaBox().getHeight() - margin;
-            float fontSize = 12;
-            float leading = 1.5f * fontSize;
-            
-            // Header
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("CURRENT VEHICLES REPORT");
-            contentStream.endText();
-            yPosition -= leading;
-            
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Generated: " + LocalDateTime.now().format(DATE_FORMAT));
-            contentStream.endText();
-            yPosition -= leading * 1.5f;
+    private static void exportVehiclePdf(ReportSnapshot snapshot, OutputStream out) throws IOException {
+        try (PdfReportWriter pdf = new PdfReportWriter("CURRENT VEHICLES REPORT", snapshot.getGeneratedAt())) {
+            // Column offsets from the margin: No., License Plate, Vehicle Type, Spot ID, Entry Time
+            pdf.startTable(new float[]{0, 40, 150, 280, 370},
+                "No.", "License Plate", "Vehicle Type", "Spot ID", "Entry Time");
             
-            // Draw line
-            contentStream.moveTo(margin, yPosition);
-            contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-            contentStream.stroke();
-            yPosition -= leading;
+            int count = 0;
+            for (ReportSnapshot.ParkedVehicle vehicle : snapshot.getParkedVehicles()) {
+                count++;
+                pdf.row(String.valueOf(count),
+                    vehicle.getLicensePlate(),
+                    vehicle.getType().toString(),
+                    vehicle.getSpotId(),
+                    vehicle.getEntryTime() != null ? vehicle.getEntryTime().format(DATE_FORMAT) : "N/A");
+            }
+            pdf.endTable();
             
-            // Table header with fixed column positions
-            float col1 = margin;           // No.
-            float col2 = margin + 40;      // License Plate
-            float col3 = margin + 150;     // Vehicle Type
-            float col4 = margin + 280;     // Spot ID
-            float col5 = margin + 370;     // Entry Time
+            if (count == 0) {
+                pdf.text(PDType1Font.HELVETICA, 10, "No vehicles currently parked.");
+            }
             
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(col1, yPosition);
-            contentStream.showText("No.");
-            contentStream.endText();
+            pdf.space(1);
+            pdf.rule();
+            pdf.space(1);
+            pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Total Vehicles: " + count);
             
-            contentStream.beginText();
-            contentStream.newLineAtOffset(col2, yPosition);
-            contentStream.showText("License Plate");
-            contentStream.endText();
+            pdf.save(out);
+        }
+    }
+    
+    /**
+     * Exports revenue report to formatted PDF.
+     */
+    private static void exportRevenuePdf(ReportSnapshot snapshot, OutputStream out) throws IOException {
+        try (PdfReportWriter pdf = new PdfReportWriter("REVENUE REPORT", snapshot.getGeneratedAt())) {
+            pdf.space(0.5f);
+            pdf.text(PDType1Font.HELVETICA_BOLD, 14,
+                "Total Revenue Collected: RM " + Money.format(snapshot.getTotalRevenueCents()));
+            pdf.space(1);
             
-            contentStream.beginText();
-            contentStream.newLineAtOffset(col3, yPosition);
-            contentStream.showText("Vehicle Type");
-            contentStream.endText();
+            // Revenue by floor
+            pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Revenue by Floor:");
+            pdf.rule();
+            pdf.space(0.5f);
             
-            contentStream.beginText();
-            contentStream.newLineAtOffset(col4, yPosition);
-            contentStream.showText("Spot ID");
-            contentStream.endText();
+            OccupancyMatrix matrix = snapshot.getOccupancy();
+            for (int f = 0; f < matrix.getFloorCount(); f++) {
+                pdf.text(PDType1Font.HELVETICA, 11, String.format("Floor %d: %d vehicles currently parked",
+                    matrix.getFloorNumber(f), matrix.getFloorOccupied(f)));
+            }
             
-            contentStream.beginText();
-            contentStream.newLineAtOffset(col5, yPosition);
-            contentStream.showText("Entry Time");
-            contentStream.endText();
-            yPosition -= leading;
+            pdf.save(out);
+        }
+    }
+    
+    /**
+     * Exports occupancy report to formatted PDF.
+     */
+    private static void exportOccupancyPdf(ReportSnapshot snapshot, OutputStream out) throws IOException {
+        try (PdfReportWriter pdf = new PdfReportWriter("OCCUPANCY REPORT", snapshot.getGeneratedAt())) {
+            // Column offsets from the margin: Floor, Total, Available, Occupied, Occupancy %
+            float[] columns = {0, 80, 160, 260, 360};
+            pdf.startTable(columns, "Floor", "Total", "Available", "Occupied", "Occupancy %");
             
-            contentStream.moveTo(margin, yPosition);
-            contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-            contentStream.stroke();
-            yPosition -= leading * 0.5f;
+            OccupancyMatrix matrix = snapshot.getOccupancy();
+            int totalSpots = matrix.getTotal();
+            int totalOccupied = matrix.getOccupied();
             
-            // Vehicle data
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            int count = 0;
-            for (Floor floor : parkingLot.getFloors()) {
-                for (ParkingSpot spot : floor.getAllSpots()) {
-                    if (!spot.isAvailable() && spot.getCurrentVehicle() != null) {
-                        Vehicle vehicle = spot.getCurrentVehicle();
-                        count++;
-                        
-                        if (yPosition < 100) {
-                            contentStream.close();
-                            page = new PDPage(PDRectangle.A4);
-                            document.addPage(page);
-                            contentStream = new PDPageContentStream(document, page);
-                            contentStream.setFont(PDType1Font.HELVETICA, 10);
-                            yPosition = page.getMediaBox().getHeight() - margin;
-                        }
-                        
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(col1, yPosition);
-                        contentStream.showText(String.valueOf(count));
-                        contentStream.endText();
-                        
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(col2, yPosition);
-                        contentStream.showText(vehicle.getLicensePlate());
-                        contentStream.endText();
-                        
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(col3, yPosition);
-                        contentStream.showText(vehicle.getType().toString());
-                        contentStream.endText();
-                        
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(col4, yPosition);
-                        contentStream.showText(spot.getSpotId());
-                        contentStream.endText();
-                        
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(col5, yPosition);
-                        contentStream.showText(vehicle.getEntryTime() != null ? 
-                            vehicle.getEntryTime().format(DATE_FORMAT) : "N/A");
-                        contentStream.endText();
-                        
-                        yPosition -= leading;
-                    }
-                }
+            for (int f = 0; f < matrix.getFloorCount(); f++) {
+                int total = matrix.getFloorTotal(f);
+                int occupied = matrix.getFloorOccupied(f);
+                pdf.row(String.valueOf(matrix.getFloorNumber(f)),
+                    String.valueOf(total),
+                    String.valueOf(matrix.getFloorAvailable(f)),
+                    String.valueOf(occupied),
+                    String.format("%.1f%%", OccupancyMatrix.percent(occupied, total)));
             }
+            pdf.endTable();
             
-            if (count == 0) {
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("No vehicles currently parked.");
-                contentStream.endText();
-                yPosition -= leading;
-            }
+            pdf.rule();
+            pdf.space(1);
+            pdf.cells(PDType1Font.HELVETICA_BOLD, 10, columns,
+                "TOTAL",
+                String.valueOf(totalSpots),
+                String.valueOf(totalSpots - totalOccupied),
+                String.valueOf(totalOccupied),
+                String.format("%.1f%%", OccupancyMatrix.percent(totalOccupied, totalSpots)));
+            pdf.space(1);
             
-            yPosition -= leading;
-            contentStream.moveTo(margin, yPosition);
-            contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-            contentStream.stroke();
-            yPosition -= leading;
+            // Occupancy by spot type
+            pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Occupancy by Spot Type:");
+            pdf.rule();
+            pdf.space(0.5f);
             
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Total Vehicles: " + count);
-            contentStream.endText();
+            float[] typeColumns = {0, 120, 140, 220};
+            for (SpotType type : SpotType.values()) {
+                int typeTotal = matrix.getTypeTotal(type);
+                int typeOccupied = matrix.getTypeOccupied(type);
+                pdf.cells(PDType1Font.HELVETICA, 11, typeColumns,
+                    type.toString(),
+                    ":",
+                    typeOccupied + "/" + typeTotal,
+                    String.format("(%.1f%%)", OccupancyMatrix.percent(typeOccupied, typeTotal)));
+            }
             
-            contentStream.close();
-            document.save(outputFile);
-        } finally {
-            document.close();
+            pdf.save(out);
         }
     }
     
     /**
-     * Exports revenue report to formatted PDF.
+     * Exports fine report to formatted PDF.
      */
-    private static void exportRevenuePdf(ParkingLot parkingLot, File outputFile) throws IOException {
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
+    private static void exportFinePdf(ReportSnapshot snapshot, OutputStream out) throws IOException {
+        List<Fine> fines = snapshot.getFines();
+        try (PdfReportWriter pdf = new PdfReportWriter("FINE REPORT", snapshot.getGeneratedAt())) {
+            pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Outstanding Fines:");
             
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                float margin = 50;
-                float yPosition = page.getMediaBox().getHeight() - margin;
-                float fontSize = 12;
-                float leading = 1.5f * fontSize;
-                
-                // Header
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("REVENUE REPORT");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Generated: " + LocalDateTime.now().format(DATE_FORMAT));
-                contentStream.endText();
-                yPosition -= leading * 1.5f;
-                
-                // Draw line
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading * 1.5f;
-                
-                // Total revenue
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 14);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(String.format("Total Revenue Collected: RM %.2f", parkingLot.getTotalRevenue()));
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Revenue by floor
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Revenue by Floor:");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading * 0.5f;
+            if (fines.isEmpty()) {
+                pdf.text(PDType1Font.HELVETICA, 11, "No outstanding fines.");
+            } else {
+                // Column offsets from the margin: No., License Plate, Fine Type, Amount, Issued Date
+                pdf.startTable(new float[]{0, 40, 150, 300, 380},
+                    "No.", "License Plate", "Fine Type", "Amount", "Issued Date");
                 
-                contentStream.setFont(PDType1Font.HELVETICA, 11);
-                for (Floor floor : parkingLot.getFloors()) {
-                    int occupied = floor.getAllSpots().size() - floor.getAvailableSpots().size();
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(String.format("Floor %d: %d vehicles currently parked",
-                        floor.getFloorNumber(), occupied));
-                    contentStream.endText();
-                    yPosition -= leading;
+                int count = 0;
+                long totalCents = 0;
+                StringBuilder amount = new StringBuilder(16);
+                for (Fine fine : fines) {
+                    count++;
+                    totalCents = Money.add(totalCents, fine.getAmountCents());
+                    amount.setLength(0);
+                    pdf.row(String.valueOf(count),
+                        fine.getLicensePlate(),
+                        fine.getType().toString(),
+                        Money.appendTo(amount.append("RM "), fine.getAmountCents()).toString(),
+                        fine.getIssuedDate().format(DATE_FORMAT));
                 }
+                pdf.endTable();
+                
+                pdf.space(1);
+                pdf.rule();
+                pdf.space(1);
+                pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Total Outstanding Fines: " + count);
+                pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Total Amount: RM " + Money.format(totalCents));
             }
             
-            document.save(outputFile);
+            pdf.save(out);
         }
     }
     
     /**
-     * Exports occupancy report to formatted PDF.
+     * Exports revenue analytics report to formatted PDF, one table per breakdown.
      */
-    private static void exportOccupancyPdf(ParkingLot parkingLot, File outputFile) throws IOException {
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                float margin = 50;
-                float yPosition = page.getMediaBox().getHeight() - margin;
-                float fontSize = 12;
-                float leading = 1.5f * fontSize;
-                
-                // Header
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("OCCUPANCY REPORT");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Generated: " + LocalDateTime.now().format(DATE_FORMAT));
-                contentStream.endText();
-                yPosition -= leading * 1.5f;
-                
-                // Draw line
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                // Table header with fixed column positions
-                float col1 = margin;           // Floor
-                float col2 = margin + 80;      // Total
-                float col3 = margin + 160;     // Available
-                float col4 = margin + 260;     // Occupied
-                float col5 = margin + 360;     // Occupancy %
-                
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col1, yPosition);
-                contentStream.showText("Floor");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col2, yPosition);
-                contentStream.showText("Total");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col3, yPosition);
-                contentStream.showText("Available");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col4, yPosition);
-                contentStream.showText("Occupied");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col5, yPosition);
-                contentStream.showText("Occupancy %");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading * 0.5f;
-                
-                // Floor data
-                contentStream.setFont(PDType1Font.HELVETICA, 10);
-                int totalSpots = 0;
-                int totalOccupied = 0;
-                
-                for (Floor floor : parkingLot.getFloors()) {
-                    int total = floor.getAllSpots().size();
-                    int available = floor.getAvailableSpots().size();
-                    int occupied = total - available;
-                    double occupancy = total > 0 ? (occupied * 100.0 / total) : 0;
-                    
-                    totalSpots += total;
-                    totalOccupied += occupied;
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col1, yPosition);
-                    contentStream.showText(String.valueOf(floor.getFloorNumber()));
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col2, yPosition);
-                    contentStream.showText(String.valueOf(total));
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col3, yPosition);
-                    contentStream.showText(String.valueOf(available));
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col4, yPosition);
-                    contentStream.showText(String.valueOf(occupied));
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col5, yPosition);
-                    contentStream.showText(String.format("%.1f%%", occupancy));
-                    contentStream.endText();
-                    
-                    yPosition -= leading;
-                }
-                
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                double totalOccupancy = totalSpots > 0 ? (totalOccupied * 100.0 / totalSpots) : 0;
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col1, yPosition);
-                contentStream.showText("TOTAL");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col2, yPosition);
-                contentStream.showText(String.valueOf(totalSpots));
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col3, yPosition);
-                contentStream.showText(String.valueOf(totalSpots - totalOccupied));
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col4, yPosition);
-                contentStream.showText(String.valueOf(totalOccupied));
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col5, yPosition);
-                contentStream.showText(String.format("%.1f%%", totalOccupancy));
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Occupancy by spot type
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Occupancy by Spot Type:");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading * 0.5f;
-                
-                contentStream.setFont(PDType1Font.HELVETICA, 11);
-                for (SpotType type : SpotType.values()) {
-                    int typeTotal = 0;
-                    int typeOccupied = 0;
-                    for (Floor floor : parkingLot.getFloors()) {
-                        for (ParkingSpot spot : floor.getAllSpots()) {
-                            if (spot.getType() == type) {
-                                typeTotal++;
-                                if (!spot.isAvailable()) {
-                                    typeOccupied++;
-                                }
-                            }
-                        }
+    private static void exportRevenueAnalyticsPdf(ReportSnapshot snapshot, OutputStream out) throws IOException {
+        RevenueAnalytics analytics = snapshot.getRevenueAnalytics();
+        try (PdfReportWriter pdf = new PdfReportWriter("REVENUE ANALYTICS REPORT", snapshot.getGeneratedAt())) {
+            if (analytics == null) {
+                pdf.text(PDType1Font.HELVETICA, 11, ANALYTICS_UNAVAILABLE);
+            } else {
+                pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Period: " + analytics.getFrom() + " to " + analytics.getTo());
+                pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Payments: " + analytics.getPaymentCount()
+                    + "    Total Revenue: RM " + Money.format(analytics.getTotalAmountCents()));
+                
+                float[] columns = {0, 110, 190, 290, 380};
+                for (AnalyticsSection section : AnalyticsSection.values()) {
+                    pdf.space(1);
+                    pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Revenue by " + section.title + ":");
+                    List<RevenueAggregate> rows = section.rows(analytics);
+                    if (rows.isEmpty()) {
+                        pdf.text(PDType1Font.HELVETICA, 11, "No payments.");
+                        continue;
                     }
-                    double typeOccupancy = typeTotal > 0 ? (typeOccupied * 100.0 / typeTotal) : 0;
-                    
-                    // Spot Type name
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(type.toString());
-                    contentStream.endText();
-                    
-                    // Colon
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin + 120, yPosition);
-                    contentStream.showText(":");
-                    contentStream.endText();
-                    
-                    // Occupied/Total
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin + 140, yPosition);
-                    contentStream.showText(typeOccupied + "/" + typeTotal);
-                    contentStream.endText();
-                    
-                    // Percentage
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin + 220, yPosition);
-                    contentStream.showText(String.format("(%.1f%%)", typeOccupancy));
-                    contentStream.endText();
-                    
-                    yPosition -= leading;
+                    pdf.startTable(columns, section.title, "Payments", "Parking Fees", "Fines", "Total");
+                    for (RevenueAggregate row : rows) {
+                        pdf.row(section.label(row.getKey()),
+                            String.valueOf(row.getPaymentCount()),
+                            "RM " + Money.format(row.getParkingFeesCents()),
+                            "RM " + Money.format(row.getFineAmountsCents()),
+                            "RM " + Money.format(row.getTotalAmountCents()));
+                    }
+                    pdf.endTable();
                 }
             }
             
-            document.save(outputFile);
+            pdf.save(out);
         }
     }
     
     /**
-     * Exports fine report to formatted PDF.
+     * Exports occupancy history report to formatted PDF.
      */
-    private static void exportFinePdf(List<Fine> fines, File outputFile) throws IOException {
-        PDDocument document = new PDDocument();
-        try {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-            float margin = 50;
-            float yPosition = page.getMediaBox().getHeight() - margin;
-            float fontSize = 12;
-            float leading = 1.5f * fontSize;
-            
-            // Header
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("FINE REPORT");
-            contentStream.endText();
-            yPosition -= leading;
-            
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Generated: " + LocalDateTime.now().format(DATE_FORMAT));
-            contentStream.endText();
-            yPosition -= leading * 1.5f;
-            
-            // Draw line
-            contentStream.moveTo(margin, yPosition);
-            contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-            contentStream.stroke();
-            yPosition -= leading;
-            
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Outstanding Fines:");
-            contentStream.endText();
-            yPosition -= leading;
-            
-            if (fines == null || fines.isEmpty()) {
-                contentStream.setFont(PDType1Font.HELVETICA, 11);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("No outstanding fines.");
-                contentStream.endText();
+    private static void exportOccupancyHistoryPdf(ReportSnapshot snapshot, OutputStream out) throws IOException {
+        OccupancyHistory history = snapshot.getOccupancyHistory();
+        try (PdfReportWriter pdf = new PdfReportWriter("OCCUPANCY HISTORY REPORT", snapshot.getGeneratedAt())) {
+            if (history == null) {
+                pdf.text(PDType1Font.HELVETICA, 11, HISTORY_UNAVAILABLE);
             } else {
-                // Table header with fixed column positions
-                float col1 = margin;           // No.
-                float col2 = margin + 40;      // License Plate
-                float col3 = margin + 150;     // Fine Type
-                float col4 = margin + 300;     // Amount
-                float col5 = margin + 380;     // Issued Date
-                
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col1, yPosition);
-                contentStream.showText("No.");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col2, yPosition);
-                contentStream.showText("License Plate");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col3, yPosition);
-                contentStream.showText("Fine Type");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col4, yPosition);
-                contentStream.showText("Amount");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(col5, yPosition);
-                contentStream.showText("Issued Date");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading * 0.5f;
-                
-                // Fine data
-                contentStream.setFont(PDType1Font.HELVETICA, 10);
-                int count = 0;
-                double totalAmount = 0;
-                
-                for (Fine fine : fines) {
-                    count++;
-                    totalAmount += fine.getAmount();
+                pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Period: " + history.getFrom() + " to " + history.getTo());
+                pdf.text(PDType1Font.HELVETICA, 11, "Samples: " + history.getSampleCount());
+                OccupancyTrend peak = history.getPeakHour();
+                if (peak == null) {
+                    pdf.text(PDType1Font.HELVETICA, 11, NO_SAMPLES);
+                } else {
+                    pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Peak Hour: " + describePeakHour(peak));
+                    pdf.text(PDType1Font.HELVETICA, 11, "Busiest Hours: " + describeBusiestHours(history));
                     
-                    if (yPosition < 100) {
-                        contentStream.close();
-                        page = new PDPage(PDRectangle.A4);
-                        document.addPage(page);
-                        contentStream = new PDPageContentStream(document, page);
-                        contentStream.setFont(PDType1Font.HELVETICA, 10);
-                        yPosition = page.getMediaBox().getHeight() - margin;
+                    pdf.space(1);
+                    pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Occupancy by Hour of Day:");
+                    pdf.startTable(new float[]{0, 70, 140, 240, 320},
+                        "Hour", "Samples", "Avg Occupied", "Avg %", "Peak %");
+                    for (OccupancyTrend hour : history.getByHour()) {
+                        pdf.row(hourLabel(hour.getHour()),
+                            String.valueOf(hour.getSampleCount()),
+                            String.format("%.1f / %d", hour.getAverageOccupied(), hour.getTotalSpots()),
+                            String.format("%.1f%%", hour.getAveragePercent()),
+                            String.format("%.1f%%", hour.getPeakPercent()));
                     }
+                    pdf.endTable();
                     
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col1, yPosition);
-                    contentStream.showText(String.valueOf(count));
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col2, yPosition);
-                    contentStream.showText(fine.getLicensePlate());
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col3, yPosition);
-                    contentStream.showText(fine.getType().toString());
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col4, yPosition);
-                    contentStream.showText(String.format("RM %.2f", fine.getAmount()));
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(col5, yPosition);
-                    contentStream.showText(fine.getIssuedDate().format(DATE_FORMAT));
-                    contentStream.endText();
+                    float[] columns = {0, 110, 190, 270};
+                    pdf.space(1);
+                    pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Occupancy by Floor:");
+                    pdf.startTable(columns, "Floor", "Avg %", "Peak %", "Peak Hour");
+                    for (OccupancyTrend floor : OccupancyHistory.summarize(history.getByFloorAndHour())) {
+                        pdf.row(summaryCells(floor));
+                    }
+                    pdf.endTable();
                     
-                    yPosition -= leading;
+                    pdf.space(1);
+                    pdf.text(PDType1Font.HELVETICA_BOLD, 12, "Occupancy by Spot Type:");
+                    pdf.startTable(columns, "Spot Type", "Avg %", "Peak %", "Peak Hour");
+                    for (OccupancyTrend type : OccupancyHistory.summarize(history.getBySpotTypeAndHour())) {
+                        pdf.row(summaryCells(type));
+                    }
+                    pdf.endTable();
                 }
-                
-                yPosition -= leading;
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(String.format("Total Outstanding Fines: %d", count));
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(String.format("Total Amount: RM %.2f", totalAmount));
-                contentStream.endText();
             }
             
-            contentStream.close();
-            document.save(outputFile);
-        } finally {
-            document.close();
+            pdf.save(out);
         }
     }
     
     /**
      * Exports report to CSV format.
      */
-    private static void exportToCsv(ReportType reportType, ParkingLot parkingLot, 
-                                   List<Fine> fines, File outputFile) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile))) {
-            switch (reportType) {
-                case VEHICLE:
-                    exportVehicleCsv(parkingLot, writer);
-                    break;
-                case REVENUE:
-                    exportRevenueCsv(parkingLot, writer);
-                    break;
-                case OCCUPANCY:
-                    exportOccupancyCsv(parkingLot, writer);
-                    break;
-                case FINE:
-                    exportFineCsv(fines, writer);
-                    break;
-            }
+    private static void exportToCsv(ReportType reportType, ReportSnapshot snapshot,
+                                   OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        switch (reportType) {
+            case VEHICLE:
+                exportVehicleCsv(snapshot, writer);
+                break;
+            case REVENUE:
+                exportRevenueCsv(snapshot, writer);
+                break;
+            case OCCUPANCY:
+                exportOccupancyCsv(snapshot, writer);
+                break;
+            case FINE:
+                exportFineCsv(snapshot.getFines(), writer);
+                break;
+            case REVENUE_ANALYTICS:
+                exportRevenueAnalyticsCsv(snapshot.getRevenueAnalytics(), writer);
+                break;
+            case OCCUPANCY_HISTORY:
+                exportOccupancyHistoryCsv(snapshot.getOccupancyHistory(), writer);
+                break;
         }
+        writer.flush();
     }
     
     /**
      * Generates report content as text.
      */
-    private static String generateReportContent(ReportType reportType, ParkingLot parkingLot, 
-                                               List<Fine> fines) {
+    private static String generateReportContent(ReportType reportType, ReportSnapshot snapshot) {
         switch (reportType) {
             case VEHICLE:
-                return generateVehicleReport(parkingLot);
+                return generateVehicleReport(snapshot);
             case REVENUE:
-                return generateRevenueReport(parkingLot);
+                return generateRevenueReport(snapshot);
             case OCCUPANCY:
-                return generateOccupancyReport(parkingLot);
+                return generateOccupancyReport(snapshot);
             case FINE:
-                return generateFineReport(parkingLot, fines);
+                return generateFineReport(snapshot);
+            case REVENUE_ANALYTICS:
+                return generateRevenueAnalyticsReport(snapshot);
+            case OCCUPANCY_HISTORY:
+                return generateOccupancyHistoryReport(snapshot);
             default:
                 return "";
         }
     }
     
-    private static String generateVehicleReport(ParkingLot parkingLot) {
+    private static String generateVehicleReport(ReportSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("=".repeat(60)).append("\n");
         sb.append("         CURRENT VEHICLES REPORT\n");
-        sb.append("         Generated: ").append(LocalDateTime.now().format(DATE_FORMAT)).append("\n");
+        sb.append("         Generated: ").append(snapshot.getGeneratedAt().format(DATE_FORMAT)).append("\n");
         sb.append("=".repeat(60)).append("\n\n");
 
         int count = 0;
-        for (Floor floor : parkingLot.getFloors()) {
-            for (ParkingSpot spot : floor.getAllSpots()) {
-                if (!spot.isAvailable() && spot.getCurrentVehicle() != null) {
-                    Vehicle vehicle = spot.getCurrentVehicle();
-                    count++;
-                    sb.append(String.format("%-5d %-15s %-12s %-12s %s\n",
-                        count,
-                        vehicle.getLicensePlate(),
-                        vehicle.getType(),
-                        spot.getSpotId(),
-                        vehicle.getEntryTime() != null ? vehicle.getEntryTime().format(DATE_FORMAT) : "N/A"
-                    ));
-                }
-            }
+        for (ReportSnapshot.ParkedVehicle vehicle : snapshot.getParkedVehicles()) {
+            count++;
+            sb.append(String.format("%-5d %-15s %-12s %-12s %s\n",
+                count,
+                vehicle.getLicensePlate(),
+                vehicle.getType(),
+                vehicle.getSpotId(),
+                vehicle.getEntryTime() != null ? vehicle.getEntryTime().format(DATE_FORMAT) : "N/A"
+            ));
         }
 
         if (count == 0) {
@@ -792,22 +513,22 @@ public class ReportExporter {
         return sb.toString();
     }
     
-    private static String generateRevenueReport(ParkingLot parkingLot) {
+    private static String generateRevenueReport(ReportSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("=".repeat(60)).append("\n");
         sb.append("            REVENUE REPORT\n");
-        sb.append("         Generated: ").append(LocalDateTime.now().format(DATE_FORMAT)).append("\n");
+        sb.append("         Generated: ").append(snapshot.getGeneratedAt().format(DATE_FORMAT)).append("\n");
         sb.append("=".repeat(60)).append("\n\n");
 
-        sb.append("Total Revenue Collected: RM ").append(String.format("%.2f", parkingLot.getTotalRevenue())).append("\n\n");
+        Money.appendTo(sb.append("Total Revenue Collected: RM "), snapshot.getTotalRevenueCents()).append("\n\n");
 
         sb.append("Revenue by Floor:\n");
         sb.append("-".repeat(40)).append("\n");
         
-        for (Floor floor : parkingLot.getFloors()) {
-            int occupied = floor.getAllSpots().size() - floor.getAvailableSpots().size();
+        OccupancyMatrix matrix = snapshot.getOccupancy();
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
             sb.append(String.format("Floor %d: %d vehicles currently parked\n",
-                floor.getFloorNumber(), occupied));
+                matrix.getFloorNumber(f), matrix.getFloorOccupied(f)));
         }
 
         sb.append("\n").append("=".repeat(60));
@@ -815,57 +536,81 @@ public class ReportExporter {
         return sb.toString();
     }
     
-    private static String generateOccupancyReport(ParkingLot parkingLot) {
+    private static String generateOccupancyReport(ReportSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("=".repeat(60)).append("\n");
         sb.append("           OCCUPANCY REPORT\n");
-        sb.append("         Generated: ").append(LocalDateTime.now().format(DATE_FORMAT)).append("\n");
+        sb.append("         Generated: ").append(snapshot.getGeneratedAt().format(DATE_FORMAT)).append("\n");
         sb.append("=".repeat(60)).append("\n\n");
 
-        int totalSpots = 0;
-        int totalOccupied = 0;
+        OccupancyMatrix matrix = snapshot.getOccupancy();
 
         sb.append(String.format("%-10s %-12s %-12s %-12s %s\n",
             "Floor", "Total Spots", "Available", "Occupied", "Occupancy %"));
         sb.append("-".repeat(60)).append("\n");
 
-        for (Floor floor : parkingLot.getFloors()) {
-            int total = floor.getAllSpots().size();
-            int available = floor.getAvailableSpots().size();
-            int occupied = total - available;
-            double occupancy = total > 0 ? (occupied * 100.0 / total) : 0;
-
-            totalSpots += total;
-            totalOccupied += occupied;
-
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
+            int total = matrix.getFloorTotal(f);
+            int occupied = matrix.getFloorOccupied(f);
             sb.append(String.format("%-10d %-12d %-12d %-12d %.1f%%\n",
-                floor.getFloorNumber(), total, available, occupied, occupancy));
+                matrix.getFloorNumber(f), total, matrix.getFloorAvailable(f), occupied,
+                OccupancyMatrix.percent(occupied, total)));
         }
 
         sb.append("-".repeat(60)).append("\n");
-        double totalOccupancy = totalSpots > 0 ? (totalOccupied * 100.0 / totalSpots) : 0;
         sb.append(String.format("%-10s %-12d %-12d %-12d %.1f%%\n",
-            "TOTAL", totalSpots, totalSpots - totalOccupied, totalOccupied, totalOccupancy));
+            "TOTAL", matrix.getTotal(), matrix.getAvailable(), matrix.getOccupied(),
+            OccupancyMatrix.percent(matrix.getOccupied(), matrix.getTotal())));
 
         sb.append("\n\nOccupancy by Spot Type:\n");
         sb.append("-".repeat(40)).append("\n");
         
         for (SpotType type : SpotType.values()) {
-            int typeTotal = 0;
-            int typeOccupied = 0;
-            for (Floor floor : parkingLot.getFloors()) {
-                for (ParkingSpot spot : floor.getAllSpots()) {
-                    if (spot.getType() == type) {
-                        typeTotal++;
-                        if (!spot.isAvailable()) {
-                            typeOccupied++;
-                        }
-                    }
+            int typeTotal = matrix.getTypeTotal(type);
+            int typeOccupied = matrix.getTypeOccupied(type);
+            sb.append(String.format("%-15s: %d/%d (%.1f%%)\n",
+                type, typeOccupied, typeTotal, OccupancyMatrix.percent(typeOccupied, typeTotal)));
+        }
+
+        sb.append("\n").append("=".repeat(60));
+
+        return sb.toString();
+    }
+    
+    private static String generateRevenueAnalyticsReport(ReportSnapshot snapshot) {
+        RevenueAnalytics analytics = snapshot.getRevenueAnalytics();
+        StringBuilder sb = new StringBuilder();
+        sb.append("=".repeat(60)).append("\n");
+        sb.append("        REVENUE ANALYTICS REPORT\n");
+        sb.append("         Generated: ").append(snapshot.getGeneratedAt().format(DATE_FORMAT)).append("\n");
+        sb.append("=".repeat(60)).append("\n\n");
+
+        if (analytics == null) {
+            sb.append(ANALYTICS_UNAVAILABLE).append("\n");
+        } else {
+            sb.append("Period: ").append(analytics.getFrom()).append(" to ").append(analytics.getTo()).append("\n");
+            sb.append("Payments: ").append(analytics.getPaymentCount()).append("\n");
+            Money.appendTo(sb.append("Total Revenue: RM "), analytics.getTotalAmountCents()).append("\n");
+
+            for (AnalyticsSection section : AnalyticsSection.values()) {
+                sb.append("\nRevenue by ").append(section.title).append(":\n");
+                sb.append("-".repeat(60)).append("\n");
+                List<RevenueAggregate> rows = section.rows(analytics);
+                if (rows.isEmpty()) {
+                    sb.append("No payments.\n");
+                    continue;
+                }
+                sb.append(String.format("%-14s %-9s %-13s %-11s %s\n",
+                    section.title, "Payments", "Fees (RM)", "Fines (RM)", "Total (RM)"));
+                for (RevenueAggregate row : rows) {
+                    sb.append(String.format("%-14s %-9d %-13s %-11s %s\n",
+                        section.label(row.getKey()),
+                        row.getPaymentCount(),
+                        Money.format(row.getParkingFeesCents()),
+                        Money.format(row.getFineAmountsCents()),
+                        Money.format(row.getTotalAmountCents())));
                 }
             }
-            double typeOccupancy = typeTotal > 0 ? (typeOccupied * 100.0 / typeTotal) : 0;
-            sb.append(String.format("%-15s: %d/%d (%.1f%%)\n",
-                type, typeOccupied, typeTotal, typeOccupancy));
         }
 
         sb.append("\n").append("=".repeat(60));
@@ -873,11 +618,98 @@ public class ReportExporter {
         return sb.toString();
     }
     
-    private static String generateFineReport(ParkingLot parkingLot, List<Fine> fines) {
+    private static String generateOccupancyHistoryReport(ReportSnapshot snapshot) {
+        OccupancyHistory history = snapshot.getOccupancyHistory();
+        StringBuilder sb = new StringBuilder();
+        sb.append("=".repeat(60)).append("\n");
+        sb.append("        OCCUPANCY HISTORY REPORT\n");
+        sb.append("         Generated: ").append(snapshot.getGeneratedAt().format(DATE_FORMAT)).append("\n");
+        sb.append("=".repeat(60)).append("\n\n");
+
+        if (history == null) {
+            sb.append(HISTORY_UNAVAILABLE).append("\n");
+        } else {
+            sb.append("Period: ").append(history.getFrom()).append(" to ").append(history.getTo()).append("\n");
+            sb.append("Samples: ").append(history.getSampleCount()).append("\n");
+            OccupancyTrend peak = history.getPeakHour();
+            if (peak == null) {
+                sb.append(NO_SAMPLES).append("\n");
+            } else {
+                sb.append("Peak Hour: ").append(describePeakHour(peak)).append("\n");
+                sb.append("Busiest Hours: ").append(describeBusiestHours(history)).append("\n");
+
+                sb.append("\nOccupancy by Hour of Day:\n");
+                sb.append("-".repeat(60)).append("\n");
+                sb.append(String.format("%-7s %-8s %-14s %-8s %s\n",
+                    "Hour", "Samples", "Avg Occupied", "Avg %", "Peak %"));
+                for (OccupancyTrend hour : history.getByHour()) {
+                    sb.append(String.format("%-7s %-8d %-14s %-8s %.1f%%\n",
+                        hourLabel(hour.getHour()),
+                        hour.getSampleCount(),
+                        String.format("%.1f / %d", hour.getAverageOccupied(), hour.getTotalSpots()),
+                        String.format("%.1f%%", hour.getAveragePercent()),
+                        hour.getPeakPercent()));
+                }
+
+                appendOccupancySummary(sb, "Floor", OccupancyHistory.summarize(history.getByFloorAndHour()));
+                appendOccupancySummary(sb, "Spot Type", OccupancyHistory.summarize(history.getBySpotTypeAndHour()));
+            }
+        }
+
+        sb.append("\n").append("=".repeat(60));
+
+        return sb.toString();
+    }
+    
+    private static void appendOccupancySummary(StringBuilder sb, String title, List<OccupancyTrend> summary) {
+        sb.append("\nOccupancy by ").append(title).append(":\n");
+        sb.append("-".repeat(60)).append("\n");
+        sb.append(String.format("%-12s %-8s %-8s %s\n", title, "Avg %", "Peak %", "Peak Hour"));
+        for (OccupancyTrend group : summary) {
+            String[] cells = summaryCells(group);
+            sb.append(String.format("%-12s %-8s %-8s %s\n", cells[0], cells[1], cells[2], cells[3]));
+        }
+    }
+    
+    /**
+     * @return key, average %, peak % and peak hour of a row from {@link OccupancyHistory#summarize}
+     */
+    private static String[] summaryCells(OccupancyTrend group) {
+        return new String[]{
+            group.getKey(),
+            String.format("%.1f%%", group.getAveragePercent()),
+            String.format("%.1f%%", group.getPeakPercent()),
+            hourLabel(group.getHour())
+        };
+    }
+    
+    private static String describePeakHour(OccupancyTrend peak) {
+        return String.format("%s-%s (average %.1f%% occupied, highest %.1f%%)",
+            hourLabel(peak.getHour()), hourLabel((peak.getHour() + 1) % 24),
+            peak.getAveragePercent(), peak.getPeakPercent());
+    }
+    
+    private static String describeBusiestHours(OccupancyHistory history) {
+        StringBuilder sb = new StringBuilder();
+        for (OccupancyTrend hour : history.getBusiestHours(BUSIEST_HOURS)) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format("%s (%.1f%%)", hourLabel(hour.getHour()), hour.getAveragePercent()));
+        }
+        return sb.toString();
+    }
+    
+    private static String hourLabel(int hour) {
+        return String.format("%02d:00", hour);
+    }
+    
+    private static String generateFineReport(ReportSnapshot snapshot) {
+        List<Fine> fines = snapshot.getFines();
         StringBuilder sb = new StringBuilder();
         sb.append("=".repeat(60)).append("\n");
         sb.append("             FINE REPORT\n");
-        sb.append("         Generated: ").append(LocalDateTime.now().format(DATE_FORMAT)).append("\n");
+        sb.append("         Generated: ").append(snapshot.getGeneratedAt().format(DATE_FORMAT)).append("\n");
         sb.append("=".repeat(60)).append("\n\n");
 
         sb.append("Outstanding Fines:\n");
@@ -916,81 +748,68 @@ public class ReportExporter {
     
     // CSV Export Methods
     
-    private static void exportVehicleCsv(ParkingLot parkingLot, BufferedWriter writer) throws IOException {
+    private static void exportVehicleCsv(ReportSnapshot snapshot, BufferedWriter writer) throws IOException {
         writer.write("No,License Plate,Vehicle Type,Spot ID,Entry Time\n");
         
         int count = 0;
-        for (Floor floor : parkingLot.getFloors()) {
-            for (ParkingSpot spot : floor.getAllSpots()) {
-                if (!spot.isAvailable() && spot.getCurrentVehicle() != null) {
-                    Vehicle vehicle = spot.getCurrentVehicle();
-                    count++;
-                    writer.write(String.format("%d,%s,%s,%s,%s\n",
-                        count,
-                        vehicle.getLicensePlate(),
-                        vehicle.getType(),
-                        spot.getSpotId(),
-                        vehicle.getEntryTime() != null ? vehicle.getEntryTime().format(DATE_FORMAT) : "N/A"
-                    ));
-                }
-            }
+        for (ReportSnapshot.ParkedVehicle vehicle : snapshot.getParkedVehicles()) {
+            count++;
+            writer.write(String.format("%d,%s,%s,%s,%s\n",
+                count,
+                vehicle.getLicensePlate(),
+                vehicle.getType(),
+                vehicle.getSpotId(),
+                vehicle.getEntryTime() != null ? vehicle.getEntryTime().format(DATE_FORMAT) : "N/A"
+            ));
         }
     }
     
-    private static void exportRevenueCsv(ParkingLot parkingLot, BufferedWriter writer) throws IOException {
+    private static void exportRevenueCsv(ReportSnapshot snapshot, BufferedWriter writer) throws IOException {
         writer.write("Metric,Value\n");
-        writer.write(String.format("Total Revenue,RM %.2f\n", parkingLot.getTotalRevenue()));
+        writer.write("Total Revenue,RM " + Money.format(snapshot.getTotalRevenueCents()) + "\n");
         writer.write("\n");
         writer.write("Floor,Vehicles Parked\n");
         
-        for (Floor floor : parkingLot.getFloors()) {
-            int occupied = floor.getAllSpots().size() - floor.getAvailableSpots().size();
-            writer.write(String.format("%d,%d\n", floor.getFloorNumber(), occupied));
+        OccupancyMatrix matrix = snapshot.getOccupancy();
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
+            writer.write(String.format("%d,%d\n", matrix.getFloorNumber(f), matrix.getFloorOccupied(f)));
         }
     }
     
-    private static void exportOccupancyCsv(ParkingLot parkingLot, BufferedWriter writer) throws IOException {
+    private static void exportOccupancyCsv(ReportSnapshot snapshot, BufferedWriter writer) throws IOException {
+        OccupancyMatrix matrix = snapshot.getOccupancy();
         writer.write("Floor,Total Spots,Available,Occupied,Occupancy %\n");
         
-        int totalSpots = 0;
-        int totalOccupied = 0;
-        
-        for (Floor floor : parkingLot.getFloors()) {
-            int total = floor.getAllSpots().size();
-            int available = floor.getAvailableSpots().size();
-            int occupied = total - available;
-            double occupancy = total > 0 ? (occupied * 100.0 / total) : 0;
-            
-            totalSpots += total;
-            totalOccupied += occupied;
-            
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
+            int total = matrix.getFloorTotal(f);
+            int occupied = matrix.getFloorOccupied(f);
             writer.write(String.format("%d,%d,%d,%d,%.1f%%\n",
-                floor.getFloorNumber(), total, available, occupied, occupancy));
+                matrix.getFloorNumber(f), total, matrix.getFloorAvailable(f), occupied,
+                OccupancyMatrix.percent(occupied, total)));
         }
         
-        double totalOccupancy = totalSpots > 0 ? (totalOccupied * 100.0 / totalSpots) : 0;
         writer.write(String.format("TOTAL,%d,%d,%d,%.1f%%\n",
-            totalSpots, totalSpots - totalOccupied, totalOccupied, totalOccupancy));
+            matrix.getTotal(), matrix.getAvailable(), matrix.getOccupied(),
+            OccupancyMatrix.percent(matrix.getOccupied(), matrix.getTotal())));
         
         writer.write("\n");
         writer.write("Spot Type,Occupied,Total,Occupancy %\n");
         
         for (SpotType type : SpotType.values()) {
-            int typeTotal = 0;
-            int typeOccupied = 0;
-            for (Floor floor : parkingLot.getFloors()) {
-                for (ParkingSpot spot : floor.getAllSpots()) {
-                    if (spot.getType() == type) {
-                        typeTotal++;
-                        if (!spot.isAvailable()) {
-                            typeOccupied++;
-                        }
-                    }
-                }
-            }
-            double typeOccupancy = typeTotal > 0 ? (typeOccupied * 100.0 / typeTotal) : 0;
+            int typeTotal = matrix.getTypeTotal(type);
+            int typeOccupied = matrix.getTypeOccupied(type);
             writer.write(String.format("%s,%d,%d,%.1f%%\n",
-                type, typeOccupied, typeTotal, typeOccupancy));
+                type, typeOccupied, typeTotal, OccupancyMatrix.percent(typeOccupied, typeTotal)));
+        }
+        
+        // Full matrix for spreadsheets: one row per floor and spot type
+        writer.write("\n");
+        writer.write("Floor,Spot Type,Available,Occupied\n");
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
+            for (SpotType type : SpotType.values()) {
+                writer.write(String.format("%d,%s,%d,%d\n", matrix.getFloorNumber(f), type,
+                    matrix.getCount(f, type, SpotStatus.AVAILABLE), matrix.getCount(f, type, SpotStatus.OCCUPIED)));
+            }
         }
     }
     
@@ -1011,4 +830,92 @@ public class ReportExporter {
             }
         }
     }
+    
+    private static void exportRevenueAnalyticsCsv(RevenueAnalytics analytics, BufferedWriter writer) throws IOException {
+        if (analytics == null) {
+            writer.write(ANALYTICS_UNAVAILABLE + "\n");
+            return;
+        }
+        // One long table so spreadsheets can pivot on the breakdown column
+        writer.write("Breakdown,Key,Payments,Parking Fees (RM),Fines (RM),Total (RM)\n");
+        StringBuilder line = new StringBuilder(64);
+        for (AnalyticsSection section : AnalyticsSection.values()) {
+            for (RevenueAggregate row : section.rows(analytics)) {
+                line.setLength(0);
+                line.append(section.title).append(',').append(section.label(row.getKey())).append(',')
+                    .append(row.getPaymentCount()).append(',');
+                Money.appendTo(line, row.getParkingFeesCents()).append(',');
+                Money.appendTo(line, row.getFineAmountsCents()).append(',');
+                Money.appendTo(line, row.getTotalAmountCents()).append('\n');
+                writer.write(line.toString());
+            }
+        }
+    }
+    
+    private static void exportOccupancyHistoryCsv(OccupancyHistory history, BufferedWriter writer) throws IOException {
+        if (history == null) {
+            writer.write(HISTORY_UNAVAILABLE + "\n");
+            return;
+        }
+        // Hourly detail for every group, so spreadsheets can chart any of them
+        writer.write("Group,Key,Hour,Samples,Average Occupied,Peak Occupied,Total Spots,Average %,Peak %\n");
+        writeOccupancyTrends("Lot", history.getByHour(), writer);
+        writeOccupancyTrends("Floor", history.getByFloorAndHour(), writer);
+        writeOccupancyTrends("Spot Type", history.getBySpotTypeAndHour(), writer);
+    }
+    
+    private static void writeOccupancyTrends(String group, List<OccupancyTrend> trends,
+                                             BufferedWriter writer) throws IOException {
+        for (OccupancyTrend trend : trends) {
+            writer.write(String.format("%s,%s,%s,%d,%.2f,%d,%d,%.1f,%.1f\n",
+                group, trend.getKey(), hourLabel(trend.getHour()), trend.getSampleCount(),
+                trend.getAverageOccupied(), trend.getPeakOccupied(), trend.getTotalSpots(),
+                trend.getAveragePercent(), trend.getPeakPercent()));
+        }
+    }
+    
+    /**
+     * The breakdowns of the revenue analytics report, in the order they are printed.
+     */
+    private enum AnalyticsSection {
+        HOUR("Hour"),
+        DAY("Day"),
+        WEEK("Week"),
+        PAYMENT_METHOD("Payment Method"),
+        SPOT_TYPE("Spot Type"),
+        FLOOR("Floor");
+        
+        private final String title;
+        
+        AnalyticsSection(String title) {
+            this.title = title;
+        }
+        
+        List<RevenueAggregate> rows(RevenueAnalytics analytics) {
+            switch (this) {
+                case HOUR:
+                    return analytics.getByHour();
+                case DAY:
+                    return analytics.getByDay();
+                case WEEK:
+                    return analytics.getByWeek();
+                case PAYMENT_METHOD:
+                    return analytics.getByPaymentMethod();
+                case SPOT_TYPE:
+                    return analytics.getBySpotType();
+                default:
+                    return analytics.getByFloor();
+            }
+        }
+        
+        String label(String key) {
+            if (this == HOUR) {
+                return key + ":00";
+            }
+            if (this == FLOOR && "0".equals(key)) {
+                return "Unknown";
+            }
+            return key;
+        }
+    }
 }
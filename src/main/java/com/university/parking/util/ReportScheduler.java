@@ -0,0 +1,272 @@
+package com.university.parking.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.university.parking.dao.AggregateDAO;
+import com.university.parking.dao.DatabaseManager;
+import com.university.parking.dao.FineDAO;
+import com.university.parking.dao.OccupancySampleDAO;
+import com.university.parking.model.Fine;
+import com.university.parking.model.OccupancyHistory;
+import com.university.parking.model.ParkingLot;
+import com.university.parking.model.RevenueAnalytics;
+
+/**
+ * Writes a set of reports into a zip archive at fixed times of the day, e.g. nightly
+ * and at each shift change, without anyone clicking export.
+ *
+ * Runs on one minimum-priority daemon thread, and renders through a background
+ * {@link BatchReportExporter} so a run never competes with the terminal for the CPU.
+ * Archives are named Scheduled_Reports_yyyyMMdd_HHmmss.zip; after each run only the
+ * newest {@link #getKeep()} are kept. Runs missed while the application was closed
+ * are not made up.
+ *
+ * Configured with system properties, see {@link #fromSystemProperties}.
+ */
+public class ReportScheduler {
+    public static final String DEFAULT_TIMES = "07:00,15:00,23:00";
+    public static final String DEFAULT_DIRECTORY = "reports";
+    public static final int DEFAULT_KEEP = 90;
+    static final String NAME_PREFIX = "Scheduled_Reports_";
+
+    private final ParkingLot parkingLot;
+    private final DatabaseManager dbManager;
+    private final List<LocalTime> times;
+    private final List<ReportExporter.ReportType> types;
+    private final List<ReportExporter.ExportFormat> formats;
+    private final File directory;
+    private final int keep;
+
+    /**
+     * @param parkingLot the parking lot to report on
+     * @param dbManager the database manager, or null to write only the in-memory reports' data
+     * @param times times of the day to run at
+     * @param types the report types to write
+     * @param formats the formats to write each type in
+     * @param directory directory for the archives, created if missing
+     * @param keep number of archives to keep
+     */
+    public ReportScheduler(ParkingLot parkingLot, DatabaseManager dbManager, Collection<LocalTime> times,
+                           Collection<ReportExporter.ReportType> types,
+                           Collection<ReportExporter.ExportFormat> formats, File directory, int keep) {
+        if (times.isEmpty() || types.isEmpty() || formats.isEmpty()) {
+            throw new IllegalArgumentException("Scheduled reports need a time, a report type and a format");
+        }
+        if (keep <= 0) {
+            throw new IllegalArgumentException("Scheduled reports must keep at least one archive");
+        }
+        this.parkingLot = parkingLot;
+        this.dbManager = dbManager;
+        this.times = new ArrayList<>(new TreeSet<>(times));
+        this.types = new ArrayList<>(types);
+        this.formats = new ArrayList<>(formats);
+        this.directory = directory;
+        this.keep = keep;
+    }
+
+    /**
+     * Creates a scheduler from system properties:
+     * parking.reports.times (comma-separated HH:mm, default {@value #DEFAULT_TIMES}, empty disables),
+     * parking.reports.types (report type names, default all),
+     * parking.reports.formats (format names, default PDF,CSV),
+     * parking.reports.dir (default {@value #DEFAULT_DIRECTORY}) and
+     * parking.reports.keep (archives kept, default {@value #DEFAULT_KEEP}).
+     * @return the scheduler, or null if disabled
+     * @throws IllegalArgumentException if a property cannot be parsed
+     */
+    public static ReportScheduler fromSystemProperties(ParkingLot parkingLot, DatabaseManager dbManager) {
+        String times = System.getProperty("parking.reports.times", DEFAULT_TIMES).trim();
+        if (times.isEmpty()) {
+            return null;
+        }
+        String types = System.getProperty("parking.reports.types", "");
+        String formats = System.getProperty("parking.reports.formats", "PDF,CSV");
+        return new ReportScheduler(parkingLot, dbManager,
+            parseTimes(times),
+            types.trim().isEmpty() ? Arrays.asList(ReportExporter.ReportType.values())
+                                   : parseNames(ReportExporter.ReportType.class, types),
+            parseNames(ReportExporter.ExportFormat.class, formats),
+            new File(System.getProperty("parking.reports.dir", DEFAULT_DIRECTORY)),
+            Integer.getInteger("parking.reports.keep", DEFAULT_KEEP));
+    }
+
+    public List<LocalTime> getTimes() {
+        return Collections.unmodifiableList(times);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public int getKeep() {
+        return keep;
+    }
+
+    /**
+     * Schedules the runs on a daemon thread.
+     * @return the scheduler, to be shut down with the application
+     */
+    public ScheduledExecutorService start() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "report-scheduler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduleNext(scheduler);
+        return scheduler;
+    }
+
+    /**
+     * Loads the report data, writes the archive and removes the oldest archives.
+     * @return the archive written
+     */
+    public File runNow() throws IOException, InterruptedException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create folder " + directory.getAbsolutePath());
+        }
+        BatchReportExporter exporter = new BatchReportExporter(loadSnapshot(), types, formats, directory, true);
+        exporter.setNamePrefix(NAME_PREFIX);
+        exporter.setBackground(true);
+        File archive;
+        try {
+            archive = exporter.start(null).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Scheduled report export failed", cause);
+        }
+        rotate();
+        return archive;
+    }
+
+    /**
+     * Deletes all but the newest {@link #getKeep()} archives, and partial archives left
+     * by a run that was interrupted. Archive names sort by time.
+     */
+    void rotate() {
+        File[] partial = directory.listFiles((dir, name) -> name.startsWith(NAME_PREFIX) && name.endsWith(".zip.part"));
+        File[] archives = directory.listFiles((dir, name) -> name.startsWith(NAME_PREFIX) && name.endsWith(".zip"));
+        if (partial != null) {
+            for (File file : partial) {
+                file.delete();
+            }
+        }
+        if (archives == null || archives.length <= keep) {
+            return;
+        }
+        Arrays.sort(archives);
+        for (int i = 0; i < archives.length - keep; i++) {
+            if (!archives[i].delete()) {
+                System.err.println("Warning: Could not delete old report archive " + archives[i].getName());
+            }
+        }
+    }
+
+    /**
+     * Next run time strictly after now.
+     */
+    LocalDateTime nextRun(LocalDateTime now) {
+        for (LocalTime time : times) {
+            if (time.isAfter(now.toLocalTime())) {
+                return now.toLocalDate().atTime(time);
+            }
+        }
+        return now.toLocalDate().plusDays(1).atTime(times.get(0));
+    }
+
+    /**
+     * One-shot schedules, recomputed after every run, follow clock and daylight
+     * saving changes that a fixed rate would drift away from.
+     */
+    private void scheduleNext(ScheduledExecutorService scheduler) {
+        long delay = Duration.between(LocalDateTime.now(), nextRun(LocalDateTime.now())).toMillis();
+        scheduler.schedule(() -> {
+            try {
+                File archive = runNow();
+                System.out.println("Scheduled reports written to " + archive.getAbsolutePath());
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: Scheduled report export failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!scheduler.isShutdown()) {
+                scheduleNext(scheduler);
+            }
+        }, Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads the database-backed report data that the configured types need. Data that
+     * cannot be loaded is left out and its report says so, rather than failing the run.
+     */
+    private ReportSnapshot loadSnapshot() {
+        List<Fine> fines = null;
+        RevenueAnalytics analytics = null;
+        OccupancyHistory history = null;
+        if (dbManager != null) {
+            LocalDate today = LocalDate.now();
+            try {
+                if (types.contains(ReportExporter.ReportType.FINE)) {
+                    fines = new FineDAO(dbManager).findAllUnpaid();
+                }
+                if (types.contains(ReportExporter.ReportType.REVENUE_ANALYTICS)) {
+                    analytics = new AggregateDAO(dbManager).findRevenueAnalytics(
+                        today.minusDays(RevenueAnalytics.DEFAULT_DAYS - 1), today);
+                }
+                if (types.contains(ReportExporter.ReportType.OCCUPANCY_HISTORY)) {
+                    history = new OccupancySampleDAO(dbManager).findHistory(
+                        today.minusDays(OccupancyHistory.DEFAULT_DAYS - 1), today);
+                }
+            } catch (SQLException e) {
+                System.err.println("Warning: Scheduled reports written without database data: " + e.getMessage());
+            }
+        }
+        // Captured under the model lock, so entries and exits on other threads are seen whole
+        return ReportSnapshot.of(parkingLot, fines, analytics, history);
+    }
+
+    static List<LocalTime> parseTimes(String times) {
+        List<LocalTime> parsed = new ArrayList<>();
+        for (String time : times.split(",")) {
+            try {
+                parsed.add(LocalTime.parse(time.trim()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid report time '" + time.trim() + "', expected HH:mm");
+            }
+        }
+        return parsed;
+    }
+
+    static <E extends Enum<E>> List<E> parseNames(Class<E> type, String names) {
+        List<E> parsed = new ArrayList<>();
+        for (String name : names.split(",")) {
+            try {
+                parsed.add(Enum.valueOf(type, name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " '" + name.trim() + "'");
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,175 @@
+package com.university.parking.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.university.parking.model.Fine;
+import com.university.parking.model.Floor;
+import com.university.parking.model.OccupancyHistory;
+import com.university.parking.model.OccupancyMatrix;
+import com.university.parking.model.ParkingLot;
+import com.university.parking.model.ParkingSpot;
+import com.university.parking.model.RevenueAnalytics;
+import com.university.parking.model.Vehicle;
+import com.university.parking.model.VehicleType;
+
+/**
+ * The data behind the parking lot reports, captured at one instant.
+ *
+ * The parking lot keeps changing while reports are written, so {@link ReportExporter}
+ * renders from a snapshot instead of the live lot. Several reports exported together
+ * share one snapshot and therefore agree with each other. It is captured under the
+ * parking lot's model lock, so it can be taken on any thread while entries and exits
+ * run; it is immutable afterwards and safe to read from any thread.
+ */
+public final class ReportSnapshot {
+    private final LocalDateTime generatedAt;
+    private final long totalRevenueCents;
+    private final OccupancyMatrix occupancy;
+    private final List<ParkedVehicle> parkedVehicles;
+    private final List<Fine> fines;
+    private final RevenueAnalytics revenueAnalytics;
+    private final OccupancyHistory occupancyHistory;
+
+    private ReportSnapshot(LocalDateTime generatedAt, long totalRevenueCents, OccupancyMatrix occupancy,
+                           List<ParkedVehicle> parkedVehicles, List<Fine> fines,
+                           RevenueAnalytics revenueAnalytics, OccupancyHistory occupancyHistory) {
+        this.generatedAt = generatedAt;
+        this.totalRevenueCents = totalRevenueCents;
+        this.occupancy = occupancy;
+        this.parkedVehicles = parkedVehicles;
+        this.fines = fines;
+        this.revenueAnalytics = revenueAnalytics;
+        this.occupancyHistory = occupancyHistory;
+    }
+
+    /**
+     * Captures the parking lot and the fines shown in the fine report.
+     * @param parkingLot the parking lot
+     * @param fines the outstanding fines, or null if none were loaded
+     * @return the snapshot
+     */
+    public static ReportSnapshot of(ParkingLot parkingLot, List<Fine> fines) {
+        return of(parkingLot, fines, null);
+    }
+
+    /**
+     * Captures the parking lot, the fines and the revenue analytics loaded from the database.
+     * @param parkingLot the parking lot
+     * @param fines the outstanding fines, or null if none were loaded
+     * @param revenueAnalytics the revenue breakdowns, or null if not loaded
+     * @return the snapshot
+     */
+    public static ReportSnapshot of(ParkingLot parkingLot, List<Fine> fines, RevenueAnalytics revenueAnalytics) {
+        return of(parkingLot, fines, revenueAnalytics, null);
+    }
+
+    /**
+     * Captures the parking lot along with the fines and history loaded from the database.
+     * @param parkingLot the parking lot
+     * @param fines the outstanding fines, or null if none were loaded
+     * @param revenueAnalytics the revenue breakdowns, or null if not loaded
+     * @param occupancyHistory the sampled occupancy by hour, or null if not loaded
+     * @return the snapshot
+     */
+    public static ReportSnapshot of(ParkingLot parkingLot, List<Fine> fines, RevenueAnalytics revenueAnalytics,
+                                    OccupancyHistory occupancyHistory) {
+        synchronized (parkingLot.getModelLock()) {
+            List<ParkedVehicle> parked = new ArrayList<>();
+            for (Floor floor : parkingLot.getFloors()) {
+                for (List<ParkingSpot> row : floor.getRows()) {
+                    for (ParkingSpot spot : row) {
+                        Vehicle vehicle = spot.getCurrentVehicle();
+                        if (!spot.isAvailable() && vehicle != null) {
+                            parked.add(new ParkedVehicle(vehicle.getLicensePlate(), vehicle.getType(),
+                                spot.getSpotId(), vehicle.getEntryTime()));
+                        }
+                    }
+                }
+            }
+            return new ReportSnapshot(
+                LocalDateTime.now(),
+                parkingLot.getTotalRevenueCents(),
+                OccupancyMatrix.of(parkingLot),
+                Collections.unmodifiableList(parked),
+                fines != null ? Collections.unmodifiableList(new ArrayList<>(fines)) : Collections.emptyList(),
+                revenueAnalytics,
+                occupancyHistory);
+        }
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public long getTotalRevenueCents() {
+        return totalRevenueCents;
+    }
+
+    public OccupancyMatrix getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * @return the parked vehicles in floor, row and spot order
+     */
+    public List<ParkedVehicle> getParkedVehicles() {
+        return parkedVehicles;
+    }
+
+    public List<Fine> getFines() {
+        return fines;
+    }
+
+    /**
+     * @return the revenue breakdowns, or null if they were not loaded
+     */
+    public RevenueAnalytics getRevenueAnalytics() {
+        return revenueAnalytics;
+    }
+
+    /**
+     * @return the sampled occupancy by hour, or null if it was not loaded
+     */
+    public OccupancyHistory getOccupancyHistory() {
+        return occupancyHistory;
+    }
+
+    /**
+     * A vehicle parked at the time of the snapshot.
+     */
+    public static final class ParkedVehicle {
+        private final String licensePlate;
+        private final VehicleType type;
+        private final String spotId;
+        private final LocalDateTime entryTime;
+
+        ParkedVehicle(String licensePlate, VehicleType type, String spotId, LocalDateTime entryTime) {
+            this.licensePlate = licensePlate;
+            this.type = type;
+            this.spotId = spotId;
+            this.entryTime = entryTime;
+        }
+
+        public String getLicensePlate() {
+            return licensePlate;
+        }
+
+        public VehicleType getType() {
+            return type;
+        }
+
+        public String getSpotId() {
+            return spotId;
+        }
+
+        /**
+         * @return the entry time, or null if unknown
+         */
+        public LocalDateTime getEntryTime() {
+            return entryTime;
+        }
+    }
+}
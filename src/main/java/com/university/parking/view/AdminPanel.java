@@ -5,7 +5,6 @@ import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.sql.SQLException;
-import java.util.List;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -30,6 +29,7 @@ import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.ProgressiveFineStrategy;
 import com.university.parking.model.Vehicle;
+import com.university.parking.util.IoExecutor;
 
 /**
  * Admin panel for system oversight and management.
@@ -51,6 +51,9 @@ public class AdminPanel extends BasePanel {
     private final FineDAO fineDAO;
     private final VehicleDAO vehicleDAO;
     private final ParkingLotDAO parkingLotDAO;
+    // Refresh counters, touched only on the EDT, so a slow load cannot overwrite a newer one
+    private int vehicleRefreshCount;
+    private int fineRefreshCount;
 
     public AdminPanel(ParkingLot parkingLot) {
         this(parkingLot, null, null);
@@ -285,12 +288,14 @@ public class AdminPanel extends BasePanel {
     }
 
     private void refreshVehicleTable() {
-        vehicleTableModel.setRowCount(0);
-        
-        // If database is available, load vehicles directly from database
+        // If database is available, load vehicles from the database off the EDT
         if (vehicleDAO != null) {
-            try {
-                List<Vehicle> currentlyParked = vehicleDAO.findCurrentlyParked();
+            int refresh = ++vehicleRefreshCount;
+            IoExecutor.onEdt(IoExecutor.supply(vehicleDAO::findCurrentlyParked), currentlyParked -> {
+                if (refresh != vehicleRefreshCount) {
+                    return; // A newer refresh is in flight
+                }
+                vehicleTableModel.setRowCount(0);
                 for (Vehicle vehicle : currentlyParked) {
                     vehicleTableModel.addRow(new Object[]{
                         vehicle.getLicensePlate(),
@@ -299,14 +304,23 @@ public class AdminPanel extends BasePanel {
                         vehicle.getEntryTime()
                     });
                 }
-                return; // Successfully loaded from database
-            } catch (SQLException e) {
-                System.err.println("Error loading vehicles from database: " + e.getMessage());
-                // Fall through to load from in-memory parking lot
-            }
+            }, error -> {
+                System.err.println("Error loading vehicles from database: " + error.getMessage());
+                if (refresh == vehicleRefreshCount) {
+                    loadVehiclesFromParkingLot();
+                }
+            });
+            return;
         }
         
-        // Fallback: Load from in-memory parking lot
+        loadVehiclesFromParkingLot();
+    }
+
+    /**
+     * Fallback: Load currently parked vehicles from the in-memory parking lot.
+     */
+    private void loadVehiclesFromParkingLot() {
+        vehicleTableModel.setRowCount(0);
         for (Floor floor : parkingLot.getFloors()) {
             for (ParkingSpot spot : floor.getAllSpots()) {
                 if (!spot.isAvailable() && spot.getCurrentVehicle() != null) {
@@ -323,14 +337,17 @@ public class AdminPanel extends BasePanel {
     }
 
     private void refreshFineTable() {
-        fineTableModel.setRowCount(0);
-        
         if (fineDAO == null) {
+            fineTableModel.setRowCount(0);
             return; // Database not available
         }
         
-        try {
-            List<Fine> unpaidFines = fineDAO.findAllUnpaid();
+        int refresh = ++fineRefreshCount;
+        IoExecutor.onEdt(IoExecutor.supply(fineDAO::findAllUnpaid), unpaidFines -> {
+            if (refresh != fineRefreshCount) {
+                return; // A newer refresh is in flight
+            }
+            fineTableModel.setRowCount(0);
             for (Fine fine : unpaidFines) {
                 fineTableModel.addRow(new Object[]{
                     fine.getLicensePlate(),
@@ -339,10 +356,10 @@ public class AdminPanel extends BasePanel {
                     fine.getIssuedDate()
                 });
             }
-        } catch (Exception e) {
+        }, error -> {
             // Log error but don't crash the UI
-            System.err.println("Error loading unpaid fines: " + e.getMessage());
-        }
+            System.err.println("Error loading unpaid fines: " + error.getMessage());
+        });
     }
 
     // Getters for testing
@@ -301,9 +301,16 @@ public class ModernEntryPanel extends BasePanel {
             // Refresh available spots
             refreshAvailableSpots();
 
-            StyledDialog.showSuccess(this, "Vehicle entry processed successfully!");
+            if (result.wasReassigned()) {
+                StyledDialog.showSuccess(this, "Spot " + result.getReassignedFrom() + " was taken at another terminal. "
+                    + "Vehicle parked in spot " + result.getSpot().getSpotId() + " instead.");
+            } else {
+                StyledDialog.showSuccess(this, "Vehicle entry processed successfully!");
+            }
         } catch (IllegalArgumentException e) {
             StyledDialog.showError(this, e.getMessage());
+            // The spot may have been taken at another terminal
+            refreshAvailableSpots();
         }
     }
 
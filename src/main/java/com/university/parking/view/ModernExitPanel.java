@@ -7,7 +7,7 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.util.List;
+import java.util.function.Consumer;
 
 import javax.swing.BorderFactory;
 import javax.swing.JLabel;
@@ -21,9 +21,9 @@ import javax.swing.SwingConstants;
 import com.university.parking.controller.VehicleExitController;
 import com.university.parking.dao.DatabaseManager;
 import com.university.parking.dao.FineDAO;
-import com.university.parking.model.Fine;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.PaymentMethod;
+import com.university.parking.util.IoExecutor;
 
 /**
  * Modern styled panel for processing vehicle exits.
@@ -299,12 +299,12 @@ public class ModernExitPanel extends BasePanel {
 
         String licensePlate = licensePlateField.getText().trim().toUpperCase();
 
-        try {
-            // Get unpaid fines for this license plate from database
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            
-            // Generate payment summary
-            currentSummary = exitController.generatePaymentSummary(licensePlate, unpaidFines);
+        // Fine lookup and overstay fine generation hit the database, so run them off the EDT
+        lookupButton.setEnabled(false);
+        processPaymentButton.setEnabled(false);
+        IoExecutor.onEdt(exitController.generatePaymentSummaryAsync(licensePlate), summary -> {
+            lookupButton.setEnabled(true);
+            currentSummary = summary;
             
             // Display summary
             summaryArea.setText(currentSummary.getDisplayText());
@@ -327,16 +327,16 @@ public class ModernExitPanel extends BasePanel {
             
             // Enable payment button
             processPaymentButton.setEnabled(true);
-            
-        } catch (IllegalArgumentException e) {
-            StyledDialog.showError(this, e.getMessage());
-            currentSummary = null;
-            processPaymentButton.setEnabled(false);
-        } catch (Exception e) {
-            StyledDialog.showError(this, "Error looking up vehicle: " + e.getMessage());
+        }, error -> {
+            lookupButton.setEnabled(true);
+            if (error instanceof IllegalArgumentException) {
+                StyledDialog.showError(this, error.getMessage());
+            } else {
+                StyledDialog.showError(this, "Error looking up vehicle: " + error.getMessage());
+            }
             currentSummary = null;
             processPaymentButton.setEnabled(false);
-        }
+        });
     }
 
     private void processPayment() {
@@ -395,12 +395,7 @@ public class ModernExitPanel extends BasePanel {
             return;
         }
 
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, amountPaid, paymentMethod, unpaidFines
-            );
-
+        submitExit(licensePlate, amountPaid, paymentMethod, "Error processing payment: ", result -> {
             // Display receipt
             receiptArea.setText(result.getReceipt().generateReceiptText());
 
@@ -416,24 +411,14 @@ public class ModernExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
-
-        } catch (IllegalArgumentException e) {
-            StyledDialog.showError(this, e.getMessage());
-        } catch (Exception e) {
-            StyledDialog.showError(this, "Error processing payment: " + e.getMessage());
-        }
+        });
     }
     
     /**
      * Handles grace period exit with CARD payment (no cash needed).
      */
     private void processGracePeriodExit(String licensePlate, double amountPaid, PaymentMethod paymentMethod) {
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, amountPaid, paymentMethod, unpaidFines
-            );
-
+        submitExit(licensePlate, amountPaid, paymentMethod, "Error processing exit: ", result -> {
             // Display receipt
             receiptArea.setText(result.getReceipt().generateReceiptText());
 
@@ -441,10 +426,7 @@ public class ModernExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
-
-        } catch (Exception e) {
-            StyledDialog.showError(this, "Error processing exit: " + e.getMessage());
-        }
+        });
     }
     
     /**
@@ -469,21 +451,9 @@ public class ModernExitPanel extends BasePanel {
         }
         
         // Extract amount from selection
-        double cashInserted = 0.0;
-        switch (selectedCash) {
-            case "RM 1": cashInserted = 1.0; break;
-            case "RM 5": cashInserted = 5.0; break;
-            case "RM 10": cashInserted = 10.0; break;
-            case "RM 50": cashInserted = 50.0; break;
-            case "RM 100": cashInserted = 100.0; break;
-        }
+        double cashInserted = cashAmount(selectedCash);
         
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, 0.0, PaymentMethod.CASH, unpaidFines
-            );
-
+        submitExit(licensePlate, 0.0, PaymentMethod.CASH, "Error processing exit: ", result -> {
             // Get receipt text with refund notice
             String receiptText = result.getReceipt().generateReceiptText();
             receiptText += "\n========================================\n";
@@ -503,10 +473,7 @@ public class ModernExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
-
-        } catch (Exception e) {
-            StyledDialog.showError(this, "Error processing exit: " + e.getMessage());
-        }
+        });
     }
     
     /**
@@ -531,21 +498,9 @@ public class ModernExitPanel extends BasePanel {
         }
         
         // Extract amount from selection
-        double cashInserted = 0.0;
-        switch (selectedCash) {
-            case "RM 1": cashInserted = 1.0; break;
-            case "RM 5": cashInserted = 5.0; break;
-            case "RM 10": cashInserted = 10.0; break;
-            case "RM 50": cashInserted = 50.0; break;
-            case "RM 100": cashInserted = 100.0; break;
-        }
+        double cashInserted = cashAmount(selectedCash);
         
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, 0.0, PaymentMethod.CASH, unpaidFines
-            );
-
+        submitExit(licensePlate, 0.0, PaymentMethod.CASH, "Error processing exit: ", result -> {
             // Get receipt text with refund notice
             String receiptText = result.getReceipt().generateReceiptText();
             receiptText += "\n========================================\n";
@@ -565,9 +520,43 @@ public class ModernExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
+        });
+    }
 
-        } catch (Exception e) {
-            StyledDialog.showError(this, "Error processing exit: " + e.getMessage());
+    /**
+     * Processes the exit on the I/O executor and hands the result back to the EDT.
+     * Lookup and payment stay disabled until the exit completes.
+     */
+    private void submitExit(String licensePlate, double amountPaid, PaymentMethod paymentMethod,
+                            String errorPrefix, Consumer<VehicleExitController.ExitResult> onExit) {
+        lookupButton.setEnabled(false);
+        processPaymentButton.setEnabled(false);
+        IoExecutor.onEdt(exitController.processExitAsync(licensePlate, amountPaid, paymentMethod), result -> {
+            lookupButton.setEnabled(true);
+            processPaymentButton.setEnabled(true);
+            onExit.accept(result);
+        }, error -> {
+            lookupButton.setEnabled(true);
+            processPaymentButton.setEnabled(currentSummary != null);
+            if (error instanceof IllegalArgumentException) {
+                StyledDialog.showError(this, error.getMessage());
+            } else {
+                StyledDialog.showError(this, errorPrefix + error.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Converts a cash denomination option such as "RM 10" to its amount.
+     */
+    private static double cashAmount(String selectedCash) {
+        switch (selectedCash) {
+            case "RM 1": return 1.0;
+            case "RM 5": return 5.0;
+            case "RM 10": return 10.0;
+            case "RM 50": return 50.0;
+            case "RM 100": return 100.0;
+            default: return 0.0;
         }
     }
 
@@ -3,12 +3,15 @@ package com.university.parking.view;
 import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingConstants;
 import javax.swing.UIManager;
 
 import com.university.parking.dao.DatabaseManager;
@@ -36,18 +39,19 @@ public class ModernMainFrame extends JFrame {
     private JPanel contentPanel;
     private CardLayout cardLayout;
     private StatusBarPanel statusBarPanel;
+    private String currentCard = CARD_DASHBOARD;
     
     // Content panels
     private AdminPanel adminPanel;
     private VehicleEntryPanel entryPanel;
     private VehicleExitPanel exitPanel;
-    private ReportingPanel reportingPanel;
+    private ModernReportingPanel reportingPanel;
     private ReservationPanel reservationPanel;
     
-    // Data
-    private final ParkingLot parkingLot;
-    private final DatabaseManager dbManager;
-    private final FineDAO fineDAO;
+    // Data, set when the parking lot is bound
+    private ParkingLot parkingLot;
+    private DatabaseManager dbManager;
+    private FineDAO fineDAO;
     
     // Card names for CardLayout
     public static final String CARD_DASHBOARD = SideNavigationPanel.NAV_DASHBOARD;
@@ -55,7 +59,22 @@ public class ModernMainFrame extends JFrame {
     public static final String CARD_EXIT = SideNavigationPanel.NAV_EXIT;
     public static final String CARD_REPORTS = SideNavigationPanel.NAV_REPORTS;
     public static final String CARD_RESERVATIONS = "Reservations";
+    private static final String CARD_LOADING = "Loading";
     
+    /**
+     * Creates the frame without a parking lot, showing a loading message.
+     * Lets the frame be built and shown while the database is still initializing;
+     * call {@link #bind(ParkingLot, DatabaseManager, FineDAO)} once the lot is loaded.
+     */
+    public ModernMainFrame() {
+        initializeLookAndFeel();
+        initializeComponents();
+        setupLayout();
+        setupFrame();
+        setupResponsiveBehavior();
+        showPanel(CARD_LOADING);
+    }
+
     /**
      * Creates a new ModernMainFrame with the specified parking lot.
      * 
@@ -73,22 +92,42 @@ public class ModernMainFrame extends JFrame {
      * @param fineDAO the fine data access object
      */
     public ModernMainFrame(ParkingLot parkingLot, DatabaseManager dbManager, FineDAO fineDAO) {
+        this();
+        bind(parkingLot, dbManager, fineDAO);
+    }
+
+    /**
+     * Creates the content panels and status bar for the loaded parking lot and shows the dashboard.
+     * Must be called once, on the Event Dispatch Thread.
+     * 
+     * @param parkingLot the parking lot to manage
+     * @param dbManager the database manager
+     * @param fineDAO the fine data access object
+     */
+    public void bind(ParkingLot parkingLot, DatabaseManager dbManager, FineDAO fineDAO) {
+        if (this.parkingLot != null) {
+            throw new IllegalStateException("A parking lot is already bound");
+        }
         this.parkingLot = parkingLot;
         this.dbManager = dbManager;
         this.fineDAO = fineDAO;
-        
-        initializeLookAndFeel();
-        initializeComponents();
-        setupLayout();
-        setupFrame();
+
+        initializeContentPanels();
+        add(statusBarPanel, BorderLayout.SOUTH);
         wireNavigation();
-        setupResponsiveBehavior();
+        revalidate();
+        repaint();
     }
 
     /**
      * Initializes the look and feel to system default.
+     * Skipped if {@link #prepareLookAndFeel()} already installed it.
      */
     private void initializeLookAndFeel() {
+        if (UIManager.getLookAndFeel() != null
+                && UIManager.getLookAndFeel().getClass().getName().equals(UIManager.getSystemLookAndFeelClassName())) {
+            return;
+        }
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
@@ -96,9 +135,27 @@ public class ModernMainFrame extends JFrame {
             System.err.println("Could not set system look and feel: " + e.getMessage());
         }
     }
+
+    /**
+     * Installs the look and feel and loads the theme fonts ahead of frame construction.
+     * Called on the Event Dispatch Thread while the database is still initializing,
+     * so this work is off the critical path to the first screen.
+     */
+    public static void prepareLookAndFeel() {
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception e) {
+            System.err.println("Could not set system look and feel: " + e.getMessage());
+        }
+        JLabel label = new JLabel();
+        for (Font font : new Font[] { ThemeManager.FONT_TITLE, ThemeManager.FONT_HEADER,
+                ThemeManager.FONT_SUBHEADER, ThemeManager.FONT_BODY, ThemeManager.FONT_SMALL }) {
+            label.getFontMetrics(font);
+        }
+    }
     
     /**
-     * Initializes all GUI components.
+     * Initializes the components that do not need the parking lot.
      */
     private void initializeComponents() {
         // Create header panel
@@ -112,11 +169,21 @@ public class ModernMainFrame extends JFrame {
         contentPanel = new JPanel(cardLayout);
         contentPanel.setBackground(ThemeManager.BG_LIGHT);
         
+        // Shown until the parking lot is bound
+        JLabel loadingLabel = new JLabel("Loading parking lot...", SwingConstants.CENTER);
+        loadingLabel.setFont(ThemeManager.FONT_HEADER);
+        contentPanel.add(loadingLabel, CARD_LOADING);
+    }
+
+    /**
+     * Initializes the content panels and status bar for the bound parking lot.
+     */
+    private void initializeContentPanels() {
         // Create content panels
         adminPanel = new AdminPanel(parkingLot, dbManager, fineDAO);
         entryPanel = new VehicleEntryPanel(parkingLot, dbManager, fineDAO);
         exitPanel = new VehicleExitPanel(parkingLot, dbManager, fineDAO);
-        reportingPanel = new ReportingPanel(parkingLot, dbManager, fineDAO);
+        reportingPanel = new ModernReportingPanel(parkingLot, dbManager, fineDAO);
         reservationPanel = new ReservationPanel(parkingLot, dbManager);
         
         // Add panels to card layout
@@ -146,8 +213,7 @@ public class ModernMainFrame extends JFrame {
         // Add content panel to CENTER
         add(contentPanel, BorderLayout.CENTER);
         
-        // Add status bar to SOUTH
-        add(statusBarPanel, BorderLayout.SOUTH);
+        // The status bar is added to SOUTH when the parking lot is bound
     }
     
     /**
@@ -187,6 +253,9 @@ public class ModernMainFrame extends JFrame {
      * @param e the action event from the navigation button
      */
     private void handleNavigation(ActionEvent e) {
+        if (parkingLot == null) {
+            return; // Still loading
+        }
         String command = e.getActionCommand();
         showPanel(command);
         
@@ -202,6 +271,7 @@ public class ModernMainFrame extends JFrame {
     public void showPanel(String panelName) {
         cardLayout.show(contentPanel, panelName);
         sideNavPanel.setActiveButton(panelName);
+        currentCard = panelName;
     }
     
     /**
@@ -257,6 +327,14 @@ public class ModernMainFrame extends JFrame {
         repaint();
     }
     
+    /**
+     * Refreshes the panel currently shown, e.g. after another terminal changed the lot.
+     * Must be called on the Event Dispatch Thread.
+     */
+    public void refreshVisiblePanel() {
+        refreshCurrentPanel(currentCard);
+    }
+    
     /**
      * Refreshes all panels with current data.
      */
@@ -376,7 +454,7 @@ public class ModernMainFrame extends JFrame {
      * 
      * @return the reporting panel
      */
-    public ReportingPanel getReportingPanel() {
+    public ModernReportingPanel getReportingPanel() {
         return reportingPanel;
     }
     
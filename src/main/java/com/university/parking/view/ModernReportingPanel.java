@@ -1,43 +1,70 @@
 package com.university.parking.view;
 
 import java.awt.BorderLayout;
+import java.awt.Dialog;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GridLayout;
 import java.awt.Insets;
 import java.awt.RenderingHints;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.BorderFactory;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 
+import com.university.parking.dao.AggregateDAO;
 import com.university.parking.dao.DatabaseManager;
 import com.university.parking.dao.FineDAO;
+import com.university.parking.dao.OccupancySampleDAO;
 import com.university.parking.model.Fine;
+import com.university.parking.model.FineAggregate;
 import com.university.parking.model.FineCalculationStrategy;
 import com.university.parking.model.FixedFineStrategy;
 import com.university.parking.model.Floor;
 import com.university.parking.model.HourlyFineStrategy;
+import com.university.parking.model.OccupancyHistory;
+import com.university.parking.model.OccupancyMatrix;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.ProgressiveFineStrategy;
+import com.university.parking.model.RevenueAggregate;
+import com.university.parking.model.RevenueAnalytics;
 import com.university.parking.model.SpotType;
 import com.university.parking.model.Vehicle;
+import com.university.parking.util.BatchReportExporter;
+import com.university.parking.util.HistoryExporter;
+import com.university.parking.util.IoExecutor;
+import com.university.parking.util.ReceiptReprinter;
+import com.university.parking.util.ReportCache;
 import com.university.parking.util.ReportExporter;
+import com.university.parking.util.ReportSnapshot;
 
 /**
  * Modern reporting panel with styled components.
@@ -54,13 +81,29 @@ public class ModernReportingPanel extends BasePanel {
     private StyledButton exportTxtButton;
     private StyledButton exportPdfButton;
     private StyledButton exportCsvButton;
+    private StyledButton exportAllButton;
+    private StyledButton exportHistoryButton;
+    private StyledButton reprintReceiptsButton;
     
-    @SuppressWarnings("unused")
     private final DatabaseManager dbManager;
     private final FineDAO fineDAO;
+    private final AggregateDAO aggregateDAO;
     private List<Fine> currentFines;
+    private RevenueAnalytics currentAnalytics;
+    private OccupancyHistory currentHistory;
+    private final ReportCache reportCache = new ReportCache();
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int AGGREGATE_REPORT_DAYS = 30;
+    /** Report types in the order of the report type combo box. */
+    private static final ReportExporter.ReportType[] REPORT_TYPES = {
+        ReportExporter.ReportType.VEHICLE,
+        ReportExporter.ReportType.REVENUE,
+        ReportExporter.ReportType.OCCUPANCY,
+        ReportExporter.ReportType.FINE,
+        ReportExporter.ReportType.REVENUE_ANALYTICS,
+        ReportExporter.ReportType.OCCUPANCY_HISTORY
+    };
 
     public ModernReportingPanel(ParkingLot parkingLot) {
         this(parkingLot, null, null);
@@ -70,6 +113,7 @@ public class ModernReportingPanel extends BasePanel {
         super(parkingLot);
         this.dbManager = dbManager;
         this.fineDAO = fineDAO;
+        this.aggregateDAO = dbManager != null ? new AggregateDAO(dbManager) : null;
         this.currentFines = new ArrayList<>();
         initializeComponents();
     }
@@ -116,9 +160,13 @@ public class ModernReportingPanel extends BasePanel {
             "Current Vehicles",
             "Revenue Report",
             "Occupancy Report",
-            "Fine Report"
+            "Fine Report",
+            "Revenue Analytics",
+            "Occupancy History"
         });
         reportTypeCombo.setPreferredSize(new Dimension(200, 36));
+        // Switching back to a report whose data has not changed shows it at once
+        reportTypeCombo.addActionListener(e -> showCachedReport());
         controlsPanel.add(reportTypeCombo);
         
         // Styled generate button
@@ -144,6 +192,21 @@ public class ModernReportingPanel extends BasePanel {
         exportCsvButton.addActionListener(e -> exportReport(ReportExporter.ExportFormat.CSV));
         controlsPanel.add(exportCsvButton);
         
+        exportAllButton = new StyledButton("Export All...", ThemeManager.PRIMARY);
+        exportAllButton.addActionListener(e -> exportAllReports());
+        controlsPanel.add(exportAllButton);
+        
+        // History exports read the database directly, so they need a connection
+        if (dbManager != null) {
+            exportHistoryButton = new StyledButton("Export History", ThemeManager.PRIMARY);
+            exportHistoryButton.addActionListener(e -> exportHistory());
+            controlsPanel.add(exportHistoryButton);
+            
+            reprintReceiptsButton = new StyledButton("Reprint Receipts", ThemeManager.PRIMARY);
+            reprintReceiptsButton.addActionListener(e -> reprintReceipts());
+            controlsPanel.add(reprintReceiptsButton);
+        }
+        
         panel.add(controlsPanel, BorderLayout.CENTER);
         
         return panel;
@@ -183,30 +246,68 @@ public class ModernReportingPanel extends BasePanel {
 
     private void generateReport() {
         int selectedIndex = reportTypeCombo.getSelectedIndex();
+        if (selectedIndex < 0 || selectedIndex >= REPORT_TYPES.length) {
+            StyledDialog.showError(this, "Please select a report type");
+            return;
+        }
+        
+        // Nothing changed since this report was last shown: show it again as it was
+        long version = parkingLot.getDataVersion();
+        String cached = reportCache.getView(REPORT_TYPES[selectedIndex], version);
+        if (cached != null) {
+            reportArea.setText(cached);
+            return;
+        }
         
         switch (selectedIndex) {
             case 0:
-                generateVehicleReport();
+                generateVehicleReport(version);
                 break;
             case 1:
-                generateRevenueReport();
+                generateRevenueReport(version);
                 break;
             case 2:
-                generateOccupancyReport();
+                generateOccupancyReport(version);
                 break;
             case 3:
-                generateFineReport();
+                generateFineReport(version);
+                break;
+            case 4:
+                generateRevenueAnalyticsReport(version);
                 break;
-            default:
-                StyledDialog.showError(this, "Please select a report type");
+            case 5:
+                generateOccupancyHistoryReport(version);
+                break;
+        }
+    }
+    
+    /**
+     * Shows the selected report if it was generated at the current data version.
+     */
+    private void showCachedReport() {
+        int selectedIndex = reportTypeCombo.getSelectedIndex();
+        if (selectedIndex < 0 || selectedIndex >= REPORT_TYPES.length || reportArea == null) {
+            return;
         }
+        String cached = reportCache.getView(REPORT_TYPES[selectedIndex], parkingLot.getDataVersion());
+        if (cached != null) {
+            reportArea.setText(cached);
+        }
+    }
+    
+    /**
+     * Shows a generated report and keeps it for the data version it was generated at.
+     */
+    private void showReport(ReportExporter.ReportType reportType, long version, String text) {
+        reportCache.putView(reportType, version, text);
+        reportArea.setText(text);
     }
 
     /**
      * Generates a report listing all currently parked vehicles.
      * Requirement 10.1
      */
-    private void generateVehicleReport() {
+    private void generateVehicleReport(long version) {
         StringBuilder sb = new StringBuilder();
         sb.append("═".repeat(60)).append("\n");
         sb.append("         CURRENT VEHICLES REPORT\n");
@@ -238,14 +339,14 @@ public class ModernReportingPanel extends BasePanel {
         sb.append("Total Vehicles: ").append(count).append("\n");
         sb.append("═".repeat(60));
 
-        reportArea.setText(sb.toString());
+        showReport(ReportExporter.ReportType.VEHICLE, version, sb.toString());
     }
 
     /**
      * Generates a revenue report.
      * Requirement 10.2
      */
-    private void generateRevenueReport() {
+    private void generateRevenueReport(long version) {
         StringBuilder sb = new StringBuilder();
         sb.append("═".repeat(60)).append("\n");
         sb.append("            REVENUE REPORT\n");
@@ -258,15 +359,45 @@ public class ModernReportingPanel extends BasePanel {
         sb.append("Revenue by Floor:\n");
         sb.append("─".repeat(40)).append("\n");
         
-        for (Floor floor : parkingLot.getFloors()) {
-            int occupied = floor.getAllSpots().size() - floor.getAvailableSpots().size();
+        OccupancyMatrix matrix = OccupancyMatrix.of(parkingLot);
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
             sb.append(String.format("Floor %d: %d vehicles currently parked\n",
-                floor.getFloorNumber(), occupied));
+                matrix.getFloorNumber(f), matrix.getFloorOccupied(f)));
+        }
+
+        // Date-range breakdowns read the daily aggregate tables, not the payments history
+        boolean loadFailed = false;
+        if (aggregateDAO != null) {
+            LocalDate to = LocalDate.now();
+            LocalDate from = to.minusDays(AGGREGATE_REPORT_DAYS - 1);
+            try {
+                appendRevenueBreakdown(sb, "Payment Method", aggregateDAO.findRevenueByPaymentMethod(from, to));
+                appendRevenueBreakdown(sb, "Spot Type", aggregateDAO.findRevenueBySpotType(from, to));
+            } catch (SQLException e) {
+                sb.append("\nError loading revenue breakdown: ").append(e.getMessage()).append("\n");
+                loadFailed = true;
+            }
         }
 
         sb.append("\n").append("═".repeat(60));
 
-        reportArea.setText(sb.toString());
+        if (loadFailed) {
+            reportArea.setText(sb.toString());
+        } else {
+            showReport(ReportExporter.ReportType.REVENUE, version, sb.toString());
+        }
+    }
+
+    private void appendRevenueBreakdown(StringBuilder sb, String label, List<RevenueAggregate> rows) {
+        sb.append("\nRevenue by ").append(label).append(" (Last ").append(AGGREGATE_REPORT_DAYS).append(" Days):\n");
+        sb.append("─".repeat(40)).append("\n");
+        if (rows.isEmpty()) {
+            sb.append("No payments recorded.\n");
+        }
+        for (RevenueAggregate row : rows) {
+            sb.append(String.format("%-12s %5d payments   RM %10.2f\n",
+                row.getKey(), row.getPaymentCount(), row.getTotalAmount()));
+        }
     }
 
 
@@ -274,70 +405,53 @@ public class ModernReportingPanel extends BasePanel {
      * Generates an occupancy report.
      * Requirement 10.3
      */
-    private void generateOccupancyReport() {
+    private void generateOccupancyReport(long version) {
         StringBuilder sb = new StringBuilder();
         sb.append("═".repeat(60)).append("\n");
         sb.append("           OCCUPANCY REPORT\n");
         sb.append("         Generated: ").append(LocalDateTime.now().format(DATE_FORMAT)).append("\n");
         sb.append("═".repeat(60)).append("\n\n");
 
-        int totalSpots = 0;
-        int totalOccupied = 0;
+        OccupancyMatrix matrix = OccupancyMatrix.of(parkingLot);
 
         sb.append(String.format("%-10s %-12s %-12s %-12s %s\n",
             "Floor", "Total Spots", "Available", "Occupied", "Occupancy %"));
         sb.append("─".repeat(60)).append("\n");
 
-        for (Floor floor : parkingLot.getFloors()) {
-            int total = floor.getAllSpots().size();
-            int available = floor.getAvailableSpots().size();
-            int occupied = total - available;
-            double occupancy = total > 0 ? (occupied * 100.0 / total) : 0;
-
-            totalSpots += total;
-            totalOccupied += occupied;
-
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
+            int total = matrix.getFloorTotal(f);
+            int occupied = matrix.getFloorOccupied(f);
             sb.append(String.format("%-10d %-12d %-12d %-12d %.1f%%\n",
-                floor.getFloorNumber(), total, available, occupied, occupancy));
+                matrix.getFloorNumber(f), total, matrix.getFloorAvailable(f), occupied,
+                OccupancyMatrix.percent(occupied, total)));
         }
 
         sb.append("─".repeat(60)).append("\n");
-        double totalOccupancy = totalSpots > 0 ? (totalOccupied * 100.0 / totalSpots) : 0;
         sb.append(String.format("%-10s %-12d %-12d %-12d %.1f%%\n",
-            "TOTAL", totalSpots, totalSpots - totalOccupied, totalOccupied, totalOccupancy));
+            "TOTAL", matrix.getTotal(), matrix.getAvailable(), matrix.getOccupied(),
+            OccupancyMatrix.percent(matrix.getOccupied(), matrix.getTotal())));
 
         // Breakdown by spot type
         sb.append("\n\nOccupancy by Spot Type:\n");
         sb.append("─".repeat(40)).append("\n");
         
         for (SpotType type : SpotType.values()) {
-            int typeTotal = 0;
-            int typeOccupied = 0;
-            for (Floor floor : parkingLot.getFloors()) {
-                for (ParkingSpot spot : floor.getAllSpots()) {
-                    if (spot.getType() == type) {
-                        typeTotal++;
-                        if (!spot.isAvailable()) {
-                            typeOccupied++;
-                        }
-                    }
-                }
-            }
-            double typeOccupancy = typeTotal > 0 ? (typeOccupied * 100.0 / typeTotal) : 0;
+            int typeTotal = matrix.getTypeTotal(type);
+            int typeOccupied = matrix.getTypeOccupied(type);
             sb.append(String.format("%-15s: %d/%d (%.1f%%)\n",
-                type, typeOccupied, typeTotal, typeOccupancy));
+                type, typeOccupied, typeTotal, OccupancyMatrix.percent(typeOccupied, typeTotal)));
         }
 
         sb.append("\n").append("═".repeat(60));
 
-        reportArea.setText(sb.toString());
+        showReport(ReportExporter.ReportType.OCCUPANCY, version, sb.toString());
     }
 
     /**
      * Generates a fine report.
      * Requirement 10.4
      */
-    private void generateFineReport() {
+    private void generateFineReport(long version) {
         StringBuilder sb = new StringBuilder();
         sb.append("═".repeat(60)).append("\n");
         sb.append("             FINE REPORT\n");
@@ -360,6 +474,7 @@ public class ModernReportingPanel extends BasePanel {
         sb.append("─".repeat(60)).append("\n");
         
         currentFines = new ArrayList<>();
+        boolean loadFailed = false;
         
         if (fineDAO != null) {
             try {
@@ -393,14 +508,113 @@ public class ModernReportingPanel extends BasePanel {
                 }
             } catch (SQLException e) {
                 sb.append("Error loading fine data: ").append(e.getMessage()).append("\n");
+                loadFailed = true;
             }
         } else {
             sb.append("(Fine data unavailable - database not connected)\n");
         }
 
+        if (aggregateDAO != null) {
+            LocalDate to = LocalDate.now();
+            LocalDate from = to.minusDays(AGGREGATE_REPORT_DAYS - 1);
+            sb.append("\nFines Issued in the Last ").append(AGGREGATE_REPORT_DAYS).append(" Days:\n");
+            sb.append("─".repeat(60)).append("\n");
+            try {
+                List<FineAggregate> totals = aggregateDAO.findFineTotals(from, to);
+                if (totals.isEmpty()) {
+                    sb.append("No fines issued.\n");
+                }
+                for (FineAggregate total : totals) {
+                    sb.append(String.format("%-20s %-8s %5d fines   RM %10.2f\n",
+                        total.getType(), total.isPaid() ? "PAID" : "UNPAID",
+                        total.getFineCount(), total.getTotalAmount()));
+                }
+            } catch (SQLException e) {
+                sb.append("Error loading fine totals: ").append(e.getMessage()).append("\n");
+                loadFailed = true;
+            }
+        }
+
         sb.append("\n").append("═".repeat(60));
 
-        reportArea.setText(sb.toString());
+        if (loadFailed) {
+            reportArea.setText(sb.toString());
+        } else {
+            showReport(ReportExporter.ReportType.FINE, version, sb.toString());
+        }
+    }
+    
+    /**
+     * Generates the revenue analytics report for the last {@link RevenueAnalytics#DEFAULT_DAYS} days.
+     * The breakdowns are read from the revenue aggregates off the EDT.
+     */
+    private void generateRevenueAnalyticsReport(long version) {
+        if (dbManager == null) {
+            currentAnalytics = null;
+            showReport(ReportExporter.ReportType.REVENUE_ANALYTICS, version, renderText(ReportExporter.ReportType.REVENUE_ANALYTICS));
+            return;
+        }
+        reportArea.setText("Loading revenue analytics...");
+        generateButton.setEnabled(false);
+        IoExecutor.onEdt(loadRecentAnalytics(),
+            analytics -> {
+                generateButton.setEnabled(true);
+                currentAnalytics = analytics;
+                showReport(ReportExporter.ReportType.REVENUE_ANALYTICS, version, renderText(ReportExporter.ReportType.REVENUE_ANALYTICS));
+            }, error -> {
+                generateButton.setEnabled(true);
+                reportArea.setText("Error loading revenue analytics: " + error.getMessage());
+            });
+    }
+    
+    private CompletableFuture<RevenueAnalytics> loadRecentAnalytics() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(RevenueAnalytics.DEFAULT_DAYS - 1);
+        return IoExecutor.supply(() -> aggregateDAO.findRevenueAnalytics(from, to));
+    }
+    
+    /**
+     * Generates the occupancy history report for the last {@link OccupancyHistory#DEFAULT_DAYS} days,
+     * with the busiest hours of the lot, each floor and each spot type.
+     */
+    private void generateOccupancyHistoryReport(long version) {
+        if (dbManager == null) {
+            currentHistory = null;
+            showReport(ReportExporter.ReportType.OCCUPANCY_HISTORY, version, renderText(ReportExporter.ReportType.OCCUPANCY_HISTORY));
+            return;
+        }
+        reportArea.setText("Loading occupancy history...");
+        generateButton.setEnabled(false);
+        IoExecutor.onEdt(loadRecentHistory(),
+            history -> {
+                generateButton.setEnabled(true);
+                currentHistory = history;
+                showReport(ReportExporter.ReportType.OCCUPANCY_HISTORY, version, renderText(ReportExporter.ReportType.OCCUPANCY_HISTORY));
+            }, error -> {
+                generateButton.setEnabled(true);
+                reportArea.setText("Error loading occupancy history: " + error.getMessage());
+            });
+    }
+    
+    private CompletableFuture<OccupancyHistory> loadRecentHistory() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(OccupancyHistory.DEFAULT_DAYS - 1);
+        return IoExecutor.supply(() -> new OccupancySampleDAO(dbManager).findHistory(from, to));
+    }
+    
+    /**
+     * Renders a report as the text exported to TXT files.
+     */
+    private String renderText(ReportExporter.ReportType reportType) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ReportExporter.writeReport(reportType, ReportExporter.ExportFormat.TXT,
+                ReportSnapshot.of(parkingLot, currentFines, currentAnalytics, currentHistory), out);
+        } catch (IOException e) {
+            // Not thrown by an in-memory stream
+            throw new UncheckedIOException(e);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
     }
     
     /**
@@ -414,25 +628,11 @@ public class ModernReportingPanel extends BasePanel {
         
         // Get report type
         int selectedIndex = reportTypeCombo.getSelectedIndex();
-        ReportExporter.ReportType reportType;
-        
-        switch (selectedIndex) {
-            case 0:
-                reportType = ReportExporter.ReportType.VEHICLE;
-                break;
-            case 1:
-                reportType = ReportExporter.ReportType.REVENUE;
-                break;
-            case 2:
-                reportType = ReportExporter.ReportType.OCCUPANCY;
-                break;
-            case 3:
-                reportType = ReportExporter.ReportType.FINE;
-                break;
-            default:
-                StyledDialog.showError(this, "Please select a report type");
-                return;
+        if (selectedIndex < 0 || selectedIndex >= REPORT_TYPES.length) {
+            StyledDialog.showError(this, "Please select a report type");
+            return;
         }
+        ReportExporter.ReportType reportType = REPORT_TYPES[selectedIndex];
         
         // Choose save location
         JFileChooser fileChooser = new JFileChooser();
@@ -445,26 +645,283 @@ public class ModernReportingPanel extends BasePanel {
             File selectedFile = fileChooser.getSelectedFile();
             String directory = selectedFile.getParent();
             
-            try {
-                File exportedFile = ReportExporter.exportReport(
-                    reportType, 
-                    format, 
-                    parkingLot, 
-                    currentFines, 
-                    directory
-                );
-                
-                JOptionPane.showMessageDialog(this,
+            // Unchanged data is written from the last export; otherwise capture the lot here
+            // on the EDT and render in the background
+            long version = parkingLot.getDataVersion();
+            ReportCache.Rendered cached = reportCache.getExport(reportType, format, version);
+            CompletableFuture<File> export;
+            if (cached != null) {
+                export = IoExecutor.supply(() -> ReportExporter.exportReport(reportType, format, cached, directory));
+            } else {
+                ReportSnapshot snapshot = ReportSnapshot.of(parkingLot, currentFines, currentAnalytics, currentHistory);
+                export = IoExecutor.supply(() -> {
+                    File file = ReportExporter.exportReport(reportType, format, snapshot, directory);
+                    if (file.length() <= ReportCache.MAX_CACHED_BYTES) {
+                        reportCache.putExport(reportType, format, version,
+                            new ReportCache.Rendered(snapshot.getGeneratedAt(), Files.readAllBytes(file.toPath())));
+                    }
+                    return file;
+                });
+            }
+            IoExecutor.onEdt(export,
+                exportedFile -> JOptionPane.showMessageDialog(this,
                     "Report exported successfully to:\n" + exportedFile.getAbsolutePath(),
                     "Export Successful",
-                    JOptionPane.INFORMATION_MESSAGE);
-                    
-            } catch (IOException e) {
-                StyledDialog.showError(this, "Failed to export report: " + e.getMessage());
+                    JOptionPane.INFORMATION_MESSAGE),
+                error -> StyledDialog.showError(this, "Failed to export report: " + error.getMessage()));
+        }
+    }
+
+    /**
+     * Exports several report types in several formats into one dated folder or zip.
+     * The reports render in parallel from one snapshot while a progress dialog is shown.
+     */
+    private void exportAllReports() {
+        ReportExporter.ReportType[] allTypes = ReportExporter.ReportType.values();
+        String[] typeLabels = {"Current Vehicles", "Revenue Report", "Occupancy Report", "Fine Report",
+                               "Revenue Analytics", "Occupancy History"};
+        JCheckBox[] typeBoxes = new JCheckBox[allTypes.length];
+        ReportExporter.ExportFormat[] allFormats = ReportExporter.ExportFormat.values();
+        JCheckBox[] formatBoxes = new JCheckBox[allFormats.length];
+        
+        JPanel form = new JPanel(new GridLayout(0, 2, 8, 8));
+        for (int i = 0; i < allTypes.length; i++) {
+            typeBoxes[i] = new JCheckBox(typeLabels[i], true);
+            typeBoxes[i].setOpaque(false);
+        }
+        for (int i = 0; i < allFormats.length; i++) {
+            formatBoxes[i] = new JCheckBox(allFormats[i].name(), true);
+            formatBoxes[i].setOpaque(false);
+        }
+        form.add(new JLabel("Reports:"));
+        form.add(new JLabel("Formats:"));
+        for (int i = 0; i < Math.max(allTypes.length, allFormats.length); i++) {
+            form.add(i < allTypes.length ? typeBoxes[i] : new JLabel());
+            form.add(i < allFormats.length ? formatBoxes[i] : new JLabel());
+        }
+        JCheckBox zipBox = new JCheckBox("Single zip archive");
+        zipBox.setOpaque(false);
+        form.add(zipBox);
+        
+        int choice = JOptionPane.showConfirmDialog(this, form, "Export All Reports",
+            JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+        
+        List<ReportExporter.ReportType> types = new ArrayList<>();
+        for (int i = 0; i < allTypes.length; i++) {
+            if (typeBoxes[i].isSelected()) {
+                types.add(allTypes[i]);
+            }
+        }
+        List<ReportExporter.ExportFormat> formats = new ArrayList<>();
+        for (int i = 0; i < allFormats.length; i++) {
+            if (formatBoxes[i].isSelected()) {
+                formats.add(allFormats[i]);
             }
         }
+        if (types.isEmpty() || formats.isEmpty()) {
+            StyledDialog.showError(this, "Select at least one report and one format");
+            return;
+        }
+        
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Choose Export Folder");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File directory = fileChooser.getSelectedFile();
+        boolean zip = zipBox.isSelected();
+        
+        exportAllButton.setEnabled(false);
+        boolean loadFines = types.contains(ReportExporter.ReportType.FINE) && fineDAO != null;
+        boolean loadAnalytics = types.contains(ReportExporter.ReportType.REVENUE_ANALYTICS) && dbManager != null;
+        boolean loadHistory = types.contains(ReportExporter.ReportType.OCCUPANCY_HISTORY) && dbManager != null;
+        if (loadFines || loadAnalytics || loadHistory) {
+            CompletableFuture<List<Fine>> fines = loadFines
+                ? IoExecutor.supply(fineDAO::findAllUnpaid) : CompletableFuture.completedFuture(currentFines);
+            CompletableFuture<RevenueAnalytics> analytics = loadAnalytics
+                ? loadRecentAnalytics() : CompletableFuture.completedFuture(currentAnalytics);
+            CompletableFuture<OccupancyHistory> history = loadHistory
+                ? loadRecentHistory() : CompletableFuture.completedFuture(currentHistory);
+            IoExecutor.onEdt(CompletableFuture.allOf(fines, analytics, history),
+                loaded -> {
+                    currentFines = fines.join();
+                    currentAnalytics = analytics.join();
+                    currentHistory = history.join();
+                    startBatchExport(types, formats, directory, zip);
+                }, error -> {
+                    exportAllButton.setEnabled(true);
+                    StyledDialog.showError(this, "Failed to load report data: " + error.getMessage());
+                });
+        } else {
+            startBatchExport(types, formats, directory, zip);
+        }
+    }
+
+    private void startBatchExport(List<ReportExporter.ReportType> types, List<ReportExporter.ExportFormat> formats,
+                                  File directory, boolean zip) {
+        BatchReportExporter exporter = new BatchReportExporter(
+            ReportSnapshot.of(parkingLot, currentFines, currentAnalytics, currentHistory), types, formats, directory, zip);
+        
+        JProgressBar progressBar = new JProgressBar(0, exporter.getTotal());
+        progressBar.setStringPainted(true);
+        progressBar.setString("0 of " + exporter.getTotal());
+        JLabel itemLabel = new JLabel("Starting...");
+        StyledButton cancelButton = new StyledButton("Cancel", ThemeManager.DANGER);
+        cancelButton.addActionListener(e -> {
+            cancelButton.setEnabled(false);
+            itemLabel.setText("Cancelling...");
+            exporter.cancel();
+        });
+        
+        JPanel content = new JPanel(new BorderLayout(0, 10));
+        content.setBorder(new EmptyBorder(15, 15, 15, 15));
+        content.add(itemLabel, BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        buttons.add(cancelButton);
+        content.add(buttons, BorderLayout.SOUTH);
+        
+        JDialog progressDialog = new JDialog(SwingUtilities.getWindowAncestor(this), "Exporting Reports",
+            Dialog.ModalityType.MODELESS);
+        progressDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        progressDialog.setContentPane(content);
+        progressDialog.setSize(360, 150);
+        progressDialog.setLocationRelativeTo(this);
+        progressDialog.setVisible(true);
+        
+        CompletableFuture<File> export = exporter.start((completed, total, item) ->
+            SwingUtilities.invokeLater(() -> {
+                progressBar.setValue(completed);
+                progressBar.setString(completed + " of " + total);
+                itemLabel.setText("Written " + item);
+            }));
+        IoExecutor.onEdt(export,
+            output -> {
+                progressDialog.dispose();
+                exportAllButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                    exporter.getTotal() + " reports exported to:\n" + output.getAbsolutePath(),
+                    "Export Successful",
+                    JOptionPane.INFORMATION_MESSAGE);
+            }, error -> {
+                progressDialog.dispose();
+                exportAllButton.setEnabled(true);
+                if (!(error instanceof CancellationException)) {
+                    StyledDialog.showError(this, "Failed to export reports: " + error.getMessage());
+                }
+            });
+    }
+
+    /**
+     * Exports payment, session or fine history for a date range to CSV or a columnar file.
+     * The export streams from the database on the I/O executor.
+     */
+    private void exportHistory() {
+        StyledComboBox<HistoryExporter.HistoryType> typeCombo =
+            new StyledComboBox<>(HistoryExporter.HistoryType.values());
+        LocalDate today = LocalDate.now();
+        StyledTextField fromField = new StyledTextField(10);
+        fromField.setText(today.withDayOfMonth(1).toString());
+        StyledTextField toField = new StyledTextField(10);
+        toField.setText(today.toString());
+        StyledComboBox<HistoryExporter.HistoryFormat> formatCombo =
+            new StyledComboBox<>(HistoryExporter.HistoryFormat.values());
+        
+        JPanel form = new JPanel(new GridLayout(0, 2, 8, 8));
+        form.add(new JLabel("History:"));
+        form.add(typeCombo);
+        form.add(new JLabel("From (yyyy-MM-dd):"));
+        form.add(fromField);
+        form.add(new JLabel("To (yyyy-MM-dd):"));
+        form.add(toField);
+        form.add(new JLabel("Format:"));
+        form.add(formatCombo);
+        
+        int choice = JOptionPane.showConfirmDialog(this, form, "Export History",
+            JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+        
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(fromField.getText().trim());
+            to = LocalDate.parse(toField.getText().trim());
+        } catch (DateTimeParseException e) {
+            StyledDialog.showError(this, "Dates must be in yyyy-MM-dd format");
+            return;
+        }
+        if (from.isAfter(to)) {
+            StyledDialog.showError(this, "Start date must not be after end date");
+            return;
+        }
+        
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Choose Export Folder");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String directory = fileChooser.getSelectedFile().getAbsolutePath();
+        HistoryExporter.HistoryType type = (HistoryExporter.HistoryType) typeCombo.getSelectedItem();
+        HistoryExporter.HistoryFormat format = (HistoryExporter.HistoryFormat) formatCombo.getSelectedItem();
+        
+        exportHistoryButton.setEnabled(false);
+        IoExecutor.onEdt(IoExecutor.supply(() -> new HistoryExporter(dbManager).export(type, from, to, format, directory)),
+            result -> {
+                exportHistoryButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                    result.getRowCount() + " rows exported to:\n" + result.getFile().getAbsolutePath(),
+                    "Export Successful",
+                    JOptionPane.INFORMATION_MESSAGE);
+            }, error -> {
+                exportHistoryButton.setEnabled(true);
+                StyledDialog.showError(this, "Failed to export history: " + error.getMessage());
+            });
     }
 
+    /**
+     * Reprints every receipt of a day as PDF files, rebuilt from the payment history.
+     */
+    private void reprintReceipts() {
+        String input = JOptionPane.showInputDialog(this, "Day to reprint (yyyy-MM-dd):", LocalDate.now().toString());
+        if (input == null) {
+            return;
+        }
+        LocalDate day;
+        try {
+            day = LocalDate.parse(input.trim());
+        } catch (DateTimeParseException e) {
+            StyledDialog.showError(this, "Dates must be in yyyy-MM-dd format");
+            return;
+        }
+        
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Choose Receipt Folder");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File directory = new File(fileChooser.getSelectedFile(), "receipts_" + day);
+        
+        reprintReceiptsButton.setEnabled(false);
+        IoExecutor.onEdt(IoExecutor.supply(() -> new ReceiptReprinter(dbManager).reprint(day, directory)),
+            files -> {
+                reprintReceiptsButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                    files.size() + " receipts written to:\n" + directory.getAbsolutePath(),
+                    "Reprint Successful",
+                    JOptionPane.INFORMATION_MESSAGE);
+            }, error -> {
+                reprintReceiptsButton.setEnabled(true);
+                StyledDialog.showError(this, "Failed to reprint receipts: " + error.getMessage());
+            });
+    }
 
     @Override
     public void refreshData() {
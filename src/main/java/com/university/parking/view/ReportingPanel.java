@@ -7,6 +7,7 @@ import java.awt.Insets;
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -20,16 +21,20 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 
+import com.university.parking.dao.AggregateDAO;
 import com.university.parking.dao.DatabaseManager;
 import com.university.parking.dao.FineDAO;
 import com.university.parking.model.Fine;
+import com.university.parking.model.FineAggregate;
 import com.university.parking.model.FineCalculationStrategy;
 import com.university.parking.model.FixedFineStrategy;
 import com.university.parking.model.Floor;
 import com.university.parking.model.HourlyFineStrategy;
+import com.university.parking.model.OccupancyMatrix;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.ProgressiveFineStrategy;
+import com.university.parking.model.RevenueAggregate;
 import com.university.parking.model.SpotType;
 import com.university.parking.model.Vehicle;
 import com.university.parking.util.ReportExporter;
@@ -49,8 +54,10 @@ public class ReportingPanel extends BasePanel {
     private JButton exportCsvButton;
     private final DatabaseManager dbManager;
     private final FineDAO fineDAO;
+    private final AggregateDAO aggregateDAO;
     private List<Fine> currentFines;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int AGGREGATE_REPORT_DAYS = 30;
 
     public ReportingPanel(ParkingLot parkingLot) {
         this(parkingLot, null, null);
@@ -60,6 +67,7 @@ public class ReportingPanel extends BasePanel {
         super(parkingLot);
         this.dbManager = dbManager;
         this.fineDAO = fineDAO;
+        this.aggregateDAO = dbManager != null ? new AggregateDAO(dbManager) : null;
         this.currentFines = new ArrayList<>();
         initializeComponents();
     }
@@ -203,10 +211,22 @@ public class ReportingPanel extends BasePanel {
         sb.append("Revenue by Floor:\n");
         sb.append("-".repeat(40)).append("\n");
         
-        for (Floor floor : parkingLot.getFloors()) {
-            int occupied = floor.getAllSpots().size() - floor.getAvailableSpots().size();
+        OccupancyMatrix matrix = OccupancyMatrix.of(parkingLot);
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
             sb.append(String.format("Floor %d: %d vehicles currently parked\n",
-                floor.getFloorNumber(), occupied));
+                matrix.getFloorNumber(f), matrix.getFloorOccupied(f)));
+        }
+
+        // Date-range breakdowns read the daily aggregate tables, not the payments history
+        if (aggregateDAO != null) {
+            LocalDate to = LocalDate.now();
+            LocalDate from = to.minusDays(AGGREGATE_REPORT_DAYS - 1);
+            try {
+                appendRevenueBreakdown(sb, "Payment Method", aggregateDAO.findRevenueByPaymentMethod(from, to));
+                appendRevenueBreakdown(sb, "Spot Type", aggregateDAO.findRevenueBySpotType(from, to));
+            } catch (SQLException e) {
+                sb.append("\nError loading revenue breakdown: ").append(e.getMessage()).append("\n");
+            }
         }
 
         sb.append("\n").append("=".repeat(60));
@@ -214,6 +234,18 @@ public class ReportingPanel extends BasePanel {
         reportArea.setText(sb.toString());
     }
 
+    private void appendRevenueBreakdown(StringBuilder sb, String label, List<RevenueAggregate> rows) {
+        sb.append("\nRevenue by ").append(label).append(" (Last ").append(AGGREGATE_REPORT_DAYS).append(" Days):\n");
+        sb.append("-".repeat(40)).append("\n");
+        if (rows.isEmpty()) {
+            sb.append("No payments recorded.\n");
+        }
+        for (RevenueAggregate row : rows) {
+            sb.append(String.format("%-12s %5d payments   RM %10.2f\n",
+                row.getKey(), row.getPaymentCount(), row.getTotalAmount()));
+        }
+    }
+
     /**
      * Generates an occupancy report.
      * Requirement 10.3
@@ -225,51 +257,34 @@ public class ReportingPanel extends BasePanel {
         sb.append("         Generated: ").append(LocalDateTime.now().format(DATE_FORMAT)).append("\n");
         sb.append("=".repeat(60)).append("\n\n");
 
-        int totalSpots = 0;
-        int totalOccupied = 0;
+        OccupancyMatrix matrix = OccupancyMatrix.of(parkingLot);
 
         sb.append(String.format("%-10s %-12s %-12s %-12s %s\n",
             "Floor", "Total Spots", "Available", "Occupied", "Occupancy %"));
         sb.append("-".repeat(60)).append("\n");
 
-        for (Floor floor : parkingLot.getFloors()) {
-            int total = floor.getAllSpots().size();
-            int available = floor.getAvailableSpots().size();
-            int occupied = total - available;
-            double occupancy = total > 0 ? (occupied * 100.0 / total) : 0;
-
-            totalSpots += total;
-            totalOccupied += occupied;
-
+        for (int f = 0; f < matrix.getFloorCount(); f++) {
+            int total = matrix.getFloorTotal(f);
+            int occupied = matrix.getFloorOccupied(f);
             sb.append(String.format("%-10d %-12d %-12d %-12d %.1f%%\n",
-                floor.getFloorNumber(), total, available, occupied, occupancy));
+                matrix.getFloorNumber(f), total, matrix.getFloorAvailable(f), occupied,
+                OccupancyMatrix.percent(occupied, total)));
         }
 
         sb.append("-".repeat(60)).append("\n");
-        double totalOccupancy = totalSpots > 0 ? (totalOccupied * 100.0 / totalSpots) : 0;
         sb.append(String.format("%-10s %-12d %-12d %-12d %.1f%%\n",
-            "TOTAL", totalSpots, totalSpots - totalOccupied, totalOccupied, totalOccupancy));
+            "TOTAL", matrix.getTotal(), matrix.getAvailable(), matrix.getOccupied(),
+            OccupancyMatrix.percent(matrix.getOccupied(), matrix.getTotal())));
 
         // Breakdown by spot type
         sb.append("\n\nOccupancy by Spot Type:\n");
         sb.append("-".repeat(40)).append("\n");
         
         for (SpotType type : SpotType.values()) {
-            int typeTotal = 0;
-            int typeOccupied = 0;
-            for (Floor floor : parkingLot.getFloors()) {
-                for (ParkingSpot spot : floor.getAllSpots()) {
-                    if (spot.getType() == type) {
-                        typeTotal++;
-                        if (!spot.isAvailable()) {
-                            typeOccupied++;
-                        }
-                    }
-                }
-            }
-            double typeOccupancy = typeTotal > 0 ? (typeOccupied * 100.0 / typeTotal) : 0;
+            int typeTotal = matrix.getTypeTotal(type);
+            int typeOccupied = matrix.getTypeOccupied(type);
             sb.append(String.format("%-15s: %d/%d (%.1f%%)\n",
-                type, typeOccupied, typeTotal, typeOccupancy));
+                type, typeOccupied, typeTotal, OccupancyMatrix.percent(typeOccupied, typeTotal)));
         }
 
         sb.append("\n").append("=".repeat(60));
@@ -342,6 +357,26 @@ public class ReportingPanel extends BasePanel {
             sb.append("(Fine data unavailable - database not connected)\n");
         }
 
+        if (aggregateDAO != null) {
+            LocalDate to = LocalDate.now();
+            LocalDate from = to.minusDays(AGGREGATE_REPORT_DAYS - 1);
+            sb.append("\nFines Issued in the Last ").append(AGGREGATE_REPORT_DAYS).append(" Days:\n");
+            sb.append("-".repeat(60)).append("\n");
+            try {
+                List<FineAggregate> totals = aggregateDAO.findFineTotals(from, to);
+                if (totals.isEmpty()) {
+                    sb.append("No fines issued.\n");
+                }
+                for (FineAggregate total : totals) {
+                    sb.append(String.format("%-20s %-8s %5d fines   RM %10.2f\n",
+                        total.getType(), total.isPaid() ? "PAID" : "UNPAID",
+                        total.getFineCount(), total.getTotalAmount()));
+                }
+            } catch (SQLException e) {
+                sb.append("Error loading fine totals: ").append(e.getMessage()).append("\n");
+            }
+        }
+
         sb.append("\n").append("=".repeat(60));
 
         reportArea.setText(sb.toString());
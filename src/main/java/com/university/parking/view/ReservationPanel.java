@@ -8,7 +8,6 @@ import java.awt.Insets;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -31,6 +30,7 @@ import com.university.parking.model.Payment;
 import com.university.parking.model.PaymentMethod;
 import com.university.parking.model.Reservation;
 import com.university.parking.model.SpotType;
+import com.university.parking.util.IoExecutor;
 
 /**
  * Panel for managing parking spot reservations.
@@ -52,6 +52,9 @@ public class ReservationPanel extends JPanel {
     private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     private static final double RESERVED_SPOT_HOURLY_RATE = 10.0; // RM 10 per hour for RESERVED spots
 
+    /** Result of the background reservation save. */
+    private enum ReservationOutcome { CREATED, SPOT_TAKEN, FAILED }
+
     public ReservationPanel(ParkingLot parkingLot, DatabaseManager dbManager) {
         this.parkingLot = parkingLot;
         this.dbManager = dbManager;
@@ -245,46 +248,52 @@ public class ReservationPanel extends JPanel {
 
         PaymentMethod paymentMethod = paymentChoice == 0 ? PaymentMethod.CASH : PaymentMethod.CARD;
 
-        // Check if spot is already reserved during this time
-        try {
+        // Check availability and persist off the EDT; the dialogs follow on the EDT
+        IoExecutor.onEdt(IoExecutor.supply(() -> {
+            // Check if spot is already reserved during this time
             if (reservationDAO.isSpotReserved(spotId, startTime, endTime)) {
-                JOptionPane.showMessageDialog(this, 
-                    "Spot " + spotId + " is already reserved during this time period",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-                return;
+                return ReservationOutcome.SPOT_TAKEN;
             }
 
             // Create reservation
             Reservation reservation = new Reservation(licensePlate, spotId, startTime, endTime);
             reservation.setPrepaidAmount(prepaidAmount);
-            boolean success = reservationDAO.save(reservation);
+            if (!reservationDAO.save(reservation)) {
+                return ReservationOutcome.FAILED;
+            }
 
-            if (success) {
-                // Create payment record
-                Payment payment = new Payment(licensePlate, prepaidAmount, 0.0, paymentMethod);
-                payment.setPaymentDate(LocalDateTime.now());
-                
-                // Save payment to database
-                if (paymentDAO != null) {
-                    try {
-                        paymentDAO.save(payment);
-                    } catch (SQLException e) {
-                        System.err.println("Warning: Failed to save payment: " + e.getMessage());
-                    }
+            // Create payment record
+            Payment payment = new Payment(licensePlate, prepaidAmount, 0.0, paymentMethod);
+            payment.setPaymentDate(LocalDateTime.now());
+            payment.setSpotType(SpotType.RESERVED);
+            
+            // Save payment to database
+            if (paymentDAO != null) {
+                try {
+                    paymentDAO.save(payment);
+                } catch (SQLException e) {
+                    System.err.println("Warning: Failed to save payment: " + e.getMessage());
                 }
-                
-                // Update parking lot revenue
-                parkingLot.setTotalRevenue(parkingLot.getTotalRevenue() + prepaidAmount);
-                
-                // Update revenue in database
-                if (parkingLotDAO != null) {
-                    try {
-                        parkingLotDAO.updateRevenue(parkingLot.getTotalRevenue());
-                    } catch (SQLException e) {
-                        System.err.println("Warning: Failed to update revenue: " + e.getMessage());
-                    }
+            }
+            
+            // Update parking lot revenue
+            parkingLot.addRevenue(prepaidAmount);
+            
+            // Update revenue in database
+            if (parkingLotDAO != null) {
+                try {
+                    parkingLotDAO.addRevenue(prepaidAmount);
+                } catch (SQLException e) {
+                    System.err.println("Warning: Failed to update revenue: " + e.getMessage());
                 }
-                
+            }
+            return ReservationOutcome.CREATED;
+        }), outcome -> {
+            if (outcome == ReservationOutcome.SPOT_TAKEN) {
+                JOptionPane.showMessageDialog(this, 
+                    "Spot " + spotId + " is already reserved during this time period",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (outcome == ReservationOutcome.CREATED) {
                 JOptionPane.showMessageDialog(this, 
                     "Reservation created successfully!\n\n" +
                     "License Plate: " + licensePlate + "\n" +
@@ -310,10 +319,7 @@ public class ReservationPanel extends JPanel {
                 JOptionPane.showMessageDialog(this, "Failed to create reservation", 
                     "Error", JOptionPane.ERROR_MESSAGE);
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), 
-                "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, this::showDatabaseError);
     }
 
     private void cancelReservation() {
@@ -332,16 +338,7 @@ public class ReservationPanel extends JPanel {
         String status = (String) tableModel.getValueAt(selectedRow, 5);
         
         // Get the full reservation object to calculate remaining time
-        try {
-            List<Reservation> allReservations = reservationDAO.findAll();
-            Reservation selectedReservation = null;
-            for (Reservation r : allReservations) {
-                if (r.getId().equals(reservationId)) {
-                    selectedReservation = r;
-                    break;
-                }
-            }
-            
+        IoExecutor.onEdt(IoExecutor.supply(() -> reservationDAO.findById(reservationId)), selectedReservation -> {
             if (selectedReservation == null) {
                 JOptionPane.showMessageDialog(this, "Reservation not found", 
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -378,21 +375,24 @@ public class ReservationPanel extends JPanel {
                 "Confirm Cancellation", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
             
             if (confirm == JOptionPane.YES_OPTION) {
-                boolean success = reservationDAO.cancel(reservationId);
-                if (success) {
-                    JOptionPane.showMessageDialog(this, "Reservation cancelled successfully", 
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-                    refreshAvailableSpots();
-                    loadReservations();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to cancel reservation", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                IoExecutor.onEdt(IoExecutor.supply(() -> reservationDAO.cancel(reservationId)), success -> {
+                    if (success) {
+                        JOptionPane.showMessageDialog(this, "Reservation cancelled successfully", 
+                            "Success", JOptionPane.INFORMATION_MESSAGE);
+                        refreshAvailableSpots();
+                        loadReservations();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to cancel reservation", 
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }, this::showDatabaseError);
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), 
-                "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, this::showDatabaseError);
+    }
+
+    private void showDatabaseError(Throwable error) {
+        JOptionPane.showMessageDialog(this, "Database error: " + error.getMessage(), 
+            "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     private void loadReservations() {
@@ -400,8 +400,7 @@ public class ReservationPanel extends JPanel {
             return;
         }
 
-        try {
-            List<Reservation> reservations = reservationDAO.findAll();
+        IoExecutor.onEdt(IoExecutor.supply(reservationDAO::findAll), reservations -> {
             tableModel.setRowCount(0);
             
             for (Reservation reservation : reservations) {
@@ -417,10 +416,8 @@ public class ReservationPanel extends JPanel {
                     status
                 });
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading reservations: " + e.getMessage(), 
-                "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, error -> JOptionPane.showMessageDialog(this, "Error loading reservations: " + error.getMessage(), 
+            "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     private ParkingSpot findSpotById(String spotId) {
@@ -27,6 +27,7 @@ import com.university.parking.model.ParkingLot;
 import com.university.parking.model.ParkingSpot;
 import com.university.parking.model.Vehicle;
 import com.university.parking.model.VehicleType;
+import com.university.parking.util.IoExecutor;
 
 /**
  * Panel for processing vehicle entries.
@@ -166,6 +167,9 @@ public class VehicleEntryPanel extends BasePanel {
     }
 
     private void refreshAvailableSpots() {
+        // Keep the operator's selection across refreshes triggered by other terminals
+        int selectedRow = spotTable.getSelectedRow();
+        String selectedSpotId = selectedRow >= 0 ? (String) spotTableModel.getValueAt(selectedRow, 0) : null;
         spotTableModel.setRowCount(0);
         
         VehicleType selectedType = (VehicleType) vehicleTypeCombo.getSelectedItem();
@@ -185,6 +189,10 @@ public class VehicleEntryPanel extends BasePanel {
                     spot.getType(),
                     String.format("%.2f", spot.getHourlyRate())
                 });
+                if (spot.getSpotId().equals(selectedSpotId)) {
+                    int row = spotTableModel.getRowCount() - 1;
+                    spotTable.setRowSelectionInterval(row, row);
+                }
             }
         }
     }
@@ -209,27 +217,38 @@ public class VehicleEntryPanel extends BasePanel {
         VehicleType vehicleType = (VehicleType) vehicleTypeCombo.getSelectedItem();
         boolean isHandicapped = handicappedCheckbox.isSelected();
 
-        try {
-            VehicleEntryController.EntryResult result = entryController.processEntry(
-                licensePlate, vehicleType, isHandicapped, spotId
-            );
-
-            // Display ticket
-            ticketArea.setText(result.getTicketDisplay());
-
-            showSuccess("Vehicle entry processed successfully!");
-            
-            // Clear input fields for next entry (keep ticket visible)
-            licensePlateField.setText("");
-            vehicleTypeCombo.setSelectedIndex(0); // Reset to MOTORCYCLE
-            handicappedCheckbox.setSelected(false);
-            spotTable.clearSelection();
-            
-            // Refresh available spots
-            refreshAvailableSpots();
-        } catch (IllegalArgumentException e) {
-            showError(e.getMessage());
-        }
+        // Persist off the Event Dispatch Thread; the button stays disabled until the entry completes
+        processEntryButton.setEnabled(false);
+        IoExecutor.onEdt(
+            entryController.processEntryAsync(licensePlate, vehicleType, isHandicapped, spotId),
+            result -> {
+                processEntryButton.setEnabled(true);
+
+                // Display ticket
+                ticketArea.setText(result.getTicketDisplay());
+
+                if (result.wasReassigned()) {
+                    showSuccess("Spot " + result.getReassignedFrom() + " was taken at another terminal. "
+                        + "Vehicle parked in spot " + result.getSpot().getSpotId() + " instead.");
+                } else {
+                    showSuccess("Vehicle entry processed successfully!");
+                }
+                
+                // Clear input fields for next entry (keep ticket visible)
+                licensePlateField.setText("");
+                vehicleTypeCombo.setSelectedIndex(0); // Reset to MOTORCYCLE
+                handicappedCheckbox.setSelected(false);
+                spotTable.clearSelection();
+                
+                // Refresh available spots
+                refreshAvailableSpots();
+            },
+            error -> {
+                processEntryButton.setEnabled(true);
+                showError(error.getMessage());
+                // The spot may have been taken at another terminal
+                refreshAvailableSpots();
+            });
     }
 
     private void clearForm() {
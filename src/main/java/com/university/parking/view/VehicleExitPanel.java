@@ -4,7 +4,7 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.Insets;
-import java.util.List;
+import java.util.function.Consumer;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -18,9 +18,9 @@ import javax.swing.JTextField;
 import com.university.parking.controller.VehicleExitController;
 import com.university.parking.dao.DatabaseManager;
 import com.university.parking.dao.FineDAO;
-import com.university.parking.model.Fine;
 import com.university.parking.model.ParkingLot;
 import com.university.parking.model.PaymentMethod;
+import com.university.parking.util.IoExecutor;
 import com.university.parking.util.Receipt;
 
 /**
@@ -149,12 +149,12 @@ public class VehicleExitPanel extends BasePanel {
 
         String licensePlate = licensePlateField.getText().trim().toUpperCase();
 
-        try {
-            // Get unpaid fines for this license plate from database
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            
-            // Generate payment summary
-            currentSummary = exitController.generatePaymentSummary(licensePlate, unpaidFines);
+        // Fine lookup and overstay fine generation hit the database, so run them off the EDT
+        lookupButton.setEnabled(false);
+        processPaymentButton.setEnabled(false);
+        IoExecutor.onEdt(exitController.generatePaymentSummaryAsync(licensePlate), summary -> {
+            lookupButton.setEnabled(true);
+            currentSummary = summary;
             
             // Display summary
             summaryArea.setText(currentSummary.getDisplayText());
@@ -177,16 +177,16 @@ public class VehicleExitPanel extends BasePanel {
             
             // Enable payment button
             processPaymentButton.setEnabled(true);
-            
-        } catch (IllegalArgumentException e) {
-            showError(e.getMessage());
-            currentSummary = null;
-            processPaymentButton.setEnabled(false);
-        } catch (Exception e) {
-            showError("Error looking up vehicle: " + e.getMessage());
+        }, error -> {
+            lookupButton.setEnabled(true);
+            if (error instanceof IllegalArgumentException) {
+                showError(error.getMessage());
+            } else {
+                showError("Error looking up vehicle: " + error.getMessage());
+            }
             currentSummary = null;
             processPaymentButton.setEnabled(false);
-        }
+        });
     }
 
     private void processPayment() {
@@ -245,12 +245,7 @@ public class VehicleExitPanel extends BasePanel {
             return;
         }
 
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, amountPaid, paymentMethod, unpaidFines
-            );
-
+        submitExit(licensePlate, amountPaid, paymentMethod, "Error processing payment: ", result -> {
             // Store receipt for PDF generation
             lastReceipt = result.getReceipt();
             
@@ -282,23 +277,14 @@ public class VehicleExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
-
-        } catch (Exception e) {
-            showError("Error processing payment: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
     }
     
     /**
      * Handles grace period exit with CARD payment (no cash needed).
      */
     private void processGracePeriodExit(String licensePlate, double amountPaid, PaymentMethod paymentMethod) {
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, amountPaid, paymentMethod, unpaidFines
-            );
-
+        submitExit(licensePlate, amountPaid, paymentMethod, "Error processing exit: ", result -> {
             // Store receipt for PDF generation
             lastReceipt = result.getReceipt();
             
@@ -321,11 +307,7 @@ public class VehicleExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
-
-        } catch (Exception e) {
-            showError("Error processing exit: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
     }
     
     /**
@@ -350,21 +332,9 @@ public class VehicleExitPanel extends BasePanel {
         }
         
         // Extract amount from selection
-        double cashInserted = 0.0;
-        switch (selectedCash) {
-            case "RM 1": cashInserted = 1.0; break;
-            case "RM 5": cashInserted = 5.0; break;
-            case "RM 10": cashInserted = 10.0; break;
-            case "RM 50": cashInserted = 50.0; break;
-            case "RM 100": cashInserted = 100.0; break;
-        }
+        double cashInserted = cashAmount(selectedCash);
         
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, 0.0, PaymentMethod.CASH, unpaidFines
-            );
-
+        submitExit(licensePlate, 0.0, PaymentMethod.CASH, "Error processing exit: ", result -> {
             // Store receipt for PDF generation
             lastReceipt = result.getReceipt();
             
@@ -396,11 +366,7 @@ public class VehicleExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
-
-        } catch (Exception e) {
-            showError("Error processing exit: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
     }
     
     /**
@@ -425,21 +391,9 @@ public class VehicleExitPanel extends BasePanel {
         }
         
         // Extract amount from selection
-        double cashInserted = 0.0;
-        switch (selectedCash) {
-            case "RM 1": cashInserted = 1.0; break;
-            case "RM 5": cashInserted = 5.0; break;
-            case "RM 10": cashInserted = 10.0; break;
-            case "RM 50": cashInserted = 50.0; break;
-            case "RM 100": cashInserted = 100.0; break;
-        }
+        double cashInserted = cashAmount(selectedCash);
         
-        try {
-            List<Fine> unpaidFines = exitController.getUnpaidFines(licensePlate);
-            VehicleExitController.ExitResult result = exitController.processExit(
-                licensePlate, 0.0, PaymentMethod.CASH, unpaidFines
-            );
-
+        submitExit(licensePlate, 0.0, PaymentMethod.CASH, "Error processing exit: ", result -> {
             // Store receipt for PDF generation
             lastReceipt = result.getReceipt();
             
@@ -471,10 +425,40 @@ public class VehicleExitPanel extends BasePanel {
 
             // Clear form for next transaction
             clearForm();
-
-        } catch (Exception e) {
-            showError("Error processing exit: " + e.getMessage());
-            e.printStackTrace();
+        });
+    }
+    
+    /**
+     * Processes the exit on the I/O executor and hands the result back to the EDT.
+     * Lookup and payment stay disabled until the exit completes.
+     */
+    private void submitExit(String licensePlate, double amountPaid, PaymentMethod paymentMethod,
+                            String errorPrefix, Consumer<VehicleExitController.ExitResult> onExit) {
+        lookupButton.setEnabled(false);
+        processPaymentButton.setEnabled(false);
+        IoExecutor.onEdt(exitController.processExitAsync(licensePlate, amountPaid, paymentMethod), result -> {
+            lookupButton.setEnabled(true);
+            processPaymentButton.setEnabled(true);
+            onExit.accept(result);
+        }, error -> {
+            lookupButton.setEnabled(true);
+            processPaymentButton.setEnabled(currentSummary != null);
+            showError(errorPrefix + error.getMessage());
+            error.printStackTrace();
+        });
+    }
+    
+    /**
+     * Converts a cash denomination option such as "RM 10" to its amount.
+     */
+    private static double cashAmount(String selectedCash) {
+        switch (selectedCash) {
+            case "RM 1": return 1.0;
+            case "RM 5": return 5.0;
+            case "RM 10": return 10.0;
+            case "RM 50": return 50.0;
+            case "RM 100": return 100.0;
+            default: return 0.0;
         }
     }
     
@@ -0,0 +1,144 @@
+package com.university.parking.dao.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.university.parking.dao.Page;
+import com.university.parking.dao.Repositories;
+import com.university.parking.model.Fine;
+import com.university.parking.model.FineType;
+import com.university.parking.model.ParkingLot;
+import com.university.parking.model.ParkingSpot;
+import com.university.parking.model.Payment;
+import com.university.parking.model.PaymentMethod;
+import com.university.parking.model.SpotStatus;
+import com.university.parking.model.SpotType;
+import com.university.parking.model.Vehicle;
+import com.university.parking.model.VehicleType;
+
+/**
+ * Checks the repository contracts against the in-memory backend from {@link Repositories#inMemory()}.
+ */
+class InMemoryRepositoriesTest {
+
+    private Repositories repositories;
+
+    @BeforeEach
+    void setUp() {
+        repositories = Repositories.inMemory();
+    }
+
+    @Test
+    void savedVehicleIsFoundAsACopy() throws SQLException {
+        Vehicle vehicle = new Vehicle("ABC123", VehicleType.CAR, false);
+        vehicle.setEntryTime(LocalDateTime.of(2024, 3, 1, 8, 0));
+        vehicle.setAssignedSpotId("F1-R1-S1");
+        Long id = repositories.vehicles().save(vehicle);
+
+        Vehicle found = repositories.vehicles().findById(id);
+        assertNotNull(found);
+        assertEquals("ABC123", found.getLicensePlate());
+        assertEquals("F1-R1-S1", found.getAssignedSpotId());
+
+        // Changing the caller's object must not change what was stored
+        vehicle.setAssignedSpotId("F2-R1-S1");
+        assertEquals("F1-R1-S1", repositories.vehicles().findById(id).getAssignedSpotId());
+        assertEquals("F1-R1-S1", repositories.vehicles().findActiveBySpotId("F1-R1-S1").getAssignedSpotId());
+        assertNull(repositories.vehicles().findById(id + 1));
+    }
+
+    @Test
+    void updateExitTimeReportsWhetherASessionWasClosed() throws SQLException {
+        Vehicle vehicle = new Vehicle("XYZ9", VehicleType.MOTORCYCLE, false);
+        vehicle.setEntryTime(LocalDateTime.of(2024, 3, 1, 8, 0));
+        repositories.vehicles().save(vehicle);
+        assertEquals(1, repositories.vehicles().findCurrentlyParked().size());
+
+        LocalDateTime exit = LocalDateTime.of(2024, 3, 1, 10, 0);
+        assertTrue(repositories.vehicles().updateExitTime("XYZ9", exit));
+        assertFalse(repositories.vehicles().updateExitTime("XYZ9", exit.plusHours(1)));
+        assertFalse(repositories.vehicles().updateExitTime("UNKNOWN", exit));
+
+        assertEquals(exit, repositories.vehicles().findByLicensePlate("XYZ9").getExitTime());
+        assertTrue(repositories.vehicles().findCurrentlyParked().isEmpty());
+    }
+
+    @Test
+    void occupyIfAvailableClaimsASpotOnce() throws SQLException {
+        repositories.spots().save(1L, new ParkingSpot("F1-R1-S1", SpotType.REGULAR));
+
+        assertTrue(repositories.spots().occupyIfAvailable("F1-R1-S1"));
+        assertFalse(repositories.spots().occupyIfAvailable("F1-R1-S1"));
+        assertFalse(repositories.spots().occupyIfAvailable("F9-R9-S9"));
+        assertEquals(SpotStatus.OCCUPIED, repositories.spots().findBySpotId("F1-R1-S1").getStatus());
+        assertTrue(repositories.spots().findAvailable().isEmpty());
+
+        repositories.spots().updateStatus("F1-R1-S1", SpotStatus.AVAILABLE);
+        assertTrue(repositories.spots().occupyIfAvailable("F1-R1-S1"));
+    }
+
+    @Test
+    void markAllUnpaidAsPaidOnlyCountsUnpaidFinesOfThePlate() throws SQLException {
+        Long first = repositories.fines().save(Fine.ofCents("ABC123", FineType.OVERSTAY, 5_000));
+        repositories.fines().save(Fine.ofCents("ABC123", FineType.UNAUTHORIZED_RESERVED, 10_000));
+        repositories.fines().save(Fine.ofCents("OTHER1", FineType.OVERSTAY, 5_000));
+        repositories.fines().markAsPaid(first);
+
+        assertEquals(1, repositories.fines().markAllUnpaidAsPaid("ABC123"));
+        assertEquals(0, repositories.fines().markAllUnpaidAsPaid("ABC123"));
+        assertTrue(repositories.fines().findUnpaidByLicensePlate("ABC123").isEmpty());
+        assertEquals(1, repositories.fines().findAllUnpaid().size());
+    }
+
+    @Test
+    void saveWithRevenueAddsToTheStoredLotRevenue() throws SQLException {
+        repositories.parkingLots().saveParkingLot(new ParkingLot("Test Lot"));
+
+        Payment payment = Payment.ofCents("ABC123", 1_050, 5_000, PaymentMethod.CASH);
+        Long id = repositories.payments().saveWithRevenue(payment, payment.getTotalAmountCents());
+
+        assertEquals(id, payment.getId());
+        assertEquals(6_050, repositories.payments().findById(id).getTotalAmountCents());
+        assertEquals(6_050, repositories.parkingLots().loadParkingLot().getTotalRevenueCents());
+    }
+
+    @Test
+    void findPageWalksEveryRowOnce() throws SQLException {
+        for (int i = 0; i < 7; i++) {
+            repositories.fines().save(Fine.ofCents("P" + i, FineType.OVERSTAY, 100 * (i + 1)));
+        }
+
+        List<String> plates = new ArrayList<>();
+        Long afterId = null;
+        Page<Fine> page;
+        do {
+            page = repositories.fines().findPage(afterId, 3);
+            for (Fine fine : page.getItems()) {
+                plates.add(fine.getLicensePlate());
+            }
+            afterId = page.getLastId();
+        } while (page.hasMore());
+
+        assertEquals(List.of("P0", "P1", "P2", "P3", "P4", "P5", "P6"), plates);
+    }
+
+    @Test
+    void findPageRejectsNonPositivePageSizes() {
+        assertThrows(IllegalArgumentException.class, () -> repositories.vehicles().findPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> repositories.fines().findPage(null, -1));
+        assertThrows(IllegalArgumentException.class, () -> repositories.payments().findPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> repositories.reservations().findPage(null, 0));
+    }
+}
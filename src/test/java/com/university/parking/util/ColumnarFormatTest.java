@@ -0,0 +1,213 @@
+package com.university.parking.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.university.parking.util.ColumnarWriter.Column;
+import com.university.parking.util.ColumnarWriter.ColumnType;
+
+/**
+ * Round trips through {@link ColumnarWriter} and {@link ColumnarReader}.
+ */
+class ColumnarFormatTest {
+
+    private static final Column[] COLUMNS = {
+        new Column("amount", ColumnType.LONG),
+        new Column("issued", ColumnType.TIMESTAMP),
+        new Column("plate", ColumnType.STRING),
+        new Column("paid", ColumnType.BOOLEAN)
+    };
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 3, 1, 8, 30, 15);
+
+    /** Expected values of one row; null marks an empty cell. */
+    private static final class Row {
+        final Long amount;
+        final LocalDateTime issued;
+        final String plate;
+        final Boolean paid;
+
+        Row(Long amount, LocalDateTime issued, String plate, Boolean paid) {
+            this.amount = amount;
+            this.issued = issued;
+            this.plate = plate;
+            this.paid = paid;
+        }
+    }
+
+    @Test
+    void emptyFileHasHeaderAndNoRows() throws IOException {
+        byte[] file = write(new ArrayList<>());
+
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(file))) {
+            assertEquals("fines", reader.getTable());
+            assertEquals(COLUMNS.length, reader.getColumns().length);
+            assertEquals(2, reader.indexOf("plate"));
+            assertEquals(-1, reader.indexOf("missing"));
+            assertFalse(reader.nextRowGroup());
+            assertEquals(0, reader.getTotalRows());
+            assertFalse(reader.nextRowGroup());
+        }
+    }
+
+    @Test
+    void nullsInEveryColumnType() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        rows.add(new Row(null, null, null, null));
+        rows.add(new Row(500L, BASE_TIME, "ABC123", Boolean.TRUE));
+        rows.add(new Row(null, BASE_TIME.plusHours(1), null, Boolean.FALSE));
+        rows.add(new Row(-20L, null, "XYZ9", null));
+        rows.add(new Row(null, null, null, null));
+
+        assertRoundTrip(rows);
+    }
+
+    @Test
+    void negativeAndLargeDeltas() throws IOException {
+        long[] amounts = {
+            0, Long.MAX_VALUE, Long.MIN_VALUE, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE,
+            -123_456_789_012L, 987_654_321_098L, 0
+        };
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            // Timestamps jump back and forth by decades
+            LocalDateTime issued = i % 2 == 0 ? BASE_TIME.minusYears(40 + i) : BASE_TIME.plusYears(60 + i);
+            rows.add(new Row(amounts[i], issued, "P" + i, i % 3 == 0));
+        }
+
+        assertRoundTrip(rows);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, ColumnarWriter.ROW_GROUP_SIZE - 1, ColumnarWriter.ROW_GROUP_SIZE,
+                         ColumnarWriter.ROW_GROUP_SIZE + 1, 2 * ColumnarWriter.ROW_GROUP_SIZE + 7})
+    void rowGroupBoundaries(int rowCount) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Row(
+                i % 11 == 0 ? null : (long) (i * 37 - 5000),
+                i % 13 == 0 ? null : BASE_TIME.plusMinutes(i),
+                i % 17 == 0 ? null : "PLATE" + (i % 50),
+                i % 19 == 0 ? null : Boolean.valueOf(i % 2 == 0)));
+        }
+
+        byte[] file = write(rows);
+
+        int expectedGroups = (rowCount + ColumnarWriter.ROW_GROUP_SIZE - 1) / ColumnarWriter.ROW_GROUP_SIZE;
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(file))) {
+            int groups = 0;
+            while (reader.nextRowGroup()) {
+                groups++;
+                assertTrue(reader.getRowCount() <= ColumnarWriter.ROW_GROUP_SIZE);
+            }
+            assertEquals(expectedGroups, groups);
+            assertEquals(rowCount, reader.getTotalRows());
+        }
+        assertRoundTrip(rows, file);
+    }
+
+    @Test
+    void readsOneColumnWithoutDecodingTheOthers() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new Row((long) i, BASE_TIME.plusSeconds(i), "S" + i, i % 2 == 0));
+        }
+
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(write(rows)))) {
+            assertTrue(reader.nextRowGroup());
+            String[] plates = reader.getStrings(2);
+            assertEquals("S0", plates[0]);
+            assertEquals("S99", plates[99]);
+            assertFalse(reader.nextRowGroup());
+        }
+    }
+
+    @Test
+    void columnWithoutNullsHasNoNullFlags() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        rows.add(new Row(1L, BASE_TIME, "A", Boolean.TRUE));
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(write(rows)))) {
+            assertTrue(reader.nextRowGroup());
+            assertNull(reader.getNulls(0));
+            assertArrayEquals(new long[] {1L}, reader.getLongs(0));
+        }
+    }
+
+    @Test
+    void rejectsWrongColumnType() throws IOException {
+        ColumnarWriter writer = new ColumnarWriter(new ByteArrayOutputStream(), "fines", COLUMNS);
+        assertThrows(IllegalArgumentException.class, () -> writer.setString(0, "not a number"));
+        assertThrows(IllegalArgumentException.class, () -> writer.setBoolean(1, true));
+        writer.close();
+
+        assertThrows(IOException.class,
+            () -> new ColumnarReader(new ByteArrayInputStream("not columnar".getBytes("UTF-8"))));
+    }
+
+    private static void assertRoundTrip(List<Row> rows) throws IOException {
+        assertRoundTrip(rows, write(rows));
+    }
+
+    private static void assertRoundTrip(List<Row> rows, byte[] file) throws IOException {
+        List<Row> read = new ArrayList<>();
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(file))) {
+            while (reader.nextRowGroup()) {
+                long[] amounts = reader.getLongs(0);
+                boolean[] amountNulls = reader.getNulls(0);
+                LocalDateTime[] issued = reader.getTimestamps(1);
+                String[] plates = reader.getStrings(2);
+                boolean[] paid = reader.getBooleans(3);
+                boolean[] paidNulls = reader.getNulls(3);
+                for (int r = 0; r < reader.getRowCount(); r++) {
+                    read.add(new Row(
+                        amountNulls != null && amountNulls[r] ? null : amounts[r],
+                        issued[r],
+                        plates[r],
+                        paidNulls != null && paidNulls[r] ? null : Boolean.valueOf(paid[r])));
+                }
+            }
+            assertEquals(rows.size(), reader.getTotalRows());
+        }
+
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row expected = rows.get(i);
+            Row actual = read.get(i);
+            String at = "row " + i;
+            assertEquals(expected.amount, actual.amount, at);
+            assertEquals(expected.issued, actual.issued, at);
+            assertEquals(expected.plate, actual.plate, at);
+            assertEquals(expected.paid, actual.paid, at);
+        }
+    }
+
+    private static byte[] write(List<Row> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ColumnarWriter writer = new ColumnarWriter(out, "fines", COLUMNS)) {
+            for (Row row : rows) {
+                writer.setLong(0, row.amount);
+                writer.setTimestamp(1, row.issued);
+                writer.setString(2, row.plate);
+                writer.setBoolean(3, row.paid);
+                writer.endRow();
+            }
+            assertEquals(rows.size(), writer.getRowCount());
+        }
+        return out.toByteArray();
+    }
+}